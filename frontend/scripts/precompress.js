@@ -0,0 +1,41 @@
+// Writes .br and .gz copies of the compressible files in build/, so the backend can serve
+// them without compressing anything per request. Runs after every `npm run build`.
+const fs = require('fs');
+const path = require('path');
+const zlib = require('zlib');
+
+const BUILD_DIR = path.join(__dirname, '..', 'build');
+const COMPRESSIBLE = /\.(html|js|css|json|map|svg|txt|ico)$/;
+
+const walk = (dir) =>
+  fs.readdirSync(dir, { withFileTypes: true }).flatMap((entry) => {
+    const file = path.join(dir, entry.name);
+    return entry.isDirectory() ? walk(file) : [file];
+  });
+
+const encoders = {
+  br: (data) =>
+    zlib.brotliCompressSync(data, {
+      params: {
+        [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY,
+        [zlib.constants.BROTLI_PARAM_SIZE_HINT]: data.length,
+      },
+    }),
+  gz: (data) => zlib.gzipSync(data, { level: zlib.constants.Z_BEST_COMPRESSION }),
+};
+
+let written = 0;
+for (const file of walk(BUILD_DIR).filter((name) => COMPRESSIBLE.test(name))) {
+  const data = fs.readFileSync(file);
+  const { mtime } = fs.statSync(file);
+  for (const [extension, encode] of Object.entries(encoders)) {
+    const compressed = encode(data);
+    // A variant that saves nothing is left out and the original is sent instead
+    if (compressed.length < data.length) {
+      fs.writeFileSync(`${file}.${extension}`, compressed);
+      fs.utimesSync(`${file}.${extension}`, mtime, mtime);
+      written++;
+    }
+  }
+}
+console.log(`Precompressed ${written} files in ${BUILD_DIR}`);
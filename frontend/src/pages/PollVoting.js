@@ -20,12 +20,14 @@ const PollVoting = () => {
   useEffect(() => {
     const loadData = async () => {
       try {
-        const [pollData, pollOptions] = await Promise.all([
-          userService.getPollById(pollId),
-          userService.getPollOptions(pollId)
-        ]);
-        setPoll(pollData);
-        setOptions(pollOptions);
+        // The poll, its options, the totals and this user's vote in one request
+        const detail = await userService.getPollDetail(pollId, user.id);
+        setPoll(detail);
+        setOptions(detail.options);
+        if (detail.hasVoted) {
+          setHasVoted(true);
+          setResults(detail);
+        }
       } catch (err) {
         setError('Failed to load poll data');
       } finally {
@@ -33,22 +35,8 @@ const PollVoting = () => {
       }
     };
 
-    const checkVoteStatus = async () => {
-      try {
-        const votedData = await userService.hasUserVoted(user.id, pollId);
-        if (votedData.hasVoted) {
-          setHasVoted(true);
-          const resultsData = await userService.getPollResults(pollId);
-          setResults(resultsData);
-        }
-      } catch (err) {
-        console.error('Error checking vote status:', err);
-      }
-    };
-
     if (pollId && user) {
       loadData();
-      checkVoteStatus();
     }
   }, [pollId, user]);
 
@@ -30,20 +30,16 @@ const UserDashboard = () => {
     try {
       console.log('Starting to fetch dashboard data for user:', user);
       
-      const [activePolls, votedPolls] = await Promise.all([
-        userService.getActivePolls(),
-        userService.getUserVotedPolls(user.id)
-      ]);
+      const { activePolls, viewer } = await userService.getDashboard(user.id);
+      const votedPolls = viewer.votedPolls;
       
       console.log('Fetched active polls:', activePolls);
       console.log('Fetched voted polls:', votedPolls);
       
       // Filter out polls user has already voted in from active polls
-      const votedPollIds = new Set(votedPolls.map(poll => poll.id));
-      const availablePolls = activePolls.filter(poll => !votedPollIds.has(poll.id));
+      const availablePolls = activePolls.filter(poll => !poll.hasVoted);
       
       console.log('Available polls after filtering:', availablePolls);
-      console.log('Voted poll IDs:', Array.from(votedPollIds));
       
       setActivePolls(availablePolls);
       setVotedPolls(votedPolls);
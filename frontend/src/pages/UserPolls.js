@@ -22,7 +22,7 @@ const UserPolls = () => {
 
   const fetchPolls = async () => {
     try {
-      const activePolls = await userService.getActivePolls();
+      const { activePolls } = await userService.getDashboard(user.id);
       setPolls(activePolls);
     } catch (err) {
       setError('Failed to load polls');
@@ -58,15 +58,6 @@ const UserPolls = () => {
     setFilteredPolls(filtered);
   };
 
-  const checkIfVoted = async (pollId) => {
-    try {
-      const result = await userService.hasUserVoted(user.id, pollId);
-      return result.hasVoted;
-    } catch {
-      return false;
-    }
-  };
-
   const formatDate = (dateString) => {
     return new Date(dateString).toLocaleDateString('en-US', {
       year: 'numeric',
@@ -231,7 +222,7 @@ const UserPolls = () => {
                     
                     <div className="card-footer">
                       <div className="d-flex justify-content-between align-items-center">
-                        <VoteStatus user={user} pollId={poll.id} />
+                        <VoteStatus hasVoted={poll.hasVoted} />
                         <Link 
                           to={`/user/poll/${poll.id}`} 
                           className="btn btn-primary"
@@ -278,29 +269,7 @@ const UserPolls = () => {
 };
 
 // Component to show vote status
-const VoteStatus = ({ user, pollId }) => {
-  const [hasVoted, setHasVoted] = useState(false);
-  const [loading, setLoading] = useState(true);
-
-  useEffect(() => {
-    const checkVoteStatus = async () => {
-      try {
-        const result = await userService.hasUserVoted(user.id, pollId);
-        setHasVoted(result.hasVoted);
-      } catch (err) {
-        console.error('Error checking vote status:', err);
-      } finally {
-        setLoading(false);
-      }
-    };
-
-    checkVoteStatus();
-  }, [user.id, pollId]);
-
-  if (loading) {
-    return <small className="text-muted">Checking...</small>;
-  }
-
+const VoteStatus = ({ hasVoted }) => {
   return (
     <small className={hasVoted ? 'text-success' : 'text-muted'}>
       <i className={`bi ${hasVoted ? 'bi-check-circle-fill' : 'bi-circle'} me-1`}></i>
@@ -2,9 +2,17 @@ import axios from 'axios';
 
 const API_BASE_URL = process.env.REACT_APP_API_URL || 'http://localhost:8080/api';
 
+// Last body and ETag of GET responses by URL; requests for them send If-None-Match, and a
+// 304 answer is served from here
+const MAX_CACHED_RESPONSES = 200;
+const etagCache = new Map();
+
 // Create axios instance
 const api = axios.create({
   baseURL: API_BASE_URL,
+  // Send cookies so the backend can pin reads to the primary right after a write
+  withCredentials: true,
+  validateStatus: (status) => (status >= 200 && status < 300) || status === 304,
   headers: {
     'Content-Type': 'application/json',
   },
@@ -18,6 +26,12 @@ api.interceptors.request.use(
     if (token) {
       config.headers.Authorization = `Bearer ${token}`;
     }
+    if (config.method === 'get') {
+      const cached = etagCache.get(api.getUri(config));
+      if (cached) {
+        config.headers['If-None-Match'] = cached.etag;
+      }
+    }
     return config;
   },
   (error) => {
@@ -28,6 +42,21 @@ api.interceptors.request.use(
 // Response interceptor
 api.interceptors.response.use(
   (response) => {
+    if (response.config.method !== 'get') {
+      return response;
+    }
+    const key = api.getUri(response.config);
+    if (response.status === 304 && etagCache.has(key)) {
+      return { ...response, status: 200, data: etagCache.get(key).data };
+    }
+    const etag = response.headers.etag;
+    if (etag) {
+      etagCache.delete(key);
+      etagCache.set(key, { etag, data: response.data });
+      if (etagCache.size > MAX_CACHED_RESPONSES) {
+        etagCache.delete(etagCache.keys().next().value);
+      }
+    }
     return response;
   },
   (error) => {
@@ -1,5 +1,27 @@
 import api from './api';
 
+// Active polls with the user's vote status, and the polls the user has voted in, in one
+// request to the GraphQL endpoint
+const DASHBOARD_QUERY = `
+  query Dashboard($userId: ID!) {
+    activePolls {
+      id
+      title
+      description
+      createdAt
+      hasVoted(userId: $userId)
+    }
+    viewer(userId: $userId) {
+      votedPolls {
+        id
+        title
+        description
+        createdAt
+      }
+    }
+  }
+`;
+
 class UserService {
   // User registration
   async registerUser(userData) {
@@ -31,12 +53,32 @@ class UserService {
     return response.data;
   }
 
+  // Get active polls, each with hasVoted, and the user's voted polls in one request
+  async getDashboard(userId) {
+    const response = await api.post('/graphql', {
+      query: DASHBOARD_QUERY,
+      variables: { userId }
+    });
+    if (response.data.errors?.length) {
+      throw new Error(response.data.errors[0].message);
+    }
+    return response.data.data;
+  }
+
   // Get poll by ID
   async getPollById(pollId) {
     const response = await api.get(`/user/polls/${pollId}`);
     return response.data;
   }
 
+  // Get a poll with its options, totals and whether the viewer has voted
+  async getPollDetail(pollId, viewerId) {
+    const response = await api.get(`/user/polls/${pollId}/detail`, {
+      params: { viewerId }
+    });
+    return response.data;
+  }
+
   // Get poll options
   async getPollOptions(pollId) {
     const response = await api.get(`/user/polls/${pollId}/options`);
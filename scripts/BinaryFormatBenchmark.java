@@ -0,0 +1,127 @@
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.polling.app.dto.VoteSubmissionDto;
+import com.polling.app.entity.Admin;
+import com.polling.app.entity.Poll;
+import com.polling.app.entity.PollOption;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares JSON, Smile and CBOR for the bodies high-volume clients exchange: a vote
+ * submission, a poll's results and the active polls. Reports the encoded size, plain and
+ * gzip-compressed, and per operation the time and bytes allocated to encode and to decode,
+ * in one thread and in process.
+ *
+ * Usage, after {@code mvn compile} and
+ * {@code mvn dependency:build-classpath -Dmdep.outputFile=/tmp/cp.txt}:
+ * java -cp target/classes:$(cat /tmp/cp.txt) scripts/BinaryFormatBenchmark.java [polls] [seconds]
+ */
+public class BinaryFormatBenchmark {
+
+    interface Operation {
+        void run() throws IOException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int pollCount = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+
+        // Configured like Spring Boot's default mapper, in each encoding
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", configure(JsonMapper.builder().build()));
+        mappers.put("smile", configure(new ObjectMapper(new SmileFactory())));
+        mappers.put("cbor", configure(new ObjectMapper(new CBORFactory())));
+
+        VoteSubmissionDto vote = new VoteSubmissionDto();
+        vote.setOptionId(123456L);
+        Map<String, Object> bodies = new LinkedHashMap<>();
+        bodies.put("vote", vote);
+        bodies.put("results", results());
+        bodies.put("active-polls", polls(pollCount));
+
+        System.out.printf("%-13s %-6s %8s %8s %12s %12s %12s %12s%n", "body", "format", "bytes", "gzip",
+                "encode ns", "encode B", "decode ns", "decode B");
+        for (Map.Entry<String, Object> body : bodies.entrySet()) {
+            for (Map.Entry<String, ObjectMapper> mapper : mappers.entrySet()) {
+                ObjectMapper objectMapper = mapper.getValue();
+                Object value = body.getValue();
+                byte[] encoded = objectMapper.writeValueAsBytes(value);
+                // Decoded the way a client without the entity classes reads it
+                long[] encode = measure(() -> objectMapper.writeValueAsBytes(value), seconds);
+                long[] decode = value instanceof VoteSubmissionDto
+                        ? measure(() -> objectMapper.readValue(encoded, VoteSubmissionDto.class), seconds)
+                        : measure(() -> objectMapper.readTree(encoded), seconds);
+                System.out.printf("%-13s %-6s %8d %8d %12d %12d %12d %12d%n", body.getKey(), mapper.getKey(),
+                        encoded.length, gzip(encoded).length, encode[0], encode[1], decode[0], decode[1]);
+            }
+        }
+    }
+
+    private static ObjectMapper configure(ObjectMapper objectMapper) {
+        return objectMapper.registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * @return nanoseconds and bytes allocated per operation
+     */
+    private static long[] measure(Operation operation, int seconds) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        for (long warmup = System.nanoTime() + seconds * 500_000_000L; System.nanoTime() < warmup; ) {
+            operation.run();
+        }
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        long deadline = start + seconds * 1_000_000_000L;
+        long operations = 0;
+        while (System.nanoTime() < deadline) {
+            operation.run();
+            operations++;
+        }
+        long elapsed = System.nanoTime() - start;
+        return new long[]{elapsed / operations, (threads.getThreadAllocatedBytes(thread) - allocatedBefore) / operations};
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static Map<String, Object> results() {
+        List<PollOption> options = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            options.add(new PollOption(id, "Option number " + id, (int) (id * 1234), LocalDateTime.now(), null, null));
+        }
+        return Map.of("options", options, "totalVotes", 18510L);
+    }
+
+    private static List<Poll> polls(int count) {
+        Admin admin = new Admin(1L, "benchadmin", "bench@example.com", "$2a$10$" + "x".repeat(53), "Bench", "Admin",
+                LocalDateTime.now(), LocalDateTime.now(), null);
+        List<Poll> polls = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            LocalDateTime now = LocalDateTime.now();
+            polls.add(new Poll(id, "Benchmark poll number " + id, "Which of the options do you prefer for poll " + id
+                    + "? Pick one; results are shown once you have voted.", true, now, now, now, now.plusDays(7),
+                    admin, null, null));
+        }
+        return polls;
+    }
+}
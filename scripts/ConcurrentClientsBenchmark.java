@@ -0,0 +1,125 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Holds a large number of concurrent clients against the API and reports throughput, status
+ * codes and latency. Each client sends a request, waits for the answer and sends the next,
+ * until the duration is over.
+ *
+ * In {@code mixed} mode clients read the results of a poll and check whether a user has voted
+ * on it. Start the application once in the default platform-thread mode and once built with
+ * {@code mvn -Pjava21} and run with {@code --spring.profiles.active=virtual-threads}, then
+ * run this against each and compare.
+ *
+ * In {@code reads} mode clients read the active polls, a poll, its options and its results,
+ * the endpoints the reactive read service also serves. Given a poll ID, nothing is created,
+ * so the same data can be read from the main application and from the reactive service.
+ *
+ * Usage: java scripts/ConcurrentClientsBenchmark.java [base-url] [clients] [seconds] [mixed|reads] [poll-id]
+ */
+public class ConcurrentClientsBenchmark {
+
+    private static final Pattern ID = Pattern.compile("^\\{\"id\":(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        boolean readsOnly = args.length > 3 && args[3].equals("reads");
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+
+        List<URI> targets = readsOnly && args.length > 4
+                ? reads(baseUrl, Long.parseLong(args[4]))
+                : seed(http, baseUrl, readsOnly);
+
+        Map<String, AtomicLong> outcomes = new ConcurrentHashMap<>();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        System.out.printf("Holding %d clients for %d s...%n", clients, seconds);
+        List<CompletableFuture<Void>> running = new ArrayList<>(clients);
+        for (int client = 0; client < clients; client++) {
+            running.add(loop(http, targets.get(client % targets.size()), deadline, outcomes, latencies));
+        }
+        CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)).join();
+
+        long completed = outcomes.getOrDefault("200", new AtomicLong()).get();
+        System.out.printf("%.1f successful requests/s%n", (double) completed / seconds);
+        new TreeMap<>(outcomes).forEach((outcome, count) -> System.out.printf("  %s: %d%n", outcome, count.get()));
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        if (!sorted.isEmpty()) {
+            System.out.printf("Latency of successful requests: p50 %d ms, p99 %d ms, max %d ms%n",
+                    sorted.get(sorted.size() / 2), sorted.get((int) (sorted.size() * 0.99)),
+                    sorted.get(sorted.size() - 1));
+        }
+    }
+
+    private static CompletableFuture<Void> loop(HttpClient http, URI target, long deadline,
+                                                Map<String, AtomicLong> outcomes, List<Long> latencies) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long startedAt = System.nanoTime();
+        HttpRequest request = HttpRequest.newBuilder(target).timeout(Duration.ofSeconds(60)).GET().build();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    String outcome = error != null ? error.getClass().getSimpleName()
+                            : Integer.toString(response.statusCode());
+                    outcomes.computeIfAbsent(outcome, key -> new AtomicLong()).incrementAndGet();
+                    if (error == null && response.statusCode() == 200) {
+                        latencies.add((System.nanoTime() - startedAt) / 1_000_000);
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> loop(http, target, deadline, outcomes, latencies));
+    }
+
+    private static List<URI> seed(HttpClient http, String baseUrl, boolean readsOnly) throws Exception {
+        String run = Long.toString(System.nanoTime() % 1_000_000_000L);
+        long adminId = id(http, baseUrl + "/api/admin/register", "{\"username\":\"cc" + run + "\",\"email\":\"cc" + run
+                + "@example.com\",\"password\":\"Passw0rd!\",\"firstName\":\"Bench\",\"lastName\":\"Admin\"}");
+        long pollId = id(http, baseUrl + "/api/admin/" + adminId + "/polls",
+                "{\"title\":\"Concurrent clients " + run + "\",\"options\":[\"One\",\"Two\",\"Three\"]}");
+        if (readsOnly) {
+            System.out.printf("Created poll %d%n", pollId);
+            return reads(baseUrl, pollId);
+        }
+        long userId = id(http, baseUrl + "/api/user/register", "{\"username\":\"ccu" + run + "\",\"email\":\"ccu" + run
+                + "@example.com\",\"password\":\"Passw0rd!\",\"firstName\":\"Bench\",\"lastName\":\"User\"}");
+        return List.of(
+                URI.create(baseUrl + "/api/user/polls/" + pollId + "/results"),
+                URI.create(baseUrl + "/api/user/" + userId + "/polls/" + pollId + "/voted"));
+    }
+
+    private static List<URI> reads(String baseUrl, long pollId) {
+        return List.of(
+                URI.create(baseUrl + "/api/user/polls/active"),
+                URI.create(baseUrl + "/api/user/polls/" + pollId),
+                URI.create(baseUrl + "/api/user/polls/" + pollId + "/options"),
+                URI.create(baseUrl + "/api/user/polls/" + pollId + "/results"));
+    }
+
+    private static long id(HttpClient http, String url, String body) throws Exception {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = ID.matcher(response.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Unexpected response from " + url + ": " + response.body());
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+}
@@ -0,0 +1,93 @@
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.polling.app.entity.Admin;
+import com.polling.app.entity.Poll;
+import com.polling.app.payload.EncodedPayloadCache;
+import com.polling.app.payload.PayloadCacheProperties;
+import com.polling.app.payload.PollStamp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares answering the active polls by serializing them with Jackson on every request
+ * against writing the body kept by {@link EncodedPayloadCache}, in one thread and in process,
+ * so the difference is not hidden behind HTTP. Reports requests per second and bytes
+ * allocated per request.
+ *
+ * Usage, after {@code mvn compile} and
+ * {@code mvn dependency:build-classpath -Dmdep.outputFile=/tmp/cp.txt}:
+ * java -cp target/classes:$(cat /tmp/cp.txt) scripts/PayloadEncodingBenchmark.java [polls] [seconds]
+ */
+public class PayloadEncodingBenchmark {
+
+    interface Request {
+        void serve(OutputStream out) throws IOException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int pollCount = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        // Configured like Spring Boot's default mapper
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        EncodedPayloadCache cache = new EncodedPayloadCache(objectMapper, new PayloadCacheProperties(), null);
+        // Spring MVC writes to the response without closing it
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        List<Poll> polls = polls(pollCount);
+
+        System.out.printf("%d active polls, %d bytes of JSON%n", pollCount, objectMapper.writeValueAsBytes(polls).length);
+        System.out.printf("%-24s %14s %16s%n", "mode", "requests/s", "bytes/request");
+        run("jackson-per-request", seconds, out -> writer.writeValue(out, polls));
+        run("encoded-json", seconds,
+                out -> out.write(cache.respond("activePolls", PollStamp.of(polls), polls, null).getBody()));
+        run("encoded-gzip", seconds,
+                out -> out.write(cache.respond("activePolls", PollStamp.of(polls), polls, "gzip").getBody()));
+    }
+
+    private static void run(String mode, int seconds, Request request) throws IOException {
+        OutputStream out = OutputStream.nullOutputStream();
+        measure(request, out, Math.max(1, seconds / 2));
+        long[] result = measure(request, out, seconds);
+        System.out.printf("%-24s %14.0f %16d%n", mode, (double) result[0] / seconds, result[1] / result[0]);
+    }
+
+    /**
+     * @return requests served and bytes allocated by this thread meanwhile
+     */
+    private static long[] measure(Request request, OutputStream out, int seconds) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        long requests = 0;
+        while (System.nanoTime() < deadline) {
+            request.serve(out);
+            requests++;
+        }
+        return new long[]{requests, threads.getThreadAllocatedBytes(thread) - allocatedBefore};
+    }
+
+    private static List<Poll> polls(int count) {
+        Admin admin = new Admin(1L, "benchadmin", "bench@example.com", "$2a$10$" + "x".repeat(53), "Bench", "Admin",
+                LocalDateTime.now(), LocalDateTime.now(), null);
+        List<Poll> polls = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            LocalDateTime now = LocalDateTime.now();
+            polls.add(new Poll(id, "Benchmark poll number " + id, "Which of the options do you prefer for poll " + id
+                    + "? Pick one; results are shown once you have voted.", true, now, now, now, now.plusDays(7),
+                    admin, null, null));
+        }
+        return polls;
+    }
+}
@@ -0,0 +1,92 @@
+import com.polling.app.search.PollSearchIndex;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Measures how long {@link PollSearchIndex} takes to answer searches and autocomplete over
+ * synthetic polls, in one thread and in process. Titles and descriptions are drawn from a
+ * vocabulary with a skewed distribution, so some terms are in many polls and most in few.
+ *
+ * Usage, after {@code mvn compile}:
+ * java -cp target/classes scripts/PollSearchBenchmark.java [polls] [seconds]
+ */
+public class PollSearchBenchmark {
+
+    private static final int VOCABULARY = 5000;
+
+    public static void main(String[] args) {
+        int pollCount = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        Random random = new Random(42);
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = word(random);
+        }
+
+        PollSearchIndex index = new PollSearchIndex(0.25, 0.5, 64);
+        long started = System.nanoTime();
+        for (long id = 1; id <= pollCount; id++) {
+            index.put(new PollSearchIndex.Document(id, text(random, words, 5), text(random, words, 20),
+                    random.nextInt(10) > 0, null, null, random.nextInt(1000)));
+        }
+        System.out.printf("indexed %d polls in %d ms%n", pollCount, (System.nanoTime() - started) / 1_000_000);
+
+        LocalDateTime now = LocalDateTime.now();
+        String common = words[0];
+        String rare = words[VOCABULARY / 2];
+        System.out.printf("%-36s %12s %10s%n", "query", "µs/query", "results");
+        run("one common term", seconds, () -> index.search(common, 10, now).size());
+        run("one rare term", seconds, () -> index.search(rare, 10, now).size());
+        run("two terms", seconds, () -> index.search(common + " " + words[1], 10, now).size());
+        run("common term, 2-letter prefix", seconds, () -> index.search(common + " " + words[2].substring(0, 2), 10, now).size());
+        run("3-letter prefix", seconds, () -> index.search(words[3].substring(0, 3), 10, now).size());
+        run("autocomplete, 2-letter prefix", seconds, () -> index.suggest(words[4].substring(0, 2), 10).size());
+    }
+
+    interface Query {
+        int run();
+    }
+
+    private static void run(String name, int seconds, Query query) {
+        measure(query, Math.max(1, seconds / 2));
+        long[] result = measure(query, seconds);
+        System.out.printf("%-36s %12.1f %10d%n", name, result[0] / 1000.0 / result[1], result[2]);
+    }
+
+    /**
+     * @return nanoseconds spent, queries answered and results of the last query
+     */
+    private static long[] measure(Query query, int seconds) {
+        long started = System.nanoTime();
+        long deadline = started + seconds * 1_000_000_000L;
+        long queries = 0;
+        int results = 0;
+        while (System.nanoTime() < deadline) {
+            results = query.run();
+            queries++;
+        }
+        return new long[]{System.nanoTime() - started, queries, results};
+    }
+
+    /**
+     * Picks words with a Zipf-like skew towards the start of the vocabulary.
+     */
+    private static String text(Random random, String[] words, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            int rank = (int) Math.min(VOCABULARY - 1, Math.floor(Math.pow(VOCABULARY, random.nextDouble())) - 1);
+            text.append(words[rank]).append(' ');
+        }
+        return text.toString();
+    }
+
+    private static String word(Random random) {
+        int length = 4 + random.nextInt(6);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+#
+# Measures goodput, the sign-ins per second that succeed within a latency objective, at
+# increasing numbers of concurrent clients. Each client signs in again as soon as it has an
+# answer, for the given number of seconds. Sign-ins spend their time hashing passwords, so
+# they saturate the application itself rather than the database, even on a small machine.
+#
+# With the default sign-in budget of 4, run it at 4 and 12 clients, once against an
+# application started with the defaults and once with --app.workload.enabled=true for the
+# adaptive limits, and compare how goodput holds up at three times capacity.
+#
+# Usage: scripts/benchmark-goodput.sh [base-url] [seconds] [objective-ms] [clients...]
+
+set -euo pipefail
+
+BASE_URL=${1:-http://localhost:8080}
+SECONDS_PER_LEVEL=${2:-20}
+OBJECTIVE_MS=${3:-1000}
+shift $(( $# < 3 ? $# : 3 ))
+LEVELS=(${@:-4 12})
+RUN=$(date +%s%N | tail -c 9)
+CREDENTIALS="{\"email\":\"gp${RUN}@example.com\",\"password\":\"Passw0rd!\"}"
+
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+curl -s -o /dev/null -H 'Content-Type: application/json' -X POST "${BASE_URL}/api/user/register" \
+    -d "{\"username\":\"gp${RUN}\",\"email\":\"gp${RUN}@example.com\",
+    \"password\":\"Passw0rd!\",\"firstName\":\"Goodput\",\"lastName\":\"User\"}"
+
+for clients in "${LEVELS[@]}"; do
+    # One curl process drives every client, so the load generator stays cheap
+    DATA=${CREDENTIALS//\"/\\\"} awk -v count=$(( clients * 5000 )) -v url="${BASE_URL}/api/user/login" 'BEGIN {
+        for (i = 1; i <= count; i++) {
+            if (i > 1) print "next"
+            printf "url = \"%s\"\nheader = \"Content-Type: application/json\"\ndata = \"%s\"\n", url, ENVIRON["DATA"]
+            printf "output = \"/dev/null\"\nsilent\nwrite-out = \"%%{http_code} %%{time_total}\\n\"\n"
+        }
+    }' > "$WORK/requests"
+    timeout "$SECONDS_PER_LEVEL" stdbuf -oL curl -s -Z --parallel-immediate --parallel-max "$clients" -K "$WORK/requests" \
+        > "$WORK/results" 2> /dev/null || true
+    awk -v clients="$clients" -v ms="$(( SECONDS_PER_LEVEL * 1000 ))" -v objective="$OBJECTIVE_MS" '
+        { total++; status[$1]++ }
+        $1 == 200 && $2 * 1000 <= objective { good++ }
+        END {
+            printf "%3d clients: %5.1f good/s of %5.1f req/s", clients, good * 1000 / ms, total * 1000 / ms
+            for (code in status) printf ", %s: %d", code, status[code]
+            printf "\n"
+        }' "$WORK/results"
+done
@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+#
+# Measures the latency of the read endpoints that the second-level cache serves.
+#
+# Start the application once with the cache enabled (the default) and once with
+#   --spring.jpa.properties.hibernate.cache.use_second_level_cache=false
+#   --spring.jpa.properties.hibernate.cache.use_query_cache=false
+# and run this script against each, then compare the percentiles.
+#
+# Usage: scripts/benchmark-read-latency.sh [base-url] [requests] [poll-id] [user-id] [admin-id]
+#
+# The hit ratios are read from /actuator/metrics with the credentials in METRICS_CREDENTIALS
+# (user:password, as set with spring.security.user.*).
+
+set -euo pipefail
+
+BASE_URL=${1:-http://localhost:8080}
+REQUESTS=${2:-500}
+POLL_ID=${3:-1}
+USER_ID=${4:-1}
+ADMIN_ID=${5:-1}
+WARMUP=50
+METRICS_CREDENTIALS=${METRICS_CREDENTIALS:-metrics:change-me}
+
+ENDPOINTS=(
+    "/api/user/polls/${POLL_ID}"
+    "/api/user/polls/${POLL_ID}/options"
+    "/api/user/${USER_ID}"
+    "/api/admin/${ADMIN_ID}"
+)
+
+measure() {
+    local url=$1 count=$2
+    for ((i = 0; i < count; i++)); do
+        curl -s -o /dev/null -w '%{time_total}\n' "$url"
+    done
+}
+
+printf '%-40s %10s %10s %10s %10s\n' "endpoint" "mean(ms)" "p50(ms)" "p95(ms)" "p99(ms)"
+for endpoint in "${ENDPOINTS[@]}"; do
+    measure "${BASE_URL}${endpoint}" "$WARMUP" > /dev/null
+    measure "${BASE_URL}${endpoint}" "$REQUESTS" | sort -n | awk -v name="$endpoint" '
+        function pct(p,  i) { i = int(NR * p); return t[i < 1 ? 1 : i] }
+        { t[NR] = $1 * 1000; sum += t[NR] }
+        END { printf "%-40s %10.2f %10.2f %10.2f %10.2f\n", name, sum / NR, pct(0.50), pct(0.95), pct(0.99) }'
+done
+
+echo
+echo "Second-level cache hit ratios:"
+for region in polls poll-options users admins; do
+    ratio=$(curl -s -u "$METRICS_CREDENTIALS" "${BASE_URL}/actuator/metrics/polling.cache.hit.ratio?tag=region:${region}" \
+        | sed -n 's/.*"value":\([^}]*\)}.*/\1/p')
+    printf '  %-15s %s\n' "$region" "${ratio:-n/a}"
+done
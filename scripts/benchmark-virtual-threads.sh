@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+#
+# Compares the platform-thread and virtual-thread modes at the same number of concurrent
+# clients. Builds the application once with the java21 profile, then starts it on the
+# embedded profile in each mode in turn, each on a fresh database, and runs
+# ConcurrentClientsBenchmark against it.
+#
+# Needs Java 21 on the PATH for the build and both runs; the virtual-thread mode has no
+# effect on an older runtime, so the script refuses to compare there.
+#
+# Usage: scripts/benchmark-virtual-threads.sh [clients] [seconds] [port]
+
+set -euo pipefail
+
+CLIENTS=${1:-10000}
+SECONDS_PER_MODE=${2:-30}
+PORT=${3:-8080}
+BASE_URL="http://localhost:${PORT}"
+
+JAVA_MAJOR=$(java -version 2>&1 | awk -F'"' '/version/ { split($2, v, "."); print v[1]; exit }')
+if (( JAVA_MAJOR < 21 )); then
+    echo "Java 21 is needed to compare the modes, found Java ${JAVA_MAJOR}" >&2
+    exit 1
+fi
+
+cd "$(dirname "$0")/.."
+mvn -B -q -Pjava21 -DskipTests package
+JAR=$(ls target/polling-app-*.jar | grep -v original | head -1)
+
+WORK=$(mktemp -d)
+APP_PID=
+trap '[[ -n "$APP_PID" ]] && kill "$APP_PID" 2> /dev/null; rm -rf "$WORK"' EXIT
+
+for mode in platform virtual; do
+    profiles=embedded
+    [[ "$mode" == virtual ]] && profiles=embedded,virtual-threads
+    java -jar "$JAR" --spring.profiles.active="$profiles" --server.port="$PORT" \
+        --app.embedded.directory="$WORK/$mode" > "$WORK/$mode.log" 2>&1 &
+    APP_PID=$!
+    until curl -sf -o /dev/null "${BASE_URL}/actuator/health/readiness"; do
+        if ! kill -0 "$APP_PID" 2> /dev/null; then
+            echo "The application did not start in ${mode} mode, see its log:" >&2
+            tail -20 "$WORK/$mode.log" >&2
+            exit 1
+        fi
+        sleep 1
+    done
+
+    echo "== ${mode} threads =="
+    java scripts/ConcurrentClientsBenchmark.java "$BASE_URL" "$CLIENTS" "$SECONDS_PER_MODE"
+
+    kill "$APP_PID"
+    wait "$APP_PID" 2> /dev/null || true
+    APP_PID=
+done
@@ -0,0 +1,75 @@
+#!/usr/bin/env bash
+#
+# Measures vote latency while admins hammer the API: registers an admin with a number of
+# polls and a set of voters, then casts one vote per voter while admin clients keep listing
+# the admin's polls and reading their results, as an export or a dashboard would.
+#
+# Run it once against an application started with the defaults and once with
+# --app.workload.enabled=true for the bulkheads, then compare the vote p99 and the admin status codes.
+#
+# Usage: scripts/benchmark-vote-latency-under-admin-load.sh [base-url] [voters] [concurrency] [admin-clients]
+
+set -euo pipefail
+
+BASE_URL=${1:-http://localhost:8080}
+VOTERS=${2:-500}
+CONCURRENCY=${3:-8}
+ADMIN_CLIENTS=${4:-32}
+POLLS=20
+RUN=$(date +%s%N | tail -c 9)
+JSON='Content-Type: application/json'
+
+post() {
+    curl -s -H "$JSON" -X POST "${BASE_URL}$1" -d "$2"
+}
+
+id_of() {
+    sed -n 's/^{"id":\([0-9]*\).*/\1/p'
+}
+
+WORK=$(mktemp -d)
+trap 'kill $(jobs -p) 2>/dev/null || true; rm -rf "$WORK"' EXIT
+
+ADMIN_ID=$(post /api/admin/register "{\"username\":\"load${RUN}\",\"email\":\"load${RUN}@example.com\",
+    \"password\":\"Passw0rd!\",\"firstName\":\"Load\",\"lastName\":\"Admin\"}" | id_of)
+for i in $(seq 1 "$POLLS"); do
+    echo "$(post "/api/admin/${ADMIN_ID}/polls" \
+        "{\"title\":\"Admin load ${RUN} ${i}\",\"options\":[\"One\",\"Two\",\"Three\"]}" | id_of)" >> "$WORK/polls"
+done
+POLL_ID=$(head -1 "$WORK/polls")
+OPTION_IDS=($(curl -s "${BASE_URL}/api/user/polls/${POLL_ID}/options" | grep -o '"id":[0-9]*' | cut -d: -f2))
+
+echo "Registering ${VOTERS} voters..."
+seq 1 "$VOTERS" | xargs -P "$CONCURRENCY" -I{} curl -s -H "$JSON" -X POST "${BASE_URL}/api/user/register" \
+    -d "{\"username\":\"l${RUN}x{}\",\"email\":\"l${RUN}x{}@example.com\",
+    \"password\":\"Passw0rd!\",\"firstName\":\"Load\",\"lastName\":\"Voter\"}" -w '\n' \
+    | id_of > "$WORK/voters"
+
+echo "Starting ${ADMIN_CLIENTS} admin clients..."
+touch "$WORK/stop"
+for client in $(seq 1 "$ADMIN_CLIENTS"); do
+    (
+        while [ -e "$WORK/stop" ]; do
+            curl -s -o /dev/null -w "%{http_code}\n" "${BASE_URL}/api/admin/${ADMIN_ID}/polls"
+            while read -r poll; do
+                curl -s -o /dev/null -w "%{http_code}\n" "${BASE_URL}/api/admin/polls/${poll}/results"
+            done < "$WORK/polls"
+        done >> "$WORK/admin-${client}"
+    ) &
+done
+sleep 2
+
+echo "Casting $(wc -l < "$WORK/voters") votes on poll ${POLL_ID} with concurrency ${CONCURRENCY}..."
+awk -v options="${OPTION_IDS[*]}" '{ n = split(options, o, " "); print $1, o[NR % n + 1] }' "$WORK/voters" \
+    | xargs -P "$CONCURRENCY" -L1 sh -c 'curl -s -o /dev/null -w "%{http_code} %{time_total}\n" \
+        -H "Content-Type: application/json" \
+        -X POST "$0/api/user/$1/polls/'"$POLL_ID"'/vote" -d "{\"optionId\":$2}"' "$BASE_URL" > "$WORK/votes"
+rm "$WORK/stop"
+wait
+
+echo "Vote status codes:"
+cut -d' ' -f1 "$WORK/votes" | sort | uniq -c
+echo "Admin status codes:"
+cat "$WORK"/admin-* | sort | uniq -c
+cut -d' ' -f2 "$WORK/votes" | sort -n | awk '{ t[NR] = $1 * 1000 } END {
+    printf "Vote latency: p50 %.0f ms, p99 %.0f ms, max %.0f ms\n", t[int(NR * 0.5) + 1], t[int(NR * 0.99) + 1], t[NR] }'
@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+#
+# Measures vote throughput: registers an admin, a poll and a fresh set of voters, then casts
+# one vote per voter with the given concurrency.
+#
+# Start the application once against MySQL (the default) and once with
+#   --spring.profiles.active=embedded
+# and run this script against each, then compare the votes per second.
+#
+# Usage: scripts/benchmark-vote-throughput.sh [base-url] [voters] [concurrency]
+
+set -euo pipefail
+
+BASE_URL=${1:-http://localhost:8080}
+VOTERS=${2:-1000}
+CONCURRENCY=${3:-16}
+RUN=$(date +%s%N | tail -c 9)
+JSON='Content-Type: application/json'
+
+post() {
+    curl -s -H "$JSON" -X POST "${BASE_URL}$1" -d "$2"
+}
+
+id_of() {
+    sed -n 's/^{"id":\([0-9]*\).*/\1/p'
+}
+
+ADMIN_ID=$(post /api/admin/register "{\"username\":\"bench${RUN}\",\"email\":\"bench${RUN}@example.com\",
+    \"password\":\"Passw0rd!\",\"firstName\":\"Bench\",\"lastName\":\"Admin\"}" | id_of)
+POLL_ID=$(post "/api/admin/${ADMIN_ID}/polls" \
+    "{\"title\":\"Throughput ${RUN}\",\"options\":[\"One\",\"Two\",\"Three\",\"Four\"]}" | id_of)
+OPTION_IDS=($(curl -s "${BASE_URL}/api/user/polls/${POLL_ID}/options" | grep -o '"id":[0-9]*' | cut -d: -f2))
+
+VOTER_IDS=$(mktemp)
+trap 'rm -f "$VOTER_IDS"' EXIT
+
+echo "Registering ${VOTERS} voters..."
+seq 1 "$VOTERS" | xargs -P "$CONCURRENCY" -I{} curl -s -H "$JSON" -X POST "${BASE_URL}/api/user/register" \
+    -d "{\"username\":\"v${RUN}x{}\",\"email\":\"v${RUN}x{}@example.com\",
+    \"password\":\"Passw0rd!\",\"firstName\":\"Bench\",\"lastName\":\"Voter\"}" -w '\n' \
+    | id_of > "$VOTER_IDS"
+
+echo "Casting $(wc -l < "$VOTER_IDS") votes on poll ${POLL_ID} with concurrency ${CONCURRENCY}..."
+START=$(date +%s%N)
+awk -v options="${OPTION_IDS[*]}" '{ n = split(options, o, " "); print $1, o[NR % n + 1] }' "$VOTER_IDS" \
+    | xargs -P "$CONCURRENCY" -L1 sh -c 'curl -s -o /dev/null -w "%{http_code}\n" -H "Content-Type: application/json" \
+        -X POST "$0/api/user/$1/polls/'"$POLL_ID"'/vote" -d "{\"optionId\":$2}"' "$BASE_URL" \
+    | sort | uniq -c
+ELAPSED_MS=$(( ($(date +%s%N) - START) / 1000000 ))
+
+awk -v votes="$(wc -l < "$VOTER_IDS")" -v ms="$ELAPSED_MS" \
+    'BEGIN { printf "%d votes in %.2f s: %.1f votes/s\n", votes, ms / 1000, votes * 1000 / ms }'
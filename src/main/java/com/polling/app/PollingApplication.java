@@ -2,8 +2,13 @@ package com.polling.app;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+/**
+ * The API on Spring MVC and JPA. R2DBC is only used by
+ * {@link com.polling.app.reactive.ReactiveReadsApplication}.
+ */
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class PollingApplication {
 
     public static void main(String[] args) {
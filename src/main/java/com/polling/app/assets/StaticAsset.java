@@ -0,0 +1,49 @@
+package com.polling.app.assets;
+
+import java.nio.file.Path;
+
+/**
+ * A file of the frontend build with the precompressed variants found next to it.
+ *
+ * @param gzip   the {@code .gz} variant, or null
+ * @param brotli the {@code .br} variant, or null
+ */
+public record StaticAsset(String contentType, String cacheControl, long lastModified, Variant identity,
+                          Variant gzip, Variant brotli) {
+
+    /**
+     * One encoding of an asset, with a strong ETag of its own.
+     */
+    public record Variant(Path file, long length, String encoding, String etag) {
+    }
+
+    public boolean hasVariants() {
+        return gzip != null || brotli != null;
+    }
+
+    /**
+     * The smallest variant the client accepts, preferring brotli.
+     */
+    public Variant select(String acceptEncoding) {
+        if (brotli != null && accepts(acceptEncoding, "br")) {
+            return brotli;
+        }
+        if (gzip != null && accepts(acceptEncoding, "gzip")) {
+            return gzip;
+        }
+        return identity;
+    }
+
+    private static boolean accepts(String acceptEncoding, String encoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(encoding)) {
+                return parts.length < 2 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,144 @@
+package com.polling.app.assets;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Index of the frontend build, read once at startup: every file by URL path, with its content
+ * type, cache policy and precompressed variants. A build is never changed in place, so
+ * requests are answered from the index without touching the file system until the file is
+ * sent.
+ */
+@Slf4j
+public class StaticAssetCatalog {
+
+    public static final String INDEX = "/index.html";
+
+    private static final String NO_CACHE = "no-cache";
+
+    private final Map<String, StaticAsset> assets;
+
+    private StaticAssetCatalog(Map<String, StaticAsset> assets) {
+        this.assets = Map.copyOf(assets);
+    }
+
+    /**
+     * Indexes a build directory; hashed files are cached as immutable, everything else, such
+     * as {@code index.html}, is revalidated on every use.
+     */
+    public static StaticAssetCatalog scan(Path directory, Pattern hashedPattern, long immutableMaxAgeSeconds) {
+        Map<String, StaticAsset> assets = new HashMap<>();
+        if (!Files.isDirectory(directory)) {
+            log.warn("Static asset directory {} does not exist; no assets are served", directory.toAbsolutePath());
+            return new StaticAssetCatalog(assets);
+        }
+        String immutable = "public, max-age=" + immutableMaxAgeSeconds + ", immutable";
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(Files::isRegularFile)
+                    .filter(file -> !isVariant(file))
+                    .forEach(file -> {
+                        String name = file.getFileName().toString();
+                        String cacheControl = hashedPattern.matcher(name).find() ? immutable : NO_CACHE;
+                        assets.put(urlPath(directory, file), asset(file, cacheControl));
+                    });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read static assets in " + directory, e);
+        }
+        log.info("Serving {} static assets from {}", assets.size(), directory.toAbsolutePath());
+        return new StaticAssetCatalog(assets);
+    }
+
+    /**
+     * The asset at a URL path, or null.
+     */
+    public StaticAsset lookup(String path) {
+        return assets.get(path.equals("/") ? INDEX : path);
+    }
+
+    public int size() {
+        return assets.size();
+    }
+
+    private static StaticAsset asset(Path file, String cacheControl) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            String tag = contentHash(file);
+            String contentType = MediaTypeFactory.getMediaType(file.getFileName().toString())
+                    .map(StaticAssetCatalog::withCharset)
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            return new StaticAsset(contentType, cacheControl, lastModified,
+                    new StaticAsset.Variant(file, attributes.size(), null, "\"" + tag + "\""),
+                    variant(file, ".gz", "gzip", tag), variant(file, ".br", "br", tag));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read static asset " + file, e);
+        }
+    }
+
+    /**
+     * The first 64 bits of the file's SHA-256, so nodes serving the same build agree on its
+     * ETags whatever the files' modification times.
+     */
+    private static String contentHash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[8192];
+            for (int read = in.read(buffer); read > 0; read = in.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 8);
+    }
+
+    private static StaticAsset.Variant variant(Path file, String extension, String encoding, String tag)
+            throws IOException {
+        Path compressed = file.resolveSibling(file.getFileName() + extension);
+        if (!Files.isRegularFile(compressed)) {
+            return null;
+        }
+        return new StaticAsset.Variant(compressed, Files.size(compressed), encoding,
+                "\"" + tag + "-" + encoding + "\"");
+    }
+
+    private static String withCharset(MediaType mediaType) {
+        boolean text = mediaType.getType().equals("text") || mediaType.getSubtype().equals("javascript")
+                || mediaType.getSubtype().equals("json");
+        return text ? mediaType + ";charset=UTF-8" : mediaType.toString();
+    }
+
+    private static boolean isVariant(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.endsWith(".gz") && !name.endsWith(".br")) {
+            return false;
+        }
+        return Files.isRegularFile(file.resolveSibling(name.substring(0, name.length() - 3)));
+    }
+
+    private static String urlPath(Path directory, Path file) {
+        StringBuilder path = new StringBuilder();
+        for (Path part : directory.relativize(file)) {
+            path.append('/').append(part);
+        }
+        return path.toString();
+    }
+}
@@ -0,0 +1,36 @@
+package com.polling.app.assets;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+/**
+ * Serves the frontend build when {@code app.static-assets.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.static-assets", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(StaticAssetProperties.class)
+public class StaticAssetConfig {
+
+    @Bean
+    public StaticAssetCatalog staticAssetCatalog(StaticAssetProperties properties) {
+        return StaticAssetCatalog.scan(Path.of(properties.getDirectory()),
+                Pattern.compile(properties.getHashedPattern()), properties.getImmutableMaxAgeSeconds());
+    }
+
+    @Bean
+    public FilterRegistrationBean<StaticAssetFilter> staticAssetFilter(StaticAssetCatalog catalog,
+                                                                       StaticAssetProperties properties) {
+        FilterRegistrationBean<StaticAssetFilter> registration = new FilterRegistrationBean<>(
+                new StaticAssetFilter(catalog, properties.isSpaFallback(), properties.getPassThroughPrefixes()));
+        // Public files need neither security nor the API's filters
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
@@ -0,0 +1,128 @@
+package com.polling.app.assets;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Serves the frontend build from the {@link StaticAssetCatalog}, so one node answers both the
+ * UI and the API.
+ *
+ * The precompressed variant the client accepts is sent as it is, with no compression work per
+ * request. On Tomcat the file is handed to the connector with sendfile, which copies it from
+ * the page cache to the socket without passing through the JVM; other containers get a channel
+ * transfer. Paths without a file extension that match no asset are client-side routes and get
+ * {@code index.html}. API paths, and anything else the catalog does not know, go on to the rest
+ * of the application.
+ */
+public class StaticAssetFilter extends OncePerRequestFilter {
+
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final StaticAssetCatalog catalog;
+    private final boolean spaFallback;
+    private final List<String> passThroughPrefixes;
+
+    public StaticAssetFilter(StaticAssetCatalog catalog, boolean spaFallback, List<String> passThroughPrefixes) {
+        this.catalog = catalog;
+        this.spaFallback = spaFallback;
+        this.passThroughPrefixes = List.copyOf(passThroughPrefixes);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return passThroughPrefixes.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        StaticAsset asset = catalog.lookup(path);
+        if (asset == null && spaFallback && isClientRoute(path)) {
+            asset = catalog.lookup(StaticAssetCatalog.INDEX);
+        }
+        if (asset == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        serve(asset, request, response);
+    }
+
+    private void serve(StaticAsset asset, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        StaticAsset.Variant variant = asset.select(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, asset.cacheControl());
+        response.setHeader(HttpHeaders.ETAG, variant.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, asset.lastModified());
+        if (asset.hasVariants()) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), variant.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(asset.contentType());
+        if (variant.encoding() != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, variant.encoding());
+        }
+        response.setContentLengthLong(variant.length());
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, variant.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, variant.length());
+            return;
+        }
+        try (FileChannel file = FileChannel.open(variant.file(), StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel channel = Channels.newChannel(out);
+            long position = 0;
+            while (position < variant.length()) {
+                position += file.transferTo(position, variant.length() - position, channel);
+            }
+            out.flush();
+        }
+    }
+
+    private static boolean isClientRoute(String path) {
+        return !path.substring(path.lastIndexOf('/') + 1).contains(".");
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,41 @@
+package com.polling.app.assets;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Configuration for serving the frontend build from the application.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.static-assets")
+public class StaticAssetProperties {
+
+    /**
+     * Serves the files under {@code directory} on every path outside the API.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The frontend build, with the {@code .br} and {@code .gz} variants written by its postbuild step.
+     */
+    private String directory = "frontend/build";
+
+    /**
+     * File names matching this pattern carry a content hash, so they are cached as immutable.
+     */
+    private String hashedPattern = "\\.[0-9a-f]{8,}\\.";
+
+    private long immutableMaxAgeSeconds = 31536000;
+
+    /**
+     * Answers paths without a file extension with {@code index.html}, for client-side routes.
+     */
+    private boolean spaFallback = true;
+
+    /**
+     * Paths left to the rest of the application.
+     */
+    private List<String> passThroughPrefixes = List.of("/api/", "/actuator/", "/error");
+}
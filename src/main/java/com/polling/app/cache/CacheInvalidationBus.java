@@ -0,0 +1,155 @@
+package com.polling.app.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.polling.app.datasource.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts cache invalidations to the other application nodes.
+ *
+ * Writers publish after their transaction commits, so peers never evict before the new state
+ * is visible to them. Each node only applies events from other nodes; its own caches are
+ * already up to date. Transports may deliver an event more than once and out of order, so
+ * each origin and version is applied once, in whatever order it arrives; an eviction that
+ * arrives late is still correct. Without a transport the bus does nothing, which is what a
+ * single-node deployment wants.
+ */
+@Slf4j
+public class CacheInvalidationBus implements AutoCloseable {
+
+    private final String nodeId;
+    private final InvalidationTransport transport;
+    private final List<Consumer<CacheInvalidationEvent>> listeners = new CopyOnWriteArrayList<>();
+    // Remembered well past the window in which a transport may deliver an event again
+    private final Cache<String, Boolean> appliedEvents = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .maximumSize(1_000_000)
+            .build();
+    // Seeded from the clock so versions keep increasing across restarts of the same node
+    private final AtomicLong nextVersion = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Counter publishedCounter;
+    private final Counter appliedCounter;
+    private final Counter ignoredCounter;
+    private final Timer propagationLag;
+
+    public CacheInvalidationBus(String nodeId, InvalidationTransport transport, MeterRegistry meterRegistry) {
+        this.nodeId = nodeId;
+        this.transport = transport;
+        if (meterRegistry != null) {
+            publishedCounter = eventCounter(meterRegistry, "published");
+            appliedCounter = eventCounter(meterRegistry, "applied");
+            ignoredCounter = eventCounter(meterRegistry, "ignored");
+            propagationLag = Timer.builder("polling.cache.invalidation.lag")
+                    .description("Time from publishing an invalidation to applying it on a peer")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+        } else {
+            publishedCounter = null;
+            appliedCounter = null;
+            ignoredCounter = null;
+            propagationLag = null;
+        }
+    }
+
+    private static Counter eventCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("polling.cache.invalidation.events")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isEnabled() {
+        return transport != null;
+    }
+
+    /**
+     * Starts receiving events from peers.
+     */
+    public void start() {
+        if (transport != null) {
+            transport.start(this::receive);
+            log.info("Cache invalidation bus started on node {}", nodeId);
+        }
+    }
+
+    public void addListener(Consumer<CacheInvalidationEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Publishes an invalidation once the current transaction has committed, or immediately
+     * when there is none. Rolled back transactions publish nothing.
+     *
+     * @param region the cache region, e.g. {@code polls}
+     * @param entityId the entity to invalidate, or null for the whole region
+     */
+    public void publishAfterCommit(String region, Long entityId) {
+        if (transport == null) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> publish(region, entityId));
+    }
+
+    public void publish(String region, Long entityId) {
+        if (transport == null) {
+            return;
+        }
+        CacheInvalidationEvent event = new CacheInvalidationEvent(nodeId, nextVersion.incrementAndGet(),
+                region, entityId, System.currentTimeMillis());
+        try {
+            transport.publish(event);
+            increment(publishedCounter);
+        } catch (RuntimeException e) {
+            // Peers fall back on their cache expiry; the write itself has already succeeded
+            log.error("Failed to publish cache invalidation {}: {}", event, e.getMessage());
+        }
+    }
+
+    void receive(CacheInvalidationEvent event) {
+        if (nodeId.equals(event.getOrigin())) {
+            return;
+        }
+        if (appliedEvents.asMap().putIfAbsent(event.getOrigin() + '#' + event.getVersion(), Boolean.TRUE) != null) {
+            increment(ignoredCounter);
+            return;
+        }
+        if (propagationLag != null) {
+            propagationLag.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - event.getPublishedAtMillis())));
+        }
+        increment(appliedCounter);
+
+        for (Consumer<CacheInvalidationEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                log.error("Cache invalidation listener failed for {}: {}", event, e.getMessage(), e);
+            }
+        }
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (transport != null) {
+            transport.close();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.polling.app.cache;
+
+import com.polling.app.sharding.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Wires the {@link CacheInvalidationBus} with the transport selected by
+ * {@code app.cache.invalidation.transport}.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheInvalidationProperties.class)
+public class CacheInvalidationConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public CacheInvalidationBus cacheInvalidationBus(CacheInvalidationProperties properties,
+                                                     ObjectProvider<InvalidationTransport> transport,
+                                                     ObjectProvider<MeterRegistry> meterRegistry,
+                                                     EntityManagerFactory entityManagerFactory) {
+        String nodeId = StringUtils.hasText(properties.getNodeId())
+                ? properties.getNodeId()
+                : UUID.randomUUID().toString().substring(0, 8);
+        CacheInvalidationBus bus = new CacheInvalidationBus(nodeId, transport.getIfAvailable(),
+                meterRegistry.getIfAvailable());
+        bus.addListener(new HibernateCacheInvalidator(entityManagerFactory));
+        return bus;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.invalidation", name = "transport", havingValue = "jdbc")
+    public InvalidationTransport jdbcInvalidationTransport(DataSource dataSource, ShardRouter shardRouter,
+                                                           CacheInvalidationProperties properties) {
+        // Every node must read the same table, so sharded deployments use the home shard
+        DataSource target = shardRouter.isSharded() ? shardRouter.shardDataSource(ShardRouter.HOME_SHARD) : dataSource;
+        return new JdbcInvalidationTransport(target, properties.getJdbc().getPollIntervalMillis(),
+                properties.getJdbc().getOverlapMillis(), properties.getJdbc().getRetentionMillis());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.invalidation", name = "transport", havingValue = "udp")
+    public InvalidationTransport udpInvalidationTransport(CacheInvalidationProperties properties) {
+        CacheInvalidationProperties.Udp udp = properties.getUdp();
+        List<InetSocketAddress> peers = udp.getPeers().stream()
+                .map(peer -> {
+                    int separator = peer.lastIndexOf(':');
+                    return new InetSocketAddress(peer.substring(0, separator),
+                            Integer.parseInt(peer.substring(separator + 1)));
+                })
+                .toList();
+        return new UdpInvalidationTransport(new InetSocketAddress(udp.getBindAddress(), udp.getPort()), peers);
+    }
+}
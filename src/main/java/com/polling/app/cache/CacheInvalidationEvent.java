@@ -0,0 +1,39 @@
+package com.polling.app.cache;
+
+import lombok.Value;
+
+/**
+ * Tells other nodes that cached copies of an entity, or of a whole region when
+ * {@code entityId} is null, are stale.
+ *
+ * Versions increase monotonically per origin node, so receivers can drop duplicates and
+ * events replayed by the transport.
+ */
+@Value
+public class CacheInvalidationEvent {
+
+    private static final String SEPARATOR = "|";
+
+    String origin;
+    long version;
+    String region;
+    Long entityId;
+    long publishedAtMillis;
+
+    /**
+     * Compact text form used by transports that send raw bytes.
+     */
+    public String toWireFormat() {
+        return String.join(SEPARATOR, origin, Long.toString(version), region,
+                entityId != null ? entityId.toString() : "", Long.toString(publishedAtMillis));
+    }
+
+    public static CacheInvalidationEvent fromWireFormat(String wire) {
+        String[] parts = wire.split("\\|", -1);
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("Malformed invalidation event: " + wire);
+        }
+        return new CacheInvalidationEvent(parts[0], Long.parseLong(parts[1]), parts[2],
+                parts[3].isEmpty() ? null : Long.valueOf(parts[3]), Long.parseLong(parts[4]));
+    }
+}
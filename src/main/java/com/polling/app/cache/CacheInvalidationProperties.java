@@ -0,0 +1,54 @@
+package com.polling.app.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for broadcasting cache invalidations between application nodes.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache.invalidation")
+public class CacheInvalidationProperties {
+
+    /**
+     * {@code none} for a single node, {@code jdbc} to exchange events through the database,
+     * or {@code udp} to send them straight to the listed peers.
+     */
+    private String transport = "none";
+
+    /**
+     * Identifies this node in published events; generated when left empty.
+     */
+    private String nodeId;
+
+    private Jdbc jdbc = new Jdbc();
+
+    private Udp udp = new Udp();
+
+    @Data
+    public static class Jdbc {
+        private long pollIntervalMillis = 100;
+
+        /**
+         * How far back each poll reads again for rows that committed late or were published
+         * by a node whose clock is behind.
+         */
+        private long overlapMillis = 2000;
+
+        private long retentionMillis = 300000;
+    }
+
+    @Data
+    public static class Udp {
+        private String bindAddress = "0.0.0.0";
+        private int port = 47700;
+
+        /**
+         * Peers as {@code host:port}, excluding this node.
+         */
+        private List<String> peers = new ArrayList<>();
+    }
+}
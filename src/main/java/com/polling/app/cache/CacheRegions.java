@@ -0,0 +1,15 @@
+package com.polling.app.cache;
+
+/**
+ * Names of the second-level cache regions, as configured in {@code ehcache.xml}.
+ */
+public final class CacheRegions {
+
+    public static final String POLLS = "polls";
+    public static final String POLL_OPTIONS = "poll-options";
+    public static final String USERS = "users";
+    public static final String ADMINS = "admins";
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,51 @@
+package com.polling.app.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Applies invalidations from other nodes to this node's Hibernate second-level cache.
+ *
+ * Cached query results only hold entity IDs, but they can still point at the wrong rows once
+ * a looked-up column such as an email changes, so every invalidation also clears the query
+ * cache.
+ */
+@Slf4j
+public class HibernateCacheInvalidator implements Consumer<CacheInvalidationEvent> {
+
+    private final Cache cache;
+    private final Map<String, Class<?>> entitiesByRegion = new HashMap<>();
+
+    public HibernateCacheInvalidator(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            org.hibernate.annotations.Cache annotation =
+                    entity.getJavaType().getAnnotation(org.hibernate.annotations.Cache.class);
+            if (annotation != null) {
+                entitiesByRegion.put(annotation.region(), entity.getJavaType());
+            }
+        }
+    }
+
+    @Override
+    public void accept(CacheInvalidationEvent event) {
+        Class<?> entityClass = entitiesByRegion.get(event.getRegion());
+        if (entityClass == null) {
+            log.debug("No second-level cache region named {}", event.getRegion());
+            return;
+        }
+        if (event.getEntityId() != null) {
+            cache.evict(entityClass, event.getEntityId());
+        } else {
+            cache.evict(entityClass);
+        }
+        cache.evictQueryRegions();
+    }
+}
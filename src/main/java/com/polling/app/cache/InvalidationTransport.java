@@ -0,0 +1,22 @@
+package com.polling.app.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link CacheInvalidationEvent}s between nodes.
+ *
+ * Transports must deliver the events of one origin in the order they were published. They
+ * may also hand a node its own events back; the bus ignores those.
+ */
+public interface InvalidationTransport extends AutoCloseable {
+
+    /**
+     * Starts delivering received events to the given consumer.
+     */
+    void start(Consumer<CacheInvalidationEvent> receiver);
+
+    void publish(CacheInvalidationEvent event);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,121 @@
+package com.polling.app.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Exchanges invalidations through the {@code cache_invalidations} table of the shared database.
+ *
+ * Publishing inserts a row; every node polls for rows newer than the last one it has seen.
+ * A row can commit after rows with higher IDs, so each poll also reads again the rows
+ * published within the last {@code overlapMillis}, and the bus drops the ones it has already
+ * applied. Rows older than the retention period are purged by whichever node gets there first.
+ */
+@Slf4j
+public class JdbcInvalidationTransport implements InvalidationTransport {
+
+    private static final String DDL = "CREATE TABLE IF NOT EXISTS cache_invalidations ("
+            + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "origin VARCHAR(64) NOT NULL, "
+            + "version BIGINT NOT NULL, "
+            + "region VARCHAR(64) NOT NULL, "
+            + "entity_id BIGINT, "
+            + "published_at BIGINT NOT NULL)";
+    private static final String SELECT = "SELECT id, origin, version, region, entity_id, published_at "
+            + "FROM cache_invalidations ";
+    private static final RowMapper<Row> ROW_MAPPER = (rs, rowNum) -> new Row(rs.getLong("id"),
+            new CacheInvalidationEvent(
+                    rs.getString("origin"),
+                    rs.getLong("version"),
+                    rs.getString("region"),
+                    rs.getObject("entity_id", Long.class),
+                    rs.getLong("published_at")));
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long pollIntervalMillis;
+    private final long overlapMillis;
+    private final long retentionMillis;
+    private ScheduledExecutorService poller;
+    private long lastSeenId;
+    private long lastPurgeMillis;
+
+    public JdbcInvalidationTransport(DataSource dataSource, long pollIntervalMillis, long overlapMillis,
+                                     long retentionMillis) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.overlapMillis = overlapMillis;
+        this.retentionMillis = retentionMillis;
+    }
+
+    @Override
+    public void start(Consumer<CacheInvalidationEvent> receiver) {
+        jdbcTemplate.execute(DDL);
+        // Events published before this node started cannot concern its empty caches
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM cache_invalidations", Long.class);
+        lastSeenId = maxId != null ? maxId : 0;
+        lastPurgeMillis = System.currentTimeMillis();
+
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(() -> {
+            try {
+                poll(receiver);
+            } catch (RuntimeException e) {
+                log.warn("Polling cache invalidations failed: {}", e.getMessage());
+            }
+        }, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void poll(Consumer<CacheInvalidationEvent> receiver) {
+        // Rows below the last seen ID that committed late; published_at comes from the
+        // publisher's clock, so the overlap also has to cover clock skew between nodes
+        jdbcTemplate.query(SELECT + "WHERE id <= ? AND published_at >= ? ORDER BY id",
+                ROW_MAPPER, lastSeenId, System.currentTimeMillis() - overlapMillis)
+                .forEach(row -> receiver.accept(row.event()));
+
+        List<Row> rows;
+        do {
+            rows = jdbcTemplate.query(SELECT + "WHERE id > ? ORDER BY id LIMIT " + BATCH_SIZE, ROW_MAPPER, lastSeenId);
+            for (Row row : rows) {
+                receiver.accept(row.event());
+                lastSeenId = row.id();
+            }
+        } while (rows.size() == BATCH_SIZE);
+
+        long now = System.currentTimeMillis();
+        if (now - lastPurgeMillis >= retentionMillis) {
+            jdbcTemplate.update("DELETE FROM cache_invalidations WHERE published_at < ?", now - retentionMillis);
+            lastPurgeMillis = now;
+        }
+    }
+
+    @Override
+    public void publish(CacheInvalidationEvent event) {
+        jdbcTemplate.update("INSERT INTO cache_invalidations (origin, version, region, entity_id, published_at) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                event.getOrigin(), event.getVersion(), event.getRegion(), event.getEntityId(),
+                event.getPublishedAtMillis());
+    }
+
+    @Override
+    public void close() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    private record Row(long id, CacheInvalidationEvent event) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.polling.app.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes hits, misses and the hit ratio of every Hibernate second-level cache region as
+ * {@code polling.cache.*} meters tagged with the region name.
+ *
+ * Requires {@code hibernate.generate_statistics=true}; without it every count stays at zero.
+ */
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            FunctionCounter.builder("polling.cache.requests", statistics, s -> hits(s, region))
+                    .tags("region", region, "result", "hit")
+                    .description("Second-level cache lookups")
+                    .register(registry);
+            FunctionCounter.builder("polling.cache.requests", statistics, s -> misses(s, region))
+                    .tags("region", region, "result", "miss")
+                    .description("Second-level cache lookups")
+                    .register(registry);
+            Gauge.builder("polling.cache.hit.ratio", statistics, s -> hitRatio(s, region))
+                    .tag("region", region)
+                    .description("Share of second-level cache lookups served from the cache")
+                    .register(registry);
+        }
+    }
+
+    private static double hits(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        return regionStatistics != null ? regionStatistics.getHitCount() : 0;
+    }
+
+    private static double misses(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        return regionStatistics != null ? regionStatistics.getMissCount() : 0;
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        double hits = hits(statistics, region);
+        double lookups = hits + misses(statistics, region);
+        return lookups == 0 ? Double.NaN : hits / lookups;
+    }
+}
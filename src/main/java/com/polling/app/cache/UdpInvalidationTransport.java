@@ -0,0 +1,87 @@
+package com.polling.app.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Sends invalidations as UDP datagrams to a fixed list of peers.
+ *
+ * Delivery is best effort, so this transport suits nodes on one host or a reliable local
+ * network, and tests. Lost datagrams are covered by the cache expiry.
+ */
+@Slf4j
+public class UdpInvalidationTransport implements InvalidationTransport {
+
+    private static final int MAX_DATAGRAM_SIZE = 512;
+
+    private final DatagramSocket socket;
+    private final List<InetSocketAddress> peers;
+    private Thread receiverThread;
+
+    public UdpInvalidationTransport(InetSocketAddress bindAddress, List<InetSocketAddress> peers) {
+        try {
+            this.socket = new DatagramSocket(bindAddress);
+        } catch (SocketException e) {
+            throw new UncheckedIOException("Cannot bind cache invalidation socket to " + bindAddress, e);
+        }
+        this.peers = new CopyOnWriteArrayList<>(peers);
+    }
+
+    public int getLocalPort() {
+        return socket.getLocalPort();
+    }
+
+    public void addPeer(InetSocketAddress peer) {
+        peers.add(peer);
+    }
+
+    @Override
+    public void start(Consumer<CacheInvalidationEvent> receiver) {
+        receiverThread = new Thread(() -> {
+            byte[] buffer = new byte[MAX_DATAGRAM_SIZE];
+            while (!socket.isClosed()) {
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                try {
+                    socket.receive(packet);
+                    String wire = new String(packet.getData(), packet.getOffset(), packet.getLength(), StandardCharsets.UTF_8);
+                    receiver.accept(CacheInvalidationEvent.fromWireFormat(wire));
+                } catch (IOException e) {
+                    if (!socket.isClosed()) {
+                        log.warn("Receiving cache invalidation failed: {}", e.getMessage());
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Dropping cache invalidation datagram: {}", e.getMessage());
+                }
+            }
+        }, "cache-invalidation-receiver");
+        receiverThread.setDaemon(true);
+        receiverThread.start();
+    }
+
+    @Override
+    public void publish(CacheInvalidationEvent event) {
+        byte[] payload = event.toWireFormat().getBytes(StandardCharsets.UTF_8);
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(payload, payload.length, peer));
+            } catch (IOException e) {
+                log.warn("Sending cache invalidation to {} failed: {}", peer, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        socket.close();
+    }
+}
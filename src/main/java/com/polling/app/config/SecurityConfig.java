@@ -2,6 +2,7 @@ package com.polling.app.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -34,8 +35,11 @@ public class SecurityConfig {
                 .requestMatchers("/api/user/polls/*/options").permitAll()
                 .requestMatchers("/api/admin/polls/*/options").permitAll()
                 .requestMatchers("/api/**").permitAll()
+                // Allow the health probes; metrics need the management credentials
+                .requestMatchers("/actuator/health", "/actuator/health/liveness", "/actuator/health/readiness").permitAll()
                 .anyRequest().authenticated()
-            );
+            )
+            .httpBasic(Customizer.withDefaults());
 
         return http.build();
     }
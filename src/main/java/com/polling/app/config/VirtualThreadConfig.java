@@ -0,0 +1,29 @@
+package com.polling.app.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Reports whether {@code spring.threads.virtual.enabled=true} took effect. Spring Boot
+ * silently keeps the platform-thread pools below Java 21, which would make a virtual-thread
+ * deployment behave, and benchmark, like the default one.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        int feature = Runtime.version().feature();
+        if (feature < 21) {
+            log.warn("Virtual threads requested but running on Java {}; requests stay on the platform-thread pool. "
+                    + "Build with -Pjava21 and run on Java 21 or later", feature);
+        } else {
+            log.info("Handling requests, scheduled and async work on virtual threads");
+        }
+    }
+}
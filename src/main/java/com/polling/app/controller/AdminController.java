@@ -10,6 +10,7 @@ import com.polling.app.exception.UnauthorizedOperationException;
 import com.polling.app.exception.ValidationException;
 import com.polling.app.mapper.AdminMapper;
 import com.polling.app.mapper.PollMapper;
+import com.polling.app.resilience.ReadGuard;
 import com.polling.app.service.AdminService;
 import com.polling.app.service.PollService;
 import com.polling.app.validation.ValidationGroups;
@@ -32,6 +33,7 @@ public class AdminController {
 
     private final AdminService adminService;
     private final PollService pollService;
+    private final ReadGuard readGuard;
 
     @PostMapping("/register")
     public ResponseEntity<Admin> registerAdmin(
@@ -155,22 +157,21 @@ public class AdminController {
 
     @GetMapping("/polls/{pollId}/results")
     public ResponseEntity<Map<String, Object>> getPollResults(@PathVariable Long pollId) {
-        // First verify the poll exists
-        Poll poll = pollService.getPollById(pollId)
-                .orElseThrow(() -> new ResourceNotFoundException("Poll", pollId));
-        
-        List<PollOption> options = pollService.getPollOptions(pollId);
-        Long totalVotes = pollService.getTotalVotesForPoll(pollId);
-        
-        return ResponseEntity.ok(Map.of(
-                "options", options,
-                "totalVotes", totalVotes
-        ));
+        return ResponseEntity.ok(readGuard.read("pollResults", pollId, () -> {
+            // First verify the poll exists
+            pollService.getPollById(pollId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Poll", pollId));
+            
+            return Map.of(
+                    "options", pollService.getPollOptions(pollId),
+                    "totalVotes", pollService.getTotalVotesForPoll(pollId)
+            );
+        }));
     }
 
     @GetMapping("/polls/{pollId}/options")
     public ResponseEntity<List<PollOption>> getPollOptions(@PathVariable Long pollId) {
-        List<PollOption> options = pollService.getPollOptions(pollId);
+        List<PollOption> options = readGuard.read("pollOptions", pollId, () -> pollService.getPollOptions(pollId));
         return ResponseEntity.ok(options);
     }
 }
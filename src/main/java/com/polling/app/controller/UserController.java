@@ -1,26 +1,39 @@
 package com.polling.app.controller;
 
 import com.polling.app.dto.*;
+import com.polling.app.edge.EdgeCachePolicy;
 import com.polling.app.entity.Poll;
 import com.polling.app.entity.PollOption;
 import com.polling.app.entity.PollResponse;
 import com.polling.app.entity.User;
 import com.polling.app.exception.ResourceNotFoundException;
+import com.polling.app.history.VotingHistory;
 // import com.polling.app.exception.ValidationException;
 import com.polling.app.mapper.UserMapper;
+import com.polling.app.payload.EncodedPayloadCache;
+import com.polling.app.payload.PayloadFormat;
+import com.polling.app.payload.PollResultsCache;
+import com.polling.app.payload.PollStamp;
+import com.polling.app.payload.PollVersionTable;
+import com.polling.app.resilience.ReadGuard;
+import com.polling.app.search.PollSearchIndexer;
 import com.polling.app.service.PollService;
 import com.polling.app.service.UserService;
 import com.polling.app.validation.ValidationGroups;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 
 @RestController
 @RequestMapping("/api/user")
@@ -28,8 +41,20 @@ import java.util.HashMap;
 @Slf4j
 public class UserController {
 
+    /**
+     * Path of the batch results endpoint, a POST that only reads.
+     */
+    public static final String RESULTS_BATCH_PATH = "/api/user/polls/results:batch";
+
     private final UserService userService;
     private final PollService pollService;
+    private final ReadGuard readGuard;
+    private final EncodedPayloadCache encodedPayloadCache;
+    private final PollVersionTable pollVersionTable;
+    private final EdgeCachePolicy edgeCachePolicy;
+    private final VotingHistory votingHistory;
+    private final PollResultsCache pollResultsCache;
+    private final PollSearchIndexer pollSearchIndexer;
 
     @PostMapping("/register")
     public ResponseEntity<User> registerUser(
@@ -63,22 +88,115 @@ public class UserController {
     }
 
     @GetMapping("/polls/active")
-    public ResponseEntity<List<Poll>> getActivePolls() {
-        List<Poll> activePolls = pollService.getAllActivePolls();
-        return ResponseEntity.ok(activePolls);
+    public ResponseEntity<byte[]> getActivePolls(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String key = PollVersionTable.ACTIVE_POLLS;
+        PayloadFormat format = PayloadFormat.negotiate(accept);
+        String representation = format.representation("polls");
+        ResponseEntity<byte[]> notModified = pollVersionTable.notModified(key, representation, ifNoneMatch);
+        if (notModified != null) {
+            return notModified;
+        }
+        long changes = pollVersionTable.changeCount(key);
+        List<Poll> activePolls = readGuard.read("activePolls", "all", pollService::getAllActivePolls);
+        List<PollStamp> stamps = PollStamp.of(activePolls);
+        String etag = PollVersionTable.etag(representation, key, stamps);
+        // The listing changes by itself once its first poll closes
+        long validUntil = activePolls.stream()
+                .filter(poll -> poll.getEndsAt() != null)
+                .mapToLong(poll -> poll.getEndsAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .min().orElse(Long.MAX_VALUE);
+        pollVersionTable.record(key, representation, changes, etag, validUntil);
+        return encodedPayloadCache.respond(key, stamps, activePolls, acceptEncoding, etag, format);
+    }
+
+    /**
+     * Active and recent polls whose title or description contains every term of {@code q},
+     * the last term also as a prefix, ranked by relevance and vote activity.
+     */
+    @GetMapping("/polls/search")
+    public ResponseEntity<List<PollSearchHit>> searchPolls(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(pollSearchIndexer.search(q, limit));
+    }
+
+    /**
+     * Completions of the last term of {@code q}, for autocomplete.
+     */
+    @GetMapping("/polls/search/suggest")
+    public ResponseEntity<List<String>> suggestSearches(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(pollSearchIndexer.suggest(q, limit));
     }
 
     @GetMapping("/polls/{pollId}")
-    public ResponseEntity<Poll> getPollById(@PathVariable Long pollId) {
-        Poll poll = pollService.getPollById(pollId)
-                .orElseThrow(() -> new ResourceNotFoundException("Poll", pollId));
-        return ResponseEntity.ok(poll);
+    public ResponseEntity<byte[]> getPollById(
+            @PathVariable Long pollId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse response) {
+        PayloadFormat format = PayloadFormat.negotiate(accept);
+        String representation = format.representation("poll");
+        ResponseEntity<byte[]> notModified = pollVersionTable.notModified(pollId, representation, ifNoneMatch);
+        if (notModified != null) {
+            return notModified;
+        }
+        long changes = pollVersionTable.changeCount(pollId);
+        Poll poll = readGuard.read("pollWithAdmin", pollId, () -> pollService.getPollWithAdmin(pollId).orElse(null));
+        if (poll == null) {
+            throw new ResourceNotFoundException("Poll", pollId);
+        }
+        PollStamp stamp = PollStamp.of(poll);
+        String etag = PollVersionTable.etag(representation, pollId, List.of(stamp));
+        if (!ReadGuard.isStale(response)) {
+            pollVersionTable.record(pollId, representation, changes, etag);
+        }
+        return encodedPayloadCache.respond("poll:" + pollId, stamp, poll, acceptEncoding, etag, format);
     }
 
     @GetMapping("/polls/{pollId}/options")
-    public ResponseEntity<List<PollOption>> getPollOptions(@PathVariable Long pollId) {
-        List<PollOption> options = pollService.getPollOptions(pollId);
-        return ResponseEntity.ok(options);
+    public ResponseEntity<List<PollOption>> getPollOptions(
+            @PathVariable Long pollId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse response) {
+        PayloadFormat format = PayloadFormat.negotiate(accept);
+        String representation = format.representation("options");
+        ResponseEntity<List<PollOption>> notModified = pollVersionTable.notModified(pollId, representation, ifNoneMatch);
+        if (notModified != null) {
+            return notModified;
+        }
+        long changes = pollVersionTable.changeCount(pollId);
+        List<PollOption> options = readGuard.read("pollOptions", pollId, () -> pollService.getPollOptions(pollId));
+        String etag = PollVersionTable.etag(representation, pollId, voteCounts(options));
+        if (!ReadGuard.isStale(response)) {
+            pollVersionTable.record(pollId, representation, changes, etag);
+        }
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(etag)
+                .headers(edgeHeaders(pollId, options, response))
+                .body(options);
+    }
+
+    /**
+     * The poll, its options, its total and, with {@code viewerId}, whether that user voted,
+     * everything the voting page needs in one request.
+     */
+    @GetMapping("/polls/{pollId}/detail")
+    public ResponseEntity<PollDetail> getPollDetail(
+            @PathVariable Long pollId,
+            @RequestParam(required = false) Long viewerId) {
+        PollDetail detail = viewerId == null
+                ? readGuard.read("pollDetail", pollId, () -> pollService.getPollDetail(pollId, null))
+                : readGuard.readWithoutFallback("pollDetail", () -> pollService.getPollDetail(pollId, viewerId));
+        return ResponseEntity.ok(detail);
     }
 
     @PostMapping("/{userId}/polls/{pollId}/vote")
@@ -97,19 +215,82 @@ public class UserController {
     public ResponseEntity<Map<String, Boolean>> hasUserVoted(
             @PathVariable Long userId,
             @PathVariable Long pollId) {
-        boolean hasVoted = pollService.hasUserVoted(userId, pollId);
+        boolean hasVoted = readGuard.readWithoutFallback("hasUserVoted",
+                () -> pollService.hasUserVoted(userId, pollId));
         return ResponseEntity.ok(Map.of("hasVoted", hasVoted));
     }
 
     @GetMapping("/polls/{pollId}/results")
-    public ResponseEntity<Map<String, Object>> getPollResults(@PathVariable Long pollId) {
-        List<PollOption> options = pollService.getPollOptions(pollId);
-        Long totalVotes = pollService.getTotalVotesForPoll(pollId);
-        
-        return ResponseEntity.ok(Map.of(
-                "options", options,
-                "totalVotes", totalVotes
+    public ResponseEntity<Map<String, Object>> getPollResults(
+            @PathVariable Long pollId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse response) {
+        PayloadFormat format = PayloadFormat.negotiate(accept);
+        String representation = format.representation("results");
+        ResponseEntity<Map<String, Object>> notModified = pollVersionTable.notModified(pollId, representation, ifNoneMatch);
+        if (notModified != null) {
+            return notModified;
+        }
+        long changes = pollVersionTable.changeCount(pollId);
+        Map<String, Object> results = readGuard.read("pollResults", pollId, () -> Map.of(
+                "options", pollService.getPollOptions(pollId),
+                "totalVotes", pollService.getTotalVotesForPoll(pollId)
         ));
+        @SuppressWarnings("unchecked")
+        List<PollOption> options = (List<PollOption>) results.get("options");
+        Long totalVotes = (Long) results.get("totalVotes");
+        String etag = PollResultsCache.etag(representation, pollId, options, totalVotes);
+        // A fallback answer must not be vouched for as current
+        if (!ReadGuard.isStale(response)) {
+            pollVersionTable.record(pollId, representation, changes, etag);
+            if (format == PayloadFormat.JSON) {
+                pollResultsCache.put(pollId, changes,
+                        PollResults.builder().options(options).totalVotes(totalVotes).build());
+            }
+        }
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(etag)
+                .headers(edgeHeaders(pollId, options, response))
+                .body(results);
+    }
+
+    /**
+     * Results of up to 100 polls by ID, in the shape of {@code /polls/{pollId}/results}.
+     * Results still known to be current are served from memory and the others are read
+     * together. Polls that do not exist are left out. Results served stale are not cached.
+     */
+    @PostMapping("/polls/results:batch")
+    public ResponseEntity<Map<Long, PollResults>> getPollResultsBatch(
+            @Validated @RequestBody PollResultsBatchDto batchDto,
+            HttpServletResponse response) {
+        List<Long> pollIds = batchDto.getPollIds().stream().distinct().toList();
+        Map<Long, PollResults> cached = new HashMap<>();
+        Map<Long, Long> changes = new LinkedHashMap<>();
+        for (Long pollId : pollIds) {
+            PollResults results = pollResultsCache.get(pollId);
+            if (results != null) {
+                cached.put(pollId, results);
+            } else {
+                changes.put(pollId, pollVersionTable.changeCount(pollId));
+            }
+        }
+        Map<Long, PollResults> read = changes.isEmpty() ? Map.of()
+                : readGuard.read("pollResultsBatch", changes.keySet(), () -> pollService.getPollResults(changes.keySet()));
+        if (!ReadGuard.isStale(response)) {
+            read.forEach((pollId, results) -> pollResultsCache.put(pollId, changes.get(pollId), results));
+        }
+
+        Map<Long, PollResults> batch = new LinkedHashMap<>();
+        for (Long pollId : pollIds) {
+            PollResults results = cached.containsKey(pollId) ? cached.get(pollId) : read.get(pollId);
+            if (results != null) {
+                batch.put(pollId, results);
+            }
+        }
+        return ResponseEntity.ok(batch);
     }
 
     @GetMapping("/{userId}/voted-polls")
@@ -117,4 +298,34 @@ public class UserController {
         List<Poll> votedPolls = pollService.getPollsUserHasVotedIn(userId);
         return ResponseEntity.ok(votedPolls);
     }
+
+    /**
+     * The polls a user voted in, most recent first, with the option chosen and when. Pass a
+     * page's {@code nextCursor} as {@code before} for the next one.
+     */
+    @GetMapping("/{userId}/voting-history")
+    public ResponseEntity<VotingHistoryPage> getVotingHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer size) {
+        VotingHistoryPage page = readGuard.readWithoutFallback("votingHistory",
+                () -> votingHistory.page(userId, before, size));
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Caching headers for a poll's options or results, chosen by the state of the poll the
+     * options were read with, so the poll is not read a second time.
+     */
+    private HttpHeaders edgeHeaders(Long pollId, List<PollOption> options, HttpServletResponse response) {
+        if (!edgeCachePolicy.isEnabled()) {
+            return HttpHeaders.EMPTY;
+        }
+        Poll poll = options.isEmpty() ? null : options.get(0).getPoll();
+        return edgeCachePolicy.headers(pollId, poll, ReadGuard.isStale(response));
+    }
+
+    private static List<String> voteCounts(List<PollOption> options) {
+        return options.stream().map(option -> option.getId() + "=" + option.getVoteCount()).toList();
+    }
 }
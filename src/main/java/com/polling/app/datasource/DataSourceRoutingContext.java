@@ -0,0 +1,51 @@
+package com.polling.app.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound routing hints for {@link ReadWriteRoutingDataSource}.
+ */
+public final class DataSourceRoutingContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private DataSourceRoutingContext() {
+    }
+
+    public static boolean isPrimaryForced() {
+        return Boolean.TRUE.equals(PRIMARY_FORCED.get());
+    }
+
+    public static void forcePrimary() {
+        PRIMARY_FORCED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        PRIMARY_FORCED.remove();
+    }
+
+    /**
+     * Runs the given work with every transaction it starts routed to the primary.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = PRIMARY_FORCED.get();
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_FORCED.remove();
+            } else {
+                PRIMARY_FORCED.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Wraps work so that it is routed like the calling thread's work, for work handed to
+     * another thread.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        return isPrimaryForced() ? () -> onPrimary(work) : work;
+    }
+}
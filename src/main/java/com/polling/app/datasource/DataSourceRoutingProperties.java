@@ -0,0 +1,47 @@
+package com.polling.app.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for routing read-only transactions to replicas.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Replicas exceeding this replication lag are taken out of rotation until they catch up.
+     */
+    private long maxLagMillis = 1000;
+
+    private long lagCheckIntervalMillis = 5000;
+
+    /**
+     * Query returning the replica's lag in milliseconds as a single number.
+     * When blank, MySQL's SHOW REPLICA STATUS is used.
+     */
+    private String lagQuery;
+
+    /**
+     * How long a client stays pinned to the primary after a write.
+     */
+    private long readYourWritesWindowMillis = 5000;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        private int minimumIdle = 2;
+    }
+}
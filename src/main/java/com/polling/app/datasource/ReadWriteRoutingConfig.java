@@ -0,0 +1,95 @@
+package com.polling.app.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.AllNestedConditions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replaces the single auto-configured data source with a primary/replica routing data source
+ * when {@code app.datasource.routing.enabled=true}. The primary keeps using the regular
+ * {@code spring.datasource.*} settings; every replica gets its own Hikari pool.
+ *
+ * Sharding replaces the data source too, so with {@code app.sharding.enabled=true} this
+ * configuration stands back and the sharding configuration refuses to start instead.
+ */
+@Configuration
+@Conditional(ReadWriteRoutingConfig.OnRoutingWithoutSharding.class)
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class ReadWriteRoutingConfig {
+
+    static class OnRoutingWithoutSharding extends AllNestedConditions {
+
+        OnRoutingWithoutSharding() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+        static class RoutingEnabled {
+        }
+
+        @ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+        static class ShardingDisabled {
+        }
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primaryDataSource,
+                                                                 DataSourceRoutingProperties properties,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (DataSourceRoutingProperties.Replica replica : properties.getReplicas()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + replica.getName());
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setMinimumIdle(replica.getMinimumIdle());
+            dataSource.setReadOnly(true);
+            meterRegistry.ifAvailable(registry ->
+                    dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.put(replica.getName(), dataSource);
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas,
+                properties.getMaxLagMillis(), meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        // Defer connection checkout until the first statement so the transaction's
+        // read-only flag is known when the route is chosen
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReadWriteRoutingDataSource readWriteRoutingDataSource,
+                                               DataSourceRoutingProperties properties,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReplicaLagMonitor(readWriteRoutingDataSource, readWriteRoutingDataSource.getReplicas(),
+                properties.getLagQuery(), meterRegistry.getIfAvailable());
+    }
+}
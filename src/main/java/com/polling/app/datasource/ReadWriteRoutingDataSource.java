@@ -0,0 +1,117 @@
+package com.polling.app.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes read-only transactions to a healthy replica and everything else to the primary.
+ *
+ * The lookup key is resolved when a connection is first requested, so this data source must
+ * be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * for the transaction's read-only flag to be visible at that point.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaNames;
+    private final long maxLagMillis;
+    private final Map<String, Long> replicaLagMillis = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Map<String, Counter> routeCounters = new HashMap<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                      long maxLagMillis, MeterRegistry meterRegistry) {
+        this.replicas = Map.copyOf(replicas);
+        this.replicaNames = List.copyOf(replicas.keySet());
+        this.maxLagMillis = maxLagMillis;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        if (meterRegistry != null) {
+            for (Object name : targets.keySet()) {
+                routeCounters.put((String) name, Counter.builder("polling.datasource.routed")
+                        .description("Connections routed to each datasource")
+                        .tag("datasource", (String) name)
+                        .register(meterRegistry));
+            }
+        }
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String target = PRIMARY;
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !DataSourceRoutingContext.isPrimaryForced()) {
+            target = selectReplica();
+        }
+        Counter counter = routeCounters.get(target);
+        if (counter != null) {
+            counter.increment();
+        }
+        return target;
+    }
+
+    /**
+     * Records the latest observed lag of a replica. A negative value marks it unreachable.
+     */
+    public void updateReplicaLag(String replicaName, long lagMillis) {
+        replicaLagMillis.put(replicaName, lagMillis);
+    }
+
+    /**
+     * A replica is only in rotation once a lag check has succeeded and its lag is within bounds.
+     */
+    public boolean isReplicaInRotation(String replicaName) {
+        Long lag = replicaLagMillis.get(replicaName);
+        return lag != null && lag >= 0 && lag <= maxLagMillis;
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    public Map<String, Long> getReplicaLagMillis() {
+        return Map.copyOf(replicaLagMillis);
+    }
+
+    private String selectReplica() {
+        int size = replicaNames.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            String candidate = replicaNames.get((start + i) % size);
+            if (isReplicaInRotation(candidate)) {
+                return candidate;
+            }
+        }
+        // No replica is fresh enough, fall back to the primary
+        return PRIMARY;
+    }
+
+    /**
+     * Closes the replica pools; the primary is managed by its own bean definition.
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
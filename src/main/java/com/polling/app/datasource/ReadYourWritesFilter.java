@@ -0,0 +1,150 @@
+package com.polling.app.datasource;
+
+import com.polling.app.controller.UserController;
+import com.polling.app.graphql.GraphQlConfig;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Set;
+
+/**
+ * Keeps a client on the primary for a short window after a successful write, so that e.g. the
+ * {@code voted} check and results shown right after a vote never come from a lagging replica.
+ *
+ * The window is carried in a cookie rather than held in memory, so it survives the next
+ * request landing on a different node.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String PIN_COOKIE = "PRIMARY_PIN_UNTIL";
+
+    /**
+     * Requests sent with a write method that do not change anything.
+     */
+    private static final Set<String> READS = Set.of(GraphQlConfig.PATH, UserController.RESULTS_BATCH_PATH,
+            "/api/user/login", "/api/admin/login");
+
+    private final long windowMillis;
+
+    public ReadYourWritesFilter(@Value("${app.datasource.routing.read-your-writes-window-millis:5000}") long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())
+                && !HttpMethod.OPTIONS.matches(request.getMethod()) && !READS.contains(request.getRequestURI());
+
+        if (write || pinnedUntil(request) > now) {
+            DataSourceRoutingContext.forcePrimary();
+        }
+        PinOnSuccess pinning = write ? new PinOnSuccess(response, now + windowMillis) : null;
+        try {
+            filterChain.doFilter(request, pinning != null ? pinning : response);
+            if (pinning != null) {
+                pinning.pin();
+            }
+        } finally {
+            DataSourceRoutingContext.clear();
+        }
+    }
+
+    private long pinnedUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (PIN_COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Adds the pin cookie just before the response is written, once its status is known, and
+     * only if the request succeeded; a rejected write, such as one that failed validation,
+     * changed nothing worth reading back.
+     */
+    private static final class PinOnSuccess extends HttpServletResponseWrapper {
+
+        private final long pinUntil;
+        private boolean decided;
+
+        private PinOnSuccess(HttpServletResponse response, long pinUntil) {
+            super(response);
+            this.pinUntil = pinUntil;
+        }
+
+        private void pin() {
+            if (decided) {
+                return;
+            }
+            decided = true;
+            if (getStatus() < 400 && !isCommitted()) {
+                Cookie cookie = new Cookie(PIN_COOKIE, Long.toString(pinUntil));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, (pinUntil - System.currentTimeMillis()) / 1000));
+                addCookie(cookie);
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            pin();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            pin();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            pin();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            decided = true;
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            decided = true;
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            pin();
+            super.sendRedirect(location);
+        }
+    }
+}
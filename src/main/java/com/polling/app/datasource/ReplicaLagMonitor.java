@@ -0,0 +1,94 @@
+package com.polling.app.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Periodically measures replication lag on every replica and feeds it to the routing data source.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String MYSQL_REPLICA_STATUS = "SHOW REPLICA STATUS";
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final Map<String, DataSource> replicas;
+    private final String lagQuery;
+
+    public ReplicaLagMonitor(ReadWriteRoutingDataSource routingDataSource, Map<String, DataSource> replicas,
+                             String lagQuery, MeterRegistry meterRegistry) {
+        this.routingDataSource = routingDataSource;
+        this.replicas = replicas;
+        this.lagQuery = lagQuery;
+
+        if (meterRegistry != null) {
+            for (String name : replicas.keySet()) {
+                Gauge.builder("polling.datasource.replica.lag", routingDataSource,
+                                ds -> ds.getReplicaLagMillis().getOrDefault(name, -1L))
+                        .description("Last observed replication lag in milliseconds, -1 when unreachable")
+                        .baseUnit("milliseconds")
+                        .tag("datasource", name)
+                        .register(meterRegistry);
+                Gauge.builder("polling.datasource.replica.in.rotation", routingDataSource,
+                                ds -> ds.isReplicaInRotation(name) ? 1 : 0)
+                        .description("Whether the replica currently serves read-only transactions")
+                        .tag("datasource", name)
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval-millis:5000}")
+    public void checkReplicas() {
+        replicas.forEach((name, dataSource) -> {
+            long lag;
+            String failure = null;
+            try {
+                lag = measureLag(dataSource);
+            } catch (SQLException e) {
+                lag = -1;
+                failure = e.getMessage();
+            }
+            boolean wasInRotation = routingDataSource.isReplicaInRotation(name);
+            routingDataSource.updateReplicaLag(name, lag);
+            boolean inRotation = routingDataSource.isReplicaInRotation(name);
+            if (wasInRotation && !inRotation) {
+                log.warn("Replica {} left rotation, reads fall back to other datasources (lag {} ms{})",
+                        name, lag, failure != null ? ", " + failure : "");
+            } else if (!wasInRotation && inRotation) {
+                log.info("Replica {} joined rotation (lag {} ms)", name, lag);
+            }
+        });
+    }
+
+    private long measureLag(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (StringUtils.hasText(lagQuery)) {
+                try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                    return resultSet.next() ? resultSet.getLong(1) : 0;
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery(MYSQL_REPLICA_STATUS)) {
+                if (!resultSet.next()) {
+                    throw new SQLException("Datasource is not configured as a replica");
+                }
+                long seconds = resultSet.getLong("Seconds_Behind_Source");
+                if (resultSet.wasNull()) {
+                    throw new SQLException("Replication is not running");
+                }
+                return seconds * 1000;
+            }
+        }
+    }
+}
@@ -35,6 +35,9 @@ public class PollCreationDto {
     @ValidPollOptions
     private List<String> options;
 
+    @Future(message = "Poll start date must be in the future")
+    private LocalDateTime startsAt;
+
     @Future(message = "Poll end date must be in the future")
     private LocalDateTime endsAt;
 
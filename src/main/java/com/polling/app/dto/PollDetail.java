@@ -0,0 +1,62 @@
+package com.polling.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Everything the voting page shows for a poll: the poll, its options by vote count, the total
+ * and, for a given viewer, whether and how they voted.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PollDetail {
+    private Long id;
+    private String title;
+    private String description;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private AdminSummary admin;
+    private List<Option> options;
+    private Long totalVotes;
+
+    /**
+     * Null unless a viewer was given.
+     */
+    private Boolean hasVoted;
+
+    /**
+     * The viewer's option, null if they have not voted or their vote is still being stored.
+     */
+    private Long votedOptionId;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AdminSummary {
+        private Long id;
+        private String username;
+        private String firstName;
+        private String lastName;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Option {
+        private Long id;
+        private String optionText;
+        private Integer voteCount;
+    }
+}
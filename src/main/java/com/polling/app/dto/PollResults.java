@@ -0,0 +1,21 @@
+package com.polling.app.dto;
+
+import com.polling.app.entity.PollOption;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A poll's options, highest count first, and its total votes, as sent for the poll's results.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PollResults {
+    private List<PollOption> options;
+    private Long totalVotes;
+}
@@ -0,0 +1,25 @@
+package com.polling.app.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for requesting the results of several polls at once
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PollResultsBatchDto {
+
+    @NotEmpty(message = "Poll IDs are required")
+    @Size(max = 100, message = "At most 100 polls can be requested at once")
+    private List<@NotNull(message = "Poll IDs must not be null") Long> pollIds;
+}
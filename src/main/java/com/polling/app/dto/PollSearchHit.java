@@ -0,0 +1,26 @@
+package com.polling.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A poll found by a search, with the score it was ranked by.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PollSearchHit {
+    private Long id;
+    private String title;
+    private String description;
+    private Boolean isActive;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private Long totalVotes;
+    private Double score;
+}
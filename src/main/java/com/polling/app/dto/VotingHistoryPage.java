@@ -0,0 +1,37 @@
+package com.polling.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of the polls a user voted in, most recent vote first.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VotingHistoryPage {
+    private List<Entry> entries;
+
+    /**
+     * Pass as {@code before} to get the next page; null on the last page.
+     */
+    private String nextCursor;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private Long pollId;
+        private String pollTitle;
+        private Long optionId;
+        private String optionText;
+        private LocalDateTime votedAt;
+    }
+}
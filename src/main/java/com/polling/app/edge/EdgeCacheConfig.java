@@ -0,0 +1,26 @@
+package com.polling.app.edge;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the caching policy for public poll reads and the client that purges them from
+ * the edge cache.
+ */
+@Configuration
+@EnableConfigurationProperties(EdgeCacheProperties.class)
+public class EdgeCacheConfig {
+
+    @Bean
+    public EdgeCachePolicy edgeCachePolicy(EdgeCacheProperties properties) {
+        return new EdgeCachePolicy(properties);
+    }
+
+    @Bean
+    public SurrogatePurger surrogatePurger(EdgeCacheProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new SurrogatePurger(properties.getPurge(), meterRegistry.getIfAvailable());
+    }
+}
@@ -0,0 +1,84 @@
+package com.polling.app.edge;
+
+import com.polling.app.entity.Poll;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Chooses how long browsers and shared caches may keep a poll's options and results, and
+ * tags them with surrogate keys so {@link SurrogatePurger} can remove them again.
+ *
+ * Results of an open poll change with every vote, so a CDN keeps them for a second or two
+ * and serves them a little longer while it fetches them again; browsers revalidate them with
+ * their ETag every time. A closed poll no longer changes, so it is cached for as long as the
+ * CDN allows, which only a purge cuts short. Answers served stale while the database is
+ * unavailable are always treated like those of an open poll.
+ */
+public class EdgeCachePolicy {
+
+    public static final String SURROGATE_KEY = "Surrogate-Key";
+
+    private final EdgeCacheProperties properties;
+
+    public EdgeCachePolicy(EdgeCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Headers for the options or results of a poll.
+     *
+     * @param poll  the poll, or null if it is unknown or could not be read
+     * @param stale whether the answer is an earlier one served in degraded mode
+     */
+    public HttpHeaders headers(Long pollId, Poll poll, boolean stale) {
+        HttpHeaders headers = new HttpHeaders();
+        if (!properties.isEnabled()) {
+            return headers;
+        }
+        boolean closed = poll != null && !stale && isClosed(poll, LocalDateTime.now());
+        headers.setCacheControl(closed ? closedPolicy() : livePolicy());
+        headers.set(SURROGATE_KEY, poll != null && poll.getAdmin() != null
+                ? pollKey(pollId) + " " + adminKey(poll.getAdmin().getId())
+                : pollKey(pollId));
+        return headers;
+    }
+
+    public static String pollKey(Long pollId) {
+        return "poll-" + pollId;
+    }
+
+    public static String adminKey(Long adminId) {
+        return "admin-" + adminId;
+    }
+
+    /**
+     * Whether a poll has ended, or was deactivated without a start still ahead of it.
+     */
+    static boolean isClosed(Poll poll, LocalDateTime now) {
+        if (poll.getEndsAt() != null && !poll.getEndsAt().isAfter(now)) {
+            return true;
+        }
+        return !Boolean.TRUE.equals(poll.getIsActive())
+                && (poll.getStartsAt() == null || !poll.getStartsAt().isAfter(now));
+    }
+
+    private CacheControl livePolicy() {
+        return CacheControl.maxAge(Duration.ZERO)
+                .cachePublic()
+                .sMaxAge(Duration.ofSeconds(properties.getLiveSMaxAgeSeconds()))
+                .staleWhileRevalidate(Duration.ofSeconds(properties.getLiveStaleWhileRevalidateSeconds()));
+    }
+
+    private CacheControl closedPolicy() {
+        return CacheControl.maxAge(Duration.ofSeconds(properties.getClosedMaxAgeSeconds()))
+                .cachePublic()
+                .sMaxAge(Duration.ofSeconds(properties.getClosedSMaxAgeSeconds()));
+    }
+}
@@ -0,0 +1,70 @@
+package com.polling.app.edge;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration for caching public poll reads in a CDN or reverse proxy, and for purging them.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.edge-cache")
+public class EdgeCacheProperties {
+
+    /**
+     * Sends {@code Cache-Control} and {@code Surrogate-Key} headers on options and results.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a shared cache may serve the options or results of an open poll.
+     */
+    private long liveSMaxAgeSeconds = 1;
+
+    /**
+     * How long after that a shared cache may serve them while it fetches them again.
+     */
+    private long liveStaleWhileRevalidateSeconds = 2;
+
+    /**
+     * How long browsers keep the options and results of a closed poll.
+     */
+    private long closedMaxAgeSeconds = 60;
+
+    /**
+     * How long a shared cache keeps the options and results of a closed poll; purges end it
+     * early if the poll is opened again.
+     */
+    private long closedSMaxAgeSeconds = 31536000;
+
+    private Purge purge = new Purge();
+
+    @Data
+    public static class Purge {
+
+        /**
+         * Purge endpoint, with {@code {key}} standing for the surrogate key, e.g.
+         * {@code https://api.fastly.com/service/<id>/purge/{key}}. Nothing is purged when unset.
+         */
+        private String urlTemplate;
+
+        /**
+         * {@code POST} for most CDNs, {@code PURGE} or {@code BAN} for Varnish.
+         */
+        private String method = "POST";
+
+        /**
+         * Headers sent with every purge, e.g. the CDN's API token.
+         */
+        private Map<String, String> headers = new LinkedHashMap<>();
+
+        /**
+         * Votes on a poll within this interval are purged together.
+         */
+        private long voteIntervalMillis = 1000;
+
+        private long timeoutMillis = 2000;
+    }
+}
@@ -0,0 +1,131 @@
+package com.polling.app.edge;
+
+import com.polling.app.datasource.TransactionHooks;
+import com.polling.app.lifecycle.PollLifecycleEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Asks the CDN or reverse proxy in front of the application to drop everything tagged with a
+ * surrogate key, once the write that changed it commits.
+ *
+ * Edits, activations, deactivations, deletions and lifecycle transitions are purged right
+ * away. Votes are collected per poll and purged together every {@code voteIntervalMillis},
+ * so a busy poll costs one purge per interval rather than one per vote. Purges are sent
+ * asynchronously and a failed one is only logged and counted; the short shared TTL of open
+ * polls bounds how long a missed purge matters.
+ */
+@Slf4j
+public class SurrogatePurger {
+
+    private final String urlTemplate;
+    private final String method;
+    private final Map<String, String> headers;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+    private final Set<Long> votedPolls = ConcurrentHashMap.newKeySet();
+    private final Counter succeeded;
+    private final Counter failed;
+
+    public SurrogatePurger(EdgeCacheProperties.Purge properties, MeterRegistry meterRegistry) {
+        this.urlTemplate = properties.getUrlTemplate();
+        this.method = properties.getMethod();
+        this.headers = Map.copyOf(properties.getHeaders());
+        this.timeout = Duration.ofMillis(properties.getTimeoutMillis());
+        this.httpClient = urlTemplate != null ? HttpClient.newBuilder().connectTimeout(timeout).build() : null;
+        this.succeeded = meterRegistry != null ? purges(meterRegistry, "success") : null;
+        this.failed = meterRegistry != null ? purges(meterRegistry, "failure") : null;
+    }
+
+    private static Counter purges(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("polling.edge.purges")
+                .description("Surrogate key purges sent to the edge cache")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Purges a poll's options and results once the current transaction commits.
+     */
+    public void pollChangedAfterCommit(Long pollId) {
+        purgeAfterCommit(EdgeCachePolicy.pollKey(pollId));
+    }
+
+    /**
+     * Purges everything that embeds an admin once the current transaction commits.
+     */
+    public void adminChangedAfterCommit(Long adminId) {
+        purgeAfterCommit(EdgeCachePolicy.adminKey(adminId));
+    }
+
+    /**
+     * Queues a poll for the next vote purge once the current transaction commits.
+     */
+    public void votesChangedAfterCommit(Long pollId) {
+        if (httpClient != null) {
+            TransactionHooks.afterCommit(() -> votedPolls.add(pollId));
+        }
+    }
+
+    @EventListener
+    public void onLifecycleEvent(PollLifecycleEvent event) {
+        event.getPollIds().forEach(this::pollChangedAfterCommit);
+    }
+
+    /**
+     * Purges the polls that received votes since the last run.
+     */
+    @Scheduled(fixedDelayString = "${app.edge-cache.purge.vote-interval-millis:1000}")
+    public void purgeVotedPolls() {
+        if (votedPolls.isEmpty()) {
+            return;
+        }
+        List<Long> pollIds = new ArrayList<>(votedPolls);
+        votedPolls.removeAll(pollIds);
+        pollIds.forEach(pollId -> purge(EdgeCachePolicy.pollKey(pollId)));
+    }
+
+    private void purgeAfterCommit(String key) {
+        if (httpClient != null) {
+            TransactionHooks.afterCommit(() -> purge(key));
+        }
+    }
+
+    private void purge(String key) {
+        URI uri = URI.create(urlTemplate.replace("{key}", URLEncoder.encode(key, StandardCharsets.UTF_8)));
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .method(method, HttpRequest.BodyPublishers.noBody());
+        headers.forEach(request::header);
+        httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error == null && response.statusCode() / 100 == 2) {
+                        if (succeeded != null) {
+                            succeeded.increment();
+                        }
+                        return;
+                    }
+                    if (failed != null) {
+                        failed.increment();
+                    }
+                    log.warn("Purging surrogate key {} failed: {}", key,
+                            error != null ? error.toString() : "status " + response.statusCode());
+                });
+    }
+}
@@ -1,19 +1,30 @@
 package com.polling.app.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.polling.app.cache.CacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.Set;
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 
 @Entity
-@Table(name = "polls")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.POLLS)
+@Table(name = "polls", indexes = {
+        @Index(name = "idx_polls_active_ends_at", columnList = "is_active, ends_at"),
+        @Index(name = "idx_polls_starts_at", columnList = "starts_at"),
+        @Index(name = "idx_polls_updated_at", columnList = "updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -41,20 +52,35 @@ public class Poll {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+
     @Column(name = "ends_at")
     private LocalDateTime endsAt;
 
+    /**
+     * Set while the poll waits for the lifecycle scheduler to open it at its start time.
+     */
+    @Column(name = "awaiting_start")
+    @JsonIgnore
+    private Boolean awaitingStart = false;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "admin_id", nullable = false)
     @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Admin admin;
 
     @OneToMany(mappedBy = "poll", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JsonIgnore
     private Set<PollOption> pollOptions;
 
     @OneToMany(mappedBy = "poll", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JsonIgnore
     private Set<PollResponse> pollResponses;
 
     @PrePersist
@@ -2,17 +2,23 @@ package com.polling.app.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.polling.app.cache.CacheRegions;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.Set;
 
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.POLL_OPTIONS)
 @Table(name = "poll_options")
 @Data
 @NoArgsConstructor
@@ -26,7 +32,12 @@ public class PollOption {
     @Column(nullable = false)
     private String optionText;
 
-    @Column(name = "vote_count", nullable = false)
+    /**
+     * Votes are counted through {@link PollOptionVoteCount}, which maps the same column without
+     * being cached, so voting never invalidates cached options. This field is only written on
+     * insert and is refreshed from the live count before options are returned.
+     */
+    @Column(name = "vote_count", nullable = false, updatable = false)
     private Integer voteCount = 0;
 
     @Column(name = "created_at")
@@ -35,11 +46,13 @@ public class PollOption {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "poll_id", nullable = false)
     @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JsonIgnore
     private Poll poll;
 
     @OneToMany(mappedBy = "pollOption", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JsonIgnore
     private Set<PollResponse> pollResponses;
 
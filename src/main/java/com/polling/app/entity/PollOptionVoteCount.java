@@ -0,0 +1,30 @@
+package com.polling.app.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Live vote count of a poll option.
+ *
+ * Maps the {@code vote_count} column of {@code poll_options} separately from {@link PollOption}
+ * and is deliberately not cached: counters change on every vote, while the rest of an option
+ * never changes and can stay in the second-level cache. Rows are created together with their
+ * {@link PollOption}, never through this entity.
+ */
+@Entity
+@Table(name = "poll_options")
+@Data
+@NoArgsConstructor
+public class PollOptionVoteCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "poll_id", nullable = false, insertable = false, updatable = false)
+    private Long pollId;
+
+    @Column(name = "vote_count", nullable = false)
+    private Integer voteCount = 0;
+}
@@ -1,8 +1,10 @@
 package com.polling.app.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
@@ -10,7 +12,11 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "poll_responses", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "poll_id"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "poll_id"}),
+       indexes = {
+               @Index(name = "idx_poll_responses_response_date", columnList = "response_date"),
+               @Index(name = "idx_poll_responses_user_history", columnList = "user_id, response_date, poll_id, poll_option_id")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,23 +29,37 @@ public class PollResponse {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "poll_id", nullable = false)
     @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Poll poll;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "poll_option_id", nullable = false)
     @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private PollOption pollOption;
 
     @Column(name = "response_date", nullable = false)
     private LocalDateTime responseDate;
 
+    /**
+     * Node that accepted the vote when votes are counted per node; used to rebuild a node's
+     * counters after it stopped before persisting them.
+     */
+    @Column(name = "node_id", length = 64)
+    @JsonIgnore
+    private String nodeId;
+
     @PrePersist
     protected void onCreate() {
-        responseDate = LocalDateTime.now();
+        // Votes projected from the vote journal keep the time they were cast
+        if (responseDate == null) {
+            responseDate = LocalDateTime.now();
+        }
     }
 }
@@ -0,0 +1,17 @@
+package com.polling.app.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when the database is unavailable and no earlier answer can be served instead
+ */
+public class ServiceDegradedException extends PollAppException {
+
+    public ServiceDegradedException(String message) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_DEGRADED");
+    }
+
+    public ServiceDegradedException(String message, Throwable cause) {
+        super(message, cause, HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_DEGRADED");
+    }
+}
@@ -0,0 +1,14 @@
+package com.polling.app.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a shard does not answer a scatter-gather query in time
+ */
+public class ShardUnavailableException extends PollAppException {
+    
+    public ShardUnavailableException(int shard, Throwable cause) {
+        super(String.format("Shard %d is unavailable", shard), cause,
+              HttpStatus.SERVICE_UNAVAILABLE, "SHARD_UNAVAILABLE");
+    }
+}
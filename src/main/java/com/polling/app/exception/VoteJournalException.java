@@ -0,0 +1,17 @@
+package com.polling.app.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when the vote journal cannot be written or holds a corrupted record
+ */
+public class VoteJournalException extends PollAppException {
+    
+    public VoteJournalException(String message) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE, "VOTE_JOURNAL_UNAVAILABLE");
+    }
+    
+    public VoteJournalException(String message, Throwable cause) {
+        super(message, cause, HttpStatus.SERVICE_UNAVAILABLE, "VOTE_JOURNAL_UNAVAILABLE");
+    }
+}
@@ -0,0 +1,13 @@
+package com.polling.app.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a request exceeds the concurrency budget of its workload class
+ */
+public class WorkloadRejectedException extends PollAppException {
+
+    public WorkloadRejectedException(String message) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE, "OVERLOADED");
+    }
+}
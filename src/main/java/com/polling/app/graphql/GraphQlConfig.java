@@ -0,0 +1,32 @@
+package com.polling.app.graphql;
+
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Rejects GraphQL queries beyond {@code app.graphql.max-depth} or
+ * {@code app.graphql.max-complexity} before any of their fields is resolved.
+ */
+@Configuration
+@EnableConfigurationProperties(GraphQlProperties.class)
+public class GraphQlConfig {
+
+    /**
+     * Path of the endpoint, also set as {@code spring.graphql.path}. The schema has no
+     * mutations, so requests to it are reads even though they are POSTs.
+     */
+    public static final String PATH = "/api/graphql";
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(GraphQlProperties properties) {
+        return new MaxQueryDepthInstrumentation(properties.getMaxDepth());
+    }
+
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(GraphQlProperties properties) {
+        return new MaxQueryComplexityInstrumentation(properties.getMaxComplexity());
+    }
+}
@@ -0,0 +1,23 @@
+package com.polling.app.graphql;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits on the GraphQL queries a single request may run.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.graphql")
+public class GraphQlProperties {
+
+    /**
+     * Deepest field nesting a query may use.
+     */
+    private int maxDepth = 8;
+
+    /**
+     * Most fields a query may select, aliases included. Every aliased {@code hasVoted} with a
+     * different user costs a statement, so this bounds the statements a request can cause.
+     */
+    private int maxComplexity = 200;
+}
@@ -0,0 +1,118 @@
+package com.polling.app.graphql;
+
+import com.polling.app.entity.Admin;
+import com.polling.app.entity.Poll;
+import com.polling.app.entity.PollOption;
+import com.polling.app.service.AdminService;
+import com.polling.app.service.PollService;
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the GraphQL schema in {@code graphql/schema.graphqls}.
+ *
+ * Fields below a list of polls are never fetched poll by poll: admins, options, vote totals
+ * and the viewer's votes are collected per field and loaded with one set-based query each
+ * once the level has been resolved, so a dashboard costs the same few statements however many
+ * polls it shows.
+ */
+@Controller
+public class PollGraphQlController {
+
+    private final PollService pollService;
+    private final AdminService adminService;
+
+    public PollGraphQlController(PollService pollService, AdminService adminService, BatchLoaderRegistry registry) {
+        this.pollService = pollService;
+        this.adminService = adminService;
+        registry.forTypePair(Long.class, Poll.class).registerMappedBatchLoader((pollIds, environment) ->
+                Mono.fromCallable(() -> pollService.getPollsByIds(pollIds).stream()
+                        .collect(Collectors.toMap(Poll::getId, Function.identity()))));
+        registry.<VoteKey, Boolean>forName("hasVotedLoader").registerMappedBatchLoader((keys, environment) ->
+                Mono.fromCallable(() -> hasVoted(keys)));
+    }
+
+    @QueryMapping
+    public List<Poll> activePolls() {
+        return pollService.getAllActivePolls();
+    }
+
+    @QueryMapping
+    public CompletableFuture<Poll> poll(@Argument Long id, DataLoader<Long, Poll> pollLoader) {
+        return pollLoader.load(id);
+    }
+
+    @QueryMapping
+    public Viewer viewer(@Argument Long userId) {
+        return new Viewer(userId);
+    }
+
+    @SchemaMapping
+    public List<Poll> votedPolls(Viewer viewer) {
+        return pollService.getPollsUserHasVotedIn(viewer.id());
+    }
+
+    @BatchMapping
+    public Map<Poll, Admin> admin(List<Poll> polls) {
+        // Reading the ID does not load a lazy admin
+        Map<Long, Admin> admins = adminService.getAdminsByIds(polls.stream()
+                        .map(poll -> poll.getAdmin().getId())
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Admin::getId, Function.identity()));
+        return byPoll(polls, poll -> admins.get(poll.getAdmin().getId()));
+    }
+
+    @BatchMapping
+    public Map<Poll, List<PollOption>> options(List<Poll> polls) {
+        Map<Long, List<PollOption>> options = pollService.getPollOptions(ids(polls));
+        return byPoll(polls, poll -> options.getOrDefault(poll.getId(), List.of()));
+    }
+
+    @BatchMapping
+    public Map<Poll, Long> totalVotes(List<Poll> polls) {
+        Map<Long, Long> totals = pollService.getTotalVotesForPolls(ids(polls));
+        return byPoll(polls, poll -> totals.getOrDefault(poll.getId(), 0L));
+    }
+
+    @SchemaMapping
+    public CompletableFuture<Boolean> hasVoted(Poll poll, @Argument Long userId,
+                                               DataLoader<VoteKey, Boolean> hasVotedLoader) {
+        return hasVotedLoader.load(new VoteKey(userId, poll.getId()));
+    }
+
+    private Map<VoteKey, Boolean> hasVoted(Set<VoteKey> keys) {
+        Map<VoteKey, Boolean> answers = new HashMap<>();
+        keys.stream()
+                .collect(Collectors.groupingBy(VoteKey::userId, Collectors.mapping(VoteKey::pollId, Collectors.toSet())))
+                .forEach((userId, pollIds) -> {
+                    Set<Long> voted = pollService.getPollsUserHasVoted(userId, pollIds);
+                    pollIds.forEach(pollId -> answers.put(new VoteKey(userId, pollId), voted.contains(pollId)));
+                });
+        return answers;
+    }
+
+    private static Set<Long> ids(Collection<Poll> polls) {
+        return polls.stream().map(Poll::getId).collect(Collectors.toSet());
+    }
+
+    private static <V> Map<Poll, V> byPoll(List<Poll> polls, Function<Poll, V> value) {
+        Map<Poll, V> values = new HashMap<>();
+        polls.forEach(poll -> values.put(poll, value.apply(poll)));
+        return values;
+    }
+}
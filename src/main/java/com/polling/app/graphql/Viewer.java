@@ -0,0 +1,7 @@
+package com.polling.app.graphql;
+
+/**
+ * The user a dashboard is shown to.
+ */
+public record Viewer(Long id) {
+}
@@ -0,0 +1,7 @@
+package com.polling.app.graphql;
+
+/**
+ * Key of the data loader answering whether a user has voted in a poll.
+ */
+record VoteKey(Long userId, Long pollId) {
+}
@@ -0,0 +1,162 @@
+package com.polling.app.history;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.polling.app.cache.CacheInvalidationEvent;
+import com.polling.app.cache.CacheRegions;
+import com.polling.app.datasource.TransactionHooks;
+import com.polling.app.dto.VotingHistoryPage;
+import com.polling.app.exception.ValidationException;
+import com.polling.app.repository.PollResponseRepository;
+import com.polling.app.repository.projection.VotingHistoryRow;
+import com.polling.app.sharding.ShardRouter;
+import com.polling.app.voting.VoteRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads the polls a user voted in, most recent vote first, one page at a time. Pages continue
+ * from a cursor naming the last vote seen, so every page is an index seek on
+ * {@code (user_id, response_date, poll_id)} however far back it is.
+ *
+ * The first page of the default size is kept per user until the user votes through this
+ * node, a poll changes anywhere, or it expires. Reads that overlap with any of these are not
+ * kept, so a page read before a vote committed is never cached after it.
+ */
+public class VotingHistory {
+
+    private static final String CACHE_NAME = "voting-history";
+
+    private static final Comparator<VotingHistoryRow> NEWEST_FIRST =
+            Comparator.comparing(VotingHistoryRow::getVotedAt, Comparator.reverseOrder())
+                    .thenComparing(VotingHistoryRow::getPollId, Comparator.reverseOrder());
+
+    private final PollResponseRepository pollResponseRepository;
+    private final ShardRouter shardRouter;
+    private final VoteRecorder voteRecorder;
+    private final VotingHistoryProperties properties;
+    private final Cache<Long, VotingHistoryPage> firstPages;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public VotingHistory(PollResponseRepository pollResponseRepository, ShardRouter shardRouter,
+                         VoteRecorder voteRecorder, VotingHistoryProperties properties, MeterRegistry meterRegistry) {
+        this.pollResponseRepository = pollResponseRepository;
+        this.shardRouter = shardRouter;
+        this.voteRecorder = voteRecorder;
+        this.properties = properties;
+        VotingHistoryProperties.FirstPageCache cache = properties.getFirstPageCache();
+        if (cache.isEnabled()) {
+            firstPages = Caffeine.newBuilder()
+                    .maximumSize(cache.getMaxUsers())
+                    .expireAfterWrite(Duration.ofSeconds(cache.getTtlSeconds()))
+                    .recordStats()
+                    .build();
+            if (meterRegistry != null) {
+                CaffeineCacheMetrics.monitor(meterRegistry, firstPages, CACHE_NAME);
+            }
+        } else {
+            firstPages = null;
+        }
+    }
+
+    /**
+     * Returns a page of a user's votes.
+     *
+     * @param before the {@code nextCursor} of the previous page, or null for the first page
+     * @param size   entries per page, or null for the default
+     */
+    public VotingHistoryPage page(Long userId, String before, Integer size) {
+        int pageSize = size != null ? size : properties.getDefaultPageSize();
+        if (pageSize < 1 || pageSize > properties.getMaxPageSize()) {
+            throw new ValidationException("size", "Page size must be between 1 and " + properties.getMaxPageSize());
+        }
+        if (before != null) {
+            return read(userId, VotingHistoryCursor.decode(before), pageSize);
+        }
+        boolean cacheable = firstPages != null && pageSize == properties.getDefaultPageSize();
+        if (cacheable) {
+            VotingHistoryPage cached = firstPages.getIfPresent(userId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long invalidationsBefore = invalidations.get();
+        VotingHistoryPage page = read(userId, null, pageSize);
+        // Votes still in the journal are not in the page yet, so it would stay incomplete
+        if (cacheable && invalidations.get() == invalidationsBefore && !voteRecorder.hasPendingVotes(userId)) {
+            firstPages.put(userId, page);
+        }
+        return page;
+    }
+
+    private VotingHistoryPage read(Long userId, VotingHistoryCursor cursor, int pageSize) {
+        // One row more than the page tells whether another page follows
+        Limit limit = Limit.of(pageSize + 1);
+        List<VotingHistoryRow> rows = new ArrayList<>(shardRouter.scatter(shard -> cursor == null
+                ? pollResponseRepository.findHistoryByUserId(userId, limit)
+                : pollResponseRepository.findHistoryByUserIdBefore(userId, cursor.votedAt(), cursor.pollId(), limit)));
+        if (shardRouter.isSharded()) {
+            rows.sort(NEWEST_FIRST);
+        }
+
+        List<VotingHistoryPage.Entry> entries = rows.stream()
+                .limit(pageSize)
+                .map(row -> VotingHistoryPage.Entry.builder()
+                        .pollId(row.getPollId())
+                        .pollTitle(row.getPollTitle())
+                        .optionId(row.getOptionId())
+                        .optionText(row.getOptionText())
+                        .votedAt(row.getVotedAt())
+                        .build())
+                .toList();
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            VotingHistoryPage.Entry last = entries.get(entries.size() - 1);
+            nextCursor = new VotingHistoryCursor(last.getVotedAt(), last.getPollId()).encode();
+        }
+        return VotingHistoryPage.builder().entries(entries).nextCursor(nextCursor).build();
+    }
+
+    /**
+     * Drops a user's first page once the current transaction commits.
+     */
+    public void userVotedAfterCommit(Long userId) {
+        TransactionHooks.afterCommit(() -> {
+            invalidations.incrementAndGet();
+            if (firstPages != null) {
+                firstPages.invalidate(userId);
+            }
+        });
+    }
+
+    /**
+     * Drops every first page once the current transaction commits, for edits and deletions
+     * of a poll, which may be in any user's history.
+     */
+    public void pollChangedAfterCommit(Long pollId) {
+        TransactionHooks.afterCommit(this::invalidateAll);
+    }
+
+    /**
+     * Applies a cache invalidation from another node.
+     */
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (CacheRegions.POLLS.equals(event.getRegion())) {
+            invalidateAll();
+        }
+    }
+
+    private void invalidateAll() {
+        invalidations.incrementAndGet();
+        if (firstPages != null) {
+            firstPages.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.polling.app.history;
+
+import com.polling.app.cache.CacheInvalidationBus;
+import com.polling.app.repository.PollResponseRepository;
+import com.polling.app.sharding.ShardRouter;
+import com.polling.app.voting.VoteRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the paginated voting history and its cache of first pages.
+ */
+@Configuration
+@EnableConfigurationProperties(VotingHistoryProperties.class)
+public class VotingHistoryConfig {
+
+    @Bean
+    public VotingHistory votingHistory(PollResponseRepository pollResponseRepository, ShardRouter shardRouter,
+                                       VoteRecorder voteRecorder, VotingHistoryProperties properties,
+                                       CacheInvalidationBus cacheInvalidationBus,
+                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        VotingHistory votingHistory = new VotingHistory(pollResponseRepository, shardRouter, voteRecorder,
+                properties, meterRegistry.getIfAvailable());
+        cacheInvalidationBus.addListener(votingHistory::onInvalidation);
+        return votingHistory;
+    }
+}
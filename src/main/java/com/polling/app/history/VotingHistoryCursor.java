@@ -0,0 +1,31 @@
+package com.polling.app.history;
+
+import com.polling.app.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a user's voting history: the vote a page ended with. Votes are ordered by time
+ * and then poll, which is unique per user, so the next page starts strictly after it.
+ */
+record VotingHistoryCursor(LocalDateTime votedAt, Long pollId) {
+
+    String encode() {
+        String position = votedAt + "|" + pollId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static VotingHistoryCursor decode(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf('|');
+            return new VotingHistoryCursor(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.valueOf(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException("before", "Invalid history cursor");
+        }
+    }
+}
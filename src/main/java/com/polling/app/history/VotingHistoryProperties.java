@@ -0,0 +1,44 @@
+package com.polling.app.history;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for reading a user's voting history page by page.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.voting-history")
+public class VotingHistoryProperties {
+
+    /**
+     * Entries per page when the request does not ask for a size.
+     */
+    private int defaultPageSize = 20;
+
+    /**
+     * Most entries a request may ask for.
+     */
+    private int maxPageSize = 100;
+
+    private FirstPageCache firstPageCache = new FirstPageCache();
+
+    @Data
+    public static class FirstPageCache {
+
+        /**
+         * Keeps each user's first page of the default size until they vote again.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Most users whose first page is kept; the least used are evicted first.
+         */
+        private long maxUsers = 10000;
+
+        /**
+         * How long a first page is kept at most, which bounds how long votes the user cast
+         * through other nodes are missing from it.
+         */
+        private long ttlSeconds = 300;
+    }
+}
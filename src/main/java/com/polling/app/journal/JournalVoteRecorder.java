@@ -0,0 +1,144 @@
+package com.polling.app.journal;
+
+import com.polling.app.entity.PollResponse;
+import com.polling.app.exception.InvalidOperationException;
+import com.polling.app.voting.VoteRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Acknowledges a vote once it is in the vote journal; {@link VoteJournalProjector} stores it
+ * in {@code poll_responses} and counts it afterwards. Inside a transaction the vote is written
+ * to the journal just before the commit.
+ *
+ * Until then the vote is kept as pending, so the voter cannot vote on the poll again through
+ * this node.
+ */
+@Slf4j
+public class JournalVoteRecorder implements VoteRecorder {
+
+    private static final int LOAD_BATCH_SIZE = 10000;
+
+    private final VoteJournal journal;
+    private final boolean syncOnAppend;
+    private final Timer appendTimer;
+    private final Set<String> pendingVoters = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Integer> pendingPerUser = new ConcurrentHashMap<>();
+
+    public JournalVoteRecorder(VoteJournal journal, boolean syncOnAppend, MeterRegistry meterRegistry) {
+        this.journal = journal;
+        this.syncOnAppend = syncOnAppend;
+        this.appendTimer = meterRegistry == null ? null : Timer.builder("polling.votes.journal.append")
+                .description("Time to write a vote to the journal, including waiting for it to be flushed")
+                .register(meterRegistry);
+
+        // Votes accepted before a restart but not projected yet are still pending
+        long sequence = journal.readCheckpoint() + 1;
+        for (List<VoteRecord> batch = journal.read(sequence, LOAD_BATCH_SIZE); !batch.isEmpty();
+             batch = journal.read(sequence, LOAD_BATCH_SIZE)) {
+            batch.forEach(record -> {
+                if (pendingVoters.add(record.voterKey())) {
+                    pendingPerUser.merge(record.userId(), 1, Integer::sum);
+                }
+            });
+            sequence = batch.get(batch.size() - 1).sequence() + 1;
+        }
+    }
+
+    @Override
+    public PollResponse record(PollResponse response) {
+        long userId = response.getUser().getId();
+        long pollId = response.getPoll().getId();
+        long optionId = response.getPollOption().getId();
+        String voterKey = userId + ":" + pollId;
+        if (!pendingVoters.add(voterKey)) {
+            throw new InvalidOperationException("User has already voted on this poll");
+        }
+        pendingPerUser.merge(userId, 1, Integer::sum);
+
+        long timestamp = System.currentTimeMillis();
+        response.setResponseDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                append(userId, pollId, optionId, timestamp);
+            } catch (RuntimeException e) {
+                release(voterKey, userId);
+                throw e;
+            }
+            return response;
+        }
+
+        // Journaled as the last step before the commit, so a vote whose transaction fails
+        // first, for example on its outbox event, is never projected
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean appended;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                append(userId, pollId, optionId, timestamp);
+                appended = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!appended) {
+                    release(voterKey, userId);
+                } else if (status != STATUS_COMMITTED) {
+                    log.error("Vote of user {} on poll {} was journaled but its transaction did not commit",
+                            userId, pollId);
+                }
+            }
+        });
+        return response;
+    }
+
+    private void append(long userId, long pollId, long optionId, long timestamp) {
+        long started = System.nanoTime();
+        try {
+            long sequence = journal.append(userId, pollId, optionId, timestamp);
+            if (syncOnAppend) {
+                journal.awaitDurable(sequence);
+            }
+        } finally {
+            if (appendTimer != null) {
+                appendTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void release(String voterKey, long userId) {
+        if (pendingVoters.remove(voterKey)) {
+            unpend(userId);
+        }
+    }
+
+    @Override
+    public boolean hasPendingVote(Long userId, Long pollId) {
+        return pendingVoters.contains(userId + ":" + pollId);
+    }
+
+    @Override
+    public boolean hasPendingVotes(Long userId) {
+        return pendingPerUser.containsKey(userId);
+    }
+
+    void projected(List<VoteRecord> records) {
+        records.forEach(record -> release(record.voterKey(), record.userId()));
+    }
+
+    private void unpend(long userId) {
+        pendingPerUser.computeIfPresent(userId, (user, count) -> count > 1 ? count - 1 : null);
+    }
+}
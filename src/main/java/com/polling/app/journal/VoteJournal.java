@@ -0,0 +1,476 @@
+package com.polling.app.journal;
+
+import com.polling.app.exception.VoteJournalException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of votes in fixed-size binary records, spread over memory-mapped segment
+ * files named after the sequence of their first record.
+ *
+ * A record is 48 bytes: sequence, user ID, poll ID, option ID and timestamp as longs, four
+ * reserved bytes and a CRC32C of everything before it. Appending copies the record into the
+ * mapped segment; a background flusher forces written records to disk, so every caller
+ * waiting in {@link #awaitDurable(long)} at that moment shares one fsync. On open the tail
+ * of the last segment is scanned and anything after the last valid record, such as a write
+ * torn by a crash, is cleared.
+ *
+ * The journal also keeps the sequence up to which its records have been projected into the
+ * database, in a checkpoint file next to the segments. Segments whose records are all
+ * projected can be deleted with {@link #deleteProjectedSegments}; reads before the first
+ * remaining record fail.
+ */
+@Slf4j
+public class VoteJournal implements AutoCloseable {
+
+    static final int RECORD_SIZE = 48;
+    private static final int CHECKSUMMED_BYTES = RECORD_SIZE - Integer.BYTES;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE = "projected.checkpoint";
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final long flushIntervalMillis;
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition unflushed = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+
+    private Segment active;
+    private long nextSequence;
+    private long flushedSequence;
+    private boolean closed;
+    private Thread flusher;
+
+    /**
+     * @param segmentRecords      records per segment file
+     * @param flushIntervalMillis longest time a written record waits for the flusher when
+     *                            nobody is waiting for it to become durable
+     */
+    public VoteJournal(Path directory, int segmentRecords, long flushIntervalMillis) {
+        if (segmentRecords <= 0) {
+            throw new IllegalArgumentException("segmentRecords must be positive");
+        }
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public void open() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                        .forEach(file -> segments.put(firstSequenceOf(file), file));
+            }
+            if (segments.isEmpty()) {
+                active = createSegment(1);
+                nextSequence = 1;
+            } else {
+                Map.Entry<Long, Path> last = segments.lastEntry();
+                active = new Segment(last.getKey(), last.getValue(), segmentRecords);
+                active.written = recoverTail(active);
+                active.forced = active.written;
+                nextSequence = active.firstSequence + active.written;
+            }
+        } catch (IOException e) {
+            throw new VoteJournalException("Cannot open vote journal in " + directory, e);
+        }
+        flushedSequence = nextSequence - 1;
+
+        flusher = new Thread(this::runFlusher, "vote-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Opened vote journal in {} with {} segments, next sequence {}", directory, segments.size(),
+                nextSequence);
+    }
+
+    /**
+     * Writes a vote to the mapped segment and returns its sequence. The record is durable
+     * once {@link #awaitDurable(long)} returns.
+     */
+    public long append(long userId, long pollId, long optionId, long timestampMillis) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new VoteJournalException("Vote journal is closed");
+            }
+            if (active.written == segmentRecords) {
+                roll();
+            }
+            long sequence = nextSequence;
+            active.buffer.put(active.written * RECORD_SIZE,
+                    encode(new VoteRecord(sequence, userId, pollId, optionId, timestampMillis)));
+            active.written++;
+            nextSequence++;
+            return sequence;
+        } catch (IOException e) {
+            throw new VoteJournalException("Cannot write to vote journal", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until the record with the given sequence has been forced to disk.
+     */
+    public void awaitDurable(long sequence) {
+        lock.lock();
+        try {
+            unflushed.signal();
+            while (flushedSequence < sequence && !closed) {
+                flushed.await();
+            }
+            if (flushedSequence < sequence) {
+                throw new VoteJournalException("Vote journal closed before record " + sequence + " was flushed");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VoteJournalException("Interrupted while waiting for the vote journal", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getLastSequence() {
+        lock.lock();
+        try {
+            return nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the sequence of the oldest record still on disk.
+     */
+    public long getFirstSequence() {
+        lock.lock();
+        try {
+            return segments.firstKey();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads up to {@code max} records starting at {@code fromSequence}.
+     *
+     * @throws VoteJournalException if records from {@code fromSequence} on have been deleted
+     */
+    public List<VoteRecord> read(long fromSequence, int max) {
+        long last = getLastSequence();
+        List<VoteRecord> records = new ArrayList<>();
+        long sequence = Math.max(1, fromSequence);
+        long first = getFirstSequence();
+        if (sequence < first && sequence <= last) {
+            throw new VoteJournalException("Vote journal records before " + first + " have been deleted");
+        }
+        while (sequence <= last && records.size() < max) {
+            Map.Entry<Long, Path> segment = segmentContaining(sequence);
+            long segmentEnd = Math.min(last, segment.getKey() + segmentRecords - 1);
+            int count = (int) Math.min(segmentEnd - sequence + 1, max - records.size());
+            readRange(segment.getValue(), segment.getKey(), sequence, count, records::add);
+            sequence += count;
+        }
+        return records;
+    }
+
+    /**
+     * Segment files in sequence order, keyed by the sequence of their first record.
+     */
+    public Map<Long, Path> segments() {
+        lock.lock();
+        try {
+            return new TreeMap<>(segments);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads every record of a segment up to {@code lastSequence}, verifying checksums.
+     */
+    public void readSegment(long firstSequence, long lastSequence, Consumer<VoteRecord> consumer) {
+        Path file = segments().get(firstSequence);
+        long count = Math.min(segmentRecords, lastSequence - firstSequence + 1);
+        if (file != null && count > 0) {
+            readRange(file, firstSequence, firstSequence, (int) count, consumer);
+        }
+    }
+
+    /**
+     * Deletes the oldest segments whose records are all at or before {@code projectedSequence},
+     * keeping the newest {@code retained} of them for replay. The segment being written to is
+     * never deleted.
+     *
+     * @return the number of segments deleted
+     */
+    public int deleteProjectedSegments(long projectedSequence, int retained) {
+        List<Path> deletable = new ArrayList<>();
+        lock.lock();
+        try {
+            List<Long> projected = new ArrayList<>();
+            for (Long firstSequence : segments.keySet()) {
+                if (firstSequence == active.firstSequence || firstSequence + segmentRecords - 1 > projectedSequence) {
+                    break;
+                }
+                projected.add(firstSequence);
+            }
+            for (Long firstSequence : projected.subList(0, Math.max(0, projected.size() - retained))) {
+                deletable.add(segments.remove(firstSequence));
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Readers open segments by path, so one already reading a deleted segment still finishes
+        for (Path file : deletable) {
+            try {
+                Files.deleteIfExists(file);
+                log.info("Deleted projected vote journal segment {}", file.getFileName());
+            } catch (IOException e) {
+                log.warn("Cannot delete vote journal segment {}: {}", file, e.getMessage());
+            }
+        }
+        return deletable.size();
+    }
+
+    public long readCheckpoint() {
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        try {
+            return Files.exists(checkpoint) ? Long.parseLong(Files.readString(checkpoint).trim()) : 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void writeCheckpoint(long sequence) {
+        try {
+            Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+            Files.writeString(temporary, Long.toString(sequence));
+            Files.move(temporary, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            unflushed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (flusher != null) {
+            try {
+                flusher.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        lock.lock();
+        try {
+            active.buffer.force();
+            flushedSequence = nextSequence - 1;
+            flushed.signalAll();
+            active.channel.close();
+        } catch (IOException e) {
+            log.warn("Closing vote journal failed: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runFlusher() {
+        while (true) {
+            Segment segment;
+            int from;
+            int to;
+            long target;
+            lock.lock();
+            try {
+                if (flushedSequence == nextSequence - 1 && !closed) {
+                    unflushed.await(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+                if (closed) {
+                    return;
+                }
+                segment = active;
+                from = segment.forced;
+                to = segment.written;
+                target = nextSequence - 1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            // Forced outside the lock so appends continue and join the next batch
+            if (to > from) {
+                segment.buffer.force(from * RECORD_SIZE, (to - from) * RECORD_SIZE);
+            }
+
+            lock.lock();
+            try {
+                segment.forced = Math.max(segment.forced, to);
+                if (target > flushedSequence) {
+                    flushedSequence = target;
+                    flushed.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void roll() throws IOException {
+        active.buffer.force();
+        active.forced = active.written;
+        active.channel.close();
+        active = createSegment(nextSequence);
+        log.info("Rolled vote journal to segment starting at {}", nextSequence);
+    }
+
+    private Segment createSegment(long firstSequence) throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+        segments.put(firstSequence, file);
+        return new Segment(firstSequence, file, segmentRecords);
+    }
+
+    private Map.Entry<Long, Path> segmentContaining(long sequence) {
+        lock.lock();
+        try {
+            return segments.floorEntry(sequence);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Finds the number of valid records in a segment and clears whatever follows them.
+     */
+    private static int recoverTail(Segment segment) {
+        int valid = 0;
+        byte[] bytes = new byte[RECORD_SIZE];
+        while (valid < segment.capacity) {
+            segment.buffer.get(valid * RECORD_SIZE, bytes);
+            VoteRecord record = decode(bytes);
+            if (record == null || record.sequence() != segment.firstSequence + valid) {
+                break;
+            }
+            valid++;
+        }
+        byte[] empty = new byte[RECORD_SIZE];
+        for (int index = valid; index < segment.capacity; index++) {
+            segment.buffer.get(index * RECORD_SIZE, bytes);
+            if (!Arrays.equals(bytes, empty)) {
+                log.warn("Clearing vote journal record {} after the last valid record", segment.firstSequence + index);
+                segment.buffer.put(index * RECORD_SIZE, empty);
+            }
+        }
+        segment.buffer.force();
+        return valid;
+    }
+
+    private static void readRange(Path file, long firstSequence, long fromSequence, int count,
+                                  Consumer<VoteRecord> consumer) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(count * RECORD_SIZE);
+            long position = (fromSequence - firstSequence) * RECORD_SIZE;
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            byte[] bytes = new byte[RECORD_SIZE];
+            for (int i = 0; i < count; i++) {
+                buffer.get(i * RECORD_SIZE, bytes);
+                VoteRecord record = decode(bytes);
+                if (record == null || record.sequence() != fromSequence + i) {
+                    throw new VoteJournalException("Corrupted vote journal record " + (fromSequence + i) + " in " + file);
+                }
+                consumer.accept(record);
+            }
+        } catch (IOException e) {
+            throw new VoteJournalException("Cannot read vote journal segment " + file, e);
+        }
+    }
+
+    static byte[] encode(VoteRecord record) {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        buffer.putLong(record.sequence())
+                .putLong(record.userId())
+                .putLong(record.pollId())
+                .putLong(record.optionId())
+                .putLong(record.timestampMillis())
+                .putInt(0);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, CHECKSUMMED_BYTES);
+        buffer.putInt((int) crc.getValue());
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a record, or returns {@code null} for an empty slot or a checksum mismatch.
+     */
+    static VoteRecord decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long sequence = buffer.getLong(0);
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, CHECKSUMMED_BYTES);
+        if (sequence == 0 || buffer.getInt(CHECKSUMMED_BYTES) != (int) crc.getValue()) {
+            return null;
+        }
+        return new VoteRecord(sequence, buffer.getLong(8), buffer.getLong(16), buffer.getLong(24), buffer.getLong(32));
+    }
+
+    private static long firstSequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class Segment {
+
+        private final long firstSequence;
+        private final int capacity;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int written;
+        private int forced;
+
+        private Segment(long firstSequence, Path file, int capacity) throws IOException {
+            this.firstSequence = firstSequence;
+            this.capacity = capacity;
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.polling.app.journal;
+
+import com.polling.app.repository.PollOptionRepository;
+import com.polling.app.repository.PollOptionVoteCountRepository;
+import com.polling.app.repository.PollRepository;
+import com.polling.app.repository.PollResponseRepository;
+import com.polling.app.repository.UserRepository;
+import com.polling.app.sharding.ShardRouter;
+import com.polling.app.voting.VoteCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+
+/**
+ * Puts the vote journal in front of {@code poll_responses} when
+ * {@code app.votes.journal.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.votes.journal", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(VoteJournalProperties.class)
+public class VoteJournalConfig {
+
+    @Bean(destroyMethod = "close")
+    public VoteJournal voteJournal(VoteJournalProperties properties) {
+        VoteJournal journal = new VoteJournal(Path.of(properties.getDirectory()), properties.getSegmentRecords(),
+                properties.getFlushIntervalMillis());
+        journal.open();
+        return journal;
+    }
+
+    @Bean
+    public JournalVoteRecorder journalVoteRecorder(VoteJournal voteJournal, VoteJournalProperties properties,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new JournalVoteRecorder(voteJournal, properties.isSyncOnAppend(), meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public VoteJournalProjector voteJournalProjector(VoteJournal voteJournal, JournalVoteRecorder journalVoteRecorder,
+                                                     PlatformTransactionManager transactionManager,
+                                                     ShardRouter shardRouter, UserRepository userRepository,
+                                                     PollRepository pollRepository,
+                                                     PollOptionRepository pollOptionRepository,
+                                                     PollResponseRepository pollResponseRepository,
+                                                     VoteCounter voteCounter, VoteJournalProperties properties,
+                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        return new VoteJournalProjector(voteJournal, journalVoteRecorder, transactionManager, shardRouter,
+                userRepository, pollRepository, pollOptionRepository, pollResponseRepository, voteCounter,
+                properties.getProjectionBatchSize(), properties.getRetainedSegments(), meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public VoteJournalReplayer voteJournalReplayer(VoteJournal voteJournal, VoteJournalProjector voteJournalProjector,
+                                                   PollOptionVoteCountRepository pollOptionVoteCountRepository,
+                                                   PlatformTransactionManager transactionManager,
+                                                   ShardRouter shardRouter) {
+        return new VoteJournalReplayer(voteJournal, voteJournalProjector, pollOptionVoteCountRepository,
+                transactionManager, shardRouter);
+    }
+
+    @Bean
+    public VoteJournalReplayRunner voteJournalReplayRunner(VoteJournalReplayer voteJournalReplayer,
+                                                           VoteCounter voteCounter, VoteJournalProperties properties) {
+        return new VoteJournalReplayRunner(voteJournalReplayer, voteCounter, properties.getReplayThreads());
+    }
+}
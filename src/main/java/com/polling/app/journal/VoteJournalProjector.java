@@ -0,0 +1,174 @@
+package com.polling.app.journal;
+
+import com.polling.app.entity.PollResponse;
+import com.polling.app.exception.ResourceNotFoundException;
+import com.polling.app.repository.PollOptionRepository;
+import com.polling.app.repository.PollRepository;
+import com.polling.app.repository.PollResponseRepository;
+import com.polling.app.repository.UserRepository;
+import com.polling.app.sharding.ShardRouter;
+import com.polling.app.voting.VoteCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectRetrievalFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Builds {@code poll_responses} and the vote counts from the vote journal.
+ *
+ * Records are applied in batches, one transaction per shard, and the checkpoint advances
+ * once a batch is stored. Applying a record is idempotent: a vote whose user already has a
+ * response on the poll is skipped, so records applied again after a crash, or replayed, do no
+ * harm. A record that cannot be applied because its user, poll or option no longer exists is
+ * logged and skipped; any other failure stops the projection until the next run.
+ *
+ * Once the checkpoint has passed the end of a segment the segment is deleted, except for the
+ * newest {@code retainedSegments} projected ones, which are kept for replay.
+ */
+@Slf4j
+public class VoteJournalProjector {
+
+    private final VoteJournal journal;
+    private final JournalVoteRecorder recorder;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ShardRouter shardRouter;
+    private final UserRepository userRepository;
+    private final PollRepository pollRepository;
+    private final PollOptionRepository pollOptionRepository;
+    private final PollResponseRepository pollResponseRepository;
+    private final VoteCounter voteCounter;
+    private final int batchSize;
+    private final int retainedSegments;
+    private volatile long projectedSequence;
+
+    public VoteJournalProjector(VoteJournal journal, JournalVoteRecorder recorder,
+                                PlatformTransactionManager transactionManager, ShardRouter shardRouter,
+                                UserRepository userRepository, PollRepository pollRepository,
+                                PollOptionRepository pollOptionRepository,
+                                PollResponseRepository pollResponseRepository, VoteCounter voteCounter,
+                                int batchSize, int retainedSegments, MeterRegistry meterRegistry) {
+        this.journal = journal;
+        this.recorder = recorder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.userRepository = userRepository;
+        this.pollRepository = pollRepository;
+        this.pollOptionRepository = pollOptionRepository;
+        this.pollResponseRepository = pollResponseRepository;
+        this.voteCounter = voteCounter;
+        this.batchSize = batchSize;
+        this.retainedSegments = retainedSegments;
+        this.projectedSequence = journal.readCheckpoint();
+        if (meterRegistry != null) {
+            Gauge.builder("polling.votes.journal.projection.lag", this,
+                            projector -> journal.getLastSequence() - projector.projectedSequence)
+                    .description("Journaled votes not yet stored in poll_responses")
+                    .register(meterRegistry);
+        }
+    }
+
+    public long getProjectedSequence() {
+        return projectedSequence;
+    }
+
+    /**
+     * Applies every record written since the checkpoint.
+     */
+    @Scheduled(fixedDelayString = "${app.votes.journal.projection-interval-millis:50}")
+    public void project() {
+        lock.lock();
+        try {
+            List<VoteRecord> batch = journal.read(projectedSequence + 1, batchSize);
+            while (!batch.isEmpty()) {
+                apply(batch);
+                projectedSequence = batch.get(batch.size() - 1).sequence();
+                journal.writeCheckpoint(projectedSequence);
+                recorder.projected(batch);
+                batch = journal.read(projectedSequence + 1, batchSize);
+            }
+            journal.deleteProjectedSegments(projectedSequence, retainedSegments);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores the given votes, skipping those already stored, and returns how many were new.
+     */
+    public int apply(List<VoteRecord> records) {
+        Map<Integer, List<VoteRecord>> byShard = records.stream().collect(Collectors.groupingBy(
+                record -> shardRouter.shardFor(record.pollId()), TreeMap::new, Collectors.toList()));
+        int applied = 0;
+        for (Map.Entry<Integer, List<VoteRecord>> shard : byShard.entrySet()) {
+            applied += shardRouter.onShard(shard.getKey(), () -> applyOnShard(shard.getValue()));
+        }
+        return applied;
+    }
+
+    private int applyOnShard(List<VoteRecord> records) {
+        try {
+            return transactionTemplate.execute(status -> (int) records.stream().filter(this::applyRecord).count());
+        } catch (RuntimeException e) {
+            if (!isUnapplicable(e)) {
+                throw e;
+            }
+        }
+
+        // Find the records that cannot be applied and store the others
+        int applied = 0;
+        for (VoteRecord record : records) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> applyRecord(record)))) {
+                    applied++;
+                }
+            } catch (RuntimeException e) {
+                if (!isUnapplicable(e)) {
+                    throw e;
+                }
+                log.error("Skipping vote journal record {} (user {}, poll {}, option {}): {}", record.sequence(),
+                        record.userId(), record.pollId(), record.optionId(), e.getMessage());
+            }
+        }
+        return applied;
+    }
+
+    private boolean applyRecord(VoteRecord record) {
+        if (pollResponseRepository.existsByUserIdAndPollId(record.userId(), record.pollId())) {
+            return false;
+        }
+        PollResponse response = new PollResponse();
+        response.setUser(userRepository.getReferenceById(record.userId()));
+        response.setPoll(pollRepository.getReferenceById(record.pollId()));
+        response.setPollOption(pollOptionRepository.getReferenceById(record.optionId()));
+        response.setResponseDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(record.timestampMillis()),
+                ZoneId.systemDefault()));
+        voteCounter.recordVote(response);
+        pollResponseRepository.save(response);
+        return true;
+    }
+
+    private static boolean isUnapplicable(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException || cause instanceof ObjectRetrievalFailureException
+                    || cause instanceof EntityNotFoundException || cause instanceof ResourceNotFoundException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,46 @@
+package com.polling.app.journal;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the vote journal.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.votes.journal")
+public class VoteJournalProperties {
+
+    /**
+     * Acknowledges votes once they are journaled and stores them in the database afterwards.
+     */
+    private boolean enabled = false;
+
+    private String directory = "data/vote-journal";
+
+    /**
+     * Records per segment file; a record takes 48 bytes.
+     */
+    private int segmentRecords = 1_048_576;
+
+    /**
+     * Waits for the record to be flushed to disk before acknowledging a vote. Concurrent
+     * votes share one flush.
+     */
+    private boolean syncOnAppend = true;
+
+    /**
+     * Longest time between flushes when votes are acknowledged without waiting.
+     */
+    private long flushIntervalMillis = 10;
+
+    private long projectionIntervalMillis = 50;
+
+    private int projectionBatchSize = 500;
+
+    /**
+     * Fully projected segments kept for replay; older ones are deleted.
+     */
+    private int retainedSegments = 2;
+
+    private int replayThreads = 4;
+}
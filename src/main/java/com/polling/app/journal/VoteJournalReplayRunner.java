@@ -0,0 +1,52 @@
+package com.polling.app.journal;
+
+import com.polling.app.voting.DirectVoteCounter;
+import com.polling.app.voting.VoteCounter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.util.List;
+
+/**
+ * Command-line entry point for replaying the vote journal:
+ *
+ * <pre>
+ * java -jar polling-app.jar --spring.main.web-application-type=none \
+ *     --journal.replay=responses --journal.replay.from-sequence=1 --journal.replay.threads=8
+ * </pre>
+ *
+ * {@code --journal.replay=counts} rewrites {@code poll_options.vote_count} from the journal
+ * instead; per-node counters rebuild themselves from the responses on startup.
+ */
+@RequiredArgsConstructor
+public class VoteJournalReplayRunner implements ApplicationRunner {
+
+    private final VoteJournalReplayer replayer;
+    private final VoteCounter voteCounter;
+    private final int defaultThreads;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> modes = args.getOptionValues("journal.replay");
+        if (modes == null) {
+            return;
+        }
+        int threads = intOption(args, "journal.replay.threads", defaultThreads);
+        switch (modes.get(0)) {
+            case "responses" -> replayer.replayResponses(intOption(args, "journal.replay.from-sequence", 1), threads);
+            case "counts" -> {
+                if (!(voteCounter instanceof DirectVoteCounter)) {
+                    throw new IllegalStateException("Vote counts can only be rebuilt with app.votes.counter-mode=direct");
+                }
+                replayer.rebuildCounts(threads);
+            }
+            default -> throw new IllegalArgumentException("Unknown journal replay mode: " + modes.get(0));
+        }
+    }
+
+    private static int intOption(ApplicationArguments args, String name, int defaultValue) {
+        List<String> values = args.getOptionValues(name);
+        return values == null ? defaultValue : Integer.parseInt(values.get(0));
+    }
+}
@@ -0,0 +1,152 @@
+package com.polling.app.journal;
+
+import com.polling.app.entity.PollOptionVoteCount;
+import com.polling.app.repository.PollOptionVoteCountRepository;
+import com.polling.app.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Re-runs the vote journal against the database, spreading the work over several threads.
+ *
+ * {@link #replayResponses} applies the records again through the projector, restoring
+ * responses and counts lost in an incident, or re-running a recorded load against a restored
+ * database. {@link #rebuildCounts} recounts the journal and overwrites
+ * {@code poll_options.vote_count}. Only the first vote of a user on a poll counts, as in the
+ * projection. Counts are only rebuilt while the journal still holds its first record.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class VoteJournalReplayer {
+
+    private static final int REPLAY_BATCH_SIZE = 10000;
+
+    private final VoteJournal journal;
+    private final VoteJournalProjector projector;
+    private final PollOptionVoteCountRepository pollOptionVoteCountRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ShardRouter shardRouter;
+
+    /**
+     * Applies every record from {@code fromSequence} on and returns how many votes were
+     * stored. Polls are split across threads, so the votes of one poll are applied in order.
+     */
+    public long replayResponses(long fromSequence, int threads) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long applied = 0;
+            long sequence = fromSequence;
+            for (List<VoteRecord> batch = journal.read(sequence, REPLAY_BATCH_SIZE); !batch.isEmpty();
+                 batch = journal.read(sequence, REPLAY_BATCH_SIZE)) {
+                List<List<VoteRecord>> partitions = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    partitions.add(new ArrayList<>());
+                }
+                batch.forEach(record -> partitions.get((int) Math.floorMod(record.pollId(), (long) threads)).add(record));
+
+                List<Callable<Integer>> tasks = new ArrayList<>();
+                partitions.stream().filter(partition -> !partition.isEmpty())
+                        .forEach(partition -> tasks.add(() -> projector.apply(partition)));
+                for (Integer count : await(executor.invokeAll(tasks))) {
+                    applied += count;
+                }
+                sequence = batch.get(batch.size() - 1).sequence() + 1;
+            }
+            log.info("Replayed vote journal from sequence {}: {} votes stored", fromSequence, applied);
+            return applied;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying the vote journal", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Counts the votes in the journal per option, reading segments in parallel.
+     */
+    public Map<Long, Long> countVotes(int threads) {
+        long lastSequence = journal.getLastSequence();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Map<String, VoteRecord>>> tasks = new ArrayList<>();
+            for (Long firstSequence : journal.segments().keySet()) {
+                tasks.add(() -> {
+                    Map<String, VoteRecord> firstVotes = new HashMap<>();
+                    journal.readSegment(firstSequence, lastSequence,
+                            record -> firstVotes.putIfAbsent(record.voterKey(), record));
+                    return firstVotes;
+                });
+            }
+
+            Map<String, VoteRecord> firstVotes = new HashMap<>();
+            for (Map<String, VoteRecord> segmentVotes : await(executor.invokeAll(tasks))) {
+                segmentVotes.forEach((voter, record) -> firstVotes.merge(voter, record,
+                        (existing, candidate) -> existing.sequence() <= candidate.sequence() ? existing : candidate));
+            }
+            Map<Long, Long> counts = new HashMap<>();
+            firstVotes.values().forEach(record -> counts.merge(record.optionId(), 1L, Long::sum));
+            return counts;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while counting the vote journal", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Overwrites the stored vote count of every option that received votes in the journal
+     * and returns how many counts changed.
+     */
+    public int rebuildCounts(int threads) {
+        if (journal.getFirstSequence() > 1) {
+            throw new IllegalStateException("Vote journal records before " + journal.getFirstSequence()
+                    + " have been deleted, so counting it would lose their votes");
+        }
+        Map<Long, Long> counts = countVotes(threads);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int changed = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            changed += shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> {
+                int updated = 0;
+                for (PollOptionVoteCount voteCount : pollOptionVoteCountRepository.findAllById(counts.keySet())) {
+                    int expected = Math.toIntExact(counts.get(voteCount.getId()));
+                    if (voteCount.getVoteCount() != expected) {
+                        log.info("Option {}: vote count {} -> {}", voteCount.getId(), voteCount.getVoteCount(), expected);
+                        voteCount.setVoteCount(expected);
+                        updated++;
+                    }
+                }
+                return updated;
+            }));
+        }
+        log.info("Rebuilt vote counts of {} options from the vote journal, {} changed", counts.size(), changed);
+        return changed;
+    }
+
+    private static <T> List<T> await(List<Future<T>> futures) throws InterruptedException {
+        List<T> results = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,11 @@
+package com.polling.app.journal;
+
+/**
+ * A vote as stored in the journal. Sequences start at 1 and have no gaps.
+ */
+public record VoteRecord(long sequence, long userId, long pollId, long optionId, long timestampMillis) {
+
+    String voterKey() {
+        return userId + ":" + pollId;
+    }
+}
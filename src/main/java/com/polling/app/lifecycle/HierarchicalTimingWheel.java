@@ -0,0 +1,200 @@
+package com.polling.app.lifecycle;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hierarchical timing wheel keyed by an arbitrary timer key.
+ *
+ * Level 0 has one slot per tick; every higher level covers a full rotation of the
+ * level below it. Timers are placed on the lowest level that can hold them and are
+ * cascaded down as time advances, so scheduling, cancelling and expiring are all O(1)
+ * amortised regardless of how many timers are pending. Deadlines beyond the top level
+ * are parked in an overflow list and re-examined on every top-level cascade.
+ *
+ * Scheduling a key that is already present replaces its previous deadline.
+ */
+public class HierarchicalTimingWheel<K> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int wheelBits;
+    private final int wheelMask;
+    private final int levels;
+    private final ArrayDeque<Timer<K>>[][] buckets;
+    private final List<Timer<K>> overflow = new ArrayList<>();
+    private final List<K> due = new ArrayList<>();
+    private final Map<K, Timer<K>> timers = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two greater than one");
+        }
+        if (levels < 1 || (long) Integer.numberOfTrailingZeros(wheelSize) * levels > 62) {
+            throw new IllegalArgumentException("Unsupported number of wheel levels: " + levels);
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.wheelBits = Integer.numberOfTrailingZeros(wheelSize);
+        this.wheelMask = wheelSize - 1;
+        this.levels = levels;
+        this.buckets = new ArrayDeque[levels][wheelSize];
+        for (int level = 0; level < levels; level++) {
+            for (int slot = 0; slot < wheelSize; slot++) {
+                buckets[level][slot] = new ArrayDeque<>();
+            }
+        }
+    }
+
+    /**
+     * Schedules (or reschedules) a timer for the given key.
+     *
+     * @param key the timer key
+     * @param deadlineMillis epoch millis at or after which the key should expire
+     */
+    public void schedule(K key, long deadlineMillis) {
+        lock.lock();
+        try {
+            Timer<K> previous = timers.remove(key);
+            if (previous != null) {
+                previous.cancelled = true;
+            }
+            long offset = Math.max(0, deadlineMillis - startMillis);
+            // Round up so a timer never fires before its deadline
+            Timer<K> timer = new Timer<>(key, (offset + tickMillis - 1) / tickMillis);
+            timers.put(key, timer);
+            place(timer);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cancels the timer for the given key.
+     *
+     * @return true if a pending timer was cancelled
+     */
+    public boolean cancel(K key) {
+        lock.lock();
+        try {
+            Timer<K> timer = timers.remove(key);
+            if (timer == null) {
+                return false;
+            }
+            timer.cancelled = true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Advances the wheel to the given instant and returns every key whose deadline has passed,
+     * in deadline order.
+     */
+    public List<K> advanceTo(long nowMillis) {
+        lock.lock();
+        try {
+            List<K> expired = new ArrayList<>(due);
+            due.clear();
+            long targetTick = Math.max(0, nowMillis - startMillis) / tickMillis;
+            while (currentTick < targetTick) {
+                currentTick++;
+                for (int level = levels - 1; level > 0; level--) {
+                    int shift = wheelBits * level;
+                    if ((currentTick & ((1L << shift) - 1)) == 0) {
+                        cascade(buckets[level][(int) ((currentTick >>> shift) & wheelMask)]);
+                        if (level == levels - 1 && !overflow.isEmpty()) {
+                            List<Timer<K>> parked = new ArrayList<>(overflow);
+                            overflow.clear();
+                            parked.forEach(this::place);
+                        }
+                    }
+                }
+                ArrayDeque<Timer<K>> bucket = buckets[0][(int) (currentTick & wheelMask)];
+                for (Timer<K> timer = bucket.poll(); timer != null; timer = bucket.poll()) {
+                    expire(timer, expired);
+                }
+                if (!due.isEmpty()) {
+                    expired.addAll(due);
+                    due.clear();
+                }
+            }
+            return expired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return timers.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isScheduled(K key) {
+        lock.lock();
+        try {
+            return timers.containsKey(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void place(Timer<K> timer) {
+        if (timer.cancelled) {
+            return;
+        }
+        long delta = timer.deadlineTick - currentTick;
+        if (delta <= 0) {
+            expire(timer, due);
+            return;
+        }
+        for (int level = 0; level < levels; level++) {
+            int shift = wheelBits * level;
+            if (delta < (1L << (shift + wheelBits))) {
+                buckets[level][(int) ((timer.deadlineTick >>> shift) & wheelMask)].add(timer);
+                return;
+            }
+        }
+        overflow.add(timer);
+    }
+
+    private void cascade(ArrayDeque<Timer<K>> bucket) {
+        List<Timer<K>> moving = new ArrayList<>(bucket);
+        bucket.clear();
+        moving.forEach(this::place);
+    }
+
+    private void expire(Timer<K> timer, List<K> sink) {
+        if (!timer.cancelled) {
+            timers.remove(timer.key);
+            timer.cancelled = true;
+            sink.add(timer.key);
+        }
+    }
+
+    private static final class Timer<K> {
+        private final K key;
+        private final long deadlineTick;
+        private boolean cancelled;
+
+        private Timer(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.polling.app.lifecycle;
+
+import com.polling.app.lifecycle.PollLifecycleEvent.Transition;
+import lombok.Value;
+
+/**
+ * Timing wheel key for a single pending transition of a poll.
+ */
+@Value
+class LifecycleTimer {
+    Long pollId;
+    Transition transition;
+}
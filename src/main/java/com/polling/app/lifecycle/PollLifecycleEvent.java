@@ -0,0 +1,23 @@
+package com.polling.app.lifecycle;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published after the lifecycle scheduler has opened or closed a batch of polls.
+ * Caches and live streams listen for it to drop or refresh their view of those polls.
+ */
+@Value
+public class PollLifecycleEvent {
+
+    public enum Transition {
+        OPENED,
+        CLOSED
+    }
+
+    Transition transition;
+    List<Long> pollIds;
+    LocalDateTime occurredAt;
+}
@@ -0,0 +1,181 @@
+package com.polling.app.lifecycle;
+
+import com.polling.app.cache.CacheInvalidationBus;
+import com.polling.app.cache.CacheRegions;
+import com.polling.app.datasource.TransactionHooks;
+import com.polling.app.entity.Poll;
+import com.polling.app.lifecycle.PollLifecycleEvent.Transition;
+import com.polling.app.repository.PollRepository;
+import com.polling.app.repository.projection.PollScheduleView;
+import com.polling.app.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Opens and closes polls when their start and end times arrive.
+ *
+ * Upcoming transitions are kept in a {@link HierarchicalTimingWheel}; on every tick the due
+ * transitions are grouped and applied with set-based updates, then announced through a
+ * {@link PollLifecycleEvent}. On startup the wheel is rebuilt from a projection query, and any
+ * transition that fell due while the application was down fires on the first tick.
+ *
+ * When polls are sharded, recovery reads every shard and due transitions are applied shard by
+ * shard.
+ */
+@Component
+@Slf4j
+public class PollLifecycleScheduler {
+
+    private final PollRepository pollRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final HierarchicalTimingWheel<LifecycleTimer> wheel;
+    private final int batchSize;
+
+    public PollLifecycleScheduler(
+            PollRepository pollRepository,
+            ApplicationEventPublisher eventPublisher,
+            ShardRouter shardRouter,
+            CacheInvalidationBus cacheInvalidationBus,
+            @Value("${app.lifecycle.tick-millis:1000}") long tickMillis,
+            @Value("${app.lifecycle.wheel-size:64}") int wheelSize,
+            @Value("${app.lifecycle.wheel-levels:4}") int wheelLevels,
+            @Value("${app.lifecycle.batch-size:500}") int batchSize) {
+        this.pollRepository = pollRepository;
+        this.eventPublisher = eventPublisher;
+        this.shardRouter = shardRouter;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, wheelSize, wheelLevels, System.currentTimeMillis());
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        LocalDateTime now = LocalDateTime.now();
+        List<PollScheduleView> schedules = shardRouter.scatter(shard -> pollRepository.findPendingLifecycleSchedules(now));
+        for (PollScheduleView schedule : schedules) {
+            if (Boolean.TRUE.equals(schedule.getIsActive())) {
+                wheel.schedule(new LifecycleTimer(schedule.getId(), Transition.CLOSED), toEpochMillis(schedule.getEndsAt()));
+            } else {
+                wheel.schedule(new LifecycleTimer(schedule.getId(), Transition.OPENED), toEpochMillis(schedule.getStartsAt()));
+            }
+        }
+        log.info("Lifecycle scheduler recovered {} pending poll transitions", schedules.size());
+    }
+
+    /**
+     * Arms (or re-arms) the timers for a poll after it was created or changed. A pending poll
+     * whose start time has already passed opens on the next tick.
+     */
+    public void track(Poll poll) {
+        untrack(poll.getId());
+        if (Boolean.TRUE.equals(poll.getIsActive())) {
+            if (poll.getEndsAt() != null) {
+                wheel.schedule(new LifecycleTimer(poll.getId(), Transition.CLOSED), toEpochMillis(poll.getEndsAt()));
+            }
+        } else if (Boolean.TRUE.equals(poll.getAwaitingStart()) && poll.getStartsAt() != null) {
+            wheel.schedule(new LifecycleTimer(poll.getId(), Transition.OPENED), toEpochMillis(poll.getStartsAt()));
+        }
+    }
+
+    /**
+     * Arms the timers for a poll once the current transaction commits, so a rolled back change
+     * leaves the wheel as it was.
+     */
+    public void trackAfterCommit(Poll poll) {
+        TransactionHooks.afterCommit(() -> track(poll));
+    }
+
+    /**
+     * Drops any pending timers for a poll.
+     */
+    public void untrack(Long pollId) {
+        wheel.cancel(new LifecycleTimer(pollId, Transition.OPENED));
+        wheel.cancel(new LifecycleTimer(pollId, Transition.CLOSED));
+    }
+
+    /**
+     * Drops the timers for a poll once the current transaction commits.
+     */
+    public void untrackAfterCommit(Long pollId) {
+        TransactionHooks.afterCommit(() -> untrack(pollId));
+    }
+
+    public int pendingTransitions() {
+        return wheel.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.lifecycle.tick-millis:1000}")
+    public void tick() {
+        List<LifecycleTimer> expired = wheel.advanceTo(System.currentTimeMillis());
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        Map<Transition, List<Long>> byTransition = new EnumMap<>(Transition.class);
+        for (LifecycleTimer timer : expired) {
+            byTransition.computeIfAbsent(timer.getTransition(), t -> new ArrayList<>()).add(timer.getPollId());
+        }
+
+        byTransition.forEach((transition, pollIds) -> {
+            for (int from = 0; from < pollIds.size(); from += batchSize) {
+                List<Long> batch = pollIds.subList(from, Math.min(from + batchSize, pollIds.size()));
+                try {
+                    applyByShard(transition, batch);
+                } catch (Exception e) {
+                    log.error("Failed to apply {} transition to polls {}: {}", transition, batch, e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    private void applyByShard(Transition transition, List<Long> candidates) {
+        Map<Integer, List<Long>> byShard = new TreeMap<>();
+        for (Long pollId : candidates) {
+            byShard.computeIfAbsent(shardRouter.shardFor(pollId), s -> new ArrayList<>()).add(pollId);
+        }
+        byShard.forEach((shard, pollIds) -> shardRouter.onShard(shard, () -> {
+            apply(transition, pollIds);
+            return null;
+        }));
+    }
+
+    private void apply(Transition transition, List<Long> candidates) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> pollIds;
+        int updated;
+        if (transition == Transition.CLOSED) {
+            pollIds = pollRepository.findIdsDueForClose(candidates, now);
+            updated = pollIds.isEmpty() ? 0 : pollRepository.closePolls(pollIds, now);
+        } else {
+            pollIds = pollRepository.findIdsDueForOpen(candidates, now);
+            updated = pollIds.isEmpty() ? 0 : pollRepository.openPolls(pollIds, now);
+            // A freshly opened poll may still have an end time ahead of it
+            pollRepository.findAllById(pollIds).forEach(this::track);
+        }
+
+        if (updated > 0) {
+            log.info("Lifecycle scheduler {} {} polls", transition.name().toLowerCase(), updated);
+            eventPublisher.publishEvent(new PollLifecycleEvent(transition, List.copyOf(pollIds), now));
+            pollIds.forEach(pollId -> cacheInvalidationBus.publish(CacheRegions.POLLS, pollId));
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -16,6 +16,7 @@ public class PollMapper {
         Poll poll = new Poll();
         poll.setTitle(dto.getTitle());
         poll.setDescription(dto.getDescription());
+        poll.setStartsAt(dto.getStartsAt());
         poll.setEndsAt(dto.getEndsAt());
         poll.setIsActive(true); // Default to active when created
         
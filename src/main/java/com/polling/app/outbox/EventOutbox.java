@@ -0,0 +1,15 @@
+package com.polling.app.outbox;
+
+import java.util.Map;
+
+/**
+ * Records events for downstream consumers as part of the current transaction.
+ */
+public interface EventOutbox {
+
+    /**
+     * Stores an event in the current transaction, so it is published if and only if the
+     * transaction commits.
+     */
+    void append(OutboxEventType type, Long pollId, Map<String, Object> data);
+}
@@ -0,0 +1,61 @@
+package com.polling.app.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polling.app.sharding.ShardRouter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stores events in the {@code outbox_events} table. Writes go through the application data
+ * source, so they join the surrounding transaction and land on the shard it runs on, next
+ * to the rows the event describes.
+ */
+public class JdbcEventOutbox implements EventOutbox {
+
+    static final String DDL = "CREATE TABLE IF NOT EXISTS outbox_events ("
+            + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "event_id VARCHAR(36) NOT NULL, "
+            + "event_type VARCHAR(32) NOT NULL, "
+            + "poll_id BIGINT, "
+            + "payload TEXT NOT NULL, "
+            + "created_at BIGINT NOT NULL)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+
+    public JdbcEventOutbox(DataSource dataSource, ShardRouter shardRouter, ObjectMapper objectMapper) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Creates the outbox table on every shard.
+     */
+    public void start() {
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            shardRouter.onShard(shard, () -> {
+                jdbcTemplate.execute(DDL);
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public void append(OutboxEventType type, Long pollId, Map<String, Object> data) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event data of " + type + " cannot be serialized", e);
+        }
+        jdbcTemplate.update("INSERT INTO outbox_events (event_id, event_type, poll_id, payload, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                UUID.randomUUID().toString(), type.name(), pollId, payload, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,68 @@
+package com.polling.app.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polling.app.sharding.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Stores events in the outbox when {@code app.outbox.enabled=true}, and relays them to the
+ * sink selected by {@code app.outbox.sink}.
+ */
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.outbox", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public EventOutbox disabledEventOutbox() {
+        return (type, pollId, data) -> {
+        };
+    }
+
+    @Bean(initMethod = "start")
+    @ConditionalOnProperty(prefix = "app.outbox", name = "enabled", havingValue = "true")
+    public JdbcEventOutbox jdbcEventOutbox(DataSource dataSource, ShardRouter shardRouter, ObjectMapper objectMapper) {
+        return new JdbcEventOutbox(dataSource, shardRouter, objectMapper);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "app.outbox", name = "enabled", havingValue = "true")
+    static class RelayConfig {
+
+        @Bean
+        @ConditionalOnProperty(prefix = "app.outbox", name = "sink", havingValue = "file", matchIfMissing = true)
+        public OutboxSink fileOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+            return new FileOutboxSink(Path.of(properties.getFile().getPath()), objectMapper);
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "app.outbox", name = "sink", havingValue = "webhook")
+        public OutboxSink webhookOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+            OutboxProperties.Webhook webhook = properties.getWebhook();
+            if (webhook.getUrl() == null) {
+                throw new IllegalStateException("app.outbox.webhook.url is required with app.outbox.sink=webhook");
+            }
+            return new WebhookOutboxSink(URI.create(webhook.getUrl()), Duration.ofMillis(webhook.getTimeoutMillis()),
+                    objectMapper);
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "app.outbox", name = "relay-enabled", havingValue = "true", matchIfMissing = true)
+        public OutboxRelay outboxRelay(DataSource dataSource, ShardRouter shardRouter, OutboxSink outboxSink,
+                                       OutboxProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+            return new OutboxRelay(dataSource, shardRouter, outboxSink, properties.getBatchSize(),
+                    properties.getInitialBackoffMillis(), properties.getMaxBackoffMillis(),
+                    meterRegistry.getIfAvailable());
+        }
+    }
+}
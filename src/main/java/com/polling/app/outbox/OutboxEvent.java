@@ -0,0 +1,16 @@
+package com.polling.app.outbox;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * An event waiting in the outbox, as handed to an {@link OutboxSink}.
+ *
+ * @param id         position in its shard's outbox; events of a shard are published in this order
+ * @param eventId    unique ID consumers use to drop events delivered more than once
+ * @param occurredAt epoch millis of the transaction that stored the event
+ * @param data       event-specific JSON object
+ */
+public record OutboxEvent(@JsonIgnore long id, String eventId, OutboxEventType type, Long pollId, long occurredAt,
+                          @JsonRawValue String data) {
+}
@@ -0,0 +1,11 @@
+package com.polling.app.outbox;
+
+/**
+ * Kinds of events published through the outbox.
+ */
+public enum OutboxEventType {
+    VOTE_CAST,
+    POLL_CREATED,
+    POLL_DEACTIVATED,
+    POLL_DELETED
+}
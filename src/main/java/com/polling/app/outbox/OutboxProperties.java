@@ -0,0 +1,51 @@
+package com.polling.app.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the transactional outbox and its relay.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    /**
+     * Stores vote and poll events in {@code outbox_events} with the change that caused them.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Runs the relay on this node. Enable it on one node only; relays on several nodes
+     * deliver events more than once.
+     */
+    private boolean relayEnabled = true;
+
+    /**
+     * {@code file} or {@code webhook}.
+     */
+    private String sink = "file";
+
+    private int batchSize = 200;
+
+    private long relayIntervalMillis = 200;
+
+    private long initialBackoffMillis = 500;
+
+    private long maxBackoffMillis = 30000;
+
+    private File file = new File();
+
+    private Webhook webhook = new Webhook();
+
+    @Data
+    public static class File {
+        private String path = "data/outbox/events.jsonl";
+    }
+
+    @Data
+    public static class Webhook {
+        private String url;
+        private long timeoutMillis = 5000;
+    }
+}
@@ -0,0 +1,145 @@
+package com.polling.app.outbox;
+
+import com.polling.app.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves events from the outbox of every shard to the {@link OutboxSink}.
+ *
+ * Each shard's outbox is drained oldest first in batches of {@code batchSize}. A batch is
+ * deleted in one statement once the sink has accepted it, so the table only ever holds
+ * events that are still on their way. If the sink fails, the batch stays in the outbox and
+ * the relay backs off exponentially before trying again; delivery is therefore at least
+ * once, and consumers drop repeats by event ID.
+ */
+@Slf4j
+public class OutboxRelay {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final OutboxSink sink;
+    private final int batchSize;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Counter published;
+    private final Counter failed;
+    private final Timer lag;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int consecutiveFailures;
+    private long nextAttemptMillis;
+
+    public OutboxRelay(DataSource dataSource, ShardRouter shardRouter, OutboxSink sink, int batchSize,
+                       long initialBackoffMillis, long maxBackoffMillis, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.shardRouter = shardRouter;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        if (meterRegistry != null) {
+            this.published = Counter.builder("polling.outbox.events").tag("outcome", "published")
+                    .description("Outbox events by delivery outcome").register(meterRegistry);
+            this.failed = Counter.builder("polling.outbox.events").tag("outcome", "failed")
+                    .description("Outbox events by delivery outcome").register(meterRegistry);
+            this.lag = Timer.builder("polling.outbox.lag")
+                    .description("Time from storing an event to its delivery").register(meterRegistry);
+        } else {
+            this.published = null;
+            this.failed = null;
+            this.lag = null;
+        }
+    }
+
+    /**
+     * Drains every shard's outbox unless the relay is backing off after a failure.
+     *
+     * @return number of events delivered
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval-millis:200}")
+    public int relay() {
+        lock.lock();
+        try {
+            if (System.currentTimeMillis() < nextAttemptMillis) {
+                return 0;
+            }
+            int delivered = 0;
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                try {
+                    delivered += shardRouter.onShard(shard, this::drain);
+                } catch (RuntimeException e) {
+                    backOff(shard, e);
+                    return delivered;
+                }
+            }
+            consecutiveFailures = 0;
+            return delivered;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int drain() {
+        int delivered = 0;
+        List<OutboxEvent> batch;
+        do {
+            batch = jdbcTemplate.query("SELECT id, event_id, event_type, poll_id, payload, created_at "
+                            + "FROM outbox_events ORDER BY id LIMIT " + batchSize,
+                    (rs, rowNum) -> new OutboxEvent(
+                            rs.getLong("id"),
+                            rs.getString("event_id"),
+                            OutboxEventType.valueOf(rs.getString("event_type")),
+                            rs.getObject("poll_id", Long.class),
+                            rs.getLong("created_at"),
+                            rs.getString("payload")));
+            if (batch.isEmpty()) {
+                break;
+            }
+            try {
+                sink.publish(batch);
+            } catch (IOException e) {
+                if (failed != null) {
+                    failed.increment(batch.size());
+                }
+                throw new UncheckedIOException(e);
+            }
+            // Rows are deleted by ID: a transaction that committed late may have left an older
+            // ID between them that this batch did not contain
+            jdbcTemplate.update("DELETE FROM outbox_events WHERE id IN ("
+                            + String.join(", ", Collections.nCopies(batch.size(), "?")) + ")",
+                    batch.stream().map(OutboxEvent::id).toArray());
+            record(batch);
+            delivered += batch.size();
+        } while (batch.size() == batchSize);
+        return delivered;
+    }
+
+    private void record(List<OutboxEvent> batch) {
+        if (published == null) {
+            return;
+        }
+        published.increment(batch.size());
+        long now = System.currentTimeMillis();
+        batch.forEach(event -> lag.record(Math.max(0, now - event.occurredAt()), TimeUnit.MILLISECONDS));
+    }
+
+    private void backOff(int shard, RuntimeException e) {
+        consecutiveFailures++;
+        long backoff = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(consecutiveFailures - 1, 20));
+        nextAttemptMillis = System.currentTimeMillis() + backoff;
+        log.warn("Relaying outbox events of shard {} failed ({} in a row), retrying in {} ms: {}",
+                shard, consecutiveFailures, backoff, e.getMessage());
+    }
+}
@@ -0,0 +1,16 @@
+package com.polling.app.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination the {@link OutboxRelay} delivers events to.
+ */
+public interface OutboxSink {
+
+    /**
+     * Delivers a batch of events in order. Returning normally means the whole batch was
+     * accepted; a batch that failed is delivered again, so consumers may see an event twice.
+     */
+    void publish(List<OutboxEvent> events) throws IOException;
+}
@@ -0,0 +1,23 @@
+package com.polling.app.payload;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for answering conditional GETs from the {@link PollVersionTable}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.conditional-get")
+public class ConditionalGetProperties {
+
+    /**
+     * How long an ETag answers {@code 304}s without reading the data again; bounds how long
+     * votes cast on other nodes can go unnoticed.
+     */
+    private long trustMillis = 1000;
+
+    /**
+     * Most polls whose ETags are remembered; the least recently used are forgotten first.
+     */
+    private long maxEntries = 100000;
+}
@@ -0,0 +1,22 @@
+package com.polling.app.payload;
+
+/**
+ * A response body encoded once, plain and gzip-compressed, together with the version of the
+ * data it was encoded from. The arrays are never modified after construction.
+ *
+ * @param version the version of the encoded data, compared with {@code equals}
+ * @param body    the body, as JSON or in a binary {@link PayloadFormat}
+ * @param gzip    the gzip-compressed body, or null when compressing did not make it smaller
+ */
+public record EncodedPayload(Object version, byte[] body, byte[] gzip) {
+
+    // Rough cost of the record, the arrays' headers and the cache entry
+    private static final int OVERHEAD_BYTES = 128;
+
+    /**
+     * Bytes this payload holds on to, used to bound the cache.
+     */
+    public int weight() {
+        return OVERHEAD_BYTES + body.length + (gzip != null ? gzip.length : 0);
+    }
+}
@@ -0,0 +1,161 @@
+package com.polling.app.payload;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the encoded JSON of hot response bodies, plain and gzip-compressed, so repeated reads
+ * of unchanged data are answered by writing the stored bytes instead of serializing the same
+ * entities again. Bodies requested in a binary {@link PayloadFormat} are kept separately.
+ *
+ * Every body is stored with the version of the data it was encoded from, e.g. the
+ * {@link PollStamp}s of the polls. A request whose data has another version encodes it anew
+ * and replaces the entry, so a body is never served for data that has since changed, whichever
+ * node changed it. The cache is bounded by the bytes it holds; the least used bodies are
+ * evicted first.
+ */
+public class EncodedPayloadCache {
+
+    private static final String CACHE_NAME = "poll-payloads";
+
+    private final Map<PayloadFormat, ObjectMapper> objectMappers;
+    private final Cache<String, EncodedPayload> payloads;
+
+    public EncodedPayloadCache(ObjectMapper objectMapper, PayloadCacheProperties properties,
+                               MeterRegistry meterRegistry) {
+        this(Map.of(PayloadFormat.JSON, objectMapper), properties, meterRegistry);
+    }
+
+    /**
+     * @param objectMappers a mapper for JSON and for every binary format bodies are encoded in
+     */
+    public EncodedPayloadCache(Map<PayloadFormat, ObjectMapper> objectMappers, PayloadCacheProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.objectMappers = new EnumMap<>(objectMappers);
+        if (properties.isEnabled()) {
+            payloads = Caffeine.newBuilder()
+                    .maximumWeight(properties.getMaxWeightBytes())
+                    .weigher((String key, EncodedPayload payload) -> payload.weight())
+                    .recordStats()
+                    .build();
+            if (meterRegistry != null) {
+                CaffeineCacheMetrics.monitor(meterRegistry, payloads, CACHE_NAME);
+            }
+        } else {
+            payloads = null;
+        }
+    }
+
+    /**
+     * Answers with the encoded body stored under {@code key}, encoding {@code body} first if
+     * nothing is stored for {@code version}. The gzip body is sent to clients that accept it.
+     *
+     * @param key            what the body is, e.g. {@code poll:42}
+     * @param version        the version of {@code body}, compared with {@code equals}
+     * @param body           the object to serialize when the stored body is missing or stale
+     * @param acceptEncoding the request's {@code Accept-Encoding} header, may be null
+     */
+    public ResponseEntity<byte[]> respond(String key, Object version, Object body, String acceptEncoding) {
+        return respond(key, version, body, acceptEncoding, null);
+    }
+
+    /**
+     * As {@link #respond(String, Object, Object, String)}, with an {@code ETag} header unless
+     * {@code etag} is null; the gzip body's ETag carries a {@code -gzip} suffix.
+     */
+    public ResponseEntity<byte[]> respond(String key, Object version, Object body, String acceptEncoding,
+                                          String etag) {
+        return respond(key, version, body, acceptEncoding, etag, PayloadFormat.JSON);
+    }
+
+    /**
+     * As {@link #respond(String, Object, Object, String, String)}, encoded in {@code format};
+     * JSON if this cache has no mapper for it.
+     */
+    public ResponseEntity<byte[]> respond(String key, Object version, Object body, String acceptEncoding,
+                                          String etag, PayloadFormat format) {
+        PayloadFormat encoding = objectMappers.containsKey(format) ? format : PayloadFormat.JSON;
+        EncodedPayload payload = encoded(key, version, body, encoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(encoding.getMediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (payload.gzip() != null && acceptsGzip(acceptEncoding)) {
+            if (etag != null) {
+                response.eTag(PollVersionTable.codedEtag(etag, "gzip"));
+            }
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+        }
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        return response.body(payload.body());
+    }
+
+    EncodedPayload encoded(String key, Object version, Object body) {
+        return encoded(key, version, body, PayloadFormat.JSON);
+    }
+
+    EncodedPayload encoded(String key, Object version, Object body, PayloadFormat format) {
+        if (payloads == null) {
+            return new EncodedPayload(version, serialize(body, format), null);
+        }
+        String cacheKey = format == PayloadFormat.JSON ? key : key + "+" + format;
+        EncodedPayload payload = payloads.getIfPresent(cacheKey);
+        if (payload != null && payload.version().equals(version)) {
+            return payload;
+        }
+        byte[] encoded = serialize(body, format);
+        byte[] gzip = gzip(encoded);
+        payload = new EncodedPayload(version, encoded, gzip.length < encoded.length ? gzip : null);
+        payloads.put(cacheKey, payload);
+        return payload;
+    }
+
+    private byte[] serialize(Object body, PayloadFormat format) {
+        try {
+            return objectMappers.get(format).writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write " + format + ": " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = parts.length > 1 && parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            return !refused;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+package com.polling.app.payload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polling.app.cache.CacheInvalidationBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Provides the caches of encoded poll response bodies and of poll results, and the table of
+ * current ETags.
+ */
+@Configuration
+@EnableConfigurationProperties({PayloadCacheProperties.class, ConditionalGetProperties.class})
+public class PayloadCacheConfig {
+
+    @Bean
+    public EncodedPayloadCache encodedPayloadCache(ObjectMapper objectMapper,
+                                                   ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder,
+                                                   PayloadCacheProperties properties,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<PayloadFormat, ObjectMapper> objectMappers = new EnumMap<>(PayloadFormat.class);
+        objectMappers.put(PayloadFormat.JSON, objectMapper);
+        objectMappers.put(PayloadFormat.SMILE, PayloadFormat.SMILE.buildMapper(objectMapperBuilder.getObject()));
+        objectMappers.put(PayloadFormat.CBOR, PayloadFormat.CBOR.buildMapper(objectMapperBuilder.getObject()));
+        return new EncodedPayloadCache(objectMappers, properties, meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public PollVersionTable pollVersionTable(ConditionalGetProperties properties,
+                                             CacheInvalidationBus cacheInvalidationBus) {
+        PollVersionTable table = new PollVersionTable(properties.getTrustMillis(), properties.getMaxEntries(),
+                System::currentTimeMillis);
+        cacheInvalidationBus.addListener(table::onInvalidation);
+        return table;
+    }
+
+    @Bean
+    public PollResultsCache pollResultsCache(PollVersionTable pollVersionTable, PayloadCacheProperties properties,
+                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        return new PollResultsCache(pollVersionTable, properties, meterRegistry.getIfAvailable());
+    }
+}
@@ -0,0 +1,28 @@
+package com.polling.app.payload;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the cache of encoded poll response bodies and of poll results.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.payload-cache")
+public class PayloadCacheProperties {
+
+    /**
+     * Whether encoded bodies and results are kept; when off, every response is read and
+     * serialized anew.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Most bytes held, plain and gzip bodies together; the least used bodies are evicted first.
+     */
+    private long maxWeightBytes = 32L * 1024 * 1024;
+
+    /**
+     * Most polls whose results are kept for batch reads.
+     */
+    private long maxResults = 10000;
+}
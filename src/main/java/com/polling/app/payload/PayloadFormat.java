@@ -0,0 +1,85 @@
+package com.polling.app.payload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+
+/**
+ * The encodings response bodies are available in. JSON is the default; clients that send
+ * {@code Accept: application/x-jackson-smile} or {@code application/cbor} get the same
+ * document in a binary encoding, which is smaller and cheaper to parse.
+ */
+public enum PayloadFormat {
+
+    JSON(MediaType.APPLICATION_JSON),
+    SMILE(new MediaType("application", "x-jackson-smile")),
+    CBOR(MediaType.APPLICATION_CBOR);
+
+    private final MediaType mediaType;
+
+    PayloadFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Name of a representation in this encoding, e.g. {@code results+smile}, so its ETags
+     * differ from those of the JSON representation.
+     */
+    public String representation(String name) {
+        return this == JSON ? name : name + "+" + name().toLowerCase();
+    }
+
+    /**
+     * Builds a mapper for this encoding from Spring Boot's configured builder, so every
+     * encoding writes dates, modules and features the same way.
+     */
+    public ObjectMapper buildMapper(Jackson2ObjectMapperBuilder builder) {
+        return switch (this) {
+            case JSON -> builder.build();
+            case SMILE -> builder.factory(new SmileFactory()).build();
+            case CBOR -> builder.factory(new CBORFactory()).build();
+        };
+    }
+
+    /**
+     * The encoding the client prefers according to its {@code Accept} header; JSON unless a
+     * binary type is preferred to anything JSON matches.
+     */
+    public static PayloadFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        accepted.sort((a, b) -> Double.compare(b.getQualityValue(), a.getQualityValue()));
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.includes(JSON.mediaType)) {
+                return JSON;
+            }
+            for (PayloadFormat format : values()) {
+                if (format.mediaType.equalsTypeAndSubtype(type)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
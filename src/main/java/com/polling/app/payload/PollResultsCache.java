@@ -0,0 +1,88 @@
+package com.polling.app.payload;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.polling.app.dto.PollResults;
+import com.polling.app.entity.PollOption;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the last results read for each poll, so a batch of results only reads the polls whose
+ * results may have changed.
+ *
+ * An entry is only served while {@link PollVersionTable} still vouches for the ETag it was
+ * stored with, which ends as soon as a vote or edit of the poll commits on this node, a cache
+ * invalidation for it arrives, or the table's trust window passes.
+ */
+public class PollResultsCache {
+
+    /**
+     * Representation the results are recorded as in the {@link PollVersionTable}.
+     */
+    public static final String REPRESENTATION = "results";
+
+    private static final String CACHE_NAME = "poll-results";
+
+    private final PollVersionTable pollVersionTable;
+    private final Cache<Long, Entry> entries;
+
+    private record Entry(String etag, PollResults results) {
+    }
+
+    public PollResultsCache(PollVersionTable pollVersionTable, PayloadCacheProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.pollVersionTable = pollVersionTable;
+        if (properties.isEnabled()) {
+            entries = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaxResults())
+                    .recordStats()
+                    .build();
+            if (meterRegistry != null) {
+                CaffeineCacheMetrics.monitor(meterRegistry, entries, CACHE_NAME);
+            }
+        } else {
+            entries = null;
+        }
+    }
+
+    /**
+     * Returns a poll's results while they are known to be current, otherwise null.
+     */
+    public PollResults get(Long pollId) {
+        if (entries == null) {
+            return null;
+        }
+        Entry entry = entries.getIfPresent(pollId);
+        if (entry == null || !entry.etag().equals(pollVersionTable.etag(pollId, REPRESENTATION))) {
+            return null;
+        }
+        return entry.results();
+    }
+
+    /**
+     * Records results read after {@link PollVersionTable#changeCount} returned {@code changes},
+     * and returns their ETag.
+     */
+    public String put(Long pollId, long changes, PollResults results) {
+        String etag = etag(REPRESENTATION, pollId, results.getOptions(), results.getTotalVotes());
+        pollVersionTable.record(pollId, REPRESENTATION, changes, etag);
+        if (entries != null) {
+            entries.put(pollId, new Entry(etag, results));
+        }
+        return etag;
+    }
+
+    /**
+     * Builds the ETag of a poll's results from its vote counts and total.
+     */
+    public static String etag(String representation, Long pollId, List<PollOption> options, Long totalVotes) {
+        List<Object> parts = new ArrayList<>();
+        options.forEach(option -> parts.add(option.getId() + "=" + option.getVoteCount()));
+        parts.add(totalVotes);
+        return PollVersionTable.etag(representation, pollId, parts);
+    }
+}
@@ -0,0 +1,29 @@
+package com.polling.app.payload;
+
+import com.polling.app.entity.Admin;
+import com.polling.app.entity.Poll;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The fields that tell whether a poll's serialized form has changed. Writes through the
+ * service bump {@code updatedAt}; the active flag is included because shard moves toggle it
+ * directly in the database. The admin is part of the poll's JSON, so its stamp is as well.
+ */
+public record PollStamp(Long pollId, LocalDateTime updatedAt, Boolean isActive, Long adminId,
+                        LocalDateTime adminUpdatedAt) {
+
+    public static PollStamp of(Poll poll) {
+        Admin admin = poll.getAdmin();
+        return new PollStamp(poll.getId(), poll.getUpdatedAt(), poll.getIsActive(),
+                admin != null ? admin.getId() : null, admin != null ? admin.getUpdatedAt() : null);
+    }
+
+    /**
+     * Stamps of a list of polls, in order, so adding, removing or reordering polls changes it.
+     */
+    public static List<PollStamp> of(List<Poll> polls) {
+        return polls.stream().map(PollStamp::of).toList();
+    }
+}
@@ -0,0 +1,227 @@
+package com.polling.app.payload;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.polling.app.cache.CacheInvalidationEvent;
+import com.polling.app.cache.CacheRegions;
+import com.polling.app.datasource.TransactionHooks;
+import com.polling.app.lifecycle.PollLifecycleEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers the ETag last sent for each poll representation, so a conditional GET whose
+ * {@code If-None-Match} still matches is answered with {@code 304} without reading the poll.
+ *
+ * Every poll, and the active listing, has a change count that this node bumps once a write
+ * that affects it commits: an edit, a vote, a lifecycle transition. An ETag is only recorded
+ * together with the change count read before its data was, and only answers for as long as
+ * the count is unchanged, so a read racing a write never vouches for the old data. Changes
+ * made on other nodes clear the affected entries when their cache invalidation arrives;
+ * votes cast on other nodes are not broadcast, which is why an entry is trusted for at most
+ * {@code trustMillis} before the data is read again. Entries are kept for the most recently
+ * used keys only, so requests for many polls, or for polls that do not exist, cannot grow the
+ * table without bound.
+ */
+public class PollVersionTable {
+
+    /**
+     * Key of the active polls listing.
+     */
+    public static final String ACTIVE_POLLS = "activePolls";
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long trustMillis;
+    private final LongSupplier clock;
+    private final Cache<Object, Entry> entries;
+    private final AtomicLong generations = new AtomicLong();
+
+    private record Verified(String etag, long changes, long expiresAtMillis) {
+    }
+
+    private static final class Entry {
+        final AtomicLong changes;
+        final Map<String, Verified> verified = new ConcurrentHashMap<>();
+
+        /**
+         * Counts of a key's successive entries never meet, so a change count read from an
+         * evicted entry cannot vouch for data in the entry that replaced it.
+         */
+        Entry(long generation) {
+            changes = new AtomicLong(generation << 32);
+        }
+    }
+
+    /**
+     * @param maxEntries most polls tracked; the least recently used are dropped and read again
+     */
+    public PollVersionTable(long trustMillis, long maxEntries, LongSupplier clock) {
+        this.trustMillis = trustMillis;
+        this.clock = clock;
+        this.entries = Caffeine.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    /**
+     * Returns the ETag of a representation while it is known to be current, otherwise null.
+     *
+     * @param key            a poll ID, or {@link #ACTIVE_POLLS}
+     * @param representation e.g. {@code results}
+     */
+    public String etag(Object key, String representation) {
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        Verified verified = entry.verified.get(representation);
+        if (verified == null || verified.changes() != entry.changes.get()
+                || clock.getAsLong() >= verified.expiresAtMillis()) {
+            return null;
+        }
+        return verified.etag();
+    }
+
+    /**
+     * Answers {@code 304} if the request's {@code If-None-Match} names the current ETag of a
+     * representation, or its gzip form, otherwise returns null and the data has to be read.
+     */
+    public <T> ResponseEntity<T> notModified(Object key, String representation, String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        String etag = etag(key, representation);
+        if (etag == null) {
+            return null;
+        }
+        String gzipEtag = codedEtag(etag, "gzip");
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals(gzipEtag) || tag.equals("*")) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag.equals("*") ? etag : tag).build();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The ETag of a representation sent with a content coding such as {@code gzip}. A strong
+     * ETag names exact bytes, so each coding of the same data gets its own.
+     */
+    public static String codedEtag(String etag, String coding) {
+        return etag.substring(0, etag.length() - 1) + "-" + coding + "\"";
+    }
+
+    /**
+     * Returns the change count to pass to {@link #record}; read it before reading the data.
+     */
+    public long changeCount(Object key) {
+        return entries.get(key, ignored -> new Entry(generations.incrementAndGet())).changes.get();
+    }
+
+    /**
+     * Records the ETag of data read after {@link #changeCount} returned {@code changes}. It is
+     * ignored if the key has changed since.
+     *
+     * @param validUntilMillis when the data stops being current by itself, e.g. a poll closing
+     */
+    public void record(Object key, String representation, long changes, String etag, long validUntilMillis) {
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null || entry.changes.get() != changes) {
+            return;
+        }
+        long expiresAt = Math.min(validUntilMillis, clock.getAsLong() + trustMillis);
+        entry.verified.put(representation, new Verified(etag, changes, expiresAt));
+    }
+
+    public void record(Object key, String representation, long changes, String etag) {
+        record(key, representation, changes, etag, Long.MAX_VALUE);
+    }
+
+    /**
+     * Marks a poll and the active listing as changed once the current transaction commits.
+     */
+    public void pollChangedAfterCommit(Long pollId) {
+        TransactionHooks.afterCommit(() -> {
+            changed(pollId);
+            changed(ACTIVE_POLLS);
+        });
+    }
+
+    /**
+     * Marks a poll's vote counts as changed once the current transaction commits.
+     */
+    public void votesChangedAfterCommit(Long pollId) {
+        TransactionHooks.afterCommit(() -> changed(pollId));
+    }
+
+    /**
+     * Marks every entry as changed, for writes that show in many polls, such as an admin's name.
+     */
+    public void allChangedAfterCommit() {
+        TransactionHooks.afterCommit(() -> entries.asMap().values().forEach(entry -> entry.changes.incrementAndGet()));
+    }
+
+    /**
+     * Drops a deleted poll's entry once the current transaction commits.
+     */
+    public void forgetAfterCommit(Long pollId) {
+        TransactionHooks.afterCommit(() -> {
+            Entry entry = entries.asMap().remove(pollId);
+            if (entry != null) {
+                entry.changes.incrementAndGet();
+            }
+            changed(ACTIVE_POLLS);
+        });
+    }
+
+    @EventListener
+    public void onLifecycleEvent(PollLifecycleEvent event) {
+        event.getPollIds().forEach(this::pollChangedAfterCommit);
+    }
+
+    /**
+     * Applies a cache invalidation from another node.
+     */
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (CacheRegions.POLLS.equals(event.getRegion()) && event.getEntityId() != null) {
+            changed(event.getEntityId());
+            changed(ACTIVE_POLLS);
+        } else if (CacheRegions.POLLS.equals(event.getRegion()) || CacheRegions.ADMINS.equals(event.getRegion())) {
+            entries.asMap().values().forEach(entry -> entry.changes.incrementAndGet());
+        }
+    }
+
+    private void changed(Object key) {
+        Entry entry = entries.getIfPresent(key);
+        if (entry != null) {
+            entry.changes.incrementAndGet();
+        }
+    }
+
+    /**
+     * Builds a strong ETag for a representation from the values its content depends on, by
+     * hashing their text with 64-bit FNV-1a.
+     */
+    public static String etag(String representation, Object key, List<?> parts) {
+        long hash = FNV_OFFSET;
+        for (Object part : parts) {
+            String value = String.valueOf(part);
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+            }
+            hash = (hash ^ '|') * FNV_PRIME;
+        }
+        return "\"" + representation + "-" + key + "-" + Long.toHexString(hash) + "\"";
+    }
+}
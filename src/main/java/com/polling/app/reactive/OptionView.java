@@ -0,0 +1,9 @@
+package com.polling.app.reactive;
+
+import java.time.LocalDateTime;
+
+/**
+ * A poll option with its vote count, as the servlet API returns it.
+ */
+public record OptionView(Long id, String optionText, Integer voteCount, LocalDateTime createdAt) {
+}
@@ -0,0 +1,49 @@
+package com.polling.app.reactive;
+
+import com.polling.app.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Reactive counterpart of the public poll reads of
+ * {@link com.polling.app.controller.UserController}, with the same paths and response bodies.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/user/polls")
+@RequiredArgsConstructor
+public class PollReadController {
+
+    private final PollReadRepository pollReadRepository;
+
+    @GetMapping("/active")
+    public Flux<PollView> getActivePolls() {
+        return pollReadRepository.findActivePolls(LocalDateTime.now());
+    }
+
+    @GetMapping("/{pollId}")
+    public Mono<PollView> getPollById(@PathVariable Long pollId) {
+        return pollReadRepository.findPoll(pollId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Poll", pollId)));
+    }
+
+    @GetMapping("/{pollId}/options")
+    public Flux<OptionView> getPollOptions(@PathVariable Long pollId) {
+        return pollReadRepository.findOptions(pollId);
+    }
+
+    @GetMapping("/{pollId}/results")
+    public Mono<Map<String, Object>> getPollResults(@PathVariable Long pollId) {
+        return Mono.zip(pollReadRepository.findOptions(pollId).collectList(), pollReadRepository.countVotes(pollId))
+                .map(results -> Map.of("options", results.getT1(), "totalVotes", results.getT2()));
+    }
+}
@@ -0,0 +1,79 @@
+package com.polling.app.reactive;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reads polls, options and vote totals over R2DBC.
+ *
+ * List queries hand rows on as the subscriber asks for them and fetch them from the database
+ * cursor {@link ReactiveReadsProperties#getFetchSize()} at a time, so demand from the HTTP
+ * response reaches the database instead of a result set being buffered in full. Vote counts
+ * are read from {@code poll_options.vote_count}, as kept by the {@code direct} counter mode.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class PollReadRepository {
+
+    private static final String POLL_COLUMNS = "SELECT p.id, p.title, p.description, p.is_active, p.created_at, "
+            + "p.updated_at, p.starts_at, p.ends_at, a.id AS admin_id, a.username, a.email, a.first_name, "
+            + "a.last_name, a.created_at AS admin_created_at, a.updated_at AS admin_updated_at "
+            + "FROM polls p JOIN admins a ON a.id = p.admin_id ";
+
+    private final DatabaseClient databaseClient;
+    private final ReactiveReadsProperties properties;
+
+    public Flux<PollView> findActivePolls(LocalDateTime now) {
+        return databaseClient.sql(POLL_COLUMNS
+                        + "WHERE p.is_active = TRUE AND (p.ends_at IS NULL OR p.ends_at > :now) ORDER BY p.id")
+                .bind("now", now)
+                .filter(statement -> statement.fetchSize(properties.getFetchSize()))
+                .map(PollReadRepository::poll)
+                .all()
+                .limitRate(properties.getFetchSize());
+    }
+
+    public Mono<PollView> findPoll(Long pollId) {
+        return databaseClient.sql(POLL_COLUMNS + "WHERE p.id = :pollId")
+                .bind("pollId", pollId)
+                .map(PollReadRepository::poll)
+                .one();
+    }
+
+    public Flux<OptionView> findOptions(Long pollId) {
+        return databaseClient.sql("SELECT id, option_text, vote_count, created_at FROM poll_options "
+                        + "WHERE poll_id = :pollId ORDER BY vote_count DESC, id")
+                .bind("pollId", pollId)
+                .filter(statement -> statement.fetchSize(properties.getFetchSize()))
+                .map(row -> new OptionView(row.get("id", Long.class), row.get("option_text", String.class),
+                        row.get("vote_count", Integer.class), row.get("created_at", LocalDateTime.class)))
+                .all()
+                .limitRate(properties.getFetchSize());
+    }
+
+    public Mono<Long> countVotes(Long pollId) {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM poll_responses WHERE poll_id = :pollId")
+                .bind("pollId", pollId)
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    private static PollView poll(Readable row) {
+        return new PollView(row.get("id", Long.class), row.get("title", String.class),
+                row.get("description", String.class), row.get("is_active", Boolean.class),
+                row.get("created_at", LocalDateTime.class), row.get("updated_at", LocalDateTime.class),
+                row.get("starts_at", LocalDateTime.class), row.get("ends_at", LocalDateTime.class),
+                new PollView.Admin(row.get("admin_id", Long.class), row.get("username", String.class),
+                        row.get("email", String.class), row.get("first_name", String.class),
+                        row.get("last_name", String.class), row.get("admin_created_at", LocalDateTime.class),
+                        row.get("admin_updated_at", LocalDateTime.class)));
+    }
+}
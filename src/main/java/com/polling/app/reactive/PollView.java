@@ -0,0 +1,14 @@
+package com.polling.app.reactive;
+
+import java.time.LocalDateTime;
+
+/**
+ * A poll as the servlet API returns it, with its admin but without the admin's password.
+ */
+public record PollView(Long id, String title, String description, Boolean isActive, LocalDateTime createdAt,
+                       LocalDateTime updatedAt, LocalDateTime startsAt, LocalDateTime endsAt, Admin admin) {
+
+    public record Admin(Long id, String username, String email, String firstName, String lastName,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.polling.app.reactive;
+
+import com.polling.app.dto.ErrorResponse;
+import com.polling.app.exception.PollAppException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+
+/**
+ * Answers errors of the reactive read service with the same body as
+ * {@link com.polling.app.exception.GlobalExceptionHandler}.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(PollAppException.class)
+    public ResponseEntity<ErrorResponse> handlePollAppException(PollAppException ex, ServerWebExchange exchange) {
+        log.debug("PollAppException occurred: {}", ex.getMessage());
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .errorCode(ex.getErrorCode())
+                .message(ex.getMessage())
+                .status(ex.getHttpStatus().value())
+                .path(exchange.getRequest().getPath().value())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(errorResponse, ex.getHttpStatus());
+    }
+}
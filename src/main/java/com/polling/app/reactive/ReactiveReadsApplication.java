@@ -0,0 +1,40 @@
+package com.polling.app.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.graphql.GraphQlAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Serves the public poll reads, active polls, a poll, its options and its results, on
+ * WebFlux and R2DBC instead of Spring MVC and JPA. A handful of Netty event-loop threads
+ * carry every request, so concurrent readers no longer each hold a servlet thread while they
+ * wait for the database.
+ *
+ * Runs as its own process next to the main application, against the same database, with
+ * the {@code reactive-reads} profile; writes and every other endpoint stay with
+ * {@link com.polling.app.PollingApplication}. Only this package is scanned, and its beans
+ * are skipped by the servlet application.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+        GraphQlAutoConfiguration.class, ReactiveUserDetailsServiceAutoConfiguration.class})
+@ComponentScan
+public class ReactiveReadsApplication {
+
+    public static final String PROFILE = "reactive-reads";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveReadsApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles(PROFILE)
+                .run(args);
+    }
+}
@@ -0,0 +1,71 @@
+package com.polling.app.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+@EnableConfigurationProperties(ReactiveReadsProperties.class)
+public class ReactiveReadsConfig {
+
+    public ReactiveReadsConfig(Environment environment) {
+        checkSupported(environment);
+    }
+
+    /**
+     * Vote counts are read from {@code poll_options.vote_count} and totals from
+     * {@code poll_responses} on one database, so the service refuses to start next to a main
+     * application that keeps votes anywhere else, or answers from memory, and would give
+     * different results.
+     */
+    static void checkSupported(PropertyResolver properties) {
+        List<String> unsupported = new ArrayList<>();
+        String counterMode = properties.getProperty("app.votes.counter-mode", "direct");
+        if (!"direct".equals(counterMode)) {
+            unsupported.add("app.votes.counter-mode=" + counterMode);
+        }
+        for (String flag : List.of("app.sharding.enabled", "app.votes.journal.enabled", "app.warm-state.enabled")) {
+            if (properties.getProperty(flag, Boolean.class, false)) {
+                unsupported.add(flag + "=true");
+            }
+        }
+        if (!unsupported.isEmpty()) {
+            throw new IllegalStateException("The reactive read service needs the direct vote counter on one "
+                    + "unsharded database and cannot run with " + String.join(", ", unsupported));
+        }
+    }
+
+    /**
+     * Tomcat is on the classpath for the servlet application and would otherwise be picked
+     * first, running the handlers on its thread pool.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public SecurityWebFilterChain readsSecurityFilterChain(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/api/user/polls/**").permitAll()
+                        .pathMatchers("/actuator/health/**", "/actuator/metrics/**").permitAll()
+                        .anyExchange().denyAll())
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.polling.app.reactive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the reactive read service.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.reactive-reads")
+public class ReactiveReadsProperties {
+
+    /**
+     * Rows requested from the database cursor at a time. Rows are only fetched as the client
+     * reads the response, so a slow reader holds at most this many rows in memory.
+     */
+    private int fetchSize = 64;
+}
@@ -1,9 +1,13 @@
 package com.polling.app.repository;
 
 import com.polling.app.entity.PollOption;
+import com.polling.app.repository.projection.PollOptionResultRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,11 +23,32 @@ public interface PollOptionRepository extends JpaRepository<PollOption, Long> {
 
     /**
      * Retrieves all poll options for a specific poll, ordered by vote count in descending order.
+     * The poll is loaded by the same statement, so callers can use it after the session ends.
      *
      * @param pollId the ID of the poll
      * @return list of poll options sorted by vote count
      */
-    List<PollOption> findByPollIdOrderByVoteCountDesc(Long pollId);
+    @Query("SELECT o FROM PollOption o JOIN FETCH o.poll WHERE o.poll.id = :pollId ORDER BY o.voteCount DESC")
+    List<PollOption> findByPollIdOrderByVoteCountDesc(@Param("pollId") Long pollId);
+
+    /**
+     * Retrieves the options of several polls with one query.
+     *
+     * @param pollIds the IDs of the polls
+     * @return the options of all of those polls
+     */
+    List<PollOption> findByPollIdIn(Collection<Long> pollIds);
+
+    /**
+     * Retrieves the options of several polls with their stored vote counts, as columns rather
+     * than entities, so the counts are read from the table and not the second-level cache.
+     *
+     * @param pollIds the IDs of the polls
+     * @return the options of all of those polls
+     */
+    @Query("SELECT o.id AS id, o.poll.id AS pollId, o.optionText AS optionText, o.voteCount AS voteCount, " +
+           "o.createdAt AS createdAt FROM PollOption o WHERE o.poll.id IN :pollIds")
+    List<PollOptionResultRow> findResultRowsByPollIdIn(@Param("pollIds") Collection<Long> pollIds);
 
     /**
      * Retrieves a specific poll option by its ID and the ID of its associated poll.
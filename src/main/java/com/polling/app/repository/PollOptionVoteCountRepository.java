@@ -0,0 +1,44 @@
+package com.polling.app.repository;
+
+import com.polling.app.entity.PollOptionVoteCount;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PollOptionVoteCountRepository extends JpaRepository<PollOptionVoteCount, Long> {
+
+    /**
+     * Retrieves the live vote counts of every option of a poll.
+     *
+     * @param pollId the ID of the poll
+     * @return vote counts, one per option
+     */
+    List<PollOptionVoteCount> findByPollId(Long pollId);
+
+    /**
+     * Retrieves the live vote counts of every option of several polls.
+     *
+     * @param pollIds the IDs of the polls
+     * @return vote counts, one per option
+     */
+    List<PollOptionVoteCount> findByPollIdIn(Collection<Long> pollIds);
+
+    /**
+     * Retrieves the vote count of an option and locks it until the transaction ends, so
+     * concurrent votes on the same option do not overwrite each other.
+     *
+     * @param optionId the ID of the poll option
+     * @return the locked vote count
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM PollOptionVoteCount c WHERE c.id = :optionId")
+    Optional<PollOptionVoteCount> findForUpdate(@Param("optionId") Long optionId);
+}
@@ -1,13 +1,22 @@
 package com.polling.app.repository;
 
 import com.polling.app.entity.Poll;
+import com.polling.app.repository.projection.PollDetailRow;
+import com.polling.app.repository.projection.PollScheduleView;
+import com.polling.app.repository.projection.PollSearchView;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PollRepository extends JpaRepository<Poll, Long> {
@@ -18,9 +27,102 @@ public interface PollRepository extends JpaRepository<Poll, Long> {
     
     List<Poll> findByAdminId(Long adminId);
     
-    @Query("SELECT p FROM Poll p WHERE p.isActive = true AND (p.endsAt IS NULL OR p.endsAt > :currentTime)")
+    @Query("SELECT p FROM Poll p JOIN FETCH p.admin WHERE p.isActive = true AND (p.endsAt IS NULL OR p.endsAt > :currentTime)")
     List<Poll> findActivePollsNotExpired(@Param("currentTime") LocalDateTime currentTime);
     
     @Query("SELECT p FROM Poll p WHERE p.admin.id = :adminId ORDER BY p.createdAt DESC")
     List<Poll> findByAdminIdOrderByCreatedAtDesc(@Param("adminId") Long adminId);
+
+    /**
+     * Retrieves a poll with its admin, its options by vote count, its response count and the
+     * option a user voted for, in one statement.
+     *
+     * @param pollId the ID of the poll
+     * @param userId the viewer, or null
+     * @return one row per option, one row without option columns if the poll has none, or
+     *         nothing if the poll does not exist
+     */
+    @Query("SELECT p.id AS pollId, p.title AS title, p.description AS description, p.isActive AS isActive, " +
+           "p.createdAt AS createdAt, p.updatedAt AS updatedAt, p.startsAt AS startsAt, p.endsAt AS endsAt, " +
+           "a.id AS adminId, a.username AS adminUsername, a.firstName AS adminFirstName, a.lastName AS adminLastName, " +
+           "o.id AS optionId, o.optionText AS optionText, o.voteCount AS voteCount, " +
+           "(SELECT COUNT(r) FROM PollResponse r WHERE r.poll.id = p.id) AS totalVotes, " +
+           "(SELECT MAX(v.pollOption.id) FROM PollResponse v WHERE v.poll.id = p.id AND v.user.id = :userId) AS votedOptionId " +
+           "FROM Poll p JOIN p.admin a LEFT JOIN p.pollOptions o " +
+           "WHERE p.id = :pollId ORDER BY o.voteCount DESC, o.id")
+    List<PollDetailRow> findDetailRows(@Param("pollId") Long pollId, @Param("userId") Long userId);
+
+    /**
+     * Retrieves the polls to search: active ones and those changed since {@code since}.
+     */
+    @Query("SELECT p.id AS id, p.title AS title, p.description AS description, p.isActive AS isActive, " +
+           "p.startsAt AS startsAt, p.endsAt AS endsAt FROM Poll p WHERE p.isActive = true OR p.updatedAt > :since")
+    List<PollSearchView> findSearchable(@Param("since") LocalDateTime since);
+
+    /**
+     * Retrieves the searched columns of the given polls.
+     */
+    @Query("SELECT p.id AS id, p.title AS title, p.description AS description, p.isActive AS isActive, " +
+           "p.startsAt AS startsAt, p.endsAt AS endsAt FROM Poll p WHERE p.id IN :ids " +
+           "AND (p.isActive = true OR p.updatedAt > :since)")
+    List<PollSearchView> findSearchableByIdIn(@Param("ids") Collection<Long> ids, @Param("since") LocalDateTime since);
+
+    /**
+     * Retrieves the schedule of every poll that still has a lifecycle transition ahead of it:
+     * active polls with an end time, and pending polls waiting for their start time.
+     *
+     * @param currentTime the reference time
+     * @return schedule projections, without loading full poll entities
+     */
+    @Query("SELECT p.id AS id, p.isActive AS isActive, p.startsAt AS startsAt, p.endsAt AS endsAt FROM Poll p " +
+           "WHERE (p.isActive = true AND p.endsAt IS NOT NULL) " +
+           "OR (p.isActive = false AND p.awaitingStart = true AND (p.endsAt IS NULL OR p.endsAt > :currentTime))")
+    List<PollScheduleView> findPendingLifecycleSchedules(@Param("currentTime") LocalDateTime currentTime);
+
+    /**
+     * Reads a poll's active flag from its row, bypassing the second-level cache, and holds a
+     * shared lock on the row until the transaction ends, so a close made with a plain update,
+     * such as the rebalancer's, waits for votes already past this check.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT p.isActive FROM Poll p WHERE p.id = :pollId")
+    Optional<Boolean> findIsActiveForShareById(@Param("pollId") Long pollId);
+
+    /**
+     * Retrieves the IDs, among the given candidates, of active polls whose end time has passed.
+     */
+    @Query("SELECT p.id FROM Poll p WHERE p.id IN :ids AND p.isActive = true " +
+           "AND p.endsAt IS NOT NULL AND p.endsAt <= :currentTime")
+    List<Long> findIdsDueForClose(@Param("ids") Collection<Long> ids, @Param("currentTime") LocalDateTime currentTime);
+
+    /**
+     * Retrieves the IDs, among the given candidates, of pending polls whose start time has come.
+     * A poll an admin deactivated is no longer awaiting its start, so it is never reopened by
+     * the scheduler.
+     */
+    @Query("SELECT p.id FROM Poll p WHERE p.id IN :ids AND p.isActive = false AND p.awaitingStart = true " +
+           "AND p.startsAt IS NOT NULL AND p.startsAt <= :currentTime " +
+           "AND (p.endsAt IS NULL OR p.endsAt > :currentTime)")
+    List<Long> findIdsDueForOpen(@Param("ids") Collection<Long> ids, @Param("currentTime") LocalDateTime currentTime);
+
+    /**
+     * Closes the given polls in a single statement.
+     *
+     * @return number of polls closed
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Poll p SET p.isActive = false, p.updatedAt = :currentTime WHERE p.id IN :ids AND p.isActive = true")
+    int closePolls(@Param("ids") Collection<Long> ids, @Param("currentTime") LocalDateTime currentTime);
+
+    /**
+     * Opens the given polls in a single statement.
+     *
+     * @return number of polls opened
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Poll p SET p.isActive = true, p.awaitingStart = false, p.updatedAt = :currentTime " +
+           "WHERE p.id IN :ids AND p.isActive = false AND p.awaitingStart = true")
+    int openPolls(@Param("ids") Collection<Long> ids, @Param("currentTime") LocalDateTime currentTime);
 }
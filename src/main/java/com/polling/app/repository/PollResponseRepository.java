@@ -2,11 +2,16 @@ package com.polling.app.repository;
 
 import com.polling.app.entity.Poll;
 import com.polling.app.entity.PollResponse;
+import com.polling.app.repository.projection.PollVoteTotal;
+import com.polling.app.repository.projection.VotingHistoryRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +27,19 @@ public interface PollResponseRepository extends JpaRepository<PollResponse, Long
     @Query("SELECT COUNT(pr) FROM PollResponse pr WHERE pr.poll.id = :pollId")
     Long countByPollId(@Param("pollId") Long pollId);
 
+    /**
+     * Counts the responses of several polls at once; polls without responses are left out.
+     */
+    @Query("SELECT pr.poll.id AS pollId, COUNT(pr) AS total FROM PollResponse pr " +
+           "WHERE pr.poll.id IN :pollIds GROUP BY pr.poll.id")
+    List<PollVoteTotal> countByPollIdIn(@Param("pollIds") Collection<Long> pollIds);
+
+    /**
+     * Retrieves which of the given polls a user has responded to.
+     */
+    @Query("SELECT pr.poll.id FROM PollResponse pr WHERE pr.user.id = :userId AND pr.poll.id IN :pollIds")
+    List<Long> findPollIdsByUserIdAndPollIdIn(@Param("userId") Long userId, @Param("pollIds") Collection<Long> pollIds);
+
     @Query("SELECT COUNT(pr) FROM PollResponse pr WHERE pr.pollOption.id = :optionId")
     Long countByPollOptionId(@Param("optionId") Long optionId);
 
@@ -30,4 +48,35 @@ public interface PollResponseRepository extends JpaRepository<PollResponse, Long
     // ✅ Fixed query to avoid SQL error with DISTINCT + ORDER BY
     @Query("SELECT pr.poll FROM PollResponse pr WHERE pr.user.id = :userId GROUP BY pr.poll.id ORDER BY MAX(pr.responseDate) DESC")
     List<Poll> findDistinctPollsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Retrieves a user's responses together with their polls and poll admins, newest first,
+     * so the polls can be used after the session is closed.
+     */
+    @Query("SELECT pr FROM PollResponse pr JOIN FETCH pr.poll p JOIN FETCH p.admin " +
+           "WHERE pr.user.id = :userId ORDER BY pr.responseDate DESC")
+    List<PollResponse> findWithPollByUserIdOrderByResponseDateDesc(@Param("userId") Long userId);
+
+    /**
+     * Retrieves the most recent votes of a user, newest first, walking the
+     * {@code (user_id, response_date, poll_id, poll_option_id)} index.
+     */
+    @Query("SELECT pr.poll.id AS pollId, p.title AS pollTitle, o.id AS optionId, o.optionText AS optionText, " +
+           "pr.responseDate AS votedAt FROM PollResponse pr JOIN pr.poll p JOIN pr.pollOption o " +
+           "WHERE pr.user.id = :userId ORDER BY pr.responseDate DESC, pr.poll.id DESC")
+    List<VotingHistoryRow> findHistoryByUserId(@Param("userId") Long userId, Limit limit);
+
+    /**
+     * Retrieves the votes of a user that come after the given one in
+     * {@link #findHistoryByUserId} order, seeking in the index rather than skipping rows.
+     */
+    @Query("SELECT pr.poll.id AS pollId, p.title AS pollTitle, o.id AS optionId, o.optionText AS optionText, " +
+           "pr.responseDate AS votedAt FROM PollResponse pr JOIN pr.poll p JOIN pr.pollOption o " +
+           "WHERE pr.user.id = :userId AND (pr.responseDate < :votedAt " +
+           "OR (pr.responseDate = :votedAt AND pr.poll.id < :pollId)) " +
+           "ORDER BY pr.responseDate DESC, pr.poll.id DESC")
+    List<VotingHistoryRow> findHistoryByUserIdBefore(@Param("userId") Long userId,
+                                                    @Param("votedAt") LocalDateTime votedAt,
+                                                    @Param("pollId") Long pollId,
+                                                    Limit limit);
 }
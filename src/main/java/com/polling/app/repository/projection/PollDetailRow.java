@@ -0,0 +1,45 @@
+package com.polling.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * One option of a poll, together with the poll's columns, its admin, its response count and
+ * the option a given user voted for. A poll without options has a single row whose option
+ * columns are null.
+ */
+public interface PollDetailRow {
+
+    Long getPollId();
+
+    String getTitle();
+
+    String getDescription();
+
+    Boolean getIsActive();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    LocalDateTime getStartsAt();
+
+    LocalDateTime getEndsAt();
+
+    Long getAdminId();
+
+    String getAdminUsername();
+
+    String getAdminFirstName();
+
+    String getAdminLastName();
+
+    Long getOptionId();
+
+    String getOptionText();
+
+    Integer getVoteCount();
+
+    Long getTotalVotes();
+
+    Long getVotedOptionId();
+}
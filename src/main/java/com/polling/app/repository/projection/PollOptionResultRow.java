@@ -0,0 +1,19 @@
+package com.polling.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * An option of a poll with its stored vote count.
+ */
+public interface PollOptionResultRow {
+
+    Long getId();
+
+    Long getPollId();
+
+    String getOptionText();
+
+    Integer getVoteCount();
+
+    LocalDateTime getCreatedAt();
+}
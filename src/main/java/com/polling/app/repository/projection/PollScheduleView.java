@@ -0,0 +1,17 @@
+package com.polling.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection of the columns the lifecycle scheduler needs to arm its timers.
+ */
+public interface PollScheduleView {
+
+    Long getId();
+
+    Boolean getIsActive();
+
+    LocalDateTime getStartsAt();
+
+    LocalDateTime getEndsAt();
+}
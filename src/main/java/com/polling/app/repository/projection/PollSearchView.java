@@ -0,0 +1,21 @@
+package com.polling.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a poll that are searched or shown with search results.
+ */
+public interface PollSearchView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    Boolean getIsActive();
+
+    LocalDateTime getStartsAt();
+
+    LocalDateTime getEndsAt();
+}
@@ -0,0 +1,11 @@
+package com.polling.app.repository.projection;
+
+/**
+ * Number of responses a poll has received.
+ */
+public interface PollVoteTotal {
+
+    Long getPollId();
+
+    Long getTotal();
+}
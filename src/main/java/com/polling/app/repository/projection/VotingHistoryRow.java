@@ -0,0 +1,19 @@
+package com.polling.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * A poll a user voted in, the option they chose and when.
+ */
+public interface VotingHistoryRow {
+
+    Long getPollId();
+
+    String getPollTitle();
+
+    Long getOptionId();
+
+    String getOptionText();
+
+    LocalDateTime getVotedAt();
+}
@@ -0,0 +1,193 @@
+package com.polling.app.resilience;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * While {@code CLOSED} it remembers the outcome of the last {@code windowSize} calls and
+ * opens once at least {@code minimumCalls} were recorded and the share of failures reaches
+ * {@code failureRateThreshold}. While {@code OPEN} every call is refused; after
+ * {@code openMillis} the breaker lets {@code halfOpenCalls} trial calls through. It closes
+ * if they all succeed and opens again on the first one that fails.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openMillis;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+    private final boolean[] failedCalls;
+    private final ReentrantLock lock = new ReentrantLock();
+    private BiConsumer<State, State> transitionListener = (from, to) -> {
+    };
+
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int failures;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                          long openMillis, int halfOpenCalls, LongSupplier clock) {
+        this.name = name;
+        this.failedCalls = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMillis = openMillis;
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void onTransition(BiConsumer<State, State> listener) {
+        lock.lock();
+        try {
+            this.transitionListener = listener;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            if (state == State.OPEN && clock.getAsLong() - openedAt >= openMillis) {
+                return State.HALF_OPEN;
+            }
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Milliseconds until an open breaker lets trial calls through; zero otherwise.
+     */
+    public long remainingOpenMillis() {
+        lock.lock();
+        try {
+            return state == State.OPEN ? Math.max(0, openedAt + openMillis - clock.getAsLong()) : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Asks for permission to make a call. Every permitted call must be followed by
+     * {@link #onSuccess()}, {@link #onFailure()} or, if it was never made, {@link #release()}.
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (clock.getAsLong() - openedAt < openMillis) {
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialsStarted >= halfOpenCalls) {
+                    return false;
+                }
+                trialsStarted++;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back the permission for a call that was not made, without recording an outcome.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && trialsStarted > trialsSucceeded) {
+                trialsStarted--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                if (++trialsSucceeded >= halfOpenCalls) {
+                    transitionTo(State.CLOSED);
+                }
+                return;
+            }
+            record(false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onFailure() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                transitionTo(State.OPEN);
+                return;
+            }
+            if (state == State.CLOSED) {
+                record(true);
+                if (recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+                    transitionTo(State.OPEN);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failed) {
+        if (recorded == failedCalls.length) {
+            if (failedCalls[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        failedCalls[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % failedCalls.length;
+    }
+
+    private void transitionTo(State target) {
+        State previous = state;
+        state = target;
+        if (target == State.OPEN) {
+            openedAt = clock.getAsLong();
+        }
+        if (target == State.HALF_OPEN) {
+            trialsStarted = 0;
+            trialsSucceeded = 0;
+        }
+        if (target == State.CLOSED) {
+            recorded = 0;
+            next = 0;
+            failures = 0;
+        }
+        transitionListener.accept(previous, target);
+    }
+}
@@ -0,0 +1,62 @@
+package com.polling.app.resilience;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polling.app.dto.ErrorResponse;
+import com.polling.app.controller.UserController;
+import com.polling.app.graphql.GraphQlConfig;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Turns API writes away with an immediate 503 while the {@link ReadGuard} reports the
+ * database as unavailable, instead of letting them queue for a connection. Reads pass
+ * through and are answered from the last known results.
+ */
+public class DegradedModeFilter extends OncePerRequestFilter {
+
+    private final ReadGuard readGuard;
+    private final ObjectMapper objectMapper;
+
+    public DegradedModeFilter(ReadGuard readGuard, ObjectMapper objectMapper) {
+        this.readGuard = readGuard;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)
+                || !request.getRequestURI().startsWith("/api/") || request.getRequestURI().equals(GraphQlConfig.PATH)
+                || request.getRequestURI().equals(UserController.RESULTS_BATCH_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!readGuard.isDegraded()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ErrorResponse error = ErrorResponse.builder()
+                .errorCode("SERVICE_DEGRADED")
+                .message("The service is read-only while the database recovers")
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .path(request.getRequestURI())
+                .timestamp(LocalDateTime.now())
+                .build();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (readGuard.retryAfterMillis() + 999) / 1000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
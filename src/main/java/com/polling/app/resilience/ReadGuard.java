@@ -0,0 +1,218 @@
+package com.polling.app.resilience;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.polling.app.datasource.DataSourceRoutingContext;
+import com.polling.app.exception.ServiceDegradedException;
+import com.polling.app.exception.ShardUnavailableException;
+import com.polling.app.sharding.ShardContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.PersistenceException;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs read paths with a timeout and a circuit breaker per operation, and keeps the last
+ * answer of the most recently used reads so it can stand in while the database is unavailable.
+ *
+ * A read runs on a worker thread so the caller stops waiting after the operation's timeout
+ * even while the worker is still blocked on a connection. Timeouts and database errors count
+ * against the operation's breaker; errors raised by the application itself, such as an
+ * unknown poll, do not. Neither does a read turned away because every worker is busy: that is
+ * load, not a failing database. If the read fails, or its breaker is open, the last answer for the
+ * same key is returned and the response is marked stale with a {@code Warning: 110} and an
+ * {@value #STALE_HEADER} header. Without an earlier answer the read fails with
+ * {@link ServiceDegradedException}.
+ *
+ * While any breaker is open the application is degraded, and {@link DegradedModeFilter}
+ * turns writes away.
+ */
+@Slf4j
+public class ReadGuard {
+
+    public static final String STALE_HEADER = "X-Data-Stale";
+
+    private final ExecutorService executor;
+    private final Map<String, Long> timeoutMillis;
+    private final long defaultTimeoutMillis;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Function<String, CircuitBreaker> breakerFactory;
+    private final Cache<String, Object> lastKnown;
+    private final MeterRegistry meterRegistry;
+    private final Counter staleReads;
+
+    public ReadGuard(ExecutorService executor, Map<String, Long> timeoutMillis, long defaultTimeoutMillis,
+                     int maxCachedReads, Function<String, CircuitBreaker> breakerFactory,
+                     MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.timeoutMillis = Map.copyOf(timeoutMillis);
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+        this.lastKnown = Caffeine.newBuilder().maximumSize(maxCachedReads).build();
+        this.breakerFactory = breakerFactory;
+        this.meterRegistry = meterRegistry;
+        this.staleReads = meterRegistry != null
+                ? Counter.builder("polling.reads.stale").description("Reads answered with an earlier result")
+                        .register(meterRegistry)
+                : null;
+    }
+
+    /**
+     * Runs a read, falling back to the last answer for the same operation and key.
+     */
+    public <T> T read(String operation, Object key, Supplier<T> read) {
+        return guard(operation, operation + ":" + key, read);
+    }
+
+    /**
+     * Runs a read whose answer is not kept, for reads keyed by viewer or cursor, whose
+     * answers would crowd out the shared ones; it fails while the database is unavailable.
+     */
+    public <T> T readWithoutFallback(String operation, Supplier<T> read) {
+        return guard(operation, null, read);
+    }
+
+    private <T> T guard(String operation, String cacheKey, Supplier<T> read) {
+        CircuitBreaker breaker = breaker(operation);
+        if (!breaker.tryAcquire()) {
+            return fallback(cacheKey, operation + " is unavailable while the database recovers", null);
+        }
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> ShardContext.propagate(DataSourceRoutingContext.propagate(read)).get());
+        } catch (RejectedExecutionException e) {
+            breaker.release();
+            return fallback(cacheKey, "Too many reads are waiting for the database", e);
+        }
+
+        try {
+            T value = future.get(timeoutMillis.getOrDefault(operation, defaultTimeoutMillis), TimeUnit.MILLISECONDS);
+            breaker.onSuccess();
+            if (value != null && cacheKey != null) {
+                lastKnown.put(cacheKey, value);
+            }
+            return value;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            breaker.onFailure();
+            return fallback(cacheKey, operation + " timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            breaker.onFailure();
+            return fallback(cacheKey, operation + " was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (!isDatabaseFailure(cause)) {
+                // The database answered; the read itself was refused
+                breaker.onSuccess();
+                throw cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+            }
+            breaker.onFailure();
+            return fallback(cacheKey, operation + " failed", cause);
+        }
+    }
+
+    /**
+     * Whether the current request's response was answered with an earlier result, and so
+     * must not be recorded or cached as current.
+     */
+    public static boolean isStale(HttpServletResponse response) {
+        return response != null && response.getHeader(STALE_HEADER) != null;
+    }
+
+    /**
+     * Whether any read path is cut off from the database.
+     */
+    public boolean isDegraded() {
+        return breakers.values().stream().anyMatch(breaker -> breaker.getState() == CircuitBreaker.State.OPEN);
+    }
+
+    /**
+     * Milliseconds until every open breaker lets trial reads through.
+     */
+    public long retryAfterMillis() {
+        return breakers.values().stream().mapToLong(CircuitBreaker::remainingOpenMillis).max().orElse(0);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T fallback(String cacheKey, String reason, Throwable cause) {
+        T value = cacheKey != null ? (T) lastKnown.getIfPresent(cacheKey) : null;
+        if (value == null) {
+            throw new ServiceDegradedException(reason, cause);
+        }
+        log.debug("Serving last known {}: {}", cacheKey, reason);
+        if (staleReads != null) {
+            staleReads.increment();
+        }
+        markStale();
+        return value;
+    }
+
+    private static void markStale() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet && servlet.getResponse() != null) {
+            HttpServletResponse response = servlet.getResponse();
+            response.setHeader("Warning", "110 - \"Response is Stale\"");
+            response.setHeader(STALE_HEADER, "true");
+        }
+    }
+
+    private CircuitBreaker breaker(String operation) {
+        return breakers.computeIfAbsent(operation, name -> {
+            CircuitBreaker breaker = breakerFactory.apply(name);
+            if (meterRegistry != null) {
+                Gauge.builder("polling.breaker.state", breaker, b -> b.getState().ordinal())
+                        .description("Breaker state: 0 closed, 1 half open, 2 open")
+                        .tag("operation", name)
+                        .register(meterRegistry);
+            }
+            breaker.onTransition((from, to) -> {
+                if (to == CircuitBreaker.State.OPEN) {
+                    log.warn("Circuit breaker for {} opened after {}", name, from);
+                } else {
+                    log.info("Circuit breaker for {} moved from {} to {}", name, from, to);
+                }
+                if (meterRegistry != null) {
+                    meterRegistry.counter("polling.breaker.transitions", "operation", name,
+                            "from", from.name(), "to", to.name()).increment();
+                }
+            });
+            return breaker;
+        });
+    }
+
+    private static boolean isDatabaseFailure(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof DataAccessException || current instanceof TransactionException
+                    || current instanceof PersistenceException || current instanceof SQLException
+                    || current instanceof ShardUnavailableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,50 @@
+package com.polling.app.resilience;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wires the {@link ReadGuard} and the filter that sheds writes while it is degraded.
+ */
+@Configuration
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class ResilienceConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ReadGuard readGuard(ResilienceProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        // No queue: reads beyond the thread count fall back at once instead of waiting
+        ExecutorService executor = new ThreadPoolExecutor(properties.getReadThreads(), properties.getReadThreads(),
+                60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "guarded-read-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ResilienceProperties.Breaker breaker = properties.getBreaker();
+        return new ReadGuard(executor, properties.getTimeoutMillis(), properties.getDefaultTimeoutMillis(),
+                properties.getMaxCachedReads(),
+                operation -> new CircuitBreaker(operation, breaker.getWindowSize(), breaker.getMinimumCalls(),
+                        breaker.getFailureRateThreshold(), breaker.getOpenMillis(), breaker.getHalfOpenCalls(),
+                        System::currentTimeMillis),
+                meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public FilterRegistrationBean<DegradedModeFilter> degradedModeFilter(ReadGuard readGuard, ObjectMapper objectMapper) {
+        FilterRegistrationBean<DegradedModeFilter> registration =
+                new FilterRegistrationBean<>(new DegradedModeFilter(readGuard, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
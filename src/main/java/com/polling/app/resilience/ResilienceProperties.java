@@ -0,0 +1,59 @@
+package com.polling.app.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for read timeouts, circuit breakers and the degraded read-only mode.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.resilience")
+public class ResilienceProperties {
+
+    /**
+     * Timeout of a read without an entry in {@link #timeoutMillis}.
+     */
+    private long defaultTimeoutMillis = 1000;
+
+    /**
+     * Timeout per read operation, e.g. {@code app.resilience.timeout-millis.pollResults=500}.
+     */
+    private Map<String, Long> timeoutMillis = new HashMap<>();
+
+    /**
+     * Threads running guarded reads; reads beyond this are answered from the last known
+     * results straight away.
+     */
+    private int readThreads = 32;
+
+    /**
+     * Most reads whose last answer is kept for the degraded mode; the least recently used
+     * are dropped first.
+     */
+    private int maxCachedReads = 10000;
+
+    private Breaker breaker = new Breaker();
+
+    @Data
+    public static class Breaker {
+
+        /**
+         * Number of recent calls the failure rate is computed over.
+         */
+        private int windowSize = 20;
+
+        private int minimumCalls = 10;
+
+        private double failureRateThreshold = 0.5;
+
+        /**
+         * How long a breaker stays open before letting trial calls through.
+         */
+        private long openMillis = 10000;
+
+        private int halfOpenCalls = 3;
+    }
+}
@@ -0,0 +1,31 @@
+package com.polling.app.search;
+
+import com.polling.app.cache.CacheInvalidationBus;
+import com.polling.app.repository.PollRepository;
+import com.polling.app.repository.PollResponseRepository;
+import com.polling.app.sharding.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the in-memory poll search index.
+ */
+@Configuration
+@EnableConfigurationProperties(PollSearchProperties.class)
+public class PollSearchConfig {
+
+    @Bean
+    public PollSearchIndexer pollSearchIndexer(PollRepository pollRepository,
+                                               PollResponseRepository pollResponseRepository,
+                                               ShardRouter shardRouter, PollSearchProperties properties,
+                                               CacheInvalidationBus cacheInvalidationBus,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        PollSearchIndexer indexer = new PollSearchIndexer(pollRepository, pollResponseRepository, shardRouter,
+                properties, meterRegistry.getIfAvailable());
+        cacheInvalidationBus.addListener(indexer::onInvalidation);
+        return indexer;
+    }
+}
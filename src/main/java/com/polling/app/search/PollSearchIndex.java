@@ -0,0 +1,426 @@
+package com.polling.app.search;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over poll titles and descriptions, with a prefix trie over its terms.
+ *
+ * Every term of a query must match, and the last one also matches as a prefix, so results
+ * follow the user as they type. A poll's text score adds up, per query term, how often the
+ * term occurs in it (title occurrences count {@value #TITLE_WEIGHT} times) weighted by how
+ * rare the term is. The final score scales that by the poll's vote activity and lowers it for
+ * polls that are not open, and the top results are picked with a bounded heap.
+ *
+ * Reads share a lock and updates take it exclusively.
+ */
+public class PollSearchIndex {
+
+    static final int TITLE_WEIGHT = 3;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    /**
+     * Score of a term matched only as a prefix, relative to an exact match.
+     */
+    private static final double PREFIX_DISCOUNT = 0.8;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<Hit> BY_SCORE = Comparator.comparingDouble(Hit::score)
+            .thenComparing(hit -> hit.document().pollId());
+
+    private final double activityWeight;
+    private final double closedWeight;
+    private final int maxPrefixTerms;
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    // Never lowered, so the boost it gives bounds the boost of every indexed poll
+    private long maxVotes;
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final TrieNode trie = new TrieNode();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * What the index knows of a poll.
+     */
+    public record Document(Long pollId, String title, String description, boolean active,
+                           LocalDateTime startsAt, LocalDateTime endsAt, long totalVotes) {
+
+        boolean isOpen(LocalDateTime now) {
+            return active && (startsAt == null || !startsAt.isAfter(now)) && (endsAt == null || endsAt.isAfter(now));
+        }
+
+        Document withVotes(long votes) {
+            return new Document(pollId, title, description, active, startsAt, endsAt, votes);
+        }
+
+        Document withActive(boolean isActive) {
+            return new Document(pollId, title, description, isActive, startsAt, endsAt, totalVotes);
+        }
+    }
+
+    public record Hit(Document document, double score) {
+    }
+
+    /**
+     * The terms one query term matches, with how much each contributes per occurrence.
+     */
+    private final class TermGroup {
+        final List<Map<Long, Integer>> termPostings = new ArrayList<>();
+        final double[] factors;
+        final int matches;
+        Map<Long, Double> merged;
+
+        TermGroup(String token, List<String> terms) {
+            factors = new double[terms.size()];
+            int total = 0;
+            for (int i = 0; i < terms.size(); i++) {
+                Map<Long, Integer> posting = postings.get(terms.get(i));
+                termPostings.add(posting);
+                double idf = Math.log(1 + (double) documents.size() / posting.size());
+                factors[i] = idf * (terms.get(i).equals(token) ? 1 : PREFIX_DISCOUNT);
+                total += posting.size();
+            }
+            matches = total;
+        }
+
+        /**
+         * Merges the postings of a prefix's terms into one map when probing each of them for
+         * every candidate would cost more than reading them all once.
+         */
+        void prepare(int candidates) {
+            if (termPostings.size() < 2 || (long) candidates * termPostings.size() <= matches) {
+                return;
+            }
+            merged = new HashMap<>(matches * 2);
+            for (int i = 0; i < termPostings.size(); i++) {
+                double factor = factors[i];
+                termPostings.get(i).forEach((pollId, weight) -> merged.merge(pollId, weight * factor, Math::max));
+            }
+        }
+
+        /**
+         * The best contribution of any of the terms to a poll's score, 0 if none is in it.
+         */
+        double score(Long pollId) {
+            if (merged != null) {
+                return merged.getOrDefault(pollId, 0.0);
+            }
+            double best = 0;
+            for (int i = 0; i < termPostings.size(); i++) {
+                Integer weight = termPostings.get(i).get(pollId);
+                if (weight != null) {
+                    best = Math.max(best, weight * factors[i]);
+                }
+            }
+            return best;
+        }
+    }
+
+    private static final class TrieNode {
+        // Sorted, so completions of the same length come out alphabetically
+        final Map<Character, TrieNode> children = new TreeMap<>();
+        boolean term;
+    }
+
+    /**
+     * @param activityWeight how much vote activity lifts a score: the text score is multiplied
+     *                       by {@code 1 + activityWeight * ln(1 + votes)}
+     * @param closedWeight   factor applied to the score of polls that are not open
+     * @param maxPrefixTerms most terms a prefix expands to, shortest first
+     */
+    public PollSearchIndex(double activityWeight, double closedWeight, int maxPrefixTerms) {
+        this.activityWeight = activityWeight;
+        this.closedWeight = closedWeight;
+        this.maxPrefixTerms = maxPrefixTerms;
+    }
+
+    /**
+     * Adds a poll, or replaces what is indexed for it.
+     */
+    public void put(Document document) {
+        lock.writeLock().lock();
+        try {
+            unindex(document.pollId());
+            documents.put(document.pollId(), document);
+            maxVotes = Math.max(maxVotes, document.totalVotes());
+            Map<String, Integer> weights = new HashMap<>();
+            tokenize(document.title()).forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+            tokenize(document.description()).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+            weights.forEach((term, weight) -> {
+                Map<Long, Integer> posting = postings.computeIfAbsent(term, ignored -> {
+                    addToTrie(term);
+                    return new HashMap<>();
+                });
+                posting.put(document.pollId(), weight);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long pollId) {
+        lock.writeLock().lock();
+        try {
+            unindex(pollId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts a vote on a poll, if it is indexed.
+     */
+    public void recordVote(Long pollId) {
+        lock.writeLock().lock();
+        try {
+            Document voted = documents.computeIfPresent(pollId,
+                    (id, document) -> document.withVotes(document.totalVotes() + 1));
+            if (voted != null) {
+                maxVotes = Math.max(maxVotes, voted.totalVotes());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Opens or closes indexed polls.
+     *
+     * @return the polls that are not indexed
+     */
+    public List<Long> setActive(Collection<Long> pollIds, boolean active) {
+        List<Long> missing = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            for (Long pollId : pollIds) {
+                if (documents.computeIfPresent(pollId, (id, document) -> document.withActive(active)) == null) {
+                    missing.add(pollId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return missing;
+    }
+
+    public Document get(Long pollId) {
+        lock.readLock().lock();
+        try {
+            return documents.get(pollId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the best {@code limit} polls matching every term of a query, best first.
+     *
+     * @param now the time polls are open or not at
+     */
+    public List<Hit> search(String query, int limit, LocalDateTime now) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<TermGroup> groups = new ArrayList<>(tokens.size());
+            TermGroup driving = null;
+            for (int i = 0; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+                List<String> terms = i == tokens.size() - 1 ? expand(token)
+                        : postings.containsKey(token) ? List.of(token) : List.of();
+                if (terms.isEmpty()) {
+                    return List.of();
+                }
+                TermGroup group = new TermGroup(token, terms);
+                groups.add(group);
+                if (driving == null || group.matches < driving.matches) {
+                    driving = group;
+                }
+            }
+
+            // Candidates come from the rarest term; the others are looked up for each of them
+            for (TermGroup group : groups) {
+                if (group != driving) {
+                    group.prepare(driving.matches);
+                }
+            }
+            PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, BY_SCORE);
+            double maxBoost = boost(maxVotes);
+            Set<Long> seen = driving.termPostings.size() > 1 ? new HashSet<>() : null;
+            for (Map<Long, Integer> posting : driving.termPostings) {
+                for (Long pollId : posting.keySet()) {
+                    if (seen != null && !seen.add(pollId)) {
+                        continue;
+                    }
+                    double textScore = 0;
+                    for (TermGroup group : groups) {
+                        double termScore = group.score(pollId);
+                        if (termScore == 0) {
+                            textScore = 0;
+                            break;
+                        }
+                        textScore += termScore;
+                    }
+                    // Polls that could not beat the worst of the best even with the most votes are skipped unread
+                    if (textScore > 0 && (best.size() < limit || textScore * maxBoost >= best.peek().score())) {
+                        offer(best, limit, documents.get(pollId), textScore, now);
+                    }
+                }
+            }
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(BY_SCORE.reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Completes the last term of a query with indexed terms, those in most polls first.
+     *
+     * @return the query with its last term completed
+     */
+    public List<String> suggest(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        String head = String.join(" ", tokens.subList(0, tokens.size() - 1));
+        lock.readLock().lock();
+        try {
+            return expand(tokens.get(tokens.size() - 1)).stream()
+                    .sorted(Comparator.comparingInt((String term) -> postings.get(term).size()).reversed())
+                    .limit(limit)
+                    .map(term -> head.isEmpty() ? term : head + " " + term)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void offer(PriorityQueue<Hit> best, int limit, Document document, double textScore, LocalDateTime now) {
+        double score = textScore * boost(document.totalVotes()) * (document.isOpen(now) ? 1 : closedWeight);
+        Hit worst = best.peek();
+        if (best.size() == limit && (score < worst.score()
+                || (score == worst.score() && document.pollId() < worst.document().pollId()))) {
+            return;
+        }
+        best.add(new Hit(document, score));
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    private double boost(long votes) {
+        return 1 + activityWeight * Math.log1p(votes);
+    }
+
+    /**
+     * Indexed terms starting with {@code prefix}, shortest first.
+     */
+    private List<String> expand(String prefix) {
+        TrieNode node = trie;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        Queue<Map.Entry<String, TrieNode>> queue = new ArrayDeque<>();
+        queue.add(Map.entry(prefix, node));
+        while (!queue.isEmpty() && terms.size() < maxPrefixTerms) {
+            Map.Entry<String, TrieNode> next = queue.poll();
+            if (next.getValue().term) {
+                terms.add(next.getKey());
+            }
+            next.getValue().children.forEach((c, child) -> queue.add(Map.entry(next.getKey() + c, child)));
+        }
+        return terms;
+    }
+
+    private void unindex(Long pollId) {
+        Document document = documents.remove(pollId);
+        if (document == null) {
+            return;
+        }
+        List<String> terms = new ArrayList<>(tokenize(document.title()));
+        terms.addAll(tokenize(document.description()));
+        for (String term : terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null && posting.remove(pollId) != null && posting.isEmpty()) {
+                postings.remove(term);
+                removeFromTrie(trie, term, 0);
+            }
+        }
+    }
+
+    private void addToTrie(String term) {
+        TrieNode node = trie;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.children.computeIfAbsent(term.charAt(i), c -> new TrieNode());
+        }
+        node.term = true;
+    }
+
+    /**
+     * @return whether {@code node} has become empty and can be dropped by its parent
+     */
+    private static boolean removeFromTrie(TrieNode node, String term, int depth) {
+        if (depth == term.length()) {
+            node.term = false;
+        } else {
+            TrieNode child = node.children.get(term.charAt(depth));
+            if (child != null && removeFromTrie(child, term, depth + 1)) {
+                node.children.remove(term.charAt(depth));
+            }
+        }
+        return !node.term && node.children.isEmpty();
+    }
+
+    /**
+     * Splits text into lower-case terms of letters and digits, without accents.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,263 @@
+package com.polling.app.search;
+
+import com.polling.app.cache.CacheInvalidationEvent;
+import com.polling.app.cache.CacheRegions;
+import com.polling.app.datasource.TransactionHooks;
+import com.polling.app.dto.PollSearchHit;
+import com.polling.app.entity.Poll;
+import com.polling.app.exception.ValidationException;
+import com.polling.app.lifecycle.PollLifecycleEvent;
+import com.polling.app.repository.PollRepository;
+import com.polling.app.repository.PollResponseRepository;
+import com.polling.app.repository.projection.PollSearchView;
+import com.polling.app.sharding.ShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps a {@link PollSearchIndex} of active and recently changed polls and answers searches
+ * from it, without touching the database.
+ *
+ * The index is built from the database when the application is ready and rebuilt every
+ * {@code rebuildMillis}. In between, polls created, edited, opened, closed, deleted or voted
+ * on through this node are applied as their transactions commit, and polls changed through
+ * other nodes are read again every {@code refreshMillis}. Polls touched while a rebuild is
+ * loading are read again after it, so the new index does not miss them.
+ */
+@Slf4j
+public class PollSearchIndexer {
+
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final int COUNT_BATCH_SIZE = 1000;
+
+    private final PollRepository pollRepository;
+    private final PollResponseRepository pollResponseRepository;
+    private final ShardRouter shardRouter;
+    private final PollSearchProperties properties;
+    private final Set<Long> stale = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile PollSearchIndex index;
+    private volatile boolean rebuilding;
+    private volatile boolean rebuildRequested;
+
+    public PollSearchIndexer(PollRepository pollRepository, PollResponseRepository pollResponseRepository,
+                             ShardRouter shardRouter, PollSearchProperties properties, MeterRegistry meterRegistry) {
+        this.pollRepository = pollRepository;
+        this.pollResponseRepository = pollResponseRepository;
+        this.shardRouter = shardRouter;
+        this.properties = properties;
+        this.index = newIndex();
+        if (meterRegistry != null) {
+            Gauge.builder("polling.search.indexed.polls", () -> index.size())
+                    .description("Polls in the search index")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Polls matching every term of a query, the last one also as a prefix, best first.
+     */
+    public List<PollSearchHit> search(String query, Integer limit) {
+        validateQuery(query);
+        return index.search(query, validateLimit(limit), LocalDateTime.now()).stream()
+                .map(hit -> PollSearchHit.builder()
+                        .id(hit.document().pollId())
+                        .title(hit.document().title())
+                        .description(hit.document().description())
+                        .isActive(hit.document().active())
+                        .startsAt(hit.document().startsAt())
+                        .endsAt(hit.document().endsAt())
+                        .totalVotes(hit.document().totalVotes())
+                        .score(hit.score())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Completions of the last term of a query.
+     */
+    public List<String> suggest(String query, Integer limit) {
+        validateQuery(query);
+        return index.suggest(query, validateLimit(limit));
+    }
+
+    private void validateQuery(String query) {
+        if (query == null || query.length() > MAX_QUERY_LENGTH) {
+            throw new ValidationException("q", "Query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+    }
+
+    private int validateLimit(Integer limit) {
+        int value = limit != null ? limit : properties.getDefaultLimit();
+        if (value < 1 || value > properties.getMaxLimit()) {
+            throw new ValidationException("limit", "Limit must be between 1 and " + properties.getMaxLimit());
+        }
+        return value;
+    }
+
+    /**
+     * Indexes a created or changed poll once the current transaction commits, or drops it if
+     * it is no longer searchable.
+     */
+    public void pollChangedAfterCommit(Poll poll) {
+        TransactionHooks.afterCommit(() -> {
+            PollSearchIndex current = index;
+            LocalDateTime since = LocalDateTime.now().minusDays(properties.getRecentDays());
+            if (Boolean.TRUE.equals(poll.getIsActive()) || poll.getUpdatedAt() == null || poll.getUpdatedAt().isAfter(since)) {
+                PollSearchIndex.Document indexed = current.get(poll.getId());
+                current.put(new PollSearchIndex.Document(poll.getId(), poll.getTitle(), poll.getDescription(),
+                        Boolean.TRUE.equals(poll.getIsActive()), poll.getStartsAt(), poll.getEndsAt(),
+                        indexed != null ? indexed.totalVotes() : 0));
+            } else {
+                current.remove(poll.getId());
+            }
+            touched(poll.getId());
+        });
+    }
+
+    public void pollDeletedAfterCommit(Long pollId) {
+        TransactionHooks.afterCommit(() -> {
+            index.remove(pollId);
+            touched(pollId);
+        });
+    }
+
+    public void votedAfterCommit(Long pollId) {
+        TransactionHooks.afterCommit(() -> {
+            index.recordVote(pollId);
+            touched(pollId);
+        });
+    }
+
+    @EventListener
+    public void onLifecycleEvent(PollLifecycleEvent event) {
+        TransactionHooks.afterCommit(() -> {
+            boolean opened = event.getTransition() == PollLifecycleEvent.Transition.OPENED;
+            List<Long> missing = index.setActive(event.getPollIds(), opened);
+            // A scheduled poll that was created long ago is not indexed until it opens
+            if (opened) {
+                stale.addAll(missing);
+            }
+            event.getPollIds().forEach(this::touched);
+        });
+    }
+
+    /**
+     * Applies a cache invalidation from another node.
+     */
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (CacheRegions.POLLS.equals(event.getRegion())) {
+            if (event.getEntityId() != null) {
+                stale.add(event.getEntityId());
+            } else {
+                rebuildRequested = true;
+            }
+        }
+    }
+
+    /**
+     * Reads the polls changed through other nodes again.
+     */
+    @Scheduled(fixedDelayString = "${app.search.refresh-millis:5000}")
+    public void refresh() {
+        if (rebuildRequested) {
+            rebuild();
+            return;
+        }
+        if (stale.isEmpty()) {
+            return;
+        }
+        List<Long> pollIds = new ArrayList<>(stale);
+        stale.removeAll(pollIds);
+        try {
+            Map<Long, PollSearchIndex.Document> loaded = new HashMap<>();
+            load(pollIds).forEach(document -> loaded.put(document.pollId(), document));
+            PollSearchIndex current = index;
+            for (Long pollId : pollIds) {
+                PollSearchIndex.Document document = loaded.get(pollId);
+                if (document != null) {
+                    current.put(document);
+                } else {
+                    current.remove(pollId);
+                }
+            }
+        } catch (RuntimeException e) {
+            stale.addAll(pollIds);
+            log.warn("Could not refresh {} polls in the search index: {}", pollIds.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Builds a new index from the database and replaces the current one with it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.search.rebuild-millis:600000}", fixedDelayString = "${app.search.rebuild-millis:600000}")
+    public void rebuild() {
+        // Not a monitor: the rebuild blocks on the database and would pin a virtual thread
+        rebuildLock.lock();
+        rebuilding = true;
+        rebuildRequested = false;
+        try {
+            long started = System.nanoTime();
+            PollSearchIndex rebuilt = newIndex();
+            load(null).forEach(rebuilt::put);
+            index = rebuilt;
+            log.info("Indexed {} polls for search in {} ms", rebuilt.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            rebuildRequested = true;
+            log.warn("Could not rebuild the search index: {}", e.getMessage());
+        } finally {
+            rebuilding = false;
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Reads searchable polls and their vote totals from every shard.
+     *
+     * @param pollIds the polls to read, or null for all of them
+     */
+    private List<PollSearchIndex.Document> load(Collection<Long> pollIds) {
+        LocalDateTime since = LocalDateTime.now().minusDays(properties.getRecentDays());
+        return shardRouter.scatter(shard -> {
+            List<PollSearchView> polls = pollIds == null ? pollRepository.findSearchable(since)
+                    : pollRepository.findSearchableByIdIn(pollIds, since);
+            List<Long> ids = polls.stream().map(PollSearchView::getId).toList();
+            Map<Long, Long> totals = new HashMap<>();
+            for (int from = 0; from < ids.size(); from += COUNT_BATCH_SIZE) {
+                pollResponseRepository.countByPollIdIn(ids.subList(from, Math.min(ids.size(), from + COUNT_BATCH_SIZE)))
+                        .forEach(total -> totals.put(total.getPollId(), total.getTotal()));
+            }
+            return polls.stream()
+                    .map(poll -> new PollSearchIndex.Document(poll.getId(), poll.getTitle(), poll.getDescription(),
+                            Boolean.TRUE.equals(poll.getIsActive()), poll.getStartsAt(), poll.getEndsAt(),
+                            totals.getOrDefault(poll.getId(), 0L)))
+                    .toList();
+        });
+    }
+
+    private void touched(Long pollId) {
+        if (rebuilding) {
+            stale.add(pollId);
+        }
+    }
+
+    private PollSearchIndex newIndex() {
+        return new PollSearchIndex(properties.getActivityWeight(), properties.getClosedWeight(),
+                properties.getMaxPrefixTerms());
+    }
+}
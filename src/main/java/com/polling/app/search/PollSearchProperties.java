@@ -0,0 +1,54 @@
+package com.polling.app.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for searching polls by title and description.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.search")
+public class PollSearchProperties {
+
+    /**
+     * Polls that are inactive are indexed until this many days after their last change.
+     */
+    private int recentDays = 30;
+
+    /**
+     * Results per search when the request does not ask for a number.
+     */
+    private int defaultLimit = 10;
+
+    /**
+     * Most results or suggestions a request may ask for.
+     */
+    private int maxLimit = 50;
+
+    /**
+     * How much vote activity lifts a poll: its text score is multiplied by
+     * {@code 1 + activityWeight * ln(1 + votes)}.
+     */
+    private double activityWeight = 0.25;
+
+    /**
+     * Factor applied to the score of polls that are not open.
+     */
+    private double closedWeight = 0.5;
+
+    /**
+     * Most indexed terms the last, partly typed term of a query expands to.
+     */
+    private int maxPrefixTerms = 64;
+
+    /**
+     * How often polls changed through other nodes are read again.
+     */
+    private long refreshMillis = 5000;
+
+    /**
+     * How often the index is rebuilt from the database, which also picks up votes cast
+     * through other nodes and drops polls past {@code recentDays}.
+     */
+    private long rebuildMillis = 600000;
+}
@@ -1,13 +1,19 @@
 package com.polling.app.service;
 
+import com.polling.app.cache.CacheInvalidationBus;
+import com.polling.app.cache.CacheRegions;
+import com.polling.app.edge.SurrogatePurger;
+import com.polling.app.payload.PollVersionTable;
 import com.polling.app.entity.Admin;
 import com.polling.app.repository.AdminRepository;
+import com.polling.app.sharding.ReferenceDataReplicator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +24,10 @@ import java.util.Optional;
 public class AdminService {
 
     private final AdminRepository adminRepository;
+    private final ReferenceDataReplicator referenceDataReplicator;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final PollVersionTable pollVersionTable;
+    private final SurrogatePurger surrogatePurger;
     private final PasswordEncoder passwordEncoder;
 
     public Admin createAdmin(Admin admin) {
@@ -32,7 +42,9 @@ public class AdminService {
         // Hash the password before saving
         admin.setPassword(passwordEncoder.encode(admin.getPassword()));
         
-        return adminRepository.save(admin);
+        Admin savedAdmin = adminRepository.save(admin);
+        referenceDataReplicator.replicateAfterCommit("admins", savedAdmin.getId());
+        return savedAdmin;
     }
 
     @Transactional(readOnly = true)
@@ -50,6 +62,11 @@ public class AdminService {
         return adminRepository.findByEmail(email);
     }
 
+    @Transactional(readOnly = true)
+    public List<Admin> getAdminsByIds(Collection<Long> ids) {
+        return adminRepository.findAllById(ids);
+    }
+
     @Transactional(readOnly = true)
     public List<Admin> getAllAdmins() {
         return adminRepository.findAll();
@@ -75,7 +92,13 @@ public class AdminService {
         existingAdmin.setFirstName(updatedAdmin.getFirstName());
         existingAdmin.setLastName(updatedAdmin.getLastName());
         
-        return adminRepository.save(existingAdmin);
+        Admin savedAdmin = adminRepository.save(existingAdmin);
+        referenceDataReplicator.replicateAfterCommit("admins", id);
+        cacheInvalidationBus.publishAfterCommit(CacheRegions.ADMINS, id);
+        // Polls embed their admin
+        pollVersionTable.allChangedAfterCommit();
+        surrogatePurger.adminChangedAfterCommit(id);
+        return savedAdmin;
     }
 
     public void deleteAdmin(Long id) {
@@ -84,6 +107,10 @@ public class AdminService {
             throw new RuntimeException("Admin not found with ID: " + id);
         }
         adminRepository.deleteById(id);
+        referenceDataReplicator.replicateAfterCommit("admins", id);
+        cacheInvalidationBus.publishAfterCommit(CacheRegions.ADMINS, id);
+        pollVersionTable.allChangedAfterCommit();
+        surrogatePurger.adminChangedAfterCommit(id);
     }
 
     @Transactional(readOnly = true)
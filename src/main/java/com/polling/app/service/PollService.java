@@ -1,17 +1,47 @@
 package com.polling.app.service;
 
+import com.polling.app.cache.CacheInvalidationBus;
+import com.polling.app.cache.CacheRegions;
+import com.polling.app.dto.PollDetail;
+import com.polling.app.dto.PollResults;
+import com.polling.app.edge.SurrogatePurger;
+import com.polling.app.history.VotingHistory;
 import com.polling.app.entity.*;
 import com.polling.app.exception.InvalidOperationException;
 import com.polling.app.exception.ResourceNotFoundException;
+import com.polling.app.exception.ValidationException;
+import com.polling.app.lifecycle.PollLifecycleScheduler;
+import com.polling.app.outbox.EventOutbox;
+import com.polling.app.outbox.OutboxEventType;
+import com.polling.app.payload.PollVersionTable;
 import com.polling.app.repository.*;
+import com.polling.app.repository.projection.PollDetailRow;
+import com.polling.app.repository.projection.PollOptionResultRow;
+import com.polling.app.search.PollSearchIndexer;
+import com.polling.app.sharding.ShardRouter;
+import com.polling.app.voting.VoteCounter;
+import com.polling.app.voting.VoteRecorder;
+import com.polling.app.warmup.PollWarmState;
+import com.polling.app.warmup.WarmPoll;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,24 +54,57 @@ public class PollService {
     private final PollResponseRepository pollResponseRepository;
     private final AdminRepository adminRepository;
     private final UserRepository userRepository;
+    private final PollLifecycleScheduler pollLifecycleScheduler;
+    private final ShardRouter shardRouter;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final VoteCounter voteCounter;
+    private final VoteRecorder voteRecorder;
+    private final PollWarmState pollWarmState;
+    private final EventOutbox eventOutbox;
+    private final PollVersionTable pollVersionTable;
+    private final SurrogatePurger surrogatePurger;
+    private final VotingHistory votingHistory;
+    private final PollSearchIndexer pollSearchIndexer;
 
     public Poll createPoll(Long adminId, Poll poll, List<String> optionTexts) {
+        int shard = shardRouter.shardForNewPoll();
+        Poll savedPoll = shardRouter.onShard(shard, () -> insertPoll(adminId, poll, optionTexts));
+        shardRouter.assign(savedPoll.getId(), shard);
+        pollLifecycleScheduler.trackAfterCommit(savedPoll);
+        pollVersionTable.pollChangedAfterCommit(savedPoll.getId());
+        pollSearchIndexer.pollChangedAfterCommit(savedPoll);
+        return savedPoll;
+    }
+
+    private Poll insertPoll(Long adminId, Poll poll, List<String> optionTexts) {
         log.info("Creating new poll: {} by admin ID: {}", poll.getTitle(), adminId);
         
         Admin admin = adminRepository.findById(adminId)
                 .orElseThrow(() -> new ResourceNotFoundException("Admin", adminId));
         
+        validateSchedule(poll.getStartsAt(), poll.getEndsAt());
+        applySchedule(poll, LocalDateTime.now());
+        
         poll.setAdmin(admin);
         Poll savedPoll = pollRepository.save(poll);
         
         // Create poll options
+        List<Map<String, Object>> options = new ArrayList<>();
         for (String optionText : optionTexts) {
             PollOption option = new PollOption();
             option.setOptionText(optionText);
             option.setPoll(savedPoll);
-            pollOptionRepository.save(option);
+            options.add(Map.of("id", pollOptionRepository.save(option).getId(), "text", optionText));
         }
         
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("adminId", adminId);
+        event.put("title", savedPoll.getTitle());
+        event.put("isActive", savedPoll.getIsActive());
+        event.put("startsAt", savedPoll.getStartsAt());
+        event.put("endsAt", savedPoll.getEndsAt());
+        event.put("options", options);
+        eventOutbox.append(OutboxEventType.POLL_CREATED, savedPoll.getId(), event);
         return savedPoll;
     }
 
@@ -50,19 +113,48 @@ public class PollService {
         return pollRepository.findById(id);
     }
 
+    /**
+     * A poll with its admin loaded, for callers that use it after the transaction has ended,
+     * such as reads guarded on a worker thread.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Poll> getPollWithAdmin(Long id) {
+        Optional<Poll> poll = pollRepository.findById(id);
+        poll.ifPresent(found -> Hibernate.initialize(found.getAdmin()));
+        return poll;
+    }
+
+    /**
+     * Polls with the given IDs, read with one query per shard; unknown IDs are left out.
+     */
+    @Transactional(readOnly = true)
+    public List<Poll> getPollsByIds(Collection<Long> pollIds) {
+        return scatterByPoll(pollIds, pollRepository::findAllById);
+    }
+
     @Transactional(readOnly = true)
     public List<Poll> getAllActivePolls() {
-        return pollRepository.findActivePollsNotExpired(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        List<Poll> polls = shardRouter.scatter(shard ->
+                withAdmin(pollRepository.findActivePollsNotExpired(now)));
+        polls.sort(Comparator.comparing(Poll::getId));
+        return polls;
     }
 
     @Transactional(readOnly = true)
     public List<Poll> getPollsByAdmin(Long adminId) {
-        return pollRepository.findByAdminIdOrderByCreatedAtDesc(adminId);
+        List<Poll> polls = shardRouter.scatter(shard ->
+                withAdmin(pollRepository.findByAdminIdOrderByCreatedAtDesc(adminId)));
+        polls.sort(Comparator.comparing(Poll::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return polls;
     }
 
     @Transactional(readOnly = true)
     public List<Poll> getActivePollsByAdmin(Long adminId) {
-        return pollRepository.findByAdminIdAndIsActiveTrue(adminId);
+        List<Poll> polls = shardRouter.scatter(shard ->
+                withAdmin(pollRepository.findByAdminIdAndIsActiveTrue(adminId)));
+        polls.sort(Comparator.comparing(Poll::getId));
+        return polls;
     }
 
     public Poll updatePoll(Long pollId, Poll updatedPoll) {
@@ -70,11 +162,21 @@ public class PollService {
         Poll existingPoll = pollRepository.findById(pollId)
                 .orElseThrow(() -> new ResourceNotFoundException("Poll", pollId));
         
+        validateSchedule(updatedPoll.getStartsAt(), updatedPoll.getEndsAt());
         existingPoll.setTitle(updatedPoll.getTitle());
         existingPoll.setDescription(updatedPoll.getDescription());
+        existingPoll.setStartsAt(updatedPoll.getStartsAt());
         existingPoll.setEndsAt(updatedPoll.getEndsAt());
+        applySchedule(existingPoll, LocalDateTime.now());
         
-        return pollRepository.save(existingPoll);
+        Poll savedPoll = pollRepository.save(existingPoll);
+        pollLifecycleScheduler.trackAfterCommit(savedPoll);
+        cacheInvalidationBus.publishAfterCommit(CacheRegions.POLLS, pollId);
+        pollVersionTable.pollChangedAfterCommit(pollId);
+        surrogatePurger.pollChangedAfterCommit(pollId);
+        votingHistory.pollChangedAfterCommit(pollId);
+        pollSearchIndexer.pollChangedAfterCommit(savedPoll);
+        return savedPoll;
     }
 
     public void deactivatePoll(Long pollId) {
@@ -83,7 +185,18 @@ public class PollService {
                 .orElseThrow(() -> new ResourceNotFoundException("Poll", pollId));
         
         poll.setIsActive(false);
+        // Deactivating a poll that has not started yet cancels its scheduled start
+        poll.setAwaitingStart(false);
+        if (poll.getStartsAt() != null && poll.getStartsAt().isAfter(LocalDateTime.now())) {
+            poll.setStartsAt(null);
+        }
         pollRepository.save(poll);
+        pollLifecycleScheduler.untrackAfterCommit(pollId);
+        cacheInvalidationBus.publishAfterCommit(CacheRegions.POLLS, pollId);
+        pollVersionTable.pollChangedAfterCommit(pollId);
+        surrogatePurger.pollChangedAfterCommit(pollId);
+        pollSearchIndexer.pollChangedAfterCommit(poll);
+        eventOutbox.append(OutboxEventType.POLL_DEACTIVATED, pollId, Map.of());
     }
 
     public void activatePoll(Long pollId) {
@@ -92,7 +205,12 @@ public class PollService {
                 .orElseThrow(() -> new ResourceNotFoundException("Poll", pollId));
         
         poll.setIsActive(true);
-        pollRepository.save(poll);
+        poll.setAwaitingStart(false);
+        pollLifecycleScheduler.trackAfterCommit(pollRepository.save(poll));
+        cacheInvalidationBus.publishAfterCommit(CacheRegions.POLLS, pollId);
+        pollVersionTable.pollChangedAfterCommit(pollId);
+        surrogatePurger.pollChangedAfterCommit(pollId);
+        pollSearchIndexer.pollChangedAfterCommit(poll);
     }
 
     public void deletePoll(Long pollId) {
@@ -115,9 +233,19 @@ public class PollService {
                 log.info("Deleting {} poll options for poll ID: {}", options.size(), pollId);
                 pollOptionRepository.deleteAll(options);
             }
+            voteCounter.forgetPoll(pollId);
+            pollWarmState.forgetPoll(pollId);
             
             // Finally delete the poll itself
             pollRepository.deleteById(pollId);
+            pollLifecycleScheduler.untrackAfterCommit(pollId);
+            cacheInvalidationBus.publishAfterCommit(CacheRegions.POLLS, pollId);
+            cacheInvalidationBus.publishAfterCommit(CacheRegions.POLL_OPTIONS, null);
+            pollVersionTable.forgetAfterCommit(pollId);
+            surrogatePurger.pollChangedAfterCommit(pollId);
+            votingHistory.pollChangedAfterCommit(pollId);
+            pollSearchIndexer.pollDeletedAfterCommit(pollId);
+            eventOutbox.append(OutboxEventType.POLL_DELETED, pollId, Map.of("responses", responses.size()));
             log.info("Successfully deleted poll with ID: {}", pollId);
             
         } catch (Exception e) {
@@ -137,12 +265,19 @@ public class PollService {
         Poll poll = pollRepository.findById(pollId)
                 .orElseThrow(() -> new ResourceNotFoundException("Poll", pollId));
         
-        if (!poll.getIsActive() || (poll.getEndsAt() != null && poll.getEndsAt().isBefore(LocalDateTime.now()))) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!poll.getIsActive() || (poll.getEndsAt() != null && poll.getEndsAt().isBefore(now))) {
             throw new InvalidOperationException("Poll is not active or has expired");
         }
         
-        // Check if user has already voted
-        if (pollResponseRepository.existsByUserIdAndPollId(userId, pollId)) {
+        if (poll.getStartsAt() != null && poll.getStartsAt().isAfter(now)) {
+            throw new InvalidOperationException("Poll has not started yet");
+        }
+        
+        // Check if user has already voted; the warm state may not have seen votes accepted by
+        // other nodes yet, so only its positive answer is taken as final
+        WarmPoll warmPoll = pollWarmState.lookup(pollId);
+        if ((warmPoll != null && warmPoll.hasVoted(userId)) || hasStoredOrPendingVote(userId, pollId)) {
             throw new InvalidOperationException("User has already voted on this poll");
         }
         
@@ -154,22 +289,183 @@ public class PollService {
             throw new InvalidOperationException("Option does not belong to this poll");
         }
         
+        // The cached poll may still be open after a close made outside JPA, such as a move to
+        // another shard, so the flag is checked against the row as well, under a lock that
+        // keeps the close from landing before this vote commits
+        if (!pollRepository.findIsActiveForShareById(pollId).orElse(false)) {
+            throw new InvalidOperationException("Poll is not active or has expired");
+        }
+        
         // Create poll response
         PollResponse response = new PollResponse();
         response.setUser(user);
         response.setPoll(poll);
         response.setPollOption(option);
         
-        // Update vote count
-        option.setVoteCount(option.getVoteCount() + 1);
-        pollOptionRepository.save(option);
-        
-        return pollResponseRepository.save(response);
+        // The journal recorder writes the vote just before the commit, after the outbox event
+        PollResponse recorded = voteRecorder.record(response);
+        pollWarmState.recordVote(pollId, userId, optionId);
+        pollVersionTable.votesChangedAfterCommit(pollId);
+        surrogatePurger.votesChangedAfterCommit(pollId);
+        votingHistory.userVotedAfterCommit(userId);
+        pollSearchIndexer.votedAfterCommit(pollId);
+        eventOutbox.append(OutboxEventType.VOTE_CAST, pollId, Map.of("userId", userId, "optionId", optionId));
+        return recorded;
     }
 
     @Transactional(readOnly = true)
     public List<PollOption> getPollOptions(Long pollId) {
-        return pollOptionRepository.findByPollIdOrderByVoteCountDesc(pollId);
+        List<PollOption> options = pollOptionRepository.findByPollIdOrderByVoteCountDesc(pollId);
+        // Options may come from the second-level cache, whose vote counts are not kept current
+        WarmPoll warmPoll = pollWarmState.lookup(pollId);
+        if (warmPoll != null) {
+            Map<Long, Long> voteCounts = warmPoll.counts();
+            options.forEach(option -> option.setVoteCount(Math.toIntExact(voteCounts.getOrDefault(option.getId(), 0L))));
+        } else {
+            Map<Long, Long> voteCounts = voteCounter.countsFor(pollId);
+            options.forEach(option -> option.setVoteCount(Math.toIntExact(
+                    voteCounts.getOrDefault(option.getId(), option.getVoteCount().longValue()))));
+        }
+        options.sort(Comparator.comparing(PollOption::getVoteCount).reversed());
+        return options;
+    }
+
+    /**
+     * A poll with its admin, its options highest count first, its total and, if a viewer is
+     * given, their vote, read with one query. Vote counts are only asked of the counter when it
+     * does not keep them in the option rows and the poll is not held in memory.
+     */
+    @Transactional(readOnly = true)
+    public PollDetail getPollDetail(Long pollId, Long viewerId) {
+        List<PollDetailRow> rows = pollRepository.findDetailRows(pollId, viewerId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Poll", pollId);
+        }
+        PollDetailRow poll = rows.get(0);
+        WarmPoll warmPoll = pollWarmState.lookup(pollId);
+        Map<Long, Long> voteCounts = warmPoll != null ? warmPoll.counts()
+                : voteCounter.countsInOptionRows() ? Map.of() : voteCounter.countsFor(pollId);
+
+        List<PollDetail.Option> options = new ArrayList<>();
+        for (PollDetailRow row : rows) {
+            if (row.getOptionId() == null) {
+                continue;
+            }
+            long stored = warmPoll != null ? 0L : row.getVoteCount().longValue();
+            options.add(PollDetail.Option.builder()
+                    .id(row.getOptionId())
+                    .optionText(row.getOptionText())
+                    .voteCount(Math.toIntExact(voteCounts.getOrDefault(row.getOptionId(), stored)))
+                    .build());
+        }
+        options.sort(Comparator.comparing(PollDetail.Option::getVoteCount).reversed());
+
+        Boolean hasVoted = null;
+        if (viewerId != null) {
+            hasVoted = poll.getVotedOptionId() != null
+                    || (warmPoll != null && warmPoll.hasVoted(viewerId))
+                    || voteRecorder.hasPendingVote(viewerId, pollId);
+        }
+        return PollDetail.builder()
+                .id(poll.getPollId())
+                .title(poll.getTitle())
+                .description(poll.getDescription())
+                .isActive(poll.getIsActive())
+                .createdAt(poll.getCreatedAt())
+                .updatedAt(poll.getUpdatedAt())
+                .startsAt(poll.getStartsAt())
+                .endsAt(poll.getEndsAt())
+                .admin(PollDetail.AdminSummary.builder()
+                        .id(poll.getAdminId())
+                        .username(poll.getAdminUsername())
+                        .firstName(poll.getAdminFirstName())
+                        .lastName(poll.getAdminLastName())
+                        .build())
+                .options(options)
+                .totalVotes(warmPoll != null ? warmPoll.totalVotes() : poll.getTotalVotes())
+                .hasVoted(hasVoted)
+                .votedOptionId(poll.getVotedOptionId())
+                .build();
+    }
+
+    /**
+     * Options of several polls, read with one query per shard, with their current vote counts,
+     * highest count first within each poll.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<PollOption>> getPollOptions(Collection<Long> pollIds) {
+        Map<Long, Long> voteCounts = new HashMap<>();
+        Set<Long> warmPollIds = new HashSet<>();
+        List<Long> coldPollIds = new ArrayList<>();
+        for (Long pollId : pollIds) {
+            WarmPoll warmPoll = pollWarmState.lookup(pollId);
+            if (warmPoll != null) {
+                warmPollIds.add(pollId);
+                voteCounts.putAll(warmPoll.counts());
+            } else {
+                coldPollIds.add(pollId);
+            }
+        }
+        scatterByPoll(coldPollIds, ids -> voteCounter.countsFor(ids).entrySet())
+                .forEach(count -> voteCounts.put(count.getKey(), count.getValue()));
+
+        List<PollOption> options = scatterByPoll(pollIds, pollOptionRepository::findByPollIdIn);
+        Map<Long, List<PollOption>> optionsByPoll = new HashMap<>();
+        for (PollOption option : options) {
+            Long pollId = option.getPoll().getId();
+            long fallback = warmPollIds.contains(pollId) ? 0L : option.getVoteCount().longValue();
+            option.setVoteCount(Math.toIntExact(voteCounts.getOrDefault(option.getId(), fallback)));
+            optionsByPoll.computeIfAbsent(pollId, id -> new ArrayList<>()).add(option);
+        }
+        optionsByPoll.values().forEach(pollOptions ->
+                pollOptions.sort(Comparator.comparing(PollOption::getVoteCount).reversed()));
+        return optionsByPoll;
+    }
+
+    /**
+     * Results of several polls, read with one query over their options per shard. A poll's
+     * total is its in-memory total when it is warm and the sum of its option counts otherwise.
+     * Polls that do not exist are left out.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, PollResults> getPollResults(Collection<Long> pollIds) {
+        Map<Long, Long> voteCounts = new HashMap<>();
+        Map<Long, WarmPoll> warmPolls = new HashMap<>();
+        List<Long> coldPollIds = new ArrayList<>();
+        for (Long pollId : pollIds) {
+            WarmPoll warmPoll = pollWarmState.lookup(pollId);
+            if (warmPoll != null) {
+                warmPolls.put(pollId, warmPoll);
+                voteCounts.putAll(warmPoll.counts());
+            } else {
+                coldPollIds.add(pollId);
+            }
+        }
+        if (!voteCounter.countsInOptionRows()) {
+            scatterByPoll(coldPollIds, ids -> voteCounter.countsFor(ids).entrySet())
+                    .forEach(count -> voteCounts.put(count.getKey(), count.getValue()));
+        }
+
+        Map<Long, List<PollOption>> optionsByPoll = new HashMap<>();
+        for (PollOptionResultRow row : scatterByPoll(pollIds, pollOptionRepository::findResultRowsByPollIdIn)) {
+            long fallback = warmPolls.containsKey(row.getPollId()) ? 0L : row.getVoteCount().longValue();
+            PollOption option = new PollOption();
+            option.setId(row.getId());
+            option.setOptionText(row.getOptionText());
+            option.setVoteCount(Math.toIntExact(voteCounts.getOrDefault(row.getId(), fallback)));
+            option.setCreatedAt(row.getCreatedAt());
+            optionsByPoll.computeIfAbsent(row.getPollId(), id -> new ArrayList<>()).add(option);
+        }
+
+        Map<Long, PollResults> results = new HashMap<>();
+        optionsByPoll.forEach((pollId, options) -> {
+            options.sort(Comparator.comparing(PollOption::getVoteCount).reversed());
+            WarmPoll warmPoll = warmPolls.get(pollId);
+            long totalVotes = warmPoll != null ? warmPoll.totalVotes()
+                    : options.stream().mapToLong(PollOption::getVoteCount).sum();
+            results.put(pollId, PollResults.builder().options(options).totalVotes(totalVotes).build());
+        });
+        return results;
     }
 
     @Transactional(readOnly = true)
@@ -179,16 +475,124 @@ public class PollService {
 
     @Transactional(readOnly = true)
     public Long getTotalVotesForPoll(Long pollId) {
-        return pollResponseRepository.countByPollId(pollId);
+        WarmPoll warmPoll = pollWarmState.lookup(pollId);
+        return warmPoll != null ? warmPoll.totalVotes() : pollResponseRepository.countByPollId(pollId);
+    }
+
+    /**
+     * Total votes of several polls, with one query per shard for polls not held in memory.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> getTotalVotesForPolls(Collection<Long> pollIds) {
+        Map<Long, Long> totals = new HashMap<>();
+        List<Long> coldPollIds = new ArrayList<>();
+        for (Long pollId : pollIds) {
+            WarmPoll warmPoll = pollWarmState.lookup(pollId);
+            if (warmPoll != null) {
+                totals.put(pollId, warmPoll.totalVotes());
+            } else {
+                totals.put(pollId, 0L);
+                coldPollIds.add(pollId);
+            }
+        }
+        scatterByPoll(coldPollIds, pollResponseRepository::countByPollIdIn)
+                .forEach(total -> totals.put(total.getPollId(), total.getTotal()));
+        return totals;
+    }
+
+    /**
+     * Which of the given polls a user has voted in, including votes still being recorded.
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> getPollsUserHasVoted(Long userId, Collection<Long> pollIds) {
+        Set<Long> voted = new HashSet<>();
+        List<Long> coldPollIds = new ArrayList<>();
+        for (Long pollId : pollIds) {
+            WarmPoll warmPoll = pollWarmState.lookup(pollId);
+            if (warmPoll == null) {
+                coldPollIds.add(pollId);
+            }
+            if ((warmPoll != null && warmPoll.hasVoted(userId)) || voteRecorder.hasPendingVote(userId, pollId)) {
+                voted.add(pollId);
+            }
+        }
+        voted.addAll(scatterByPoll(coldPollIds,
+                ids -> pollResponseRepository.findPollIdsByUserIdAndPollIdIn(userId, ids)));
+        return voted;
     }
 
     @Transactional(readOnly = true)
     public boolean hasUserVoted(Long userId, Long pollId) {
-        return pollResponseRepository.existsByUserIdAndPollId(userId, pollId);
+        WarmPoll warmPoll = pollWarmState.lookup(pollId);
+        if (warmPoll != null) {
+            return warmPoll.hasVoted(userId) || voteRecorder.hasPendingVote(userId, pollId);
+        }
+        return hasStoredOrPendingVote(userId, pollId);
+    }
+
+    private boolean hasStoredOrPendingVote(Long userId, Long pollId) {
+        return pollResponseRepository.existsByUserIdAndPollId(userId, pollId)
+                || voteRecorder.hasPendingVote(userId, pollId);
     }
 
     @Transactional(readOnly = true)
     public List<Poll> getPollsUserHasVotedIn(Long userId) {
-        return pollResponseRepository.findDistinctPollsByUserId(userId);
+        if (!shardRouter.isSharded()) {
+            return pollResponseRepository.findDistinctPollsByUserId(userId);
+        }
+        // Each poll's responses live on the poll's shard, so merge the per-shard histories
+        List<PollResponse> responses = shardRouter.scatter(shard ->
+                pollResponseRepository.findWithPollByUserIdOrderByResponseDateDesc(userId));
+        responses.sort(Comparator.comparing(PollResponse::getResponseDate,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        return responses.stream()
+                .map(PollResponse::getPoll)
+                .toList();
+    }
+
+    /**
+     * Runs a set-based query on every shard with the IDs of the given polls that live there,
+     * skipping shards that hold none of them.
+     */
+    private <T> List<T> scatterByPoll(Collection<Long> pollIds, Function<List<Long>, ? extends Collection<T>> query) {
+        if (pollIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Integer, List<Long>> idsByShard = pollIds.stream()
+                .collect(Collectors.groupingBy(shardRouter::shardFor));
+        return shardRouter.scatter(shard -> {
+            List<Long> ids = idsByShard.get(shard);
+            return ids == null ? List.of() : query.apply(ids);
+        });
+    }
+
+    /**
+     * Loads the admin of every poll while its shard's session is still open, because
+     * scatter-gather results are detached by the time they are serialized.
+     */
+    private static List<Poll> withAdmin(List<Poll> polls) {
+        polls.forEach(poll -> Hibernate.initialize(poll.getAdmin()));
+        return polls;
+    }
+
+    /**
+     * Derives a poll's state from its schedule: a start time ahead keeps the poll closed until
+     * the lifecycle scheduler opens it, and a pending poll whose start time has come opens
+     * straight away, unless its end time has passed too.
+     */
+    private static void applySchedule(Poll poll, LocalDateTime now) {
+        if (poll.getStartsAt() != null && poll.getStartsAt().isAfter(now)) {
+            poll.setIsActive(false);
+            poll.setAwaitingStart(true);
+        } else if (Boolean.TRUE.equals(poll.getAwaitingStart())) {
+            poll.setIsActive(poll.getEndsAt() == null || poll.getEndsAt().isAfter(now));
+            poll.setAwaitingStart(false);
+        }
+    }
+
+    private void validateSchedule(LocalDateTime startsAt, LocalDateTime endsAt) {
+        if (startsAt != null && endsAt != null && !startsAt.isBefore(endsAt)) {
+            throw new ValidationException("startsAt", "Poll start date must be before its end date");
+        }
     }
 }
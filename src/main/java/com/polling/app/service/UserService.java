@@ -1,7 +1,10 @@
 package com.polling.app.service;
 
+import com.polling.app.cache.CacheInvalidationBus;
+import com.polling.app.cache.CacheRegions;
 import com.polling.app.entity.User;
 import com.polling.app.repository.UserRepository;
+import com.polling.app.sharding.ReferenceDataReplicator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -18,6 +21,8 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final ReferenceDataReplicator referenceDataReplicator;
+    private final CacheInvalidationBus cacheInvalidationBus;
     private final PasswordEncoder passwordEncoder;
 
     public User createUser(User user) {
@@ -32,7 +37,9 @@ public class UserService {
         // Hash the password before saving
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        referenceDataReplicator.replicateAfterCommit("users", savedUser.getId());
+        return savedUser;
     }
 
     @Transactional(readOnly = true)
@@ -75,7 +82,10 @@ public class UserService {
         existingUser.setFirstName(updatedUser.getFirstName());
         existingUser.setLastName(updatedUser.getLastName());
         
-        return userRepository.save(existingUser);
+        User savedUser = userRepository.save(existingUser);
+        referenceDataReplicator.replicateAfterCommit("users", id);
+        cacheInvalidationBus.publishAfterCommit(CacheRegions.USERS, id);
+        return savedUser;
     }
 
     public void deleteUser(Long id) {
@@ -84,6 +94,8 @@ public class UserService {
             throw new RuntimeException("User not found with ID: " + id);
         }
         userRepository.deleteById(id);
+        referenceDataReplicator.replicateAfterCommit("users", id);
+        cacheInvalidationBus.publishAfterCommit(CacheRegions.USERS, id);
     }
 
     @Transactional(readOnly = true)
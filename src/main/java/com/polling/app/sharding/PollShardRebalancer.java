@@ -0,0 +1,123 @@
+package com.polling.app.sharding;
+
+import com.polling.app.cache.CacheInvalidationBus;
+import com.polling.app.cache.CacheRegions;
+import com.polling.app.entity.Poll;
+import com.polling.app.entity.PollOption;
+import com.polling.app.exception.InvalidOperationException;
+import com.polling.app.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Moves a poll, with its options and responses, from its current shard to another one.
+ *
+ * The poll is closed on the source while it is copied so no vote can slip in between the copy
+ * and the switch-over; the copy keeps the original active flag and all primary keys. Once the
+ * copy has committed the directory is updated and the source rows are removed. Other nodes pick
+ * the new placement up on their next directory refresh. Per-node vote counters move along when
+ * votes are counted per node.
+ *
+ * The rows are changed with plain JDBC, so the poll and its options are evicted from the
+ * second-level cache, here and on other nodes, after every change of the active flag;
+ * otherwise a cached open poll would keep accepting votes that the copy misses.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class PollShardRebalancer {
+
+    private final ShardRouter shardRouter;
+    private final Cache secondLevelCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public void movePoll(Long pollId, int targetShard) {
+        if (targetShard < 0 || targetShard >= shardRouter.getShardCount()) {
+            throw new InvalidOperationException("Unknown shard: " + targetShard);
+        }
+        int sourceShard = shardRouter.shardFor(pollId);
+        if (sourceShard == targetShard) {
+            log.info("Poll {} already lives on shard {}", pollId, targetShard);
+            return;
+        }
+
+        DataSource source = shardRouter.shardDataSource(sourceShard);
+        DataSource target = shardRouter.shardDataSource(targetShard);
+        JdbcTemplate sourceJdbc = new JdbcTemplate(source);
+
+        List<ShardRowCopier.Row> poll = ShardRowCopier.read(source, "polls", "id", pollId);
+        if (poll.isEmpty()) {
+            throw new ResourceNotFoundException("Poll", pollId);
+        }
+        log.info("Moving poll {} from shard {} to shard {}", pollId, sourceShard, targetShard);
+
+        Object wasActive = poll.get(0).values().get(poll.get(0).columns().indexOf("is_active"));
+        List<Long> optionIds = sourceJdbc.queryForList("SELECT id FROM poll_options WHERE poll_id = ?",
+                Long.class, pollId);
+        sourceJdbc.update("UPDATE polls SET is_active = ? WHERE id = ?", false, pollId);
+        evict(pollId, optionIds);
+        try {
+            List<ShardRowCopier.Row> options = ShardRowCopier.read(source, "poll_options", "poll_id", pollId);
+            List<ShardRowCopier.Row> responses = ShardRowCopier.read(source, "poll_responses", "poll_id", pollId);
+            List<ShardRowCopier.Row> nodeCounts = readNodeCounts(source, pollId);
+            JdbcTemplate targetJdbc = new JdbcTemplate(target);
+            new TransactionTemplate(new DataSourceTransactionManager(target)).executeWithoutResult(status -> {
+                ShardRowCopier.insert(targetJdbc, poll);
+                ShardRowCopier.insert(targetJdbc, options);
+                ShardRowCopier.insert(targetJdbc, responses);
+                ShardRowCopier.insert(targetJdbc, nodeCounts);
+            });
+            log.info("Copied poll {} with {} options and {} responses", pollId, options.size(), responses.size());
+        } catch (RuntimeException e) {
+            sourceJdbc.update("UPDATE polls SET is_active = ? WHERE id = ?", wasActive, pollId);
+            evict(pollId, optionIds);
+            throw e;
+        }
+
+        shardRouter.assign(pollId, targetShard);
+
+        new TransactionTemplate(new DataSourceTransactionManager(source)).executeWithoutResult(status -> {
+            if (hasNodeCounts(source)) {
+                sourceJdbc.update("DELETE FROM poll_option_node_counts WHERE poll_id = ?", pollId);
+            }
+            sourceJdbc.update("DELETE FROM poll_responses WHERE poll_id = ?", pollId);
+            sourceJdbc.update("DELETE FROM poll_options WHERE poll_id = ?", pollId);
+            sourceJdbc.update("DELETE FROM polls WHERE id = ?", pollId);
+        });
+        evict(pollId, optionIds);
+        log.info("Poll {} now lives on shard {}", pollId, targetShard);
+    }
+
+    private void evict(Long pollId, List<Long> optionIds) {
+        secondLevelCache.evictEntityData(Poll.class, pollId);
+        secondLevelCache.evictCollectionData(Poll.class.getName() + ".pollOptions", pollId);
+        secondLevelCache.evictCollectionData(Poll.class.getName() + ".pollResponses", pollId);
+        optionIds.forEach(optionId -> secondLevelCache.evictEntityData(PollOption.class, optionId));
+        cacheInvalidationBus.publish(CacheRegions.POLLS, pollId);
+        optionIds.forEach(optionId -> cacheInvalidationBus.publish(CacheRegions.POLL_OPTIONS, optionId));
+    }
+
+    private static List<ShardRowCopier.Row> readNodeCounts(DataSource source, Long pollId) {
+        return hasNodeCounts(source)
+                ? ShardRowCopier.read(source, "poll_option_node_counts", "poll_id", pollId)
+                : List.of();
+    }
+
+    // The table only exists once votes have been counted per node
+    private static boolean hasNodeCounts(DataSource source) {
+        try {
+            new JdbcTemplate(source).queryForObject("SELECT COUNT(*) FROM poll_option_node_counts WHERE 1 = 0",
+                    Long.class);
+            return true;
+        } catch (BadSqlGrammarException e) {
+            return false;
+        }
+    }
+}
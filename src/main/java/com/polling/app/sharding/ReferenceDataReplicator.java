@@ -0,0 +1,50 @@
+package com.polling.app.sharding;
+
+import com.polling.app.datasource.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Copies users and admins from the home shard to every other shard, so polls and responses
+ * can reference them on whichever shard they live.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataReplicator {
+
+    private final ShardRouter shardRouter;
+
+    /**
+     * Replicates a row of a reference table once the current transaction has committed,
+     * or immediately when there is none.
+     */
+    public void replicateAfterCommit(String table, Long id) {
+        if (!shardRouter.isSharded()) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> replicate(table, id));
+    }
+
+    public void replicate(String table, Long id) {
+        List<ShardRowCopier.Row> rows = ShardRowCopier.read(
+                shardRouter.shardDataSource(ShardRouter.HOME_SHARD), table, "id", id);
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            if (shard == ShardRouter.HOME_SHARD) {
+                continue;
+            }
+            JdbcTemplate target = new JdbcTemplate(shardRouter.shardDataSource(shard));
+            try {
+                if (rows.isEmpty()) {
+                    target.update("DELETE FROM " + table + " WHERE id = ?", id);
+                } else {
+                    ShardRowCopier.upsert(target, rows.get(0), "id");
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to replicate {} {} to shard {}: {}", table, id, shard, e.getMessage());
+            }
+        }
+    }
+}
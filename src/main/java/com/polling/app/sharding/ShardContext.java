@@ -0,0 +1,52 @@
+package com.polling.app.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound shard selection read by {@link ShardRoutingDataSource}.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : ShardRouter.HOME_SHARD;
+    }
+
+    static Integer get() {
+        return CURRENT.get();
+    }
+
+    static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Wraps work so that it runs with the calling thread's shard selection, for work handed
+     * to another thread.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        Integer shard = get();
+        return () -> {
+            Integer previous = get();
+            set(shard);
+            try {
+                return work.get();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+}
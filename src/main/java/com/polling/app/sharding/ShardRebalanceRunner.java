@@ -0,0 +1,34 @@
+package com.polling.app.sharding;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.util.List;
+
+/**
+ * Command-line entry point for moving a poll between shards:
+ *
+ * <pre>
+ * java -jar polling-app.jar --spring.main.web-application-type=none \
+ *     --rebalance.poll-id=42 --rebalance.target-shard=1
+ * </pre>
+ */
+@RequiredArgsConstructor
+public class ShardRebalanceRunner implements ApplicationRunner {
+
+    private final PollShardRebalancer pollShardRebalancer;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> pollIds = args.getOptionValues("rebalance.poll-id");
+        List<String> targetShards = args.getOptionValues("rebalance.target-shard");
+        if (pollIds == null || targetShards == null) {
+            return;
+        }
+        int targetShard = Integer.parseInt(targetShards.get(0));
+        for (String pollId : pollIds) {
+            pollShardRebalancer.movePoll(Long.valueOf(pollId), targetShard);
+        }
+    }
+}
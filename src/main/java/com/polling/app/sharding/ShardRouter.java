@@ -0,0 +1,209 @@
+package com.polling.app.sharding;
+
+import com.polling.app.exception.ShardUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Maps polls to shards and runs work on the owning shard.
+ *
+ * A poll lives on shard {@code (pollId - 1) mod shardCount} unless the shard directory says
+ * otherwise. That matches shards whose identity columns use {@code shardCount} as increment
+ * and {@code shard + 1} as offset (MySQL's auto_increment_increment/auto_increment_offset),
+ * which also keeps IDs unique across shards. The directory holds the exceptions created by
+ * rebalancing and by shards whose sequences are not aligned.
+ *
+ * With a single shard every operation simply runs inline, so callers do not need to care
+ * whether sharding is enabled.
+ */
+@Slf4j
+public class ShardRouter {
+
+    public static final int HOME_SHARD = 0;
+
+    private static final String DIRECTORY_DDL =
+            "CREATE TABLE IF NOT EXISTS poll_shard_directory (poll_id BIGINT PRIMARY KEY, shard_index INT NOT NULL)";
+
+    private final List<DataSource> shards;
+    private final int shardCount;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService scatterExecutor;
+    private final long scatterTimeoutMillis;
+    private final Map<Long, Integer> directory = new ConcurrentHashMap<>();
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    private ShardRouter(List<DataSource> shards, int shardCount, PlatformTransactionManager transactionManager,
+                        ExecutorService scatterExecutor, long scatterTimeoutMillis) {
+        this.shards = shards;
+        this.shardCount = shardCount;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.scatterExecutor = scatterExecutor;
+        this.scatterTimeoutMillis = scatterTimeoutMillis;
+    }
+
+    public static ShardRouter singleShard(PlatformTransactionManager transactionManager) {
+        return new ShardRouter(List.of(), 1, transactionManager, null, 0);
+    }
+
+    public static ShardRouter sharded(List<DataSource> shards, PlatformTransactionManager transactionManager,
+                                      int scatterThreads, long scatterTimeoutMillis) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(scatterThreads, runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ShardRouter router = new ShardRouter(List.copyOf(shards), shards.size(), transactionManager,
+                executor, scatterTimeoutMillis);
+        new JdbcTemplate(shards.get(HOME_SHARD)).execute(DIRECTORY_DDL);
+        router.refreshDirectory();
+        return router;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    /**
+     * Physical data source of a shard, for tools that move rows between shards.
+     */
+    public DataSource shardDataSource(int shard) {
+        return shards.get(shard);
+    }
+
+    public int shardFor(Long pollId) {
+        if (!isSharded() || pollId == null) {
+            return HOME_SHARD;
+        }
+        Integer assigned = directory.get(pollId);
+        return assigned != null ? assigned : naturalShard(pollId);
+    }
+
+    /**
+     * Picks the shard a new poll is created on, spreading polls round-robin.
+     */
+    public int shardForNewPoll() {
+        return isSharded() ? Math.floorMod(nextShard.getAndIncrement(), shardCount) : HOME_SHARD;
+    }
+
+    /**
+     * Records that a poll lives on a shard other than the one its ID maps to.
+     */
+    public void assign(Long pollId, int shard) {
+        if (!isSharded()) {
+            return;
+        }
+        JdbcTemplate home = new JdbcTemplate(shards.get(HOME_SHARD));
+        home.update("DELETE FROM poll_shard_directory WHERE poll_id = ?", pollId);
+        if (shard != naturalShard(pollId)) {
+            home.update("INSERT INTO poll_shard_directory (poll_id, shard_index) VALUES (?, ?)", pollId, shard);
+            directory.put(pollId, shard);
+        } else {
+            directory.remove(pollId);
+        }
+    }
+
+    private int naturalShard(Long pollId) {
+        return (int) Math.floorMod(pollId - 1, (long) shardCount);
+    }
+
+    /**
+     * Reloads the directory so placements changed by another node or by the rebalance tool
+     * are picked up.
+     */
+    @Scheduled(fixedDelayString = "${app.sharding.directory-refresh-millis:5000}")
+    public void refreshDirectory() {
+        if (!isSharded()) {
+            return;
+        }
+        Map<Long, Integer> loaded = new ConcurrentHashMap<>();
+        new JdbcTemplate(shards.get(HOME_SHARD)).query("SELECT poll_id, shard_index FROM poll_shard_directory",
+                rs -> {
+                    loaded.put(rs.getLong(1), rs.getInt(2));
+                });
+        directory.keySet().retainAll(loaded.keySet());
+        directory.putAll(loaded);
+    }
+
+    /**
+     * Runs work with every transaction it starts bound to the given shard.
+     */
+    public <T> T onShard(int shard, Supplier<T> work) {
+        Integer previous = ShardContext.get();
+        ShardContext.set(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    public <T> T onShardOf(Long pollId, Supplier<T> work) {
+        return onShard(shardFor(pollId), work);
+    }
+
+    /**
+     * Runs a read-only query on every shard in parallel and concatenates the results in shard
+     * order. The query runs inside a read-only transaction on its shard, so it may initialise
+     * lazy associations before the results are detached.
+     */
+    public <T> List<T> scatter(IntFunction<? extends Collection<T>> query) {
+        if (!isSharded()) {
+            return readOnlyTransaction.execute(status -> new ArrayList<>(query.apply(HOME_SHARD)));
+        }
+
+        List<Future<List<T>>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(scatterExecutor.submit(() -> onShard(target,
+                    () -> readOnlyTransaction.execute(status -> new ArrayList<>(query.apply(target))))));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(scatterTimeoutMillis);
+        List<T> merged = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            try {
+                merged.addAll(futures.get(shard).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(future -> future.cancel(true));
+                throw new ShardUnavailableException(shard, e);
+            } catch (ExecutionException | TimeoutException e) {
+                futures.forEach(future -> future.cancel(true));
+                log.error("Scatter query failed on shard {}: {}", shard, e.getMessage());
+                throw new ShardUnavailableException(shard, e instanceof ExecutionException ? e.getCause() : e);
+            }
+        }
+        return merged;
+    }
+
+    public void shutdown() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.polling.app.sharding;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Binds requests that address a single poll to the poll's shard for their whole duration,
+ * so service calls and any lazy loading while the response is written hit the same database.
+ */
+@RequiredArgsConstructor
+public class ShardRoutingInterceptor implements HandlerInterceptor {
+
+    private final ShardRouter shardRouter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String pollId = variables != null ? variables.get("pollId") : null;
+        if (pollId != null) {
+            try {
+                ShardContext.set(shardRouter.shardFor(Long.valueOf(pollId)));
+            } catch (NumberFormatException e) {
+                // Left to argument conversion, which rejects the request
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ShardContext.clear();
+    }
+}
@@ -0,0 +1,79 @@
+package com.polling.app.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Copies rows between shards column-for-column, keeping their primary keys, so the copy is
+ * indistinguishable from the original regardless of how the table evolves.
+ */
+final class ShardRowCopier {
+
+    private ShardRowCopier() {
+    }
+
+    /**
+     * Reads every row of {@code table} matching {@code column = value} from the source.
+     */
+    static List<Row> read(DataSource source, String table, String column, Object value) {
+        return new JdbcTemplate(source).query("SELECT * FROM " + table + " WHERE " + column + " = ?", rs -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            List<String> columns = new ArrayList<>();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                columns.add(metaData.getColumnLabel(i).toLowerCase());
+            }
+            List<Row> rows = new ArrayList<>();
+            while (rs.next()) {
+                List<Object> values = new ArrayList<>(columns.size());
+                for (int i = 1; i <= columns.size(); i++) {
+                    values.add(rs.getObject(i));
+                }
+                rows.add(new Row(table, columns, values));
+            }
+            return rows;
+        }, value);
+    }
+
+    /**
+     * Inserts the rows into the target, which must not hold them yet.
+     */
+    static void insert(JdbcTemplate target, List<Row> rows) {
+        for (Row row : rows) {
+            String placeholders = String.join(", ", Collections.nCopies(row.columns().size(), "?"));
+            target.update("INSERT INTO " + row.table() + " (" + String.join(", ", row.columns()) + ") VALUES ("
+                    + placeholders + ")", row.values().toArray());
+        }
+    }
+
+    /**
+     * Updates a single row on the target in place, inserting it if it is missing. Updating
+     * rather than replacing keeps rows that reference it valid.
+     */
+    static void upsert(JdbcTemplate target, Row row, String keyColumn) {
+        List<String> assignments = new ArrayList<>();
+        List<Object> arguments = new ArrayList<>();
+        Object key = null;
+        for (int i = 0; i < row.columns().size(); i++) {
+            if (row.columns().get(i).equals(keyColumn)) {
+                key = row.values().get(i);
+            } else {
+                assignments.add(row.columns().get(i) + " = ?");
+                arguments.add(row.values().get(i));
+            }
+        }
+        arguments.add(key);
+        int updated = target.update("UPDATE " + row.table() + " SET " + String.join(", ", assignments)
+                + " WHERE " + keyColumn + " = ?", arguments.toArray());
+        if (updated == 0) {
+            insert(target, List.of(row));
+        }
+    }
+
+    record Row(String table, List<String> columns, List<Object> values) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.polling.app.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Prepares every shard for local and test setups: creates the mapped tables on shards that
+ * do not have them yet, and aligns the identity columns of the sharded tables so that shard
+ * {@code k} hands out IDs {@code k + 1, k + 1 + n, ...}. Production shards are expected to be
+ * provisioned up front with auto_increment_increment/auto_increment_offset set accordingly, and
+ * startup fails if they are not: IDs handed out by misaligned shards collide once polls move.
+ */
+@Slf4j
+public class ShardSchemaInitializer implements SmartInitializingSingleton {
+
+    private static final List<String> SHARDED_TABLES = List.of("polls", "poll_options", "poll_responses");
+
+    private final ShardRouter shardRouter;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ShardSchemaInitializer(ShardRouter shardRouter, EntityManagerFactory entityManagerFactory) {
+        this.shardRouter = shardRouter;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            DataSource dataSource = shardRouter.shardDataSource(shard);
+            try {
+                if (!hasTable(dataSource, "polls")) {
+                    log.info("Creating schema on shard {}", shard);
+                    shardRouter.onShard(shard, () -> {
+                        sessionFactory.getSchemaManager().exportMappedObjects(true);
+                        return null;
+                    });
+                }
+                alignIdentities(dataSource, shard);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to initialize schema on shard " + shard, e);
+            }
+        }
+    }
+
+    private void alignIdentities(DataSource dataSource, int shard) throws SQLException {
+        String product;
+        try (Connection connection = dataSource.getConnection()) {
+            product = connection.getMetaData().getDatabaseProductName();
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        if ("H2".equals(product)) {
+            for (String table : SHARDED_TABLES) {
+                Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+                long next = nextAligned(max, shard, shardRouter.getShardCount());
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id SET INCREMENT BY " + shardRouter.getShardCount());
+            }
+        } else {
+            Integer increment = jdbcTemplate.queryForObject("SELECT @@auto_increment_increment", Integer.class);
+            Integer offset = jdbcTemplate.queryForObject("SELECT @@auto_increment_offset", Integer.class);
+            if (increment == null || increment != shardRouter.getShardCount() || offset == null || offset != shard + 1) {
+                throw new IllegalStateException("Shard " + shard + " uses auto_increment_increment=" + increment
+                        + " and auto_increment_offset=" + offset + ", expected " + shardRouter.getShardCount()
+                        + " and " + (shard + 1) + "; otherwise IDs collide when polls move between shards");
+            }
+        }
+    }
+
+    private static long nextAligned(long max, int shard, int shardCount) {
+        long next = max + 1;
+        while (Math.floorMod(next - 1, (long) shardCount) != shard) {
+            next++;
+        }
+        return next;
+    }
+
+    private static boolean hasTable(DataSource dataSource, String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String name : new String[]{table, table.toUpperCase()}) {
+                try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, name, new String[]{"TABLE"})) {
+                    if (tables.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.polling.app.sharding;
+
+import com.polling.app.cache.CacheInvalidationBus;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wires the {@link ShardRouter}. Without {@code app.sharding.enabled=true} the router has a
+ * single shard and the auto-configured data source is left alone. Sharding cannot be combined
+ * with read/write routing.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public ShardRouter singleShardRouter(PlatformTransactionManager transactionManager) {
+        return ShardRouter.singleShard(transactionManager);
+    }
+
+    @Bean
+    public ReferenceDataReplicator referenceDataReplicator(ShardRouter shardRouter) {
+        return new ReferenceDataReplicator(shardRouter);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+    static class Sharded {
+
+        @Bean
+        public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties,
+                                                             ObjectProvider<MeterRegistry> meterRegistry,
+                                                             @Value("${app.datasource.routing.enabled:false}")
+                                                             boolean readWriteRouting) {
+            if (readWriteRouting) {
+                // Both would replace the primary data source; replicas per shard are not supported
+                throw new IllegalStateException("app.sharding.enabled and app.datasource.routing.enabled cannot "
+                        + "both be true; disable one of them");
+            }
+            if (properties.getShards().size() < 2) {
+                throw new IllegalStateException("Sharding needs at least two entries in app.sharding.shards");
+            }
+            List<DataSource> shards = new ArrayList<>();
+            for (int index = 0; index < properties.getShards().size(); index++) {
+                ShardingProperties.Shard shard = properties.getShards().get(index);
+                HikariDataSource dataSource = new HikariDataSource();
+                dataSource.setPoolName("shard-" + index);
+                dataSource.setJdbcUrl(shard.getUrl());
+                dataSource.setUsername(shard.getUsername());
+                dataSource.setPassword(shard.getPassword());
+                dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+                dataSource.setMinimumIdle(shard.getMinimumIdle());
+                meterRegistry.ifAvailable(registry ->
+                        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+                shards.add(dataSource);
+            }
+            return new ShardRoutingDataSource(shards);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+            return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+        }
+
+        @Bean(destroyMethod = "shutdown")
+        public ShardRouter shardedShardRouter(ShardRoutingDataSource shardRoutingDataSource,
+                                              PlatformTransactionManager transactionManager,
+                                              ShardingProperties properties) {
+            return ShardRouter.sharded(shardRoutingDataSource.getShards(), transactionManager,
+                    properties.getScatterThreads(), properties.getScatterTimeoutMillis());
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "app.sharding", name = "initialize-schema", havingValue = "true")
+        public ShardSchemaInitializer shardSchemaInitializer(ShardRouter shardRouter,
+                                                             EntityManagerFactory entityManagerFactory) {
+            return new ShardSchemaInitializer(shardRouter, entityManagerFactory);
+        }
+
+        @Bean
+        public PollShardRebalancer pollShardRebalancer(ShardRouter shardRouter,
+                                                       EntityManagerFactory entityManagerFactory,
+                                                       CacheInvalidationBus cacheInvalidationBus) {
+            return new PollShardRebalancer(shardRouter, entityManagerFactory.unwrap(SessionFactory.class).getCache(),
+                    cacheInvalidationBus);
+        }
+
+        @Bean
+        public ShardRebalanceRunner shardRebalanceRunner(PollShardRebalancer pollShardRebalancer) {
+            return new ShardRebalanceRunner(pollShardRebalancer);
+        }
+    }
+}
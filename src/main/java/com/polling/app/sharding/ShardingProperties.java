@@ -0,0 +1,42 @@
+package com.polling.app.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for splitting poll data across several databases by poll ID.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Creates the mapped tables on every shard at startup, for local and test setups.
+     */
+    private boolean initializeSchema = false;
+
+    private int scatterThreads = 8;
+
+    private long scatterTimeoutMillis = 5000;
+
+    private long directoryRefreshMillis = 5000;
+
+    /**
+     * Shard 0 is the home shard, which also owns users, admins and the shard directory.
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        private int minimumIdle = 2;
+    }
+}
@@ -0,0 +1,264 @@
+package com.polling.app.voting;
+
+import com.polling.app.datasource.TransactionHooks;
+import com.polling.app.entity.PollResponse;
+import com.polling.app.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Counts votes in one {@link GCounter} per option, so nodes never contend for the same row.
+ *
+ * Each node increments only its own entries, in memory, once the voting transaction commits.
+ * On every sync it persists its changed entries to {@code poll_option_node_counts}, keeping
+ * the larger of the stored and the local value, and merges the entries other nodes persisted
+ * since the previous sync. A poll's counters are loaded from the table the first time the
+ * node sees the poll.
+ *
+ * Every response records the node that accepted it. Votes a node accepted but never persisted
+ * because it stopped are restored by {@link #reconcile()}, which recounts each node's
+ * responses and merges those counts into the table; {@link #reconcileRecent()} does the same
+ * periodically for the polls voted on since its previous run. Counts recorded before this mode was
+ * enabled stay in {@code poll_options.vote_count} and are merged in as the entry of a
+ * pseudo-node, {@value #LEGACY_NODE}.
+ */
+@Slf4j
+public class CrdtVoteCounter implements VoteCounter {
+
+    static final String LEGACY_NODE = "direct";
+
+    private static final String DDL = "CREATE TABLE IF NOT EXISTS poll_option_node_counts ("
+            + "poll_option_id BIGINT NOT NULL, "
+            + "poll_id BIGINT NOT NULL, "
+            + "node_id VARCHAR(64) NOT NULL, "
+            + "vote_count BIGINT NOT NULL, "
+            + "updated_at BIGINT NOT NULL, "
+            + "PRIMARY KEY (poll_option_id, node_id), "
+            + "INDEX idx_node_counts_poll (poll_id), "
+            + "INDEX idx_node_counts_updated_at (updated_at))";
+
+    // Entries are stamped with their writer's clock; re-reading this much history on every
+    // sync tolerates clock skew between nodes, and merging an entry twice is harmless
+    private static final long SYNC_OVERLAP_MILLIS = 5000;
+
+    private final String nodeId;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final Map<Long, Map<Long, GCounter>> countersByPoll = new ConcurrentHashMap<>();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final Map<Long, Long> dirtyOptions = new ConcurrentHashMap<>();
+    private volatile long lastSyncMillis;
+    private volatile long lastReconcileMillis;
+
+    public CrdtVoteCounter(String nodeId, DataSource dataSource, ShardRouter shardRouter) {
+        this.nodeId = nodeId;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.shardRouter = shardRouter;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Creates the counter table on every shard.
+     */
+    public void start() {
+        forEachShard(() -> jdbcTemplate.execute(DDL));
+        lastSyncMillis = System.currentTimeMillis();
+        lastReconcileMillis = lastSyncMillis;
+        log.info("Counting votes per node as {}", nodeId);
+    }
+
+    @Override
+    public void recordVote(PollResponse response) {
+        Long pollId = response.getPoll().getId();
+        Long optionId = response.getPollOption().getId();
+        Map<Long, GCounter> counters = load(pollId);
+        response.setNodeId(nodeId);
+        response.getPollOption().setVoteCount(Math.toIntExact(counter(counters, optionId).value() + 1));
+        TransactionHooks.afterCommit(() -> {
+            counter(counters, optionId).increment(nodeId);
+            dirtyOptions.put(optionId, pollId);
+        });
+    }
+
+    @Override
+    public Map<Long, Long> countsFor(Long pollId) {
+        Map<Long, Long> counts = new HashMap<>();
+        load(pollId).forEach((optionId, counter) -> counts.put(optionId, counter.value()));
+        return counts;
+    }
+
+    @Override
+    public void forgetPoll(Long pollId) {
+        jdbcTemplate.update("DELETE FROM poll_option_node_counts WHERE poll_id = ?", pollId);
+        TransactionHooks.afterCommit(() -> {
+            countersByPoll.remove(pollId);
+            dirtyOptions.values().removeIf(pollId::equals);
+        });
+    }
+
+    /**
+     * Persists this node's changed entries and merges the entries other nodes have persisted.
+     */
+    @Scheduled(fixedDelayString = "${app.votes.crdt.sync-interval-millis:1000}")
+    public void sync() {
+        long startedAt = System.currentTimeMillis();
+        flush();
+        pullChanges(lastSyncMillis - SYNC_OVERLAP_MILLIS);
+        lastSyncMillis = startedAt;
+    }
+
+    void flush() {
+        Map<Integer, List<Object[]>> entriesByShard = new HashMap<>();
+        for (Long optionId : List.copyOf(dirtyOptions.keySet())) {
+            Long pollId = dirtyOptions.remove(optionId);
+            Map<Long, GCounter> counters = countersByPoll.get(pollId);
+            if (pollId == null || counters == null) {
+                continue;
+            }
+            entriesByShard.computeIfAbsent(shardRouter.shardFor(pollId), shard -> new ArrayList<>())
+                    .add(new Object[]{optionId, pollId, counters.get(optionId).get(nodeId)});
+        }
+
+        entriesByShard.forEach((shard, entries) -> {
+            try {
+                shardRouter.onShard(shard, () -> {
+                    long now = System.currentTimeMillis();
+                    entries.forEach(entry -> mergeInto((Long) entry[0], (Long) entry[1], nodeId, (Long) entry[2], now));
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                log.warn("Persisting vote counters on shard {} failed, retrying on next sync: {}", shard, e.getMessage());
+                entries.forEach(entry -> dirtyOptions.put((Long) entry[0], (Long) entry[1]));
+            }
+        });
+    }
+
+    private void pullChanges(long since) {
+        forEachShard(() -> jdbcTemplate.query(
+                "SELECT poll_option_id, poll_id, node_id, vote_count FROM poll_option_node_counts "
+                        + "WHERE updated_at >= ? AND node_id <> ?",
+                rs -> {
+                    // Polls this node has not loaded yet get their full state when first needed
+                    Map<Long, GCounter> counters = countersByPoll.get(rs.getLong("poll_id"));
+                    if (counters != null) {
+                        counter(counters, rs.getLong("poll_option_id"))
+                                .merge(rs.getString("node_id"), rs.getLong("vote_count"));
+                    }
+                },
+                since, nodeId));
+    }
+
+    /**
+     * Recounts the responses accepted by every node and merges the counts into the table,
+     * restoring votes whose counter updates were lost when a node stopped.
+     */
+    public void reconcile() {
+        recount("", new Object[0]);
+    }
+
+    /**
+     * Recounts the polls voted on since the previous run, so votes lost by a node that stopped
+     * are restored while the other nodes keep running rather than only when one restarts.
+     */
+    @Scheduled(fixedDelayString = "${app.votes.crdt.reconcile-interval-millis:60000}")
+    public void reconcileRecent() {
+        long startedAt = System.currentTimeMillis();
+        recount("AND poll_id IN (SELECT DISTINCT poll_id FROM poll_responses WHERE response_date >= ?) ",
+                new Object[]{new Timestamp(lastReconcileMillis - SYNC_OVERLAP_MILLIS)});
+        lastReconcileMillis = startedAt;
+    }
+
+    private void recount(String pollFilter, Object[] args) {
+        forEachShard(() -> {
+            long now = System.currentTimeMillis();
+            int[] merged = {0};
+            jdbcTemplate.query("SELECT poll_option_id, poll_id, node_id, COUNT(*) AS votes FROM poll_responses "
+                            + "WHERE node_id IS NOT NULL " + pollFilter + "GROUP BY poll_option_id, poll_id, node_id",
+                    rs -> {
+                        mergeInto(rs.getLong("poll_option_id"), rs.getLong("poll_id"), rs.getString("node_id"),
+                                rs.getLong("votes"), now);
+                        merged[0]++;
+                    }, args);
+            log.info("Reconciled {} per-node vote counters", merged[0]);
+        });
+    }
+
+    private Map<Long, GCounter> load(Long pollId) {
+        Map<Long, GCounter> counters = countersByPoll.get(pollId);
+        if (counters != null) {
+            return counters;
+        }
+        loadLock.lock();
+        try {
+            counters = countersByPoll.get(pollId);
+            if (counters != null) {
+                return counters;
+            }
+            // Fully loaded before it is published, so no local increment can be merged away
+            Map<Long, GCounter> loaded = new ConcurrentHashMap<>();
+            shardRouter.onShardOf(pollId, () -> {
+                jdbcTemplate.query("SELECT id, vote_count FROM poll_options WHERE poll_id = ? AND vote_count > 0",
+                        rs -> {
+                            counter(loaded, rs.getLong("id")).merge(LEGACY_NODE, rs.getLong("vote_count"));
+                        }, pollId);
+                jdbcTemplate.query("SELECT poll_option_id, node_id, vote_count FROM poll_option_node_counts "
+                                + "WHERE poll_id = ?",
+                        rs -> {
+                            counter(loaded, rs.getLong("poll_option_id"))
+                                    .merge(rs.getString("node_id"), rs.getLong("vote_count"));
+                        }, pollId);
+                return null;
+            });
+            countersByPoll.put(pollId, loaded);
+            return loaded;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Raises a stored entry to {@code value}, creating it if needed; never lowers it.
+     */
+    private void mergeInto(Long optionId, Long pollId, String node, long value, long now) {
+        String update = "UPDATE poll_option_node_counts SET vote_count = ?, updated_at = ? "
+                + "WHERE poll_option_id = ? AND node_id = ? AND vote_count < ?";
+        if (jdbcTemplate.update(update, value, now, optionId, node, value) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO poll_option_node_counts "
+                    + "(poll_option_id, poll_id, node_id, vote_count, updated_at) VALUES (?, ?, ?, ?, ?)",
+                    optionId, pollId, node, value, now);
+        } catch (DuplicateKeyException e) {
+            // The entry exists, possibly inserted concurrently with a lower value
+            jdbcTemplate.update(update, value, now, optionId, node, value);
+        }
+    }
+
+    private static GCounter counter(Map<Long, GCounter> counters, Long optionId) {
+        return counters.computeIfAbsent(optionId, id -> new GCounter());
+    }
+
+    private void forEachShard(Runnable work) {
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            shardRouter.onShard(shard, () -> {
+                work.run();
+                return null;
+            });
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.polling.app.voting;
+
+import com.polling.app.entity.PollOptionVoteCount;
+import com.polling.app.entity.PollResponse;
+import com.polling.app.exception.ResourceNotFoundException;
+import com.polling.app.repository.PollOptionVoteCountRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Counts votes in the {@code vote_count} column of {@code poll_options}, locking the option's
+ * row for the rest of the voting transaction.
+ */
+@RequiredArgsConstructor
+public class DirectVoteCounter implements VoteCounter {
+
+    private final PollOptionVoteCountRepository pollOptionVoteCountRepository;
+
+    @Override
+    public void recordVote(PollResponse response) {
+        Long optionId = response.getPollOption().getId();
+        PollOptionVoteCount voteCount = pollOptionVoteCountRepository.findForUpdate(optionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Poll option", optionId));
+        voteCount.setVoteCount(voteCount.getVoteCount() + 1);
+        response.getPollOption().setVoteCount(voteCount.getVoteCount());
+    }
+
+    @Override
+    public Map<Long, Long> countsFor(Long pollId) {
+        return pollOptionVoteCountRepository.findByPollId(pollId).stream()
+                .collect(Collectors.toMap(PollOptionVoteCount::getId, count -> count.getVoteCount().longValue()));
+    }
+
+    @Override
+    public Map<Long, Long> countsFor(Collection<Long> pollIds) {
+        return pollOptionVoteCountRepository.findByPollIdIn(pollIds).stream()
+                .collect(Collectors.toMap(PollOptionVoteCount::getId, count -> count.getVoteCount().longValue()));
+    }
+
+    @Override
+    public boolean countsInOptionRows() {
+        return true;
+    }
+
+    @Override
+    public void forgetPoll(Long pollId) {
+        // The counts are deleted together with the options
+    }
+}
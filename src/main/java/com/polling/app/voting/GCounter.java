@@ -0,0 +1,36 @@
+package com.polling.app.voting;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Grow-only counter CRDT: one monotonically increasing entry per node.
+ *
+ * A node only ever increments its own entry, and states are merged by keeping the larger
+ * value of every entry. Merging is commutative, associative and idempotent, so nodes may
+ * exchange states in any order and any number of times and still converge on the same value.
+ */
+public class GCounter {
+
+    private final Map<String, Long> entries = new ConcurrentHashMap<>();
+
+    public long increment(String nodeId) {
+        return entries.merge(nodeId, 1L, Long::sum);
+    }
+
+    public void merge(String nodeId, long value) {
+        entries.merge(nodeId, value, Math::max);
+    }
+
+    public void merge(GCounter other) {
+        other.entries.forEach(this::merge);
+    }
+
+    public long get(String nodeId) {
+        return entries.getOrDefault(nodeId, 0L);
+    }
+
+    public long value() {
+        return entries.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
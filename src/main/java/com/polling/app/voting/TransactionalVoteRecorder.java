@@ -0,0 +1,27 @@
+package com.polling.app.voting;
+
+import com.polling.app.entity.PollResponse;
+import com.polling.app.repository.PollResponseRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Stores the response and counts it in the voting transaction.
+ */
+@RequiredArgsConstructor
+public class TransactionalVoteRecorder implements VoteRecorder {
+
+    private final VoteCounter voteCounter;
+    private final PollResponseRepository pollResponseRepository;
+
+    @Override
+    public PollResponse record(PollResponse response) {
+        // Counted outside the cached option so the cached copy stays valid
+        voteCounter.recordVote(response);
+        return pollResponseRepository.save(response);
+    }
+
+    @Override
+    public boolean hasPendingVote(Long userId, Long pollId) {
+        return false;
+    }
+}
@@ -0,0 +1,46 @@
+package com.polling.app.voting;
+
+import com.polling.app.entity.PollResponse;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the vote count of every poll option.
+ */
+public interface VoteCounter {
+
+    /**
+     * Counts a vote that is stored in the current transaction. The count must only become
+     * visible if that transaction commits.
+     */
+    void recordVote(PollResponse response);
+
+    /**
+     * Returns the current vote count of every option of a poll that has received votes.
+     */
+    Map<Long, Long> countsFor(Long pollId);
+
+    /**
+     * Returns the current vote count of every option of several polls, keyed by option.
+     */
+    default Map<Long, Long> countsFor(Collection<Long> pollIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        pollIds.forEach(pollId -> counts.putAll(countsFor(pollId)));
+        return counts;
+    }
+
+    /**
+     * Whether {@code poll_options.vote_count} always holds the committed count, so queries can
+     * read it instead of asking the counter.
+     */
+    default boolean countsInOptionRows() {
+        return false;
+    }
+
+    /**
+     * Drops any state kept for a poll that is being deleted.
+     */
+    void forgetPoll(Long pollId);
+}
@@ -0,0 +1,50 @@
+package com.polling.app.voting;
+
+import com.polling.app.repository.PollOptionVoteCountRepository;
+import com.polling.app.repository.PollResponseRepository;
+import com.polling.app.sharding.ShardRouter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+/**
+ * Selects the {@link VoteCounter} named by {@code app.votes.counter-mode}, and stores votes in
+ * the voting transaction unless the vote journal is enabled.
+ */
+@Configuration
+@EnableConfigurationProperties(VoteCounterProperties.class)
+public class VoteCounterConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.votes", name = "counter-mode", havingValue = "direct", matchIfMissing = true)
+    public VoteCounter directVoteCounter(PollOptionVoteCountRepository pollOptionVoteCountRepository) {
+        return new DirectVoteCounter(pollOptionVoteCountRepository);
+    }
+
+    @Bean(destroyMethod = "sync")
+    @ConditionalOnProperty(prefix = "app.votes", name = "counter-mode", havingValue = "crdt")
+    public CrdtVoteCounter crdtVoteCounter(VoteCounterProperties properties, DataSource dataSource,
+                                           ShardRouter shardRouter) {
+        String nodeId = StringUtils.hasText(properties.getNodeId())
+                ? properties.getNodeId()
+                : UUID.randomUUID().toString().substring(0, 8);
+        CrdtVoteCounter counter = new CrdtVoteCounter(nodeId, dataSource, shardRouter);
+        counter.start();
+        if (properties.getCrdt().isReconcileOnStartup()) {
+            counter.reconcile();
+        }
+        return counter;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.votes.journal", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public VoteRecorder transactionalVoteRecorder(VoteCounter voteCounter,
+                                                  PollResponseRepository pollResponseRepository) {
+        return new TransactionalVoteRecorder(voteCounter, pollResponseRepository);
+    }
+}
@@ -0,0 +1,43 @@
+package com.polling.app.voting;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for how votes are counted.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.votes")
+public class VoteCounterProperties {
+
+    /**
+     * {@code direct} updates the option's vote count row on every vote; {@code crdt} keeps
+     * per-node counters that are merged, for active-active deployments.
+     */
+    private String counterMode = "direct";
+
+    /**
+     * Identifies this node's counters. Must be unique among running nodes; keeping it stable
+     * across restarts keeps the counter table small. Generated when left empty.
+     */
+    private String nodeId;
+
+    private Crdt crdt = new Crdt();
+
+    @Data
+    public static class Crdt {
+        private long syncIntervalMillis = 1000;
+
+        /**
+         * Recounts every node's responses at startup to restore counter updates lost when a
+         * node stopped abruptly.
+         */
+        private boolean reconcileOnStartup = true;
+
+        /**
+         * How often the polls voted on since the previous run are recounted, restoring the
+         * votes of a node that stopped without a restart.
+         */
+        private long reconcileIntervalMillis = 60000;
+    }
+}
@@ -0,0 +1,27 @@
+package com.polling.app.voting;
+
+import com.polling.app.entity.PollResponse;
+
+/**
+ * Stores votes that passed validation.
+ */
+public interface VoteRecorder {
+
+    /**
+     * Stores a vote and returns the response handed back to the voter.
+     */
+    PollResponse record(PollResponse response);
+
+    /**
+     * Whether the user has a vote on the poll that was accepted but is not in
+     * {@code poll_responses} yet.
+     */
+    boolean hasPendingVote(Long userId, Long pollId);
+
+    /**
+     * Whether the user has any vote that was accepted but is not in {@code poll_responses} yet.
+     */
+    default boolean hasPendingVotes(Long userId) {
+        return false;
+    }
+}
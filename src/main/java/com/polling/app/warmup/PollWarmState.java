@@ -0,0 +1,286 @@
+package com.polling.app.warmup;
+
+import com.polling.app.cache.CacheInvalidationEvent;
+import com.polling.app.cache.CacheRegions;
+import com.polling.app.datasource.TransactionHooks;
+import com.polling.app.sharding.ShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps vote counts and voter membership of every active poll in memory, so reads of
+ * results and of whether a user has voted do not need the aggregate and membership queries.
+ *
+ * The state is written to a snapshot file periodically and on shutdown. {@link #warmUp()}
+ * reloads it at startup: a poll is taken from the snapshot if its {@code updated_at} still
+ * matches, and otherwise loaded from the database; votes stored since the snapshot was taken
+ * are then applied on top. After warm-up, {@link #refresh()} follows poll changes and votes
+ * stored by other nodes through {@code polls.updated_at} and
+ * {@code poll_responses.response_date}. Votes are applied per voter, so seeing the same vote
+ * twice is harmless; each refresh re-reads a configurable window to tolerate clock skew and
+ * transactions that commit late. Polls edited or deleted on other nodes are dropped as soon as
+ * their cache invalidation arrives.
+ *
+ * Until warm-up has finished, and for polls it does not hold, {@link #lookup(Long)} returns
+ * {@code null} and callers query the database as before.
+ */
+@Slf4j
+public class PollWarmState {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final Path snapshotFile;
+    private final long lookbackMillis;
+    private final Map<Long, WarmPoll> polls = new ConcurrentHashMap<>();
+    private final Set<Long> invalidated = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean warm;
+    private volatile long watermarkMillis;
+
+    public PollWarmState(DataSource dataSource, ShardRouter shardRouter, Path snapshotFile, long lookbackMillis,
+                         MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.shardRouter = shardRouter;
+        this.snapshotFile = snapshotFile;
+        this.lookbackMillis = lookbackMillis;
+        if (meterRegistry != null) {
+            Gauge.builder("polling.warmstate.polls", polls, Map::size)
+                    .description("Active polls whose counts and voters are held in memory")
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Returns the in-memory state of a poll that is still open, or {@code null} if the poll
+     * has to be read from the database.
+     */
+    public WarmPoll lookup(Long pollId) {
+        if (!warm) {
+            return null;
+        }
+        WarmPoll poll = polls.get(pollId);
+        return poll != null && poll.isOpenAt(System.currentTimeMillis()) ? poll : null;
+    }
+
+    /**
+     * Counts a vote once the current transaction commits.
+     */
+    public void recordVote(Long pollId, Long userId, Long optionId) {
+        TransactionHooks.afterCommit(() -> {
+            WarmPoll poll = polls.get(pollId);
+            if (poll != null) {
+                poll.addVote(userId, optionId);
+            }
+        });
+    }
+
+    public void forgetPoll(Long pollId) {
+        TransactionHooks.afterCommit(() -> polls.remove(pollId));
+    }
+
+    /**
+     * Applies a cache invalidation from another node: the poll is dropped, and loaded again
+     * on the next refresh if it still exists and is open.
+     */
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (CacheRegions.POLLS.equals(event.getRegion()) && event.getEntityId() != null) {
+            invalidated.add(event.getEntityId());
+            forgetPoll(event.getEntityId());
+        }
+    }
+
+    /**
+     * Loads the snapshot, reconciles it with the database and starts serving from memory.
+     */
+    public void warmUp() {
+        lock.lock();
+        try {
+            long startedAt = System.currentTimeMillis();
+            WarmStateSnapshot snapshot = WarmStateSnapshot.read(snapshotFile);
+            int fromSnapshot = 0;
+            List<long[]> toLoad = new ArrayList<>();
+            for (long[] active : activePolls(startedAt)) {
+                WarmPoll saved = snapshot != null ? snapshot.polls().get(active[0]) : null;
+                if (saved != null && saved.getUpdatedAtMillis() == active[1]) {
+                    saved.reschedule(active[1], active[2]);
+                    polls.put(saved.getPollId(), saved);
+                    fromSnapshot++;
+                } else {
+                    toLoad.add(active);
+                }
+            }
+            toLoad.forEach(active -> load(active[0], active[1], active[2]));
+            if (snapshot != null) {
+                applyVotesSince(snapshot.watermarkMillis() - lookbackMillis);
+            }
+            watermarkMillis = startedAt;
+            warm = true;
+            log.info("Warmed {} active polls ({} from snapshot, {} from the database) in {} ms",
+                    polls.size(), fromSnapshot, toLoad.size(), System.currentTimeMillis() - startedAt);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Picks up polls that were created, changed or closed and votes stored since the last
+     * refresh, including those stored by other nodes.
+     */
+    @Scheduled(fixedDelayString = "${app.warm-state.refresh-interval-millis:1000}")
+    public void refresh() {
+        lock.lock();
+        try {
+            if (!warm) {
+                return;
+            }
+            long startedAt = System.currentTimeMillis();
+            long since = watermarkMillis - lookbackMillis;
+            try {
+                List<long[]> toLoad = new ArrayList<>();
+                forEachShard(() -> jdbcTemplate.query("SELECT id, is_active, updated_at, ends_at FROM polls "
+                        + "WHERE updated_at >= ?", rs -> {
+                    long pollId = rs.getLong("id");
+                    long endsAt = millis(rs, "ends_at", WarmPoll.OPEN_ENDED);
+                    if (!rs.getBoolean("is_active") || endsAt <= startedAt) {
+                        polls.remove(pollId);
+                        return;
+                    }
+                    WarmPoll poll = polls.get(pollId);
+                    if (poll != null) {
+                        poll.reschedule(millis(rs, "updated_at", 0), endsAt);
+                    } else {
+                        toLoad.add(new long[]{pollId, millis(rs, "updated_at", 0), endsAt});
+                    }
+                }, new Timestamp(since)));
+                reloadInvalidated(startedAt, toLoad);
+                toLoad.forEach(active -> load(active[0], active[1], active[2]));
+                applyVotesSince(since);
+                polls.values().removeIf(poll -> !poll.isOpenAt(startedAt));
+                watermarkMillis = startedAt;
+            } catch (RuntimeException e) {
+                log.warn("Refreshing warm state failed, retrying on next refresh: {}", e.getMessage());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the state to the snapshot file.
+     */
+    @Scheduled(fixedDelayString = "${app.warm-state.snapshot-interval-millis:30000}",
+            initialDelayString = "${app.warm-state.snapshot-interval-millis:30000}")
+    public void snapshot() {
+        if (!warm) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        try {
+            WarmStateSnapshot.write(snapshotFile, watermarkMillis, List.copyOf(polls.values()));
+            log.debug("Wrote warm state snapshot of {} polls in {} ms", polls.size(),
+                    System.currentTimeMillis() - startedAt);
+        } catch (IOException e) {
+            log.warn("Writing warm state snapshot {} failed: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns {id, updatedAt, endsAt} of every poll that is open at the given time.
+     */
+    private List<long[]> activePolls(long now) {
+        List<long[]> active = new ArrayList<>();
+        forEachShard(() -> jdbcTemplate.query("SELECT id, updated_at, ends_at FROM polls "
+                        + "WHERE is_active = TRUE AND (ends_at IS NULL OR ends_at > ?)",
+                rs -> {
+                    active.add(new long[]{rs.getLong("id"), millis(rs, "updated_at", 0),
+                            millis(rs, "ends_at", WarmPoll.OPEN_ENDED)});
+                },
+                new Timestamp(now)));
+        return active;
+    }
+
+    /**
+     * Adds {id, updatedAt, endsAt} of every invalidated poll that is still open and not yet
+     * going to be loaded; deleted and closed polls stay dropped.
+     */
+    private void reloadInvalidated(long now, List<long[]> toLoad) {
+        for (Iterator<Long> ids = invalidated.iterator(); ids.hasNext(); ) {
+            long pollId = ids.next();
+            ids.remove();
+            if (polls.containsKey(pollId) || toLoad.stream().anyMatch(active -> active[0] == pollId)) {
+                continue;
+            }
+            shardRouter.onShardOf(pollId, () -> {
+                jdbcTemplate.query("SELECT updated_at, ends_at FROM polls WHERE id = ? AND is_active = TRUE "
+                        + "AND (ends_at IS NULL OR ends_at > ?)", rs -> {
+                    toLoad.add(new long[]{pollId, millis(rs, "updated_at", 0),
+                            millis(rs, "ends_at", WarmPoll.OPEN_ENDED)});
+                }, pollId, new Timestamp(now));
+                return null;
+            });
+        }
+    }
+
+    private void load(long pollId, long updatedAtMillis, long endsAtMillis) {
+        WarmPoll poll = new WarmPoll(pollId, updatedAtMillis, endsAtMillis);
+        shardRouter.onShardOf(pollId, () -> {
+            jdbcTemplate.query("SELECT user_id, poll_option_id FROM poll_responses WHERE poll_id = ?",
+                    rs -> {
+                        poll.addVote(rs.getLong("user_id"), rs.getLong("poll_option_id"));
+                    }, pollId);
+            return null;
+        });
+        // Votes committed while the poll was loading are picked up by the next refresh
+        polls.putIfAbsent(pollId, poll);
+    }
+
+    private void applyVotesSince(long sinceMillis) {
+        Map<Long, Integer> applied = new HashMap<>();
+        forEachShard(() -> jdbcTemplate.query("SELECT poll_id, user_id, poll_option_id FROM poll_responses "
+                + "WHERE response_date >= ?", rs -> {
+            WarmPoll poll = polls.get(rs.getLong("poll_id"));
+            if (poll != null && poll.addVote(rs.getLong("user_id"), rs.getLong("poll_option_id"))) {
+                applied.merge(poll.getPollId(), 1, Integer::sum);
+            }
+        }, new Timestamp(sinceMillis)));
+        if (!applied.isEmpty()) {
+            log.debug("Applied votes stored by other nodes or since the snapshot: {}", applied);
+        }
+    }
+
+    private static long millis(ResultSet rs, String column, long ifNull) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.getTime() : ifNull;
+    }
+
+    private void forEachShard(Runnable work) {
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            shardRouter.onShard(shard, () -> {
+                work.run();
+                return null;
+            });
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.polling.app.warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory state of an active poll: its schedule, the option every voter picked, and the
+ * vote count of every option derived from those votes.
+ */
+public final class WarmPoll {
+
+    static final long OPEN_ENDED = Long.MAX_VALUE;
+
+    private final Long pollId;
+    private volatile long updatedAtMillis;
+    private volatile long endsAtMillis;
+    private final Map<Long, Long> optionByVoter = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> votesByOption = new ConcurrentHashMap<>();
+
+    WarmPoll(Long pollId, long updatedAtMillis, long endsAtMillis) {
+        this.pollId = pollId;
+        this.updatedAtMillis = updatedAtMillis;
+        this.endsAtMillis = endsAtMillis;
+    }
+
+    public Long getPollId() {
+        return pollId;
+    }
+
+    long getUpdatedAtMillis() {
+        return updatedAtMillis;
+    }
+
+    long getEndsAtMillis() {
+        return endsAtMillis;
+    }
+
+    void reschedule(long updatedAtMillis, long endsAtMillis) {
+        this.updatedAtMillis = updatedAtMillis;
+        this.endsAtMillis = endsAtMillis;
+    }
+
+    boolean isOpenAt(long millis) {
+        return endsAtMillis > millis;
+    }
+
+    /**
+     * Counts a vote unless the voter has already been counted, so the same vote can be
+     * applied from several sources.
+     *
+     * @return whether the vote was new
+     */
+    boolean addVote(Long userId, Long optionId) {
+        if (optionByVoter.putIfAbsent(userId, optionId) != null) {
+            return false;
+        }
+        votesByOption.computeIfAbsent(optionId, id -> new LongAdder()).increment();
+        return true;
+    }
+
+    public boolean hasVoted(Long userId) {
+        return optionByVoter.containsKey(userId);
+    }
+
+    public long totalVotes() {
+        return optionByVoter.size();
+    }
+
+    /**
+     * Returns the vote count of every option that has received votes.
+     */
+    public Map<Long, Long> counts() {
+        Map<Long, Long> counts = new HashMap<>();
+        votesByOption.forEach((optionId, votes) -> counts.put(optionId, votes.sum()));
+        return counts;
+    }
+
+    /**
+     * Returns a copy of the option every voter picked.
+     */
+    Map<Long, Long> votes() {
+        return Map.copyOf(optionByVoter);
+    }
+}
@@ -0,0 +1,38 @@
+package com.polling.app.warmup;
+
+import com.polling.app.cache.CacheInvalidationBus;
+import com.polling.app.sharding.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+/**
+ * Provides the warm state, which only starts serving reads when
+ * {@code app.warm-state.enabled=true}.
+ */
+@Configuration
+@EnableConfigurationProperties(WarmStateProperties.class)
+public class WarmStateConfig {
+
+    @Bean(destroyMethod = "snapshot")
+    public PollWarmState pollWarmState(WarmStateProperties properties, DataSource dataSource, ShardRouter shardRouter,
+                                       CacheInvalidationBus cacheInvalidationBus,
+                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        PollWarmState pollWarmState = new PollWarmState(dataSource, shardRouter, Path.of(properties.getSnapshotFile()),
+                properties.getLookbackMillis(), meterRegistry.getIfAvailable());
+        cacheInvalidationBus.addListener(pollWarmState::onInvalidation);
+        return pollWarmState;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.warm-state", name = "enabled", havingValue = "true")
+    public WarmStateRunner warmStateRunner(PollWarmState pollWarmState) {
+        return new WarmStateRunner(pollWarmState);
+    }
+}
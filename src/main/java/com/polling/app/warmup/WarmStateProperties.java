@@ -0,0 +1,30 @@
+package com.polling.app.warmup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the in-memory warm state of active polls.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.warm-state")
+public class WarmStateProperties {
+
+    /**
+     * Serves vote counts and voter membership of active polls from memory, restoring them
+     * from the snapshot file before the application reports itself ready.
+     */
+    private boolean enabled = false;
+
+    private String snapshotFile = "data/warm-state.snapshot";
+
+    private long snapshotIntervalMillis = 30000;
+
+    private long refreshIntervalMillis = 1000;
+
+    /**
+     * How far before the previous refresh each refresh looks for changes; covers clock skew
+     * between nodes and transactions that commit after they were stamped.
+     */
+    private long lookbackMillis = 10000;
+}
@@ -0,0 +1,21 @@
+package com.polling.app.warmup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+/**
+ * Warms the poll state during startup. Application runners finish before the application
+ * reports {@code ACCEPTING_TRAFFIC}, so the readiness probe stays down until the state is
+ * warm while requests that still arrive are served from the database.
+ */
+@RequiredArgsConstructor
+public class WarmStateRunner implements ApplicationRunner {
+
+    private final PollWarmState pollWarmState;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        pollWarmState.warmUp();
+    }
+}
@@ -0,0 +1,102 @@
+package com.polling.app.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary snapshot of the warm state. The file holds a header with the watermark, then every
+ * poll with its schedule and its (voter, option) pairs, and ends with a CRC32C of everything
+ * before it. It is written to a temporary file and moved into place, and read back in one
+ * sequential read; a missing, truncated or corrupt file reads as no snapshot.
+ *
+ * @param watermarkMillis time up to which the database's changes were included
+ */
+@Slf4j
+record WarmStateSnapshot(long watermarkMillis, Map<Long, WarmPoll> polls) {
+
+    private static final int MAGIC = 0x50575331; // "PWS1"
+    private static final int VERSION = 1;
+
+    static void write(Path file, long watermarkMillis, Collection<WarmPoll> polls) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = directory.resolve(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            CheckedOutputStream checked = new CheckedOutputStream(Channels.newOutputStream(channel), new CRC32C());
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked, 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(watermarkMillis);
+            out.writeInt(polls.size());
+            for (WarmPoll poll : polls) {
+                Map<Long, Long> votes = poll.votes();
+                out.writeLong(poll.getPollId());
+                out.writeLong(poll.getUpdatedAtMillis());
+                out.writeLong(poll.getEndsAtMillis());
+                out.writeInt(votes.size());
+                for (Map.Entry<Long, Long> vote : votes.entrySet()) {
+                    out.writeLong(vote.getKey());
+                    out.writeLong(vote.getValue());
+                }
+            }
+            out.flush();
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, (int) checked.getChecksum().getValue()));
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static WarmStateSnapshot read(Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+            if (bytes.length < Integer.BYTES) {
+                throw new IllegalStateException("file is truncated");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            CRC32C checksum = new CRC32C();
+            checksum.update(bytes, 0, bytes.length - Integer.BYTES);
+            if ((int) checksum.getValue() != buffer.getInt(bytes.length - Integer.BYTES)) {
+                throw new IllegalStateException("checksum mismatch");
+            }
+            buffer.limit(bytes.length - Integer.BYTES);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IllegalStateException("unknown format");
+            }
+            long watermarkMillis = buffer.getLong();
+            int pollCount = buffer.getInt();
+            Map<Long, WarmPoll> polls = new HashMap<>(pollCount * 2);
+            for (int i = 0; i < pollCount; i++) {
+                WarmPoll poll = new WarmPoll(buffer.getLong(), buffer.getLong(), buffer.getLong());
+                int voteCount = buffer.getInt();
+                for (int vote = 0; vote < voteCount; vote++) {
+                    poll.addVote(buffer.getLong(), buffer.getLong());
+                }
+                polls.put(poll.getPollId(), poll);
+            }
+            return new WarmStateSnapshot(watermarkMillis, polls);
+        } catch (IOException | IllegalStateException | BufferUnderflowException e) {
+            log.warn("Ignoring warm state snapshot {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.polling.app.workload;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that follows observed latency: additive increase while requests complete
+ * close to the no-load latency, multiplicative decrease once they take noticeably longer.
+ *
+ * Latencies are taken in windows of {@code windowSize} requests. The no-load latency is the
+ * lowest average of the last {@code baselineWindows} windows, so it follows a baseline that
+ * moves without being reset to a window taken under load. If a window averages more than {@code tolerance} times the no-load
+ * latency the limit is multiplied by {@code backoffRatio}; otherwise, if the window used at
+ * least half of the limit, the limit grows by one. The limit stays within
+ * [{@code minLimit}, {@code maxLimit}], so it recovers on its own once latency is back to
+ * normal.
+ */
+public class AdaptiveLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final int windowSize;
+    private final long[] recentAverages;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double limit;
+    private long windowTotalNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private int nextWindow;
+    private int recentWindows;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double backoffRatio,
+                         int windowSize, int baselineWindows) {
+        if (minLimit < 0 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 0 <= min <= max");
+        }
+        if (baselineWindows < 1) {
+            throw new IllegalArgumentException("Baseline must cover at least one window");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.windowSize = windowSize;
+        this.recentAverages = new long[baselineWindows];
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Fixed limit, for workload classes that are not adapted.
+     */
+    public static AdaptiveLimit fixed(int limit) {
+        return new AdaptiveLimit(limit, limit, limit, 1, 1, Integer.MAX_VALUE, 1);
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param latencyNanos time the request ran after it was admitted
+     * @param inFlight     requests of the class running when it was admitted, itself included
+     */
+    public void onSample(long latencyNanos, int inFlight) {
+        lock.lock();
+        try {
+            windowTotalNanos += latencyNanos;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+            if (++windowSamples < windowSize) {
+                return;
+            }
+            long average = windowTotalNanos / windowSamples;
+            recentAverages[nextWindow] = average;
+            nextWindow = (nextWindow + 1) % recentAverages.length;
+            recentWindows = Math.min(recentWindows + 1, recentAverages.length);
+            long noLoadNanos = Long.MAX_VALUE;
+            for (int i = 0; i < recentWindows; i++) {
+                noLoadNanos = Math.min(noLoadNanos, recentAverages[i]);
+            }
+            if (average > tolerance * noLoadNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (windowMaxInFlight * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            windowTotalNanos = 0;
+            windowSamples = 0;
+            windowMaxInFlight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.polling.app.workload;
+
+import com.polling.app.payload.PayloadFormat;
+import com.polling.app.payload.PollVersionTable;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Requests that are answered without a database connection and so are not put through
+ * admission: searches, which read the in-memory index, and conditional GETs that
+ * {@link PollVersionTable} answers with {@code 304}. Static assets never reach the filter,
+ * which only sees {@code /api/*}.
+ */
+public class ConnectionFreeRequests implements Predicate<HttpServletRequest> {
+
+    private static final Pattern POLL = Pattern.compile("/api/user/polls/(\\d+)(/options|/results)?");
+
+    private final PollVersionTable pollVersionTable;
+
+    public ConnectionFreeRequests(PollVersionTable pollVersionTable) {
+        this.pollVersionTable = pollVersionTable;
+    }
+
+    @Override
+    public boolean test(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return false;
+        }
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/api/user/polls/search")) {
+            return true;
+        }
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null || pollVersionTable == null) {
+            return false;
+        }
+        PayloadFormat format = PayloadFormat.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        if (uri.equals("/api/user/polls/active")) {
+            return notModified(PollVersionTable.ACTIVE_POLLS, format.representation("polls"), ifNoneMatch);
+        }
+        Matcher matcher = POLL.matcher(uri);
+        if (!matcher.matches()) {
+            return false;
+        }
+        String name = matcher.group(2) == null ? "poll" : matcher.group(2).substring(1);
+        return notModified(Long.valueOf(matcher.group(1)), format.representation(name), ifNoneMatch);
+    }
+
+    private boolean notModified(Object key, String representation, String ifNoneMatch) {
+        return pollVersionTable.notModified(key, representation, ifNoneMatch) != null;
+    }
+}
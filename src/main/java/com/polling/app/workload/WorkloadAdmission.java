@@ -0,0 +1,261 @@
+package com.polling.app.workload;
+
+import com.polling.app.exception.WorkloadRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Admits requests against a shared capacity, normally the size of the connection pool, and
+ * a budget per {@link WorkloadClass}.
+ *
+ * Each class may hold at most its own number of slots, so one kind of work, such as a burst
+ * of admin reads, cannot take every connection. That number is an {@link AdaptiveLimit}
+ * which shrinks when the class's requests slow down and grows back when they speed up
+ * again, so excess requests are turned away instead of piling up behind a slow database.
+ * A number of slots is reserved for votes and never handed to other classes. A request that
+ * cannot start waits in its class's queue;
+ * when a slot frees up, the waiting request of the highest-priority class that still has
+ * room is admitted first, so votes waiting behind a saturated pool go ahead of reads and
+ * admin operations that arrived earlier. Requests are rejected when their class's queue is
+ * full or they waited longer than its limit.
+ */
+public class WorkloadAdmission {
+
+    /**
+     * Concurrency budget of a workload class.
+     */
+    public record Budget(int maxConcurrent, int maxQueued, long maxWaitMillis) {
+    }
+
+    private final int capacity;
+    private final int reservedForVotes;
+    private final Map<WorkloadClass, Budget> budgets;
+    private final Map<WorkloadClass, AdaptiveLimit> limits = new EnumMap<>(WorkloadClass.class);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<WorkloadClass, Deque<Waiter>> queues = new EnumMap<>(WorkloadClass.class);
+    private final int[] active = new int[WorkloadClass.values().length];
+    private int activeTotal;
+    private final Map<WorkloadClass, Timer> waitTimers = new EnumMap<>(WorkloadClass.class);
+    private final Map<WorkloadClass, Counter> queueFull = new EnumMap<>(WorkloadClass.class);
+    private final Map<WorkloadClass, Counter> timedOut = new EnumMap<>(WorkloadClass.class);
+
+    public WorkloadAdmission(int capacity, int reservedForVotes, Map<WorkloadClass, Budget> budgets,
+                             MeterRegistry meterRegistry) {
+        this(capacity, reservedForVotes, budgets,
+                workload -> AdaptiveLimit.fixed(budgets.get(workload).maxConcurrent()), meterRegistry);
+    }
+
+    public WorkloadAdmission(int capacity, int reservedForVotes, Map<WorkloadClass, Budget> budgets,
+                             Function<WorkloadClass, AdaptiveLimit> limitFactory, MeterRegistry meterRegistry) {
+        this.capacity = capacity;
+        this.reservedForVotes = Math.min(reservedForVotes, capacity);
+        this.budgets = new EnumMap<>(budgets);
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            if (!this.budgets.containsKey(workload)) {
+                throw new IllegalArgumentException("No budget for workload class " + workload);
+            }
+            queues.put(workload, new ArrayDeque<>());
+            limits.put(workload, limitFactory.apply(workload));
+            if (meterRegistry != null) {
+                registerMeters(workload, meterRegistry);
+            }
+        }
+    }
+
+    /**
+     * A slot held by an admitted request; closing it frees the slot.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final WorkloadClass workload;
+        private final int inFlight;
+        private final long admittedAt = System.nanoTime();
+        private boolean closed;
+
+        private Permit(WorkloadClass workload, int inFlight) {
+            this.workload = workload;
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                limits.get(workload).onSample(System.nanoTime() - admittedAt, inFlight);
+                release(workload);
+            }
+        }
+    }
+
+    /**
+     * Waits for a slot for a request of the given class.
+     *
+     * @throws WorkloadRejectedException if the class's queue is full or the wait timed out
+     */
+    public Permit admit(WorkloadClass workload) {
+        Budget budget = budgets.get(workload);
+        long startedAt = System.nanoTime();
+        lock.lock();
+        try {
+            // Waiting requests are admitted as soon as they can start, so a request that can
+            // start now overtakes no one who could have
+            if (canStart(workload)) {
+                start(workload);
+                record(workload, startedAt);
+                return new Permit(workload, active[workload.ordinal()]);
+            }
+            Deque<Waiter> queue = queues.get(workload);
+            if (queue.size() >= budget.maxQueued()) {
+                increment(queueFull, workload);
+                throw new WorkloadRejectedException("Too many " + workload.tag() + " requests are waiting");
+            }
+            Waiter waiter = new Waiter(lock.newCondition());
+            queue.addLast(waiter);
+            long remaining = TimeUnit.MILLISECONDS.toNanos(budget.maxWaitMillis());
+            try {
+                while (!waiter.admitted && remaining > 0) {
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!waiter.admitted) {
+                queue.remove(waiter);
+                increment(timedOut, workload);
+                throw new WorkloadRejectedException("Timed out waiting for a " + workload.tag() + " slot");
+            }
+            record(workload, startedAt);
+            return new Permit(workload, waiter.inFlight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit(WorkloadClass workload) {
+        return limits.get(workload).getLimit();
+    }
+
+    public int getActive(WorkloadClass workload) {
+        lock.lock();
+        try {
+            return active[workload.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued(WorkloadClass workload) {
+        lock.lock();
+        try {
+            return queues.get(workload).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(WorkloadClass workload) {
+        lock.lock();
+        try {
+            active[workload.ordinal()]--;
+            activeTotal--;
+            admitWaiters();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void admitWaiters() {
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            Deque<Waiter> queue = queues.get(workload);
+            while (!queue.isEmpty() && canStart(workload)) {
+                Waiter waiter = queue.pollFirst();
+                start(workload);
+                waiter.inFlight = active[workload.ordinal()];
+                waiter.admitted = true;
+                waiter.condition.signal();
+            }
+        }
+    }
+
+    private boolean canStart(WorkloadClass workload) {
+        if (active[workload.ordinal()] >= limits.get(workload).getLimit()) {
+            return false;
+        }
+        if (workload == WorkloadClass.VOTE) {
+            return activeTotal < capacity;
+        }
+        // Slots held by votes count against the reserve first
+        int unreservedInUse = activeTotal - Math.min(active[WorkloadClass.VOTE.ordinal()], reservedForVotes);
+        return unreservedInUse < capacity - reservedForVotes;
+    }
+
+    private void start(WorkloadClass workload) {
+        active[workload.ordinal()]++;
+        activeTotal++;
+    }
+
+    private void record(WorkloadClass workload, long startedAt) {
+        Timer timer = waitTimers.get(workload);
+        if (timer != null) {
+            timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static void increment(Map<WorkloadClass, Counter> counters, WorkloadClass workload) {
+        Counter counter = counters.get(workload);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private void registerMeters(WorkloadClass workload, MeterRegistry meterRegistry) {
+        String tag = workload.tag();
+        Gauge.builder("polling.workload.active", this, admission -> admission.getActive(workload))
+                .description("Requests running per workload class")
+                .tag("class", tag)
+                .register(meterRegistry);
+        Gauge.builder("polling.workload.limit", this, admission -> admission.getLimit(workload))
+                .description("Current concurrency limit per workload class")
+                .tag("class", tag)
+                .register(meterRegistry);
+        Gauge.builder("polling.workload.queued", this, admission -> admission.getQueued(workload))
+                .description("Requests waiting for a slot per workload class")
+                .tag("class", tag)
+                .register(meterRegistry);
+        waitTimers.put(workload, Timer.builder("polling.workload.wait")
+                .description("Time requests waited for a slot")
+                .tag("class", tag)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+        queueFull.put(workload, Counter.builder("polling.workload.rejected")
+                .description("Requests turned away per workload class")
+                .tags("class", tag, "reason", "queue_full")
+                .register(meterRegistry));
+        timedOut.put(workload, Counter.builder("polling.workload.rejected")
+                .description("Requests turned away per workload class")
+                .tags("class", tag, "reason", "timeout")
+                .register(meterRegistry));
+    }
+
+    private static final class Waiter {
+
+        private final Condition condition;
+        private boolean admitted;
+        private int inFlight;
+
+        private Waiter(Condition condition) {
+            this.condition = condition;
+        }
+    }
+}
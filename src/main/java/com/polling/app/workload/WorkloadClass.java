@@ -0,0 +1,38 @@
+package com.polling.app.workload;
+
+/**
+ * Kinds of requests that get their own concurrency budget, in order of priority: when a
+ * slot frees up, waiting votes are admitted before waiting sign-ins, and those before public
+ * reads and admin operations.
+ */
+public enum WorkloadClass {
+
+    /** Casting a vote */
+    VOTE,
+
+    /** Registration and login, which spend most of their time hashing passwords */
+    AUTH,
+
+    /** Everything else users do, mostly reading polls and results */
+    PUBLIC,
+
+    /** Admin operations such as listing polls and reading results */
+    ADMIN;
+
+    /**
+     * Classifies an API request by its method and path.
+     */
+    public static WorkloadClass of(String method, String path) {
+        if ("POST".equals(method) && path.startsWith("/api/user/") && path.endsWith("/vote")) {
+            return VOTE;
+        }
+        if (path.endsWith("/login") || path.endsWith("/register")) {
+            return AUTH;
+        }
+        return path.startsWith("/api/admin/") ? ADMIN : PUBLIC;
+    }
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
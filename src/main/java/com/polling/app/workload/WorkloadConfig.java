@@ -0,0 +1,62 @@
+package com.polling.app.workload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polling.app.payload.PollVersionTable;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Puts every API request through {@link WorkloadAdmission} when
+ * {@code app.workload.enabled=true}, with adaptive limits unless
+ * {@code app.workload.adaptive.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.workload", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(WorkloadProperties.class)
+public class WorkloadConfig {
+
+    @Bean
+    public WorkloadAdmission workloadAdmission(WorkloadProperties properties,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<WorkloadClass, WorkloadProperties.Budget> budgets = Map.of(
+                WorkloadClass.VOTE, properties.getVote(),
+                WorkloadClass.AUTH, properties.getAuth(),
+                WorkloadClass.PUBLIC, properties.getPublicReads(),
+                WorkloadClass.ADMIN, properties.getAdmin());
+        WorkloadProperties.Adaptive adaptive = properties.getAdaptive();
+        return new WorkloadAdmission(properties.getCapacity(), properties.getReservedForVotes(),
+                budgets.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().toBudget())),
+                workload -> {
+                    WorkloadProperties.Budget budget = budgets.get(workload);
+                    return adaptive.isEnabled()
+                            ? new AdaptiveLimit(budget.getMaxConcurrent(), budget.getMinConcurrent(),
+                                    budget.getMaxConcurrent(), adaptive.getTolerance(), adaptive.getBackoffRatio(),
+                                    adaptive.getWindowSize(), adaptive.getBaselineWindows())
+                            : AdaptiveLimit.fixed(budget.getMaxConcurrent());
+                },
+                meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public FilterRegistrationBean<WorkloadFilter> workloadFilter(WorkloadAdmission workloadAdmission,
+                                                                 ObjectMapper objectMapper,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                                                 ObjectProvider<PollVersionTable> pollVersionTable) {
+        FilterRegistrationBean<WorkloadFilter> registration = new FilterRegistrationBean<>(
+                new WorkloadFilter(workloadAdmission, objectMapper, meterRegistry.getIfAvailable(),
+                        new ConnectionFreeRequests(pollVersionTable.getIfAvailable())));
+        registration.addUrlPatterns("/api/*");
+        // Admit before any other filter does work for the request
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
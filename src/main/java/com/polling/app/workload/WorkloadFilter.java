@@ -0,0 +1,97 @@
+package com.polling.app.workload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polling.app.dto.ErrorResponse;
+import com.polling.app.exception.WorkloadRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Runs every API request within the budget of its {@link WorkloadClass} and records its
+ * latency per class. Requests that are not admitted get a 503 with a {@code Retry-After}.
+ * Requests matching {@code exempt} hold no connection and run without a slot.
+ */
+public class WorkloadFilter extends OncePerRequestFilter {
+
+    private final WorkloadAdmission admission;
+    private final ObjectMapper objectMapper;
+    private final Predicate<HttpServletRequest> exempt;
+    private final Map<WorkloadClass, Timer> latency = new EnumMap<>(WorkloadClass.class);
+
+    public WorkloadFilter(WorkloadAdmission admission, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(admission, objectMapper, meterRegistry, request -> false);
+    }
+
+    public WorkloadFilter(WorkloadAdmission admission, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                          Predicate<HttpServletRequest> exempt) {
+        this.admission = admission;
+        this.objectMapper = objectMapper;
+        this.exempt = exempt;
+        if (meterRegistry != null) {
+            for (WorkloadClass workload : WorkloadClass.values()) {
+                latency.put(workload, Timer.builder("polling.workload.latency")
+                        .description("Time from admission to response per workload class")
+                        .tag("class", workload.tag())
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry));
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/") || exempt.test(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        WorkloadClass workload = WorkloadClass.of(request.getMethod(), request.getRequestURI());
+        WorkloadAdmission.Permit permit;
+        try {
+            permit = admission.admit(workload);
+        } catch (WorkloadRejectedException e) {
+            reject(request, response, e);
+            return;
+        }
+        long startedAt = System.nanoTime();
+        try (permit) {
+            filterChain.doFilter(request, response);
+        } finally {
+            Timer timer = latency.get(workload);
+            if (timer != null) {
+                timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, WorkloadRejectedException e)
+            throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .errorCode(e.getErrorCode())
+                .message(e.getMessage())
+                .status(e.getHttpStatus().value())
+                .path(request.getRequestURI())
+                .timestamp(LocalDateTime.now())
+                .build();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -0,0 +1,96 @@
+package com.polling.app.workload;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the concurrency budgets of the workload classes.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.workload")
+public class WorkloadProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Requests running at once across all classes; keep it at the connection pool size so an
+     * admitted request does not wait for a connection.
+     */
+    private int capacity = 10;
+
+    /**
+     * Slots of the capacity only votes may use.
+     */
+    private int reservedForVotes = 3;
+
+    /**
+     * Votes keep a higher floor than the other classes, so they are shed last.
+     */
+    private Budget vote = new Budget(4, 10, 200, 2000);
+
+    /**
+     * Password hashing is CPU bound, so sign-ins are kept to about the number of cores.
+     */
+    private Budget auth = new Budget(1, 4, 4, 250);
+
+    private Budget publicReads = new Budget(1, 6, 20, 250);
+
+    private Budget admin = new Budget(1, 2, 20, 5000);
+
+    private Adaptive adaptive = new Adaptive();
+
+    @Data
+    public static class Budget {
+
+        /**
+         * Lowest the adaptive limit goes.
+         */
+        private int minConcurrent;
+
+        /**
+         * Highest the adaptive limit goes, and the limit itself when it is not adaptive.
+         */
+        private int maxConcurrent;
+
+        private int maxQueued;
+
+        private long maxWaitMillis;
+
+        public Budget() {
+        }
+
+        public Budget(int minConcurrent, int maxConcurrent, int maxQueued, long maxWaitMillis) {
+            this.minConcurrent = minConcurrent;
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueued = maxQueued;
+            this.maxWaitMillis = maxWaitMillis;
+        }
+
+        WorkloadAdmission.Budget toBudget() {
+            return new WorkloadAdmission.Budget(maxConcurrent, maxQueued, maxWaitMillis);
+        }
+    }
+
+    @Data
+    public static class Adaptive {
+
+        private boolean enabled = true;
+
+        /**
+         * How many times the no-load latency a window may average before the limit is cut.
+         */
+        private double tolerance = 2.0;
+
+        private double backoffRatio = 0.9;
+
+        /**
+         * Requests per latency window.
+         */
+        private int windowSize = 20;
+
+        /**
+         * Recent windows whose lowest average is taken as the no-load latency.
+         */
+        private int baselineWindows = 100;
+    }
+}
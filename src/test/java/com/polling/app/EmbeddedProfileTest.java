@@ -0,0 +1,96 @@
+package com.polling.app;
+
+import com.polling.app.entity.Admin;
+import com.polling.app.entity.User;
+import com.polling.app.service.AdminService;
+import com.polling.app.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureHttpGraphQlTester;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Base for tests against the application on the {@code embedded} profile. Every subclass
+ * gets the same configuration, so they share one cached context and one H2 database; tests
+ * create their own admins, users and polls and must not assume the database is empty.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureHttpGraphQlTester
+@ActiveProfiles("embedded")
+public abstract class EmbeddedProfileTest {
+
+    /**
+     * Lives as long as the JVM rather than a test class, as the cached context outlives the
+     * class that started it.
+     */
+    protected static final Path DIRECTORY = createDirectory();
+
+    @DynamicPropertySource
+    static void embeddedProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.embedded.directory", DIRECTORY::toString);
+        // Long enough that only local writes end an ETag's validity during a test
+        registry.add("app.conditional-get.trust-millis", () -> "60000");
+    }
+
+    @Autowired
+    protected AdminService adminService;
+
+    @Autowired
+    protected UserService userService;
+
+    @Autowired
+    protected EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void evictSecondLevelCache() {
+        // The cache manager is shared by every test context in the JVM, and other contexts
+        // have their own databases that reuse the same IDs
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private static Path createDirectory() {
+        try {
+            return Files.createTempDirectory(Files.createDirectories(Path.of("target").toAbsolutePath()), "embedded-");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String uniqueName(String prefix) {
+        return prefix + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    protected Admin createAdmin() {
+        Admin admin = new Admin();
+        String name = uniqueName("admin");
+        admin.setUsername(name);
+        admin.setEmail(name + "@example.com");
+        admin.setPassword("Passw0rd!");
+        admin.setFirstName("Ada");
+        admin.setLastName("Admin");
+        return adminService.createAdmin(admin);
+    }
+
+    protected User createUser() {
+        User user = new User();
+        String name = uniqueName("user");
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("Passw0rd!");
+        user.setFirstName("Val");
+        user.setLastName("Voter");
+        return userService.createUser(user);
+    }
+}
@@ -0,0 +1,167 @@
+package com.polling.app.assets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StaticAssetFilter Tests")
+class StaticAssetFilterTest {
+
+    private static final String BUNDLE = "/static/js/main.cbdb9916.js";
+
+    @TempDir
+    Path build;
+
+    private StaticAssetFilter filter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.createDirectories(build.resolve("static/js"));
+        Files.writeString(build.resolve("index.html"), "<html>app</html>");
+        Files.writeString(build.resolve("index.html.gz"), "gzipped-index");
+        Files.writeString(build.resolve("static/js/main.cbdb9916.js"), "console.log('app');");
+        Files.writeString(build.resolve("static/js/main.cbdb9916.js.gz"), "gzipped");
+        Files.writeString(build.resolve("static/js/main.cbdb9916.js.br"), "brotli");
+        filter = new StaticAssetFilter(rescan(), true, List.of("/api/", "/actuator/"));
+    }
+
+    private StaticAssetCatalog rescan() {
+        return StaticAssetCatalog.scan(build, Pattern.compile("\\.[0-9a-f]{8,}\\."), 31536000);
+    }
+
+    private MockHttpServletResponse get(String path, String acceptEncoding, MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private MockHttpServletResponse get(String path, String acceptEncoding) throws Exception {
+        return get(path, acceptEncoding, new MockFilterChain());
+    }
+
+    @Nested
+    @DisplayName("Encoding Tests")
+    class EncodingTests {
+
+        @Test
+        @DisplayName("Should send the brotli variant to clients that accept it")
+        void shouldPreferBrotli() throws Exception {
+            MockHttpServletResponse response = get(BUNDLE, "gzip, deflate, br");
+
+            assertEquals("br", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+            assertEquals("brotli", response.getContentAsString());
+            assertEquals(6, response.getContentLengthLong());
+            assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        }
+
+        @Test
+        @DisplayName("Should fall back to gzip and then to the original")
+        void shouldFallBack() throws Exception {
+            assertEquals("gzipped", get(BUNDLE, "gzip, br;q=0").getContentAsString());
+            MockHttpServletResponse identity = get(BUNDLE, null);
+            assertNull(identity.getHeader(HttpHeaders.CONTENT_ENCODING));
+            assertEquals("console.log('app');", identity.getContentAsString(StandardCharsets.UTF_8));
+            assertTrue(identity.getContentType().contains("javascript"));
+        }
+
+        @Test
+        @DisplayName("Should hand files to sendfile when the container supports it")
+        void shouldUseSendfile() throws Exception {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", BUNDLE);
+            request.setAttribute(StaticAssetFilter.SENDFILE_SUPPORTED, true);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilter(request, response, new MockFilterChain());
+
+            assertEquals(build.resolve("static/js/main.cbdb9916.js").toAbsolutePath().toString(),
+                    request.getAttribute(StaticAssetFilter.SENDFILE_FILENAME));
+            assertEquals(19L, request.getAttribute(StaticAssetFilter.SENDFILE_END));
+            assertEquals(0, response.getContentAsByteArray().length);
+        }
+    }
+
+    @Nested
+    @DisplayName("Caching Tests")
+    class CachingTests {
+
+        @Test
+        @DisplayName("Should cache hashed files as immutable and revalidate the rest")
+        void shouldChooseCachePolicy() throws Exception {
+            assertEquals("public, max-age=31536000, immutable", get(BUNDLE, null).getHeader(HttpHeaders.CACHE_CONTROL));
+            assertEquals("no-cache", get("/", null).getHeader(HttpHeaders.CACHE_CONTROL));
+        }
+
+        @Test
+        @DisplayName("Should answer 304 for the ETag of the same variant only")
+        void shouldAnswerNotModified() throws Exception {
+            String etag = get(BUNDLE, "br").getHeader(HttpHeaders.ETAG);
+
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", BUNDLE);
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, "br");
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+
+            assertEquals(304, response.getStatus());
+            assertNotEquals(etag, get(BUNDLE, "gzip").getHeader(HttpHeaders.ETAG));
+        }
+
+        @Test
+        @DisplayName("Should derive ETags from the content rather than the file time")
+        void shouldTagByContent() throws Exception {
+            String etag = get("/index.html", null).getHeader(HttpHeaders.ETAG);
+            Path index = build.resolve("index.html");
+
+            Files.setLastModifiedTime(index, FileTime.fromMillis(0));
+            assertEquals(etag, rescan().lookup("/index.html").identity().etag());
+            Files.writeString(index, "<html>new</html>");
+            Files.setLastModifiedTime(index, FileTime.fromMillis(0));
+            assertNotEquals(etag, rescan().lookup("/index.html").identity().etag());
+        }
+    }
+
+    @Nested
+    @DisplayName("Routing Tests")
+    class RoutingTests {
+
+        @Test
+        @DisplayName("Should answer client-side routes with index.html")
+        void shouldFallBackToIndex() throws Exception {
+            MockHttpServletResponse response = get("/admin/dashboard", "gzip");
+
+            assertEquals("gzipped-index", response.getContentAsString());
+            assertTrue(response.getContentType().startsWith("text/html"));
+        }
+
+        @Test
+        @DisplayName("Should pass API paths and unknown files on")
+        void shouldPassThrough() throws Exception {
+            MockFilterChain api = new MockFilterChain();
+            get("/api/user/polls/active", "gzip", api);
+            assertNotNull(api.getRequest());
+
+            MockFilterChain missing = new MockFilterChain();
+            get("/static/js/missing.js", "gzip", missing);
+            assertNotNull(missing.getRequest());
+        }
+    }
+}
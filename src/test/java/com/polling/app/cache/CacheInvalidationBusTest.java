@@ -0,0 +1,201 @@
+package com.polling.app.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CacheInvalidationBus Tests")
+class CacheInvalidationBusTest {
+
+    private final List<CacheInvalidationBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        buses.forEach(CacheInvalidationBus::close);
+    }
+
+    private CacheInvalidationBus startBus(String nodeId, InvalidationTransport transport,
+                                          SimpleMeterRegistry registry, BlockingQueue<CacheInvalidationEvent> received) {
+        CacheInvalidationBus bus = new CacheInvalidationBus(nodeId, transport, registry);
+        bus.addListener(received::add);
+        bus.start();
+        buses.add(bus);
+        return bus;
+    }
+
+    @Nested
+    @DisplayName("UDP Transport Tests")
+    class UdpTransportTests {
+
+        private UdpInvalidationTransport loopback() {
+            return new UdpInvalidationTransport(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), List.of());
+        }
+
+        @Test
+        @DisplayName("Should deliver invalidations to peers and record propagation lag")
+        void shouldDeliverToPeers() throws InterruptedException {
+            UdpInvalidationTransport first = loopback();
+            UdpInvalidationTransport second = loopback();
+            first.addPeer(new InetSocketAddress(InetAddress.getLoopbackAddress(), second.getLocalPort()));
+            second.addPeer(new InetSocketAddress(InetAddress.getLoopbackAddress(), first.getLocalPort()));
+
+            BlockingQueue<CacheInvalidationEvent> firstReceived = new LinkedBlockingQueue<>();
+            BlockingQueue<CacheInvalidationEvent> secondReceived = new LinkedBlockingQueue<>();
+            SimpleMeterRegistry secondRegistry = new SimpleMeterRegistry();
+            CacheInvalidationBus publisher = startBus("node-a", first, new SimpleMeterRegistry(), firstReceived);
+            startBus("node-b", second, secondRegistry, secondReceived);
+
+            publisher.publish(CacheRegions.POLLS, 42L);
+
+            CacheInvalidationEvent event = secondReceived.poll(2, TimeUnit.SECONDS);
+            assertNotNull(event);
+            assertEquals("node-a", event.getOrigin());
+            assertEquals(CacheRegions.POLLS, event.getRegion());
+            assertEquals(42L, event.getEntityId());
+            assertTrue(firstReceived.isEmpty());
+            assertEquals(1, secondRegistry.get("polling.cache.invalidation.lag").timer().count());
+        }
+    }
+
+    @Nested
+    @DisplayName("JDBC Transport Tests")
+    class JdbcTransportTests {
+
+        @Test
+        @DisplayName("Should deliver invalidations through the shared table and skip own events")
+        void shouldDeliverThroughDatabase() throws InterruptedException {
+            DataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:invalidations" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+            BlockingQueue<CacheInvalidationEvent> firstReceived = new LinkedBlockingQueue<>();
+            BlockingQueue<CacheInvalidationEvent> secondReceived = new LinkedBlockingQueue<>();
+            CacheInvalidationBus first = startBus("node-a", new JdbcInvalidationTransport(dataSource, 10, 2000, 60000),
+                    new SimpleMeterRegistry(), firstReceived);
+            startBus("node-b", new JdbcInvalidationTransport(dataSource, 10, 2000, 60000),
+                    new SimpleMeterRegistry(), secondReceived);
+
+            first.publish(CacheRegions.USERS, 7L);
+            first.publish(CacheRegions.POLL_OPTIONS, null);
+
+            CacheInvalidationEvent user = secondReceived.poll(2, TimeUnit.SECONDS);
+            CacheInvalidationEvent options = secondReceived.poll(2, TimeUnit.SECONDS);
+            assertEquals(7L, user.getEntityId());
+            assertEquals(CacheRegions.POLL_OPTIONS, options.getRegion());
+            assertNull(options.getEntityId());
+            assertTrue(user.getVersion() < options.getVersion());
+            assertNull(firstReceived.poll(100, TimeUnit.MILLISECONDS));
+        }
+
+        @Test
+        @DisplayName("Should deliver an event whose row committed after later rows")
+        void shouldDeliverLateCommits() throws Exception {
+            DataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:invalidations" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+            BlockingQueue<CacheInvalidationEvent> received = new LinkedBlockingQueue<>();
+            startBus("node-b", new JdbcInvalidationTransport(dataSource, 10, 2000, 60000),
+                    new SimpleMeterRegistry(), received);
+            JdbcInvalidationTransport publisher = new JdbcInvalidationTransport(dataSource, 10, 2000, 60000);
+
+            try (Connection late = dataSource.getConnection()) {
+                late.setAutoCommit(false);
+                try (PreparedStatement insert = late.prepareStatement("INSERT INTO cache_invalidations "
+                        + "(origin, version, region, entity_id, published_at) VALUES ('node-a', 1, 'polls', 1, ?)")) {
+                    insert.setLong(1, System.currentTimeMillis());
+                    insert.executeUpdate();
+                }
+                publisher.publish(new CacheInvalidationEvent("node-a", 2, CacheRegions.POLLS, 2L,
+                        System.currentTimeMillis()));
+                assertEquals(2L, received.poll(2, TimeUnit.SECONDS).getEntityId());
+                late.commit();
+            }
+
+            assertEquals(1L, received.poll(2, TimeUnit.SECONDS).getEntityId());
+            assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Nested
+    @DisplayName("Delivery Semantics Tests")
+    class DeliverySemanticsTests {
+
+        @Test
+        @DisplayName("Should ignore duplicate events and apply late ones")
+        void shouldIgnoreDuplicates() {
+            BlockingQueue<CacheInvalidationEvent> received = new LinkedBlockingQueue<>();
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            CacheInvalidationBus bus = new CacheInvalidationBus("node-b", null, registry);
+            bus.addListener(received::add);
+
+            CacheInvalidationEvent event = new CacheInvalidationEvent("node-a", 5, CacheRegions.POLLS, 1L, 0);
+            CacheInvalidationEvent late = new CacheInvalidationEvent("node-a", 4, CacheRegions.POLLS, 2L, 0);
+            bus.receive(event);
+            bus.receive(event);
+            bus.receive(late);
+            bus.receive(late);
+
+            assertEquals(List.of(event, late), List.copyOf(received));
+            assertEquals(2.0, registry.get("polling.cache.invalidation.events").tag("outcome", "ignored")
+                    .counter().count());
+        }
+
+        @Test
+        @DisplayName("Should publish only after the surrounding transaction commits")
+        void shouldPublishAfterCommit() {
+            List<CacheInvalidationEvent> published = new ArrayList<>();
+            CacheInvalidationBus bus = new CacheInvalidationBus("node-a", new RecordingTransport(published), null);
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                bus.publishAfterCommit(CacheRegions.POLLS, 1L);
+                assertTrue(published.isEmpty());
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            assertEquals(1, published.size());
+        }
+
+        @Test
+        @DisplayName("Should round-trip events through the wire format")
+        void shouldRoundTripWireFormat() {
+            CacheInvalidationEvent event = new CacheInvalidationEvent("node-a", 12, CacheRegions.ADMINS, null, 99);
+
+            assertEquals(event, CacheInvalidationEvent.fromWireFormat(event.toWireFormat()));
+        }
+    }
+
+    private record RecordingTransport(List<CacheInvalidationEvent> published) implements InvalidationTransport {
+
+        @Override
+        public void start(Consumer<CacheInvalidationEvent> receiver) {
+        }
+
+        @Override
+        public void publish(CacheInvalidationEvent event) {
+            published.add(event);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
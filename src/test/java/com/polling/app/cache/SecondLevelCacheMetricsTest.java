@@ -0,0 +1,57 @@
+package com.polling.app.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SecondLevelCacheMetrics Tests")
+class SecondLevelCacheMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private CacheRegionStatistics pollStatistics;
+
+    @BeforeEach
+    void setUp() {
+        Statistics statistics = mock(Statistics.class);
+        pollStatistics = mock(CacheRegionStatistics.class);
+        when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[]{"polls", "users"});
+        when(statistics.getCacheRegionStatistics("polls")).thenReturn(pollStatistics);
+        when(statistics.getCacheRegionStatistics("users")).thenReturn(null);
+
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+
+        registry = new SimpleMeterRegistry();
+        new SecondLevelCacheMetrics(entityManagerFactory).bindTo(registry);
+    }
+
+    @Test
+    @DisplayName("Should publish hits, misses and hit ratio per region")
+    void shouldPublishRegionMeters() {
+        when(pollStatistics.getHitCount()).thenReturn(9L);
+        when(pollStatistics.getMissCount()).thenReturn(1L);
+
+        assertEquals(9.0, registry.get("polling.cache.requests").tags("region", "polls", "result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("polling.cache.requests").tags("region", "polls", "result", "miss")
+                .functionCounter().count());
+        assertEquals(0.9, registry.get("polling.cache.hit.ratio").tag("region", "polls").gauge().value(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should report no hit ratio for regions without lookups")
+    void shouldReportNaNWithoutLookups() {
+        assertTrue(Double.isNaN(registry.get("polling.cache.hit.ratio").tag("region", "users").gauge().value()));
+        assertTrue(Double.isNaN(registry.get("polling.cache.hit.ratio").tag("region", "polls").gauge().value()));
+    }
+}
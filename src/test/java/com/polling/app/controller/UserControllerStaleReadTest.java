@@ -0,0 +1,113 @@
+package com.polling.app.controller;
+
+import com.polling.app.dto.PollResults;
+import com.polling.app.dto.PollResultsBatchDto;
+import com.polling.app.edge.EdgeCachePolicy;
+import com.polling.app.entity.PollOption;
+import com.polling.app.history.VotingHistory;
+import com.polling.app.payload.EncodedPayloadCache;
+import com.polling.app.payload.PollResultsCache;
+import com.polling.app.payload.PollVersionTable;
+import com.polling.app.resilience.ReadGuard;
+import com.polling.app.search.PollSearchIndexer;
+import com.polling.app.service.PollService;
+import com.polling.app.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("UserController Stale Read Tests")
+class UserControllerStaleReadTest {
+
+    private final PollService pollService = mock(PollService.class);
+    private final ReadGuard readGuard = mock(ReadGuard.class);
+    private final PollResultsCache pollResultsCache = mock(PollResultsCache.class);
+    private final PollVersionTable pollVersionTable = new PollVersionTable(60_000, 1000, System::currentTimeMillis);
+    private final UserController controller = new UserController(mock(UserService.class), pollService, readGuard,
+            mock(EncodedPayloadCache.class), pollVersionTable, mock(EdgeCachePolicy.class),
+            mock(VotingHistory.class), pollResultsCache, mock(PollSearchIndexer.class));
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(readGuard.read(anyString(), any(), any())).thenAnswer(call -> ((Supplier<?>) call.getArgument(2)).get());
+        PollOption option = new PollOption();
+        option.setId(70L);
+        option.setVoteCount(3);
+        when(pollService.getPollOptions(7L)).thenReturn(List.of(option));
+        when(pollService.getTotalVotesForPoll(7L)).thenReturn(3L);
+        when(pollService.getPollResults(Set.of(7L))).thenReturn(Map.of(7L,
+                PollResults.builder().options(List.of(option)).totalVotes(3L).build()));
+    }
+
+    /**
+     * A response as {@link ReadGuard} leaves it after answering from its fallback.
+     */
+    private static MockHttpServletResponse stale() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setHeader(ReadGuard.STALE_HEADER, "true");
+        return response;
+    }
+
+    @Nested
+    @DisplayName("Fresh Read Tests")
+    class FreshReadTests {
+
+        @Test
+        @DisplayName("Should remember the ETag and cache the results of a fresh read")
+        void shouldRecordFreshResults() {
+            controller.getPollResults(7L, null, null, new MockHttpServletResponse());
+
+            assertNotNull(pollVersionTable.etag(7L, "results"));
+            verify(pollResultsCache).put(anyLong(), anyLong(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Stale Read Tests")
+    class StaleReadTests {
+
+        @Test
+        @DisplayName("Should neither remember the ETag nor cache stale results")
+        void shouldNotRecordStaleResults() {
+            controller.getPollResults(7L, null, null, stale());
+
+            assertNull(pollVersionTable.etag(7L, "results"));
+            verify(pollResultsCache, never()).put(anyLong(), anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("Should not remember the ETag of stale options")
+        void shouldNotRecordStaleOptions() {
+            controller.getPollOptions(7L, null, null, stale());
+
+            assertNull(pollVersionTable.etag(7L, "options"));
+        }
+
+        @Test
+        @DisplayName("Should not cache a stale batch")
+        void shouldNotCacheStaleBatch() {
+            Map<Long, PollResults> batch = controller.getPollResultsBatch(
+                    PollResultsBatchDto.builder().pollIds(List.of(7L)).build(), stale()).getBody();
+
+            assertEquals(3L, batch.get(7L).getTotalVotes());
+            verify(pollResultsCache, never()).put(anyLong(), anyLong(), any());
+        }
+    }
+}
@@ -12,6 +12,13 @@ import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfi
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.polling.app.edge.EdgeCachePolicy;
+import com.polling.app.history.VotingHistory;
+import com.polling.app.payload.EncodedPayloadCache;
+import com.polling.app.payload.PollResultsCache;
+import com.polling.app.payload.PollVersionTable;
+import com.polling.app.resilience.ReadGuard;
+import com.polling.app.search.PollSearchIndexer;
 import com.polling.app.service.UserService;
 import com.polling.app.service.AdminService;
 import com.polling.app.service.PollService;
@@ -49,6 +56,27 @@ class ValidationIntegrationTest {
     @MockBean
     private PollService pollService;
 
+    @MockBean
+    private ReadGuard readGuard;
+
+    @MockBean
+    private EncodedPayloadCache encodedPayloadCache;
+
+    @MockBean
+    private PollVersionTable pollVersionTable;
+
+    @MockBean
+    private EdgeCachePolicy edgeCachePolicy;
+
+    @MockBean
+    private VotingHistory votingHistory;
+
+    @MockBean
+    private PollResultsCache pollResultsCache;
+
+    @MockBean
+    private PollSearchIndexer pollSearchIndexer;
+
     @BeforeEach
     void setUp() {
         // Mock successful authentication for validation tests
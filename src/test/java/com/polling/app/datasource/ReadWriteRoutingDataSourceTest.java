@@ -0,0 +1,164 @@
+package com.polling.app.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReadWriteRoutingDataSource Tests")
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "SELECT lag_millis FROM replication_lag";
+
+    private final Map<String, DataSource> nodes = new LinkedHashMap<>();
+    private ReadWriteRoutingDataSource routingDataSource;
+    private ReplicaLagMonitor lagMonitor;
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    @BeforeEach
+    void setUp() {
+        // Each H2 instance identifies itself so the tests can tell where a query ran
+        for (String name : new String[]{"primary", "replica-a", "replica-b"}) {
+            DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+            JdbcTemplate setup = new JdbcTemplate(dataSource);
+            setup.execute("CREATE TABLE node (name VARCHAR(32))");
+            setup.update("INSERT INTO node VALUES (?)", name);
+            setup.execute("CREATE TABLE replication_lag (lag_millis BIGINT)");
+            setup.update("INSERT INTO replication_lag VALUES (0)");
+            nodes.put(name, dataSource);
+        }
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-a", nodes.get("replica-a"));
+        replicas.put("replica-b", nodes.get("replica-b"));
+        meterRegistry = new SimpleMeterRegistry();
+        routingDataSource = new ReadWriteRoutingDataSource(nodes.get("primary"), replicas, 1000, meterRegistry);
+        lagMonitor = new ReplicaLagMonitor(routingDataSource, replicas, LAG_QUERY, meterRegistry);
+        lagMonitor.checkReplicas();
+
+        DataSource lazy = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(lazy);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(lazy);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataSourceRoutingContext.clear();
+    }
+
+    private String servedBy(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private void setLag(String replica, long lagMillis) {
+        new JdbcTemplate(nodes.get(replica)).update("UPDATE replication_lag SET lag_millis = ?", lagMillis);
+        lagMonitor.checkReplicas();
+    }
+
+    @Nested
+    @DisplayName("Routing Tests")
+    class RoutingTests {
+
+        @Test
+        @DisplayName("Should route read-only transactions to replicas in turn")
+        void shouldRouteReadOnlyTransactionsToReplicas() {
+            String first = servedBy(readOnlyTransaction);
+            String second = servedBy(readOnlyTransaction);
+
+            assertTrue(first.startsWith("replica"));
+            assertTrue(second.startsWith("replica"));
+            assertNotEquals(first, second);
+        }
+
+        @Test
+        @DisplayName("Should route read-write transactions to the primary")
+        void shouldRouteReadWriteTransactionsToPrimary() {
+            assertEquals("primary", servedBy(readWriteTransaction));
+        }
+
+        @Test
+        @DisplayName("Should route to the primary when it is forced")
+        void shouldRouteToPrimaryWhenForced() {
+            String served = DataSourceRoutingContext.onPrimary(() -> servedBy(readOnlyTransaction));
+
+            assertEquals("primary", served);
+            assertTrue(servedBy(readOnlyTransaction).startsWith("replica"));
+        }
+
+        @Test
+        @DisplayName("Should count routed connections per datasource")
+        void shouldCountRoutedConnections() {
+            servedBy(readWriteTransaction);
+            double before = meterRegistry.get("polling.datasource.routed").tag("datasource", "primary").counter().count();
+            servedBy(readWriteTransaction);
+            servedBy(readWriteTransaction);
+
+            assertEquals(before + 2, meterRegistry.get("polling.datasource.routed").tag("datasource", "primary").counter().count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Lag Fallback Tests")
+    class LagFallbackTests {
+
+        @Test
+        @DisplayName("Should skip a replica whose lag exceeds the limit")
+        void shouldSkipLaggingReplica() {
+            setLag("replica-a", 5000);
+
+            for (int i = 0; i < 4; i++) {
+                assertEquals("replica-b", servedBy(readOnlyTransaction));
+            }
+            assertFalse(routingDataSource.isReplicaInRotation("replica-a"));
+        }
+
+        @Test
+        @DisplayName("Should fall back to the primary when every replica lags")
+        void shouldFallBackToPrimaryWhenAllReplicasLag() {
+            setLag("replica-a", 5000);
+            setLag("replica-b", 5000);
+
+            assertEquals("primary", servedBy(readOnlyTransaction));
+        }
+
+        @Test
+        @DisplayName("Should return a replica to rotation once it catches up")
+        void shouldReturnReplicaToRotation() {
+            setLag("replica-a", 5000);
+            setLag("replica-b", 5000);
+            setLag("replica-b", 10);
+
+            assertEquals("replica-b", servedBy(readOnlyTransaction));
+            assertEquals(10.0, meterRegistry.get("polling.datasource.replica.lag").tag("datasource", "replica-b").gauge().value());
+        }
+
+        @Test
+        @DisplayName("Should take an unreachable replica out of rotation")
+        void shouldTakeUnreachableReplicaOutOfRotation() {
+            new JdbcTemplate(nodes.get("replica-a")).execute("DROP TABLE replication_lag");
+            lagMonitor.checkReplicas();
+
+            assertFalse(routingDataSource.isReplicaInRotation("replica-a"));
+            assertEquals("replica-b", servedBy(readOnlyTransaction));
+        }
+    }
+}
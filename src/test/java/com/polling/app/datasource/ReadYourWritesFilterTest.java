@@ -0,0 +1,68 @@
+package com.polling.app.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReadYourWritesFilter Tests")
+class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(5000);
+
+    private MockHttpServletResponse perform(String method, String uri, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, chain);
+        return response;
+    }
+
+    private static FilterChain writing(int status) {
+        return (request, response) -> {
+            ((HttpServletResponse) response).setStatus(status);
+            response.getWriter().write("{}");
+            response.flushBuffer();
+        };
+    }
+
+    @Nested
+    @DisplayName("Pinning Tests")
+    class PinningTests {
+
+        @Test
+        @DisplayName("Should pin the client after a successful write")
+        void shouldPinAfterWrite() throws Exception {
+            MockHttpServletResponse response = perform("POST", "/api/user/1/vote", writing(200));
+
+            assertNotNull(response.getCookie(ReadYourWritesFilter.PIN_COOKIE));
+        }
+
+        @Test
+        @DisplayName("Should pin the client after a write without a body")
+        void shouldPinAfterEmptyWrite() throws Exception {
+            MockHttpServletResponse response = perform("DELETE", "/api/admin/polls/1",
+                    (request, servletResponse) -> ((HttpServletResponse) servletResponse).setStatus(204));
+
+            assertNotNull(response.getCookie(ReadYourWritesFilter.PIN_COOKIE));
+        }
+
+        @Test
+        @DisplayName("Should not pin the client after a rejected write")
+        void shouldNotPinAfterRejectedWrite() throws Exception {
+            assertNull(perform("POST", "/api/user/1/vote", writing(400)).getCookie(ReadYourWritesFilter.PIN_COOKIE));
+            assertNull(perform("POST", "/api/user/1/vote", (request, response) ->
+                    ((HttpServletResponse) response).sendError(409)).getCookie(ReadYourWritesFilter.PIN_COOKIE));
+        }
+
+        @Test
+        @DisplayName("Should not pin the client after a login or a read")
+        void shouldNotPinAfterLogin() throws Exception {
+            assertNull(perform("POST", "/api/user/login", writing(200)).getCookie(ReadYourWritesFilter.PIN_COOKIE));
+            assertNull(perform("GET", "/api/user/polls/active", writing(200)).getCookie(ReadYourWritesFilter.PIN_COOKIE));
+        }
+    }
+}
@@ -470,6 +470,37 @@ class PollCreationDtoTest {
         }
     }
 
+    @Nested
+    @DisplayName("Start Date Validation")
+    class StartDateValidation {
+
+        @Test
+        @DisplayName("Should pass with future start date")
+        void shouldPassWithFutureStartDate() {
+            PollCreationDto dto = createValidDto();
+            dto.setStartsAt(LocalDateTime.now().plusHours(1));
+            
+            Set<ConstraintViolation<PollCreationDto>> violations = 
+                validator.validate(dto);
+            
+            assertTrue(violations.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should fail with past start date")
+        void shouldFailWithPastStartDate() {
+            PollCreationDto dto = createValidDto();
+            dto.setStartsAt(LocalDateTime.now().minusHours(1));
+            
+            Set<ConstraintViolation<PollCreationDto>> violations = 
+                validator.validate(dto);
+            
+            assertFalse(violations.isEmpty());
+            assertTrue(violations.stream()
+                .anyMatch(v -> v.getMessage().contains("Poll start date must be in the future")));
+        }
+    }
+
     @Test
     @DisplayName("Should pass validation with all valid fields")
     void shouldPassValidationWithAllValidFields() {
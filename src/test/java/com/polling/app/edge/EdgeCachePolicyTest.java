@@ -0,0 +1,84 @@
+package com.polling.app.edge;
+
+import com.polling.app.entity.Admin;
+import com.polling.app.entity.Poll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EdgeCachePolicy Tests")
+class EdgeCachePolicyTest {
+
+    private final EdgeCacheProperties properties = new EdgeCacheProperties();
+    private final EdgeCachePolicy policy = new EdgeCachePolicy(properties);
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private Poll poll(boolean active, LocalDateTime startsAt, LocalDateTime endsAt) {
+        Admin admin = new Admin();
+        admin.setId(3L);
+        Poll poll = new Poll();
+        poll.setId(7L);
+        poll.setIsActive(active);
+        poll.setStartsAt(startsAt);
+        poll.setEndsAt(endsAt);
+        poll.setAdmin(admin);
+        return poll;
+    }
+
+    @Nested
+    @DisplayName("Poll State Tests")
+    class PollStateTests {
+
+        @Test
+        @DisplayName("Should treat ended and deactivated polls as closed")
+        void shouldDetectClosedPolls() {
+            assertTrue(EdgeCachePolicy.isClosed(poll(true, null, now.minusMinutes(1)), now));
+            assertTrue(EdgeCachePolicy.isClosed(poll(false, null, null), now));
+            assertTrue(EdgeCachePolicy.isClosed(poll(false, now.minusDays(1), now.plusDays(1)), now));
+        }
+
+        @Test
+        @DisplayName("Should treat open and scheduled polls as live")
+        void shouldDetectLivePolls() {
+            assertFalse(EdgeCachePolicy.isClosed(poll(true, null, null), now));
+            assertFalse(EdgeCachePolicy.isClosed(poll(true, null, now.plusMinutes(1)), now));
+            assertFalse(EdgeCachePolicy.isClosed(poll(false, now.plusMinutes(1), null), now));
+        }
+    }
+
+    @Nested
+    @DisplayName("Header Tests")
+    class HeaderTests {
+
+        @Test
+        @DisplayName("Should cache closed polls for long and tag them with poll and admin")
+        void shouldCacheClosedPolls() {
+            HttpHeaders headers = policy.headers(7L, poll(false, null, null), false);
+
+            assertEquals("max-age=60, public, s-maxage=31536000", headers.getCacheControl());
+            assertEquals("poll-7 admin-3", headers.getFirst(EdgeCachePolicy.SURROGATE_KEY));
+        }
+
+        @Test
+        @DisplayName("Should cache stale answers briefly even for closed polls")
+        void shouldCacheStaleAnswersBriefly() {
+            HttpHeaders headers = policy.headers(7L, poll(false, null, null), true);
+
+            assertEquals("max-age=0, public, s-maxage=1, stale-while-revalidate=2", headers.getCacheControl());
+            assertEquals("poll-7", policy.headers(7L, null, true).getFirst(EdgeCachePolicy.SURROGATE_KEY));
+        }
+
+        @Test
+        @DisplayName("Should send nothing when disabled")
+        void shouldSendNothingWhenDisabled() {
+            properties.setEnabled(false);
+
+            assertTrue(policy.headers(7L, poll(true, null, null), false).isEmpty());
+        }
+    }
+}
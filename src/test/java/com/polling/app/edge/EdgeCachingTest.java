@@ -0,0 +1,190 @@
+package com.polling.app.edge;
+
+import com.polling.app.EmbeddedProfileTest;
+import com.polling.app.entity.Admin;
+import com.polling.app.entity.Poll;
+import com.polling.app.entity.User;
+import com.polling.app.service.PollService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DisplayName("Edge Caching Tests")
+class EdgeCachingTest extends EmbeddedProfileTest {
+
+    private static SurrogateCachingProxy proxy;
+
+    @DynamicPropertySource
+    static void edgeCache(DynamicPropertyRegistry registry) throws IOException {
+        proxy = new SurrogateCachingProxy();
+        registry.add("app.edge-cache.purge.url-template", () -> proxy.uri() + "/purge/{key}");
+        registry.add("app.edge-cache.purge.vote-interval-millis", () -> "50");
+        // Long enough that only purges end a cached answer during a test
+        registry.add("app.edge-cache.live-s-max-age-seconds", () -> "60");
+    }
+
+    @AfterAll
+    static void stopProxy() {
+        proxy.close();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PollService pollService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private Admin admin;
+    private Poll poll;
+
+    @BeforeEach
+    void setUp() {
+        proxy.origin(URI.create("http://localhost:" + port));
+
+        admin = createAdmin();
+
+        Poll newPoll = new Poll();
+        newPoll.setTitle("Favourite season");
+        poll = pollService.createPoll(admin.getId(), newPoll, List.of("Summer", "Winter"));
+    }
+
+    private HttpResponse<String> get(URI base, String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(base.resolve(path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> viaProxy(String path) throws Exception {
+        return get(proxy.uri(), path);
+    }
+
+    private void awaitPurge(int purgesBefore) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (proxy.purges() <= purgesBefore && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(proxy.purges() > purgesBefore, "No purge arrived");
+    }
+
+    private void vote() {
+        User user = createUser();
+        pollService.submitVote(user.getId(), poll.getId(), pollService.getPollOptions(poll.getId()).get(0).getId());
+    }
+
+    @Nested
+    @DisplayName("Header Tests")
+    class HeaderTests {
+
+        @Test
+        @DisplayName("Should let shared caches keep results of an open poll briefly")
+        void shouldSendLivePolicy() throws Exception {
+            HttpResponse<String> response = get(URI.create("http://localhost:" + port),
+                    "/api/user/polls/" + poll.getId() + "/results");
+
+            String cacheControl = response.headers().firstValue("Cache-Control").orElseThrow();
+            assertTrue(cacheControl.contains("max-age=0"), cacheControl);
+            assertTrue(cacheControl.contains("public"), cacheControl);
+            assertTrue(cacheControl.contains("s-maxage=60"), cacheControl);
+            assertTrue(cacheControl.contains("stale-while-revalidate=2"), cacheControl);
+            assertEquals("poll-" + poll.getId() + " admin-" + admin.getId(),
+                    response.headers().firstValue(EdgeCachePolicy.SURROGATE_KEY).orElseThrow());
+        }
+
+        @Test
+        @DisplayName("Should let shared caches keep options of a closed poll for good")
+        void shouldSendClosedPolicy() throws Exception {
+            pollService.deactivatePoll(poll.getId());
+
+            HttpResponse<String> response = get(URI.create("http://localhost:" + port),
+                    "/api/user/polls/" + poll.getId() + "/options");
+
+            String cacheControl = response.headers().firstValue("Cache-Control").orElseThrow();
+            assertTrue(cacheControl.contains("max-age=60"), cacheControl);
+            assertTrue(cacheControl.contains("s-maxage=31536000"), cacheControl);
+        }
+
+        @Test
+        @DisplayName("Should choose the headers without reading the poll again")
+        void shouldReadPollWithOptions() throws Exception {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            entityManagerFactory.getCache().evictAll();
+            statistics.clear();
+            pollService.getPollOptions(poll.getId());
+            long optionsRead = statistics.getPrepareStatementCount();
+
+            entityManagerFactory.getCache().evictAll();
+            statistics.clear();
+            HttpResponse<String> response = get(URI.create("http://localhost:" + port),
+                    "/api/user/polls/" + poll.getId() + "/options");
+
+            assertEquals(200, response.statusCode());
+            assertEquals("poll-" + poll.getId() + " admin-" + admin.getId(),
+                    response.headers().firstValue(EdgeCachePolicy.SURROGATE_KEY).orElseThrow());
+            assertEquals(optionsRead, statistics.getPrepareStatementCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Purge Tests")
+    class PurgeTests {
+
+        @Test
+        @DisplayName("Should serve repeated reads from the proxy")
+        void shouldServeFromProxy() throws Exception {
+            String path = "/api/user/polls/" + poll.getId() + "/results";
+            int forwarded = proxy.forwarded();
+
+            assertEquals("MISS", viaProxy(path).headers().firstValue("X-Cache").orElseThrow());
+            assertEquals("HIT", viaProxy(path).headers().firstValue("X-Cache").orElseThrow());
+            assertEquals(forwarded + 1, proxy.forwarded());
+        }
+
+        @Test
+        @DisplayName("Should purge results once votes are cast")
+        void shouldPurgeAfterVotes() throws Exception {
+            String path = "/api/user/polls/" + poll.getId() + "/results";
+            viaProxy(path);
+            int purges = proxy.purges();
+
+            vote();
+            awaitPurge(purges);
+
+            HttpResponse<String> response = viaProxy(path);
+            assertEquals("MISS", response.headers().firstValue("X-Cache").orElseThrow());
+            assertTrue(response.body().contains("\"totalVotes\":1"), response.body());
+        }
+
+        @Test
+        @DisplayName("Should purge options once the poll is deactivated")
+        void shouldPurgeAfterDeactivation() throws Exception {
+            String path = "/api/user/polls/" + poll.getId() + "/options";
+            viaProxy(path);
+            int purges = proxy.purges();
+
+            pollService.deactivatePoll(poll.getId());
+            awaitPurge(purges);
+
+            HttpResponse<String> response = viaProxy(path);
+            assertEquals("MISS", response.headers().firstValue("X-Cache").orElseThrow());
+            assertTrue(response.headers().firstValue("Cache-Control").orElseThrow().contains("s-maxage=31536000"));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.polling.app.edge;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stand-in for a CDN in front of the application: caches public GET responses for their
+ * {@code s-maxage}, marks them {@code X-Cache: HIT} or {@code MISS}, and drops everything
+ * tagged with a surrogate key on {@code POST /purge/{key}}.
+ */
+class SurrogateCachingProxy implements AutoCloseable {
+
+    private static final Pattern S_MAX_AGE = Pattern.compile("s-maxage=(\\d+)");
+
+    private record Cached(int status, String contentType, String cacheControl, Set<String> keys, byte[] body,
+                          long expiresAtMillis) {
+    }
+
+    private final HttpServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private final AtomicInteger purges = new AtomicInteger();
+    private volatile URI origin;
+
+    SurrogateCachingProxy() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    URI uri() {
+        return URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    void origin(URI origin) {
+        this.origin = origin;
+    }
+
+    int forwarded() {
+        return forwarded.get();
+    }
+
+    int purges() {
+        return purges.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getRawPath();
+            if ("POST".equals(exchange.getRequestMethod()) && path.startsWith("/purge/")) {
+                String key = URLDecoder.decode(path.substring("/purge/".length()), StandardCharsets.UTF_8);
+                cache.values().removeIf(cached -> cached.keys().contains(key));
+                purges.incrementAndGet();
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            String target = exchange.getRequestURI().toString();
+            Cached cached = cache.get(target);
+            if (cached == null || cached.expiresAtMillis() <= System.currentTimeMillis()) {
+                cached = fetch(target);
+                exchange.getResponseHeaders().set("X-Cache", "MISS");
+            } else {
+                exchange.getResponseHeaders().set("X-Cache", "HIT");
+            }
+            if (cached.contentType() != null) {
+                exchange.getResponseHeaders().set("Content-Type", cached.contentType());
+            }
+            if (cached.cacheControl() != null) {
+                exchange.getResponseHeaders().set("Cache-Control", cached.cacheControl());
+            }
+            exchange.sendResponseHeaders(cached.status(), cached.body().length);
+            exchange.getResponseBody().write(cached.body());
+        }
+    }
+
+    private Cached fetch(String target) throws IOException {
+        forwarded.incrementAndGet();
+        HttpResponse<byte[]> response;
+        try {
+            response = client.send(HttpRequest.newBuilder(origin.resolve(target)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        String cacheControl = response.headers().firstValue("Cache-Control").orElse(null);
+        Set<String> keys = Set.copyOf(List.of(response.headers().firstValue(EdgeCachePolicy.SURROGATE_KEY)
+                .orElse("").split(" ")));
+        Matcher sMaxAge = cacheControl != null ? S_MAX_AGE.matcher(cacheControl) : null;
+        long expiresAt = 0;
+        if (response.statusCode() == 200 && sMaxAge != null && sMaxAge.find() && cacheControl.contains("public")) {
+            expiresAt = System.currentTimeMillis() + Long.parseLong(sMaxAge.group(1)) * 1000;
+        }
+        Cached cached = new Cached(response.statusCode(), response.headers().firstValue("Content-Type").orElse(null),
+                cacheControl, keys, response.body(), expiresAt);
+        if (expiresAt > 0) {
+            cache.put(target, cached);
+        }
+        return cached;
+    }
+}
@@ -0,0 +1,89 @@
+package com.polling.app.entity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Cached Entity Tests")
+class CachedEntityTest {
+
+    /**
+     * Stands in for an uninitialized lazy collection of an entity read from the second-level
+     * cache, which must not be touched outside its session.
+     */
+    private static <T> Set<T> untouchable() {
+        return new HashSet<>() {
+            @Override
+            public int hashCode() {
+                throw new AssertionError("lazy collection touched");
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                throw new AssertionError("lazy collection touched");
+            }
+        };
+    }
+
+    @Nested
+    @DisplayName("Equality Tests")
+    class EqualityTests {
+
+        @Test
+        @DisplayName("Should compare polls without their associations")
+        void shouldIgnorePollAssociations() {
+            Poll poll = new Poll();
+            poll.setId(7L);
+            poll.setPollOptions(untouchable());
+            poll.setPollResponses(untouchable());
+            Poll copy = new Poll();
+            copy.setId(7L);
+            copy.setPollOptions(untouchable());
+            copy.setPollResponses(untouchable());
+
+            assertEquals(poll, copy);
+            assertEquals(poll.hashCode(), copy.hashCode());
+        }
+
+        @Test
+        @DisplayName("Should hash users, admins and options without their associations")
+        void shouldIgnoreOtherAssociations() {
+            User user = new User();
+            user.setPollResponses(untouchable());
+            Admin admin = new Admin();
+            admin.setPolls(untouchable());
+            PollOption option = new PollOption();
+            option.setPollResponses(untouchable());
+
+            assertDoesNotThrow(user::hashCode);
+            assertDoesNotThrow(admin::hashCode);
+            assertDoesNotThrow(option::hashCode);
+        }
+    }
+
+    @Nested
+    @DisplayName("Serialization Tests")
+    class SerializationTests {
+
+        @Test
+        @DisplayName("Should leave a user's responses out of its JSON")
+        void shouldNotSerializeUserResponses() throws Exception {
+            User user = new User();
+            user.setUsername("voter");
+            PollResponse response = new PollResponse();
+            response.setUser(user);
+            user.setPollResponses(Set.of(response));
+
+            String json = new ObjectMapper().findAndRegisterModules().writeValueAsString(user);
+
+            assertTrue(json.contains("\"username\":\"voter\""));
+            assertFalse(json.contains("pollResponses"));
+        }
+    }
+}
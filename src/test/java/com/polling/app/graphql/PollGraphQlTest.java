@@ -0,0 +1,141 @@
+package com.polling.app.graphql;
+
+import com.polling.app.EmbeddedProfileTest;
+import com.polling.app.entity.Admin;
+import com.polling.app.entity.Poll;
+import com.polling.app.entity.PollOption;
+import com.polling.app.entity.User;
+import com.polling.app.service.PollService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.graphql.test.tester.HttpGraphQlTester;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GraphQL Dashboard Tests")
+class PollGraphQlTest extends EmbeddedProfileTest {
+
+    private static final String DASHBOARD = """
+            query Dashboard($userId: ID!) {
+              activePolls {
+                id title
+                admin { username }
+                options { optionText voteCount }
+                totalVotes
+                hasVoted(userId: $userId)
+              }
+              viewer(userId: $userId) {
+                votedPolls { id title totalVotes }
+              }
+            }
+            """;
+
+    @Autowired
+    private HttpGraphQlTester graphQlTester;
+
+    @Autowired
+    private PollService pollService;
+
+    private Admin admin;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        admin = createAdmin();
+        user = createUser();
+    }
+
+    private Poll createPoll(String title) {
+        Poll poll = new Poll();
+        poll.setTitle(title);
+        return pollService.createPoll(admin.getId(), poll, List.of("Red", "Green"));
+    }
+
+    private void vote(Poll poll, String optionText) {
+        Long optionId = pollService.getPollOptions(poll.getId()).stream()
+                .filter(option -> option.getOptionText().equals(optionText))
+                .map(PollOption::getId)
+                .findFirst().orElseThrow();
+        pollService.submitVote(user.getId(), poll.getId(), optionId);
+    }
+
+    private long statementsFor(Runnable request) {
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        request.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Nested
+    @DisplayName("Dashboard Tests")
+    class DashboardTests {
+
+        @Test
+        @DisplayName("Should return polls with options, results and the viewer's votes")
+        void shouldReturnDashboard() {
+            Poll voted = createPoll("Voted poll " + UUID.randomUUID());
+            Poll open = createPoll("Open poll " + UUID.randomUUID());
+            vote(voted, "Green");
+
+            var response = graphQlTester.document(DASHBOARD).variable("userId", user.getId()).execute();
+
+            String polls = "activePolls[?(@.id == '%s')]";
+            response.path(polls.formatted(voted.getId()) + ".hasVoted").entityList(Boolean.class).containsExactly(true);
+            response.path(polls.formatted(open.getId()) + ".hasVoted").entityList(Boolean.class).containsExactly(false);
+            response.path(polls.formatted(voted.getId()) + ".totalVotes").entityList(Integer.class).containsExactly(1);
+            response.path(polls.formatted(voted.getId()) + ".options[0].optionText").entityList(String.class)
+                    .containsExactly("Green");
+            response.path(polls.formatted(voted.getId()) + ".admin.username").entityList(String.class)
+                    .containsExactly(admin.getUsername());
+            response.path("viewer.votedPolls[*].id").entityList(String.class)
+                    .containsExactly(voted.getId().toString());
+        }
+
+        @Test
+        @DisplayName("Should run the same number of statements however many polls are shown")
+        void shouldBatchQueries() {
+            for (int i = 0; i < 2; i++) {
+                vote(createPoll("Batched poll " + UUID.randomUUID()), "Red");
+            }
+            Runnable dashboard = () -> graphQlTester.document(DASHBOARD).variable("userId", user.getId())
+                    .execute().errors().verify();
+            long fewPolls = statementsFor(dashboard);
+
+            for (int i = 0; i < 8; i++) {
+                vote(createPoll("Batched poll " + UUID.randomUUID()), "Green");
+            }
+            long manyPolls = statementsFor(dashboard);
+
+            assertEquals(fewPolls, manyPolls);
+            assertTrue(manyPolls <= 10, "statements: " + manyPolls);
+        }
+    }
+
+    @Nested
+    @DisplayName("Limit Tests")
+    class LimitTests {
+
+        @Test
+        @DisplayName("Should reject a query selecting more fields than the complexity limit")
+        void shouldRejectComplexQuery() {
+            StringBuilder query = new StringBuilder("{ ");
+            for (int i = 0; i < 60; i++) {
+                query.append("p").append(i).append(": activePolls { id title totalVotes hasVoted(userId: ")
+                        .append(i).append(") } ");
+            }
+            query.append("}");
+
+            graphQlTester.document(query.toString()).execute().errors()
+                    .expect(error -> error.getMessage().contains("maximum query complexity")).verify();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.polling.app.history;
+
+import com.polling.app.EmbeddedProfileTest;
+import com.polling.app.dto.VotingHistoryPage;
+import com.polling.app.entity.Admin;
+import com.polling.app.entity.Poll;
+import com.polling.app.entity.User;
+import com.polling.app.exception.ValidationException;
+import com.polling.app.service.PollService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Voting History Tests")
+class VotingHistoryTest extends EmbeddedProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VotingHistory votingHistory;
+
+    @Autowired
+    private PollService pollService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Admin admin;
+    private User voter;
+    private final List<Poll> polls = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        admin = createAdmin();
+
+        voter = createUser();
+
+        polls.clear();
+        for (int i = 1; i <= 5; i++) {
+            vote(createPoll("Question " + i));
+        }
+    }
+
+    private Poll createPoll(String title) {
+        Poll poll = new Poll();
+        poll.setTitle(title);
+        poll = pollService.createPoll(admin.getId(), poll, List.of("Yes", "No"));
+        polls.add(poll);
+        return poll;
+    }
+
+    private void vote(Poll poll) {
+        pollService.submitVote(voter.getId(), poll.getId(), pollService.getPollOptions(poll.getId()).get(0).getId());
+    }
+
+    private static List<String> titles(VotingHistoryPage page) {
+        return page.getEntries().stream().map(VotingHistoryPage.Entry::getPollTitle).toList();
+    }
+
+    private long statementsFor(Runnable read) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Nested
+    @DisplayName("Pagination Tests")
+    class PaginationTests {
+
+        @Test
+        @DisplayName("Should walk the history newest first with cursors")
+        void shouldWalkHistory() {
+            VotingHistoryPage first = votingHistory.page(voter.getId(), null, 2);
+            VotingHistoryPage second = votingHistory.page(voter.getId(), first.getNextCursor(), 2);
+            VotingHistoryPage third = votingHistory.page(voter.getId(), second.getNextCursor(), 2);
+
+            assertEquals(List.of("Question 5", "Question 4"), titles(first));
+            assertEquals(List.of("Question 3", "Question 2"), titles(second));
+            assertEquals(List.of("Question 1"), titles(third));
+            assertNull(third.getNextCursor());
+            assertEquals("Yes", third.getEntries().get(0).getOptionText());
+            assertNotNull(third.getEntries().get(0).getVotedAt());
+        }
+
+        @Test
+        @DisplayName("Should read each page with one statement")
+        void shouldReadPageWithOneStatement() {
+            String cursor = votingHistory.page(voter.getId(), null, 3).getNextCursor();
+
+            assertEquals(1, statementsFor(() -> votingHistory.page(voter.getId(), cursor, 3)));
+        }
+
+        @Test
+        @DisplayName("Should seek the history index")
+        void shouldUseHistoryIndex() {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT poll_id, response_date FROM poll_responses "
+                    + "WHERE user_id = ? ORDER BY response_date DESC, poll_id DESC", String.class, voter.getId());
+
+            assertTrue(plan.toUpperCase().contains("IDX_POLL_RESPONSES_USER_HISTORY"), plan);
+        }
+
+        @Test
+        @DisplayName("Should reject bad cursors and sizes")
+        void shouldRejectBadInput() {
+            assertThrows(ValidationException.class, () -> votingHistory.page(voter.getId(), "not-a-cursor", null));
+            assertThrows(ValidationException.class, () -> votingHistory.page(voter.getId(), null, 0));
+            assertThrows(ValidationException.class, () -> votingHistory.page(voter.getId(), null, 1000));
+        }
+    }
+
+    @Nested
+    @DisplayName("First Page Cache Tests")
+    class FirstPageCacheTests {
+
+        @Test
+        @DisplayName("Should answer the first page from the cache")
+        void shouldCacheFirstPage() {
+            votingHistory.page(voter.getId(), null, null);
+
+            assertEquals(0, statementsFor(() -> votingHistory.page(voter.getId(), null, null)));
+        }
+
+        @Test
+        @DisplayName("Should drop the first page when the user votes")
+        void shouldInvalidateOnVote() {
+            votingHistory.page(voter.getId(), null, null);
+
+            vote(createPoll("Question 6"));
+
+            assertEquals(List.of("Question 6", "Question 5"),
+                    titles(votingHistory.page(voter.getId(), null, null)).subList(0, 2));
+        }
+
+        @Test
+        @DisplayName("Should drop the first page when a poll is edited")
+        void shouldInvalidateOnPollEdit() {
+            votingHistory.page(voter.getId(), null, null);
+            Poll edited = new Poll();
+            edited.setTitle("Question 5, reworded");
+
+            pollService.updatePoll(polls.get(4).getId(), edited);
+
+            assertEquals("Question 5, reworded", titles(votingHistory.page(voter.getId(), null, null)).get(0));
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve the history over HTTP")
+    void shouldServeHistory() throws Exception {
+        mockMvc.perform(get("/api/user/" + voter.getId() + "/voting-history").param("size", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries.length()").value(4))
+                .andExpect(jsonPath("$.entries[0].pollTitle").value("Question 5"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+
+        mockMvc.perform(get("/api/user/" + voter.getId() + "/voting-history").param("before", "%%%"))
+                .andExpect(status().isBadRequest());
+    }
+}
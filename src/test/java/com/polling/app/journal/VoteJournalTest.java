@@ -0,0 +1,344 @@
+package com.polling.app.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polling.app.entity.Poll;
+import com.polling.app.entity.PollOption;
+import com.polling.app.entity.PollResponse;
+import com.polling.app.entity.User;
+import com.polling.app.exception.InvalidOperationException;
+import com.polling.app.exception.VoteJournalException;
+import com.polling.app.outbox.JdbcEventOutbox;
+import com.polling.app.outbox.OutboxEventType;
+import com.polling.app.repository.PollOptionRepository;
+import com.polling.app.repository.PollRepository;
+import com.polling.app.repository.PollResponseRepository;
+import com.polling.app.repository.UserRepository;
+import com.polling.app.sharding.ShardRouter;
+import com.polling.app.voting.VoteCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("VoteJournal Tests")
+class VoteJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<VoteJournal> journals = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        journals.forEach(VoteJournal::close);
+    }
+
+    private VoteJournal open(int segmentRecords) {
+        VoteJournal journal = new VoteJournal(directory, segmentRecords, 5);
+        journal.open();
+        journals.add(journal);
+        return journal;
+    }
+
+    private void reopen() {
+        journals.remove(journals.size() - 1).close();
+    }
+
+    @Nested
+    @DisplayName("Log Tests")
+    class LogTests {
+
+        @Test
+        @DisplayName("Should read back records across rolled segments")
+        void shouldReadAcrossSegments() {
+            VoteJournal journal = open(4);
+            for (long i = 1; i <= 10; i++) {
+                assertEquals(i, journal.append(100 + i, 7, 70, 1000 + i));
+            }
+
+            List<VoteRecord> records = journal.read(3, 6);
+
+            assertEquals(3, journal.segments().size());
+            assertEquals(List.of(3L, 4L, 5L, 6L, 7L, 8L), records.stream().map(VoteRecord::sequence).toList());
+            assertEquals(new VoteRecord(5, 105, 7, 70, 1005), records.get(2));
+        }
+
+        @Test
+        @DisplayName("Should share flushes between concurrent appenders and never reuse a sequence")
+        void shouldAppendConcurrently() throws Exception {
+            VoteJournal journal = open(1000);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < 8; writer++) {
+                long userId = writer;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        journal.awaitDurable(journal.append(userId, i, 1, i));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            executor.shutdown();
+
+            List<VoteRecord> records = journal.read(1, 10000);
+            assertEquals(4000, records.size());
+            assertEquals(4000, records.get(records.size() - 1).sequence());
+            assertEquals(4, journal.segments().size());
+        }
+
+        @Test
+        @DisplayName("Should continue after the last valid record when reopened after a torn write")
+        void shouldRecoverTornTail() throws Exception {
+            VoteJournal journal = open(8);
+            for (int i = 0; i < 5; i++) {
+                journal.append(1, i, 1, i);
+            }
+            reopen();
+            try (RandomAccessFile file = new RandomAccessFile(
+                    directory.resolve("00000000000000000001.journal").toFile(), "rw")) {
+                file.seek(4L * VoteJournal.RECORD_SIZE + 20);
+                file.write(new byte[]{1, 2, 3});
+            }
+
+            VoteJournal reopened = open(8);
+
+            assertEquals(4, reopened.getLastSequence());
+            assertEquals(5, reopened.append(9, 9, 9, 9));
+            assertEquals(9, reopened.read(5, 1).get(0).userId());
+        }
+
+        @Test
+        @DisplayName("Should refuse to read a corrupted record")
+        void shouldDetectCorruption() throws Exception {
+            VoteJournal journal = open(8);
+            for (int i = 0; i < 5; i++) {
+                journal.append(1, i, 1, i);
+            }
+            try (RandomAccessFile file = new RandomAccessFile(
+                    directory.resolve("00000000000000000001.journal").toFile(), "rw")) {
+                file.seek(VoteJournal.RECORD_SIZE + 8);
+                file.write(42);
+            }
+
+            assertThrows(VoteJournalException.class, () -> journal.read(1, 5));
+        }
+    }
+
+    @Nested
+    @DisplayName("Projection Tests")
+    class ProjectionTests {
+
+        private final PollResponseRepository pollResponseRepository = mock(PollResponseRepository.class);
+        private final VoteCounter voteCounter = mock(VoteCounter.class);
+
+        private VoteJournalProjector projector(VoteJournal journal, JournalVoteRecorder recorder) {
+            ShardRouter shardRouter = ShardRouter.singleShard(mock(PlatformTransactionManager.class));
+            return new VoteJournalProjector(journal, recorder, mock(PlatformTransactionManager.class), shardRouter,
+                    mock(UserRepository.class), mock(PollRepository.class), mock(PollOptionRepository.class),
+                    pollResponseRepository, voteCounter, 2, 1, null);
+        }
+
+        private PollResponse response(long userId, long pollId, long optionId) {
+            User user = new User();
+            user.setId(userId);
+            Poll poll = new Poll();
+            poll.setId(pollId);
+            PollOption option = new PollOption();
+            option.setId(optionId);
+            PollResponse response = new PollResponse();
+            response.setUser(user);
+            response.setPoll(poll);
+            response.setPollOption(option);
+            return response;
+        }
+
+        @Test
+        @DisplayName("Should keep a vote pending until it is projected, then store it once")
+        void shouldProjectPendingVotes() {
+            VoteJournal journal = open(16);
+            JournalVoteRecorder recorder = new JournalVoteRecorder(journal, true, null);
+            recorder.record(response(1, 7, 70));
+            recorder.record(response(2, 7, 71));
+            recorder.record(response(3, 7, 70));
+
+            assertTrue(recorder.hasPendingVote(1L, 7L));
+            assertTrue(recorder.hasPendingVotes(1L));
+            assertThrows(InvalidOperationException.class, () -> recorder.record(response(1, 7, 71)));
+            when(pollResponseRepository.existsByUserIdAndPollId(2L, 7L)).thenReturn(true);
+
+            projector(journal, recorder).project();
+
+            assertFalse(recorder.hasPendingVote(1L, 7L));
+            assertFalse(recorder.hasPendingVotes(1L));
+            assertFalse(recorder.hasPendingVotes(2L));
+            assertEquals(3, journal.readCheckpoint());
+            verify(pollResponseRepository, times(2)).save(any());
+            verify(voteCounter, times(2)).recordVote(any());
+        }
+
+        @Test
+        @DisplayName("Should restore pending votes and resume from the checkpoint after a restart")
+        void shouldResumeFromCheckpoint() {
+            VoteJournal journal = open(16);
+            JournalVoteRecorder recorder = new JournalVoteRecorder(journal, true, null);
+            recorder.record(response(1, 7, 70));
+            projector(journal, recorder).project();
+            recorder.record(response(2, 7, 70));
+            reopen();
+
+            VoteJournal reopened = open(16);
+            JournalVoteRecorder restarted = new JournalVoteRecorder(reopened, true, null);
+
+            assertFalse(restarted.hasPendingVote(1L, 7L));
+            assertTrue(restarted.hasPendingVote(2L, 7L));
+            assertTrue(restarted.hasPendingVotes(2L));
+            assertFalse(restarted.hasPendingVotes(1L));
+            projector(reopened, restarted).project();
+            verify(pollResponseRepository, times(2)).save(any());
+        }
+
+        @Test
+        @DisplayName("Should not journal a vote whose outbox event fails to insert")
+        void shouldNotProjectVoteWhenOutboxFails() {
+            VoteJournal journal = open(16);
+            JournalVoteRecorder recorder = new JournalVoteRecorder(journal, true, null);
+            DataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:journaloutbox" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+            // Not started, so the outbox table is missing and every insert fails
+            JdbcEventOutbox outbox = new JdbcEventOutbox(dataSource, ShardRouter.singleShard(
+                    new DataSourceTransactionManager(dataSource)), new ObjectMapper());
+            TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+            assertThrows(DataAccessException.class, () -> transaction.executeWithoutResult(status -> {
+                recorder.record(response(1, 7, 70));
+                outbox.append(OutboxEventType.VOTE_CAST, 7L, Map.of("userId", 1L, "optionId", 70L));
+            }));
+
+            assertEquals(0, journal.getLastSequence());
+            assertFalse(recorder.hasPendingVote(1L, 7L));
+            assertFalse(recorder.hasPendingVotes(1L));
+            projector(journal, recorder).project();
+            verify(pollResponseRepository, never()).save(any());
+
+            outbox.start();
+            transaction.executeWithoutResult(status -> {
+                recorder.record(response(1, 7, 70));
+                outbox.append(OutboxEventType.VOTE_CAST, 7L, Map.of("userId", 1L, "optionId", 70L));
+            });
+            assertEquals(1, journal.getLastSequence());
+            assertTrue(recorder.hasPendingVote(1L, 7L));
+        }
+
+        @Test
+        @DisplayName("Should delete projected segments beyond those retained")
+        void shouldDeleteProjectedSegments() {
+            VoteJournal journal = open(4);
+            JournalVoteRecorder recorder = new JournalVoteRecorder(journal, false, null);
+            for (long user = 1; user <= 14; user++) {
+                recorder.record(response(user, 7, 70));
+            }
+            assertEquals(4, journal.segments().size());
+
+            projector(journal, recorder).project();
+
+            // Segments from 1, 5 and 9 are projected; the newest of them is kept, as is the active one
+            assertEquals(14, journal.readCheckpoint());
+            assertEquals(List.of(9L, 13L), List.copyOf(journal.segments().keySet()));
+            assertFalse(Files.exists(directory.resolve(String.format("%020d.journal", 1))));
+            assertEquals(9, journal.getFirstSequence());
+            assertThrows(VoteJournalException.class, () -> journal.read(5, 10));
+            assertEquals(List.of(9L, 10L), journal.read(9, 2).stream().map(VoteRecord::sequence).toList());
+
+            reopen();
+            VoteJournal reopened = open(4);
+            assertEquals(9, reopened.getFirstSequence());
+            assertEquals(15, reopened.append(15, 7, 70, 0));
+            assertTrue(new JournalVoteRecorder(reopened, false, null).hasPendingVote(15L, 7L));
+        }
+
+        @Test
+        @DisplayName("Should keep segments that are not fully projected")
+        void shouldKeepUnprojectedSegments() {
+            VoteJournal journal = open(4);
+            for (long i = 1; i <= 10; i++) {
+                journal.append(i, 7, 70, 0);
+            }
+
+            assertEquals(0, journal.deleteProjectedSegments(3, 0));
+            assertEquals(1, journal.deleteProjectedSegments(7, 0));
+            assertEquals(List.of(5L, 9L), List.copyOf(journal.segments().keySet()));
+            // The active segment stays even when every record in it is projected
+            assertEquals(1, journal.deleteProjectedSegments(10, 0));
+            assertEquals(List.of(9L), List.copyOf(journal.segments().keySet()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Replay Tests")
+    class ReplayTests {
+
+        @Test
+        @DisplayName("Should count only the first vote of each user per poll across segments")
+        void shouldCountFirstVotes() {
+            VoteJournal journal = open(3);
+            journal.append(1, 7, 70, 0);
+            journal.append(2, 7, 71, 0);
+            journal.append(3, 7, 70, 0);
+            journal.append(1, 7, 71, 0);
+            journal.append(1, 8, 80, 0);
+            journal.append(2, 7, 70, 0);
+            journal.append(4, 7, 71, 0);
+
+            VoteJournalReplayer replayer = new VoteJournalReplayer(journal, null, null, null, null);
+
+            assertEquals(Map.of(70L, 2L, 71L, 2L, 80L, 1L), replayer.countVotes(3));
+        }
+
+        @Test
+        @DisplayName("Should apply every record through the projector, split by poll")
+        void shouldReplayByPoll() {
+            VoteJournal journal = open(4);
+            for (long i = 1; i <= 9; i++) {
+                journal.append(i, i % 3, 1, 0);
+            }
+            VoteJournalProjector projector = mock(VoteJournalProjector.class);
+            List<Long> seen = new ArrayList<>();
+            when(projector.apply(any())).thenAnswer(invocation -> {
+                List<VoteRecord> records = invocation.getArgument(0);
+                assertEquals(1, records.stream().map(VoteRecord::pollId).distinct().count());
+                synchronized (seen) {
+                    records.forEach(record -> seen.add(record.sequence()));
+                }
+                return records.size();
+            });
+
+            long applied = new VoteJournalReplayer(journal, projector, null, null, null).replayResponses(4, 3);
+
+            assertEquals(6, applied);
+            assertEquals(List.of(4L, 5L, 6L, 7L, 8L, 9L), seen.stream().sorted().toList());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.polling.app.lifecycle;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HierarchicalTimingWheel Unit Tests")
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+    private static final long TICK = 100L;
+
+    private HierarchicalTimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        // 8 slots x 3 levels covers 512 ticks before overflow
+        wheel = new HierarchicalTimingWheel<>(TICK, 8, 3, START);
+    }
+
+    @Nested
+    @DisplayName("Expiry Tests")
+    class ExpiryTests {
+
+        @Test
+        @DisplayName("Should expire timer on the first tick at or after its deadline")
+        void shouldExpireTimerAtDeadline() {
+            wheel.schedule("poll-1", START + 450);
+
+            assertTrue(wheel.advanceTo(START + 400).isEmpty());
+            assertEquals(List.of("poll-1"), wheel.advanceTo(START + 500));
+            assertEquals(0, wheel.size());
+        }
+
+        @Test
+        @DisplayName("Should expire past deadlines on the next advance")
+        void shouldExpirePastDeadlinesImmediately() {
+            wheel.advanceTo(START + 1_000);
+            wheel.schedule("late", START + 10);
+
+            assertEquals(List.of("late"), wheel.advanceTo(START + 1_000));
+        }
+
+        @Test
+        @DisplayName("Should cascade timers from higher levels")
+        void shouldCascadeTimersFromHigherLevels() {
+            wheel.schedule("level-1", START + 20 * TICK);
+            wheel.schedule("level-2", START + 200 * TICK);
+
+            assertTrue(wheel.advanceTo(START + 19 * TICK).isEmpty());
+            assertEquals(List.of("level-1"), wheel.advanceTo(START + 20 * TICK));
+            assertTrue(wheel.advanceTo(START + 199 * TICK).isEmpty());
+            assertEquals(List.of("level-2"), wheel.advanceTo(START + 200 * TICK));
+        }
+
+        @Test
+        @DisplayName("Should hold deadlines beyond the wheel range in overflow")
+        void shouldHandleOverflowDeadlines() {
+            wheel.schedule("far", START + 2_000 * TICK);
+
+            assertTrue(wheel.advanceTo(START + 1_999 * TICK).isEmpty());
+            assertEquals(List.of("far"), wheel.advanceTo(START + 2_000 * TICK));
+        }
+
+        @Test
+        @DisplayName("Should fire every random timer exactly once and never early")
+        void shouldFireRandomTimersExactlyOnce() {
+            Random random = new Random(42);
+            List<Long> deadlines = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                long deadline = START + random.nextInt(3_000 * (int) TICK);
+                deadlines.add(deadline);
+                wheel.schedule("t" + i, deadline);
+            }
+
+            List<String> fired = new ArrayList<>();
+            for (long now = START; now <= START + 3_000 * TICK; now += 7 * TICK) {
+                for (String key : wheel.advanceTo(now)) {
+                    long deadline = deadlines.get(Integer.parseInt(key.substring(1)));
+                    assertTrue(deadline <= now, "Timer " + key + " fired early");
+                    assertTrue(now - deadline < 8 * TICK, "Timer " + key + " fired late");
+                    fired.add(key);
+                }
+            }
+            fired.addAll(wheel.advanceTo(START + 3_100 * TICK));
+
+            assertEquals(2_000, fired.size());
+            assertEquals(2_000, fired.stream().distinct().count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Cancellation Tests")
+    class CancellationTests {
+
+        @Test
+        @DisplayName("Should not fire cancelled timers")
+        void shouldNotFireCancelledTimers() {
+            wheel.schedule("poll-1", START + 300);
+
+            assertTrue(wheel.cancel("poll-1"));
+            assertFalse(wheel.cancel("poll-1"));
+            assertTrue(wheel.advanceTo(START + 1_000).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should replace the deadline when rescheduling a key")
+        void shouldReplaceDeadlineOnReschedule() {
+            wheel.schedule("poll-1", START + 300);
+            wheel.schedule("poll-1", START + 900);
+
+            assertEquals(1, wheel.size());
+            assertTrue(wheel.advanceTo(START + 800).isEmpty());
+            assertEquals(List.of("poll-1"), wheel.advanceTo(START + 900));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject wheel sizes that are not powers of two")
+    void shouldRejectInvalidWheelSize() {
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<String>(TICK, 10, 3, START));
+    }
+}
@@ -0,0 +1,127 @@
+package com.polling.app.lifecycle;
+
+import com.polling.app.cache.CacheInvalidationBus;
+import com.polling.app.entity.Poll;
+import com.polling.app.repository.PollRepository;
+import com.polling.app.sharding.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("PollLifecycleScheduler Unit Tests")
+class PollLifecycleSchedulerTest {
+
+    private final PollRepository pollRepository = mock(PollRepository.class);
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    private PollLifecycleScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        when(shardRouter.onShard(anyInt(), any())).thenAnswer(call -> ((Supplier<?>) call.getArgument(1)).get());
+        scheduler = new PollLifecycleScheduler(pollRepository, mock(ApplicationEventPublisher.class), shardRouter,
+                new CacheInvalidationBus("node-1", null, null), 10, 8, 3, 500);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Poll poll(boolean active, boolean awaitingStart, LocalDateTime startsAt, LocalDateTime endsAt) {
+        Poll poll = new Poll();
+        poll.setId(7L);
+        poll.setIsActive(active);
+        poll.setAwaitingStart(awaitingStart);
+        poll.setStartsAt(startsAt);
+        poll.setEndsAt(endsAt);
+        return poll;
+    }
+
+    @Nested
+    @DisplayName("Tracking Tests")
+    class TrackingTests {
+
+        @Test
+        @DisplayName("Should open a pending poll whose start time has already passed")
+        void shouldOpenOverduePendingPoll() {
+            LocalDateTime startsAt = LocalDateTime.now().minusMinutes(1);
+            when(pollRepository.findIdsDueForOpen(eq(List.of(7L)), any())).thenReturn(List.of(7L));
+            when(pollRepository.openPolls(eq(List.of(7L)), any())).thenReturn(1);
+
+            scheduler.track(poll(false, true, startsAt, null));
+            scheduler.tick();
+            verify(pollRepository).openPolls(eq(List.of(7L)), any());
+        }
+
+        @Test
+        @DisplayName("Should not schedule a start for a poll an admin closed")
+        void shouldNotOpenClosedPoll() {
+            scheduler.track(poll(false, false, LocalDateTime.now().plusHours(1), null));
+
+            assertEquals(0, scheduler.pendingTransitions());
+        }
+
+        @Test
+        @DisplayName("Should replace the close timer when an active poll becomes pending")
+        void shouldReplaceCloseWithOpen() {
+            LocalDateTime startsAt = LocalDateTime.now().plusHours(1);
+            LocalDateTime endsAt = startsAt.plusHours(1);
+            scheduler.track(poll(true, false, null, endsAt));
+
+            scheduler.track(poll(false, true, startsAt, endsAt));
+
+            assertEquals(1, scheduler.pendingTransitions());
+            scheduler.untrack(7L);
+            assertEquals(0, scheduler.pendingTransitions());
+        }
+    }
+
+    @Nested
+    @DisplayName("Transaction Tests")
+    class TransactionTests {
+
+        @Test
+        @DisplayName("Should arm timers only once the transaction commits")
+        void shouldTrackAfterCommit() {
+            TransactionSynchronizationManager.initSynchronization();
+
+            scheduler.trackAfterCommit(poll(true, false, null, LocalDateTime.now().plusHours(1)));
+            assertEquals(0, scheduler.pendingTransitions());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1, scheduler.pendingTransitions());
+        }
+
+        @Test
+        @DisplayName("Should keep timers of a change that rolls back")
+        void shouldNotUntrackOnRollback() {
+            scheduler.track(poll(true, false, null, LocalDateTime.now().plusHours(1)));
+            TransactionSynchronizationManager.initSynchronization();
+
+            scheduler.untrackAfterCommit(7L);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            assertEquals(1, scheduler.pendingTransitions());
+        }
+    }
+}
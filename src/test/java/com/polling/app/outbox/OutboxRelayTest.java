@@ -0,0 +1,179 @@
+package com.polling.app.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polling.app.sharding.ShardRouter;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Outbox Tests")
+class OutboxRelayTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private DataSource dataSource;
+    private ShardRouter shardRouter;
+    private TransactionTemplate transaction;
+    private JdbcEventOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:outbox" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        shardRouter = ShardRouter.singleShard(transactionManager);
+        transaction = new TransactionTemplate(transactionManager);
+        outbox = new JdbcEventOutbox(dataSource, shardRouter, objectMapper);
+        outbox.start();
+    }
+
+    private OutboxRelay relay(OutboxSink sink, int batchSize, long backoffMillis, SimpleMeterRegistry registry) {
+        return new OutboxRelay(dataSource, shardRouter, sink, batchSize, backoffMillis, backoffMillis, registry);
+    }
+
+    private void appendVotes(int count) {
+        for (int i = 0; i < count; i++) {
+            outbox.append(OutboxEventType.VOTE_CAST, 1L, Map.of("userId", (long) i, "optionId", 10L));
+        }
+    }
+
+    private long pending() {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM outbox_events", Long.class);
+    }
+
+    @Nested
+    @DisplayName("Relay Tests")
+    class RelayTests {
+
+        @Test
+        @DisplayName("Should store events only when the surrounding transaction commits")
+        void shouldStoreEventsWithTransaction() {
+            transaction.executeWithoutResult(status -> {
+                outbox.append(OutboxEventType.POLL_DELETED, 1L, Map.of());
+                status.setRollbackOnly();
+            });
+            transaction.executeWithoutResult(status -> outbox.append(OutboxEventType.POLL_DEACTIVATED, 2L, Map.of()));
+
+            assertEquals(1L, pending());
+        }
+
+        @Test
+        @DisplayName("Should deliver events in order in batches and empty the outbox")
+        void shouldDeliverInOrderedBatches() {
+            appendVotes(5);
+            List<List<OutboxEvent>> batches = new ArrayList<>();
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+            int delivered = relay(batches::add, 2, 10, registry).relay();
+
+            assertEquals(5, delivered);
+            assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+            List<Long> ids = batches.stream().flatMap(List::stream).map(OutboxEvent::id).toList();
+            assertEquals(ids.stream().sorted().toList(), ids);
+            assertEquals(0L, pending());
+            assertEquals(5.0, registry.get("polling.outbox.events").tag("outcome", "published").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should keep failed batches, back off and redeliver them with the same event IDs")
+        void shouldRedeliverAfterFailure() throws InterruptedException {
+            appendVotes(3);
+            List<OutboxEvent> attempted = new ArrayList<>();
+            List<OutboxEvent> delivered = new ArrayList<>();
+            AtomicInteger failuresLeft = new AtomicInteger(1);
+            OutboxRelay relay = relay(events -> {
+                attempted.addAll(events);
+                if (failuresLeft.getAndDecrement() > 0) {
+                    throw new IOException("sink unavailable");
+                }
+                delivered.addAll(events);
+            }, 10, 200, null);
+
+            assertEquals(0, relay.relay());
+            assertEquals(3L, pending());
+            assertEquals(0, relay.relay(), "should back off after a failure");
+            assertEquals(3, attempted.size());
+
+            Thread.sleep(250);
+            assertEquals(3, relay.relay());
+
+            assertEquals(attempted.subList(0, 3).stream().map(OutboxEvent::eventId).toList(),
+                    delivered.stream().map(OutboxEvent::eventId).toList());
+            assertEquals(0L, pending());
+        }
+    }
+
+    @Nested
+    @DisplayName("Sink Tests")
+    class SinkTests {
+
+        @Test
+        @DisplayName("Should append events to the file as JSON lines")
+        void shouldWriteJsonLines(@TempDir Path directory) throws IOException {
+            Path file = directory.resolve("events/events.jsonl");
+            appendVotes(2);
+
+            relay(new FileOutboxSink(file, objectMapper), 10, 10, null).relay();
+
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(2, lines.size());
+            JsonNode event = objectMapper.readTree(lines.get(1));
+            assertEquals("VOTE_CAST", event.get("type").asText());
+            assertEquals(1L, event.get("data").get("userId").asLong());
+            assertEquals(36, event.get("eventId").asText().length());
+            assertNull(event.get("id"));
+        }
+
+        @Test
+        @DisplayName("Should post batches to the webhook and fail on error responses")
+        void shouldPostToWebhook() throws IOException {
+            List<JsonNode> bodies = new ArrayList<>();
+            AtomicInteger status = new AtomicInteger(503);
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            server.createContext("/events", exchange -> {
+                bodies.add(objectMapper.readTree(exchange.getRequestBody()));
+                exchange.sendResponseHeaders(status.get(), -1);
+                exchange.close();
+            });
+            server.start();
+            try {
+                URI url = URI.create("http://localhost:" + server.getAddress().getPort() + "/events");
+                OutboxRelay relay = relay(new WebhookOutboxSink(url, Duration.ofSeconds(2), objectMapper), 10, 0, null);
+                appendVotes(2);
+
+                assertEquals(0, relay.relay());
+                status.set(204);
+                assertEquals(2, relay.relay());
+
+                assertEquals(2, bodies.size());
+                assertEquals(bodies.get(0), bodies.get(1));
+                assertEquals(2, bodies.get(1).get("events").size());
+            } finally {
+                server.stop(0);
+            }
+        }
+    }
+}
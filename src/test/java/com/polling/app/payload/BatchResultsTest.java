@@ -0,0 +1,152 @@
+package com.polling.app.payload;
+
+import com.polling.app.EmbeddedProfileTest;
+import com.polling.app.entity.Admin;
+import com.polling.app.entity.Poll;
+import com.polling.app.entity.User;
+import com.polling.app.service.PollService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Batch Results Tests")
+class BatchResultsTest extends EmbeddedProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PollService pollService;
+
+    private final List<Poll> polls = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Admin admin = createAdmin();
+
+        polls.clear();
+        for (int i = 1; i <= 3; i++) {
+            Poll poll = new Poll();
+            poll.setTitle("Question " + i);
+            polls.add(pollService.createPoll(admin.getId(), poll, List.of("Yes", "No", "Maybe")));
+        }
+        vote(polls.get(0), 1);
+        vote(polls.get(0), 1);
+        vote(polls.get(1), 2);
+    }
+
+    private void vote(Poll poll, int option) {
+        User user = createUser();
+        Long optionId = pollService.getPollOptions(poll.getId()).stream()
+                .sorted((a, b) -> a.getId().compareTo(b.getId()))
+                .toList().get(option).getId();
+        pollService.submitVote(user.getId(), poll.getId(), optionId);
+    }
+
+    private ResultActions batch(Object... pollIds) throws Exception {
+        String ids = List.of(pollIds).stream().map(String::valueOf).collect(Collectors.joining(","));
+        return mockMvc.perform(post("/api/user/polls/results:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"pollIds\":[" + ids + "]}"));
+    }
+
+    private long statementsFor(ThrowingRunnable request) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        request.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    @Nested
+    @DisplayName("Results Tests")
+    class ResultsTests {
+
+        @Test
+        @DisplayName("Should answer like the single results endpoint")
+        void shouldMatchSingleResults() throws Exception {
+            Long first = polls.get(0).getId();
+            String single = mockMvc.perform(get("/api/user/polls/" + first + "/results"))
+                    .andReturn().getResponse().getContentAsString();
+
+            batch(first, polls.get(1).getId(), Long.MAX_VALUE)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$['" + first + "'].totalVotes").value(2))
+                    .andExpect(jsonPath("$['" + first + "'].options[0].voteCount").value(2))
+                    .andExpect(jsonPath("$['" + polls.get(1).getId() + "'].totalVotes").value(1))
+                    .andExpect(jsonPath("$['" + Long.MAX_VALUE + "']").doesNotExist());
+            assertTrue(single.contains("\"totalVotes\":2"), single);
+        }
+
+        @Test
+        @DisplayName("Should read every poll with one statement")
+        void shouldReadWithOneStatement() throws Exception {
+            List<Long> pollIds = polls.stream().map(Poll::getId).toList();
+
+            long statements = statementsFor(() -> batch(pollIds.toArray()).andExpect(status().isOk()));
+
+            assertEquals(1, statements);
+        }
+
+        @Test
+        @DisplayName("Should reject an empty batch")
+        void shouldRejectEmptyBatch() throws Exception {
+            batch().andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Cache Tests")
+    class CacheTests {
+
+        @Test
+        @DisplayName("Should serve a repeated batch from memory")
+        void shouldServeCachedResults() throws Exception {
+            Object[] pollIds = polls.stream().map(Poll::getId).toArray();
+            batch(pollIds).andExpect(status().isOk());
+
+            assertEquals(0, statementsFor(() -> batch(pollIds).andExpect(status().isOk())));
+        }
+
+        @Test
+        @DisplayName("Should read only the polls voted on since")
+        void shouldReadOnlyMisses() throws Exception {
+            Object[] pollIds = polls.stream().map(Poll::getId).toArray();
+            batch(pollIds).andExpect(status().isOk());
+
+            vote(polls.get(2), 0);
+
+            assertEquals(1, statementsFor(() -> batch(pollIds)
+                    .andExpect(jsonPath("$['" + polls.get(2).getId() + "'].totalVotes").value(1))
+                    .andExpect(jsonPath("$['" + polls.get(0).getId() + "'].totalVotes").value(2))));
+        }
+
+        @Test
+        @DisplayName("Should reuse results read by the single endpoint")
+        void shouldReuseSingleResults() throws Exception {
+            Long first = polls.get(0).getId();
+            mockMvc.perform(get("/api/user/polls/" + first + "/results")).andExpect(status().isOk());
+
+            assertEquals(0, statementsFor(() -> batch(first).andExpect(status().isOk())));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.polling.app.payload;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.polling.app.EmbeddedProfileTest;
+import com.polling.app.entity.Admin;
+import com.polling.app.entity.Poll;
+import com.polling.app.entity.User;
+import com.polling.app.service.PollService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Binary Format Tests")
+class BinaryFormatTest extends EmbeddedProfileTest {
+
+    private static final String SMILE = PayloadFormat.SMILE.getMediaType().toString();
+    private static final String CBOR = PayloadFormat.CBOR.getMediaType().toString();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PollService pollService;
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+    private Poll poll;
+
+    @BeforeEach
+    void setUp() {
+        Admin admin = createAdmin();
+
+        Poll newPoll = new Poll();
+        newPoll.setTitle("Favourite season");
+        poll = pollService.createPoll(admin.getId(), newPoll, List.of("Summer", "Winter"));
+    }
+
+    @Nested
+    @DisplayName("Negotiation Tests")
+    class NegotiationTests {
+
+        @Test
+        @DisplayName("Should keep JSON for browsers and wildcards")
+        void shouldDefaultToJson() {
+            assertEquals(PayloadFormat.JSON, PayloadFormat.negotiate(null));
+            assertEquals(PayloadFormat.JSON, PayloadFormat.negotiate("*/*"));
+            assertEquals(PayloadFormat.JSON, PayloadFormat.negotiate("application/json, text/plain, */*"));
+            assertEquals(PayloadFormat.JSON, PayloadFormat.negotiate(SMILE + ";q=0.5, application/json"));
+            assertEquals(PayloadFormat.JSON, PayloadFormat.negotiate("not a media type"));
+        }
+
+        @Test
+        @DisplayName("Should pick a binary format the client prefers")
+        void shouldPickBinaryFormat() {
+            assertEquals(PayloadFormat.SMILE, PayloadFormat.negotiate(SMILE));
+            assertEquals(PayloadFormat.CBOR, PayloadFormat.negotiate("application/json;q=0.9, " + CBOR));
+        }
+    }
+
+    @Nested
+    @DisplayName("Endpoint Tests")
+    class EndpointTests {
+
+        @Test
+        @DisplayName("Should send the active polls in Smile with their own ETag")
+        void shouldSendActivePollsInSmile() throws Exception {
+            MockHttpServletResponse response = mockMvc.perform(get("/api/user/polls/active").accept(SMILE))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(SMILE))
+                    .andReturn().getResponse();
+
+            JsonNode polls = smileMapper.readTree(response.getContentAsByteArray());
+            assertTrue(polls.findValuesAsText("title").contains("Favourite season"));
+            String etag = response.getHeader(HttpHeaders.ETAG);
+            String jsonEtag = mockMvc.perform(get("/api/user/polls/active"))
+                    .andExpect(content().contentType("application/json"))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            assertNotEquals(jsonEtag, etag);
+            mockMvc.perform(get("/api/user/polls/active").accept(SMILE).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified());
+        }
+
+        @Test
+        @DisplayName("Should accept a vote in Smile and send results in CBOR")
+        void shouldVoteInSmileAndReadCbor() throws Exception {
+            Long optionId = pollService.getPollOptions(poll.getId()).get(0).getId();
+            byte[] vote = smileMapper.writeValueAsBytes(Map.of("optionId", optionId));
+            User user = createUser();
+
+            byte[] answer = mockMvc.perform(post("/api/user/" + user.getId() + "/polls/" + poll.getId() + "/vote")
+                            .contentType(SMILE).accept(SMILE).content(vote))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(SMILE))
+                    .andReturn().getResponse().getContentAsByteArray();
+            JsonNode submitted = smileMapper.readTree(answer);
+            assertEquals("Vote submitted successfully", submitted.get("message").asText());
+            // Written with Spring Boot's Jackson settings, like the JSON body
+            assertTrue(submitted.get("response").get("responseDate").isTextual());
+
+            byte[] results = mockMvc.perform(get("/api/user/polls/" + poll.getId() + "/results").accept(CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(CBOR))
+                    .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                    .andReturn().getResponse().getContentAsByteArray();
+            assertEquals(1, cborMapper.readTree(results).get("totalVotes").asInt());
+        }
+
+        @Test
+        @DisplayName("Should validate binary request bodies like JSON ones")
+        void shouldValidateBinaryBodies() throws Exception {
+            byte[] vote = smileMapper.writeValueAsBytes(Map.of("optionId", -1));
+            User user = createUser();
+
+            mockMvc.perform(post("/api/user/" + user.getId() + "/polls/" + poll.getId() + "/vote")
+                            .contentType(SMILE).accept("application/json").content(vote))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errorCode").exists());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.polling.app.payload;
+
+import com.polling.app.EmbeddedProfileTest;
+import com.polling.app.entity.Admin;
+import com.polling.app.entity.Poll;
+import com.polling.app.entity.User;
+import com.polling.app.service.PollService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Conditional GET Tests")
+class ConditionalGetTest extends EmbeddedProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PollService pollService;
+
+    private Poll poll;
+
+    @BeforeEach
+    void setUp() {
+        Admin admin = createAdmin();
+
+        Poll newPoll = new Poll();
+        newPoll.setTitle("Favourite season");
+        poll = pollService.createPoll(admin.getId(), newPoll, List.of("Summer", "Winter"));
+    }
+
+    private void vote() {
+        User user = createUser();
+        pollService.submitVote(user.getId(), poll.getId(), pollService.getPollOptions(poll.getId()).get(0).getId());
+    }
+
+    private String etagOf(String url) throws Exception {
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private long statementsFor(String url, String etag) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+        return statistics.getPrepareStatementCount() + statistics.getSecondLevelCacheHitCount();
+    }
+
+    @Nested
+    @DisplayName("Not Modified Tests")
+    class NotModifiedTests {
+
+        @Test
+        @DisplayName("Should answer 304 without touching the database")
+        void shouldAnswerFromVersionTable() throws Exception {
+            for (String url : List.of("/api/user/polls/active", "/api/user/polls/" + poll.getId(),
+                    "/api/user/polls/" + poll.getId() + "/options", "/api/user/polls/" + poll.getId() + "/results")) {
+                String etag = etagOf(url);
+                assertEquals(0, statementsFor(url, etag), url);
+            }
+        }
+
+        @Test
+        @DisplayName("Should send new results once a vote is cast")
+        void shouldChangeResultsWithVotes() throws Exception {
+            String url = "/api/user/polls/" + poll.getId() + "/results";
+            String pollUrl = "/api/user/polls/" + poll.getId();
+            String etag = etagOf(url);
+            String pollEtag = etagOf(pollUrl);
+
+            vote();
+
+            String changed = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalVotes").value(1))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            assertNotEquals(etag, changed);
+            // The poll itself has not changed, so its ETag still matches after reading it again
+            mockMvc.perform(get(pollUrl).header(HttpHeaders.IF_NONE_MATCH, pollEtag))
+                    .andExpect(status().isNotModified());
+        }
+
+        @Test
+        @DisplayName("Should send the listing again once a poll changes")
+        void shouldChangeListingWithPolls() throws Exception {
+            String url = "/api/user/polls/active";
+            String etag = etagOf(url);
+
+            pollService.deactivatePoll(poll.getId());
+
+            mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+        }
+    }
+}
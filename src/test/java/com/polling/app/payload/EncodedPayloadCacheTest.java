@@ -0,0 +1,184 @@
+package com.polling.app.payload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polling.app.entity.Admin;
+import com.polling.app.entity.Poll;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EncodedPayloadCache Tests")
+class EncodedPayloadCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimpleMeterRegistry registry;
+
+    /**
+     * Counts how often it is serialized.
+     */
+    static class Body {
+
+        private final AtomicInteger serializations;
+        private final String text;
+
+        Body(AtomicInteger serializations, String text) {
+            this.serializations = serializations;
+            this.text = text;
+        }
+
+        public String getText() {
+            serializations.incrementAndGet();
+            return text;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    private EncodedPayloadCache cache(boolean enabled) {
+        PayloadCacheProperties properties = new PayloadCacheProperties();
+        properties.setEnabled(enabled);
+        return new EncodedPayloadCache(objectMapper, properties, registry);
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Nested
+    @DisplayName("Encoding Tests")
+    class EncodingTests {
+
+        @Test
+        @DisplayName("Should serialize a body once per version")
+        void shouldSerializeOncePerVersion() {
+            EncodedPayloadCache cache = cache(true);
+            AtomicInteger serializations = new AtomicInteger();
+
+            ResponseEntity<byte[]> first = cache.respond("poll:1", 1L, new Body(serializations, "one"), null);
+            ResponseEntity<byte[]> second = cache.respond("poll:1", 1L, new Body(serializations, "one"), null);
+
+            assertEquals(1, serializations.get());
+            assertSame(first.getBody(), second.getBody());
+            assertEquals("{\"text\":\"one\"}", new String(second.getBody(), StandardCharsets.UTF_8));
+            assertEquals(1.0, registry.get("cache.gets").tags("cache", "poll-payloads", "result", "hit")
+                    .functionCounter().count());
+        }
+
+        @Test
+        @DisplayName("Should encode again once the version changes")
+        void shouldEncodeNewVersion() {
+            EncodedPayloadCache cache = cache(true);
+            AtomicInteger serializations = new AtomicInteger();
+            cache.respond("poll:1", 1L, new Body(serializations, "one"), null);
+
+            ResponseEntity<byte[]> changed = cache.respond("poll:1", 2L, new Body(serializations, "two"), null);
+
+            assertEquals(2, serializations.get());
+            assertEquals("{\"text\":\"two\"}", new String(changed.getBody(), StandardCharsets.UTF_8));
+        }
+
+        @Test
+        @DisplayName("Should serialize every response when disabled")
+        void shouldSerializeEveryResponseWhenDisabled() {
+            EncodedPayloadCache cache = cache(false);
+            AtomicInteger serializations = new AtomicInteger();
+
+            cache.respond("poll:1", 1L, new Body(serializations, "one"), null);
+            ResponseEntity<byte[]> second = cache.respond("poll:1", 1L, new Body(serializations, "one"), "gzip");
+
+            assertEquals(2, serializations.get());
+            assertNull(second.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        }
+
+        @Test
+        @DisplayName("Should version polls by their stamps")
+        void shouldVersionPollsByStamps() {
+            Admin admin = new Admin();
+            admin.setId(7L);
+            admin.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+            Poll poll = new Poll();
+            poll.setId(1L);
+            poll.setAdmin(admin);
+            poll.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 0, 0));
+            List<PollStamp> before = PollStamp.of(List.of(poll));
+
+            assertEquals(before, PollStamp.of(List.of(poll)));
+            poll.setIsActive(false);
+            assertNotEquals(before, PollStamp.of(List.of(poll)));
+            assertNotEquals(before, List.of());
+        }
+    }
+
+    @Nested
+    @DisplayName("Content Encoding Tests")
+    class ContentEncodingTests {
+
+        private final String text = "A long description that compresses well. ".repeat(20);
+
+        @Test
+        @DisplayName("Should send the gzip body to clients that accept it")
+        void shouldSendGzipBody() throws IOException {
+            EncodedPayloadCache cache = cache(true);
+
+            ResponseEntity<byte[]> response = cache.respond("poll:1", 1L,
+                    new Body(new AtomicInteger(), text), "gzip, deflate, br");
+
+            assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+            assertTrue(response.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+            assertEquals("{\"text\":\"" + text + "\"}", gunzip(response.getBody()));
+        }
+
+        @Test
+        @DisplayName("Should give the gzip body its own ETag")
+        void shouldTagGzipBodySeparately() {
+            EncodedPayloadCache cache = cache(true);
+            Body body = new Body(new AtomicInteger(), text);
+
+            assertEquals("\"poll-1-abc-gzip\"", cache.respond("poll:1", 1L, body, "gzip", "\"poll-1-abc\"")
+                    .getHeaders().getETag());
+            assertEquals("\"poll-1-abc\"", cache.respond("poll:1", 1L, body, null, "\"poll-1-abc\"")
+                    .getHeaders().getETag());
+        }
+
+        @Test
+        @DisplayName("Should send plain JSON to other clients")
+        void shouldSendPlainBody() {
+            EncodedPayloadCache cache = cache(true);
+            Body body = new Body(new AtomicInteger(), text);
+
+            assertNull(cache.respond("poll:1", 1L, body, null).getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+            assertNull(cache.respond("poll:1", 1L, body, "br").getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+            assertNull(cache.respond("poll:1", 1L, body, "gzip;q=0").getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        }
+
+        @Test
+        @DisplayName("Should parse Accept-Encoding")
+        void shouldParseAcceptEncoding() {
+            assertTrue(EncodedPayloadCache.acceptsGzip("gzip"));
+            assertTrue(EncodedPayloadCache.acceptsGzip("br, GZIP;q=0.8"));
+            assertTrue(EncodedPayloadCache.acceptsGzip("*"));
+            assertFalse(EncodedPayloadCache.acceptsGzip("gzip; q=0.0"));
+            assertFalse(EncodedPayloadCache.acceptsGzip("identity"));
+            assertFalse(EncodedPayloadCache.acceptsGzip(null));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.polling.app.payload;
+
+import com.polling.app.cache.CacheInvalidationEvent;
+import com.polling.app.cache.CacheRegions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PollVersionTable Tests")
+class PollVersionTableTest {
+
+    private static final long TRUST_MILLIS = 1000;
+
+    private final AtomicLong now = new AtomicLong(10_000);
+    private PollVersionTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = new PollVersionTable(TRUST_MILLIS, 1000, now::get);
+    }
+
+    private String recordResults(Long pollId, Object... parts) {
+        long changes = table.changeCount(pollId);
+        String etag = PollVersionTable.etag("results", pollId, List.of(parts));
+        table.record(pollId, "results", changes, etag);
+        return etag;
+    }
+
+    @Nested
+    @DisplayName("Conditional Request Tests")
+    class ConditionalRequestTests {
+
+        @Test
+        @DisplayName("Should answer 304 for the current ETag")
+        void shouldAnswerNotModified() {
+            String etag = recordResults(1L, "7=2", 2);
+
+            ResponseEntity<Object> response = table.notModified(1L, "results", "\"other\", W/" + etag);
+
+            assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+            assertEquals(etag, response.getHeaders().getETag());
+        }
+
+        @Test
+        @DisplayName("Should answer 304 for the gzip form of the current ETag")
+        void shouldAnswerNotModifiedForGzipEtag() {
+            String etag = recordResults(1L, "7=2", 2);
+            String gzipEtag = PollVersionTable.codedEtag(etag, "gzip");
+
+            ResponseEntity<Object> response = table.notModified(1L, "results", gzipEtag);
+
+            assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+            assertEquals(gzipEtag, response.getHeaders().getETag());
+        }
+
+        @Test
+        @DisplayName("Should need a read for other ETags and representations")
+        void shouldNeedReadOtherwise() {
+            recordResults(1L, "7=2", 2);
+
+            assertNull(table.notModified(1L, "results", "\"results-1-0\""));
+            assertNull(table.notModified(1L, "options", "*"));
+            assertNull(table.notModified(2L, "results", "*"));
+            assertNull(table.notModified(1L, "results", null));
+        }
+
+        @Test
+        @DisplayName("Should derive ETags from the content")
+        void shouldDeriveEtags() {
+            assertEquals(PollVersionTable.etag("results", 1L, List.of("7=2", 2)),
+                    PollVersionTable.etag("results", 1L, List.of("7=2", 2)));
+            assertNotEquals(PollVersionTable.etag("results", 1L, List.of("7=2", 2)),
+                    PollVersionTable.etag("results", 1L, List.of("7=3", 3)));
+            assertNotEquals(PollVersionTable.etag("results", 1L, List.of("7=2", 2)),
+                    PollVersionTable.etag("options", 1L, List.of("7=2", 2)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Change Tests")
+    class ChangeTests {
+
+        @Test
+        @DisplayName("Should forget an ETag once a vote commits")
+        void shouldForgetEtagAfterVote() {
+            recordResults(1L, "7=2", 2);
+
+            table.votesChangedAfterCommit(1L);
+
+            assertNull(table.etag(1L, "results"));
+        }
+
+        @Test
+        @DisplayName("Should not record data read while a write committed")
+        void shouldNotRecordRacingRead() {
+            long changes = table.changeCount(1L);
+            table.votesChangedAfterCommit(1L);
+
+            table.record(1L, "results", changes, "\"stale\"");
+
+            assertNull(table.etag(1L, "results"));
+        }
+
+        @Test
+        @DisplayName("Should change the listing with any poll")
+        void shouldChangeListingWithPoll() {
+            long changes = table.changeCount(PollVersionTable.ACTIVE_POLLS);
+            table.record(PollVersionTable.ACTIVE_POLLS, "polls", changes, "\"polls\"");
+            recordResults(1L, "7=2", 2);
+
+            table.votesChangedAfterCommit(1L);
+            assertEquals("\"polls\"", table.etag(PollVersionTable.ACTIVE_POLLS, "polls"));
+
+            table.pollChangedAfterCommit(2L);
+            assertNull(table.etag(PollVersionTable.ACTIVE_POLLS, "polls"));
+        }
+
+        @Test
+        @DisplayName("Should apply invalidations from other nodes")
+        void shouldApplyRemoteInvalidations() {
+            recordResults(1L, "7=2", 2);
+            recordResults(2L, "9=0", 0);
+
+            table.onInvalidation(new CacheInvalidationEvent("node-2", 1, CacheRegions.POLLS, 1L, 0));
+            assertNull(table.etag(1L, "results"));
+            assertNotNull(table.etag(2L, "results"));
+
+            table.onInvalidation(new CacheInvalidationEvent("node-2", 2, CacheRegions.ADMINS, 5L, 0));
+            assertNull(table.etag(2L, "results"));
+        }
+
+        @Test
+        @DisplayName("Should trust an ETag only for a while")
+        void shouldExpireEtags() {
+            String etag = recordResults(1L, "7=2", 2);
+
+            now.addAndGet(TRUST_MILLIS - 1);
+            assertEquals(etag, table.etag(1L, "results"));
+            now.incrementAndGet();
+            assertNull(table.etag(1L, "results"));
+        }
+
+        @Test
+        @DisplayName("Should not record data against an entry that replaced a dropped one")
+        void shouldNotRecordAcrossEntries() {
+            long changes = table.changeCount(1L);
+            table.forgetAfterCommit(1L);
+            table.changeCount(1L);
+
+            table.record(1L, "results", changes, "\"stale\"");
+
+            assertNull(table.etag(1L, "results"));
+        }
+
+        @Test
+        @DisplayName("Should stop answering when the data changes by itself")
+        void shouldExpireAtValidUntil() {
+            long changes = table.changeCount(PollVersionTable.ACTIVE_POLLS);
+            table.record(PollVersionTable.ACTIVE_POLLS, "polls", changes, "\"polls\"", now.get() + 10);
+
+            now.addAndGet(10);
+
+            assertNull(table.etag(PollVersionTable.ACTIVE_POLLS, "polls"));
+        }
+    }
+}
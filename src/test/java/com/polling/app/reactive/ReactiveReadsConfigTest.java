@@ -0,0 +1,34 @@
+package com.polling.app.reactive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReactiveReadsConfig Tests")
+class ReactiveReadsConfigTest {
+
+    @Test
+    @DisplayName("Should start with the direct counter on one database")
+    void shouldAcceptDefaults() {
+        assertDoesNotThrow(() -> ReactiveReadsConfig.checkSupported(new MockEnvironment()
+                .withProperty("app.votes.counter-mode", "direct")
+                .withProperty("app.sharding.enabled", "false")));
+    }
+
+    @Test
+    @DisplayName("Should refuse to start when votes are counted or stored elsewhere")
+    void shouldRefuseUnsupportedModes() {
+        Map<String, String> unsupported = Map.of("app.votes.counter-mode", "crdt", "app.sharding.enabled", "true",
+                "app.votes.journal.enabled", "true", "app.warm-state.enabled", "true");
+
+        unsupported.forEach((property, value) -> {
+            IllegalStateException error = assertThrows(IllegalStateException.class,
+                    () -> ReactiveReadsConfig.checkSupported(new MockEnvironment().withProperty(property, value)));
+            assertTrue(error.getMessage().contains(property + "=" + value));
+        });
+    }
+}
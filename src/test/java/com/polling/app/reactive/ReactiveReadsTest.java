@@ -0,0 +1,141 @@
+package com.polling.app.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@SpringBootTest(classes = ReactiveReadsApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.main.web-application-type=reactive",
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactive-reads;DB_CLOSE_DELAY=-1",
+                "spring.r2dbc.username=sa",
+                "spring.r2dbc.password=",
+                "app.reactive-reads.fetch-size=4"
+        })
+@ActiveProfiles(ReactiveReadsApplication.PROFILE)
+@DisplayName("Reactive Read Service Tests")
+class ReactiveReadsTest {
+
+    private static final List<String> SCHEMA = List.of(
+            "DROP ALL OBJECTS",
+            "CREATE TABLE admins (id BIGINT AUTO_INCREMENT PRIMARY KEY, username VARCHAR(50), email VARCHAR(100), "
+                    + "password VARCHAR(255), first_name VARCHAR(50), last_name VARCHAR(50), "
+                    + "created_at TIMESTAMP, updated_at TIMESTAMP)",
+            "CREATE TABLE polls (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(200), description TEXT, "
+                    + "is_active BOOLEAN NOT NULL, created_at TIMESTAMP, updated_at TIMESTAMP, starts_at TIMESTAMP, "
+                    + "ends_at TIMESTAMP, admin_id BIGINT NOT NULL)",
+            "CREATE TABLE poll_options (id BIGINT AUTO_INCREMENT PRIMARY KEY, option_text VARCHAR(255), "
+                    + "vote_count INT NOT NULL, created_at TIMESTAMP, poll_id BIGINT NOT NULL)",
+            "CREATE TABLE poll_responses (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT, poll_id BIGINT, "
+                    + "poll_option_id BIGINT)",
+            "INSERT INTO admins VALUES (1, 'ada', 'ada@example.com', 'secret-hash', 'Ada', 'Admin', "
+                    + "TIMESTAMP '2024-01-01 10:00:00', TIMESTAMP '2024-01-01 10:00:00')",
+            "INSERT INTO polls VALUES (1, 'Favourite colour', NULL, TRUE, TIMESTAMP '2024-01-02 10:00:00', "
+                    + "TIMESTAMP '2024-01-02 10:00:00', NULL, NULL, 1)",
+            "INSERT INTO polls VALUES (2, 'Closed poll', NULL, FALSE, NULL, NULL, NULL, NULL, 1)",
+            "INSERT INTO polls VALUES (3, 'Expired poll', NULL, TRUE, NULL, NULL, NULL, TIMESTAMP '2000-01-01 00:00:00', 1)",
+            "INSERT INTO poll_options VALUES (1, 'Red', 1, NULL, 1), (2, 'Green', 2, NULL, 1), (3, 'Blue', 0, NULL, 1)",
+            "INSERT INTO poll_responses VALUES (1, 1, 1, 2), (2, 2, 1, 2), (3, 3, 1, 1)");
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private PollReadRepository pollReadRepository;
+
+    @BeforeEach
+    void setUp() {
+        Flux.fromIterable(SCHEMA)
+                .concatMap(sql -> databaseClient.sql(sql).fetch().rowsUpdated())
+                .blockLast();
+    }
+
+    @Nested
+    @DisplayName("Endpoint Tests")
+    class EndpointTests {
+
+        @Test
+        @DisplayName("Should list only active, unexpired polls with their admin but not its password")
+        void shouldListActivePolls() {
+            webTestClient.get().uri("/api/user/polls/active").exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.length()").isEqualTo(1)
+                    .jsonPath("$[0].title").isEqualTo("Favourite colour")
+                    .jsonPath("$[0].isActive").isEqualTo(true)
+                    .jsonPath("$[0].createdAt").isEqualTo("2024-01-02T10:00:00")
+                    .jsonPath("$[0].admin.username").isEqualTo("ada")
+                    .jsonPath("$[0].admin.password").doesNotExist();
+        }
+
+        @Test
+        @DisplayName("Should return options by vote count and the poll's total votes")
+        void shouldReturnResults() {
+            webTestClient.get().uri("/api/user/polls/1/results").exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.totalVotes").isEqualTo(3)
+                    .jsonPath("$.options[0].optionText").isEqualTo("Green")
+                    .jsonPath("$.options[0].voteCount").isEqualTo(2)
+                    .jsonPath("$.options[2].optionText").isEqualTo("Blue");
+        }
+
+        @Test
+        @DisplayName("Should answer an unknown poll with the standard not-found body")
+        void shouldReturnNotFound() {
+            webTestClient.get().uri("/api/user/polls/99").exchange()
+                    .expectStatus().isNotFound()
+                    .expectBody()
+                    .jsonPath("$.errorCode").isEqualTo("RESOURCE_NOT_FOUND")
+                    .jsonPath("$.path").isEqualTo("/api/user/polls/99");
+        }
+
+        @Test
+        @DisplayName("Should only serve the public poll reads")
+        void shouldDenyOtherPaths() {
+            webTestClient.post().uri("/api/user/1/polls/1/vote").exchange()
+                    .expectStatus().isUnauthorized();
+        }
+    }
+
+    @Nested
+    @DisplayName("Backpressure Tests")
+    class BackpressureTests {
+
+        @Test
+        @DisplayName("Should hand rows on only as the subscriber asks for them")
+        void shouldFollowDemand() {
+            databaseClient.sql("INSERT INTO polls (id, title, is_active, admin_id) "
+                            + "SELECT X + 10, 'Poll ' || X, TRUE, 1 FROM SYSTEM_RANGE(1, 40)")
+                    .fetch().rowsUpdated().block();
+
+            StepVerifier.create(pollReadRepository.findActivePolls(LocalDateTime.now()), 0)
+                    .expectSubscription()
+                    .expectNoEvent(Duration.ofMillis(100))
+                    .thenRequest(1)
+                    .expectNextMatches(poll -> poll.id() == 1L)
+                    .expectNoEvent(Duration.ofMillis(100))
+                    .thenRequest(5)
+                    .expectNextCount(5)
+                    .expectNoEvent(Duration.ofMillis(100))
+                    .thenRequest(Long.MAX_VALUE)
+                    .expectNextCount(35)
+                    .verifyComplete();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.polling.app.repository;
+
+import com.polling.app.EmbeddedProfileTest;
+import com.polling.app.dto.PollDetail;
+import com.polling.app.entity.Admin;
+import com.polling.app.entity.Poll;
+import com.polling.app.entity.PollOption;
+import com.polling.app.entity.User;
+import com.polling.app.exception.ResourceNotFoundException;
+import com.polling.app.repository.projection.PollDetailRow;
+import com.polling.app.service.PollService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Poll Detail Query Tests")
+class PollDetailQueryTest extends EmbeddedProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PollRepository pollRepository;
+
+    @Autowired
+    private PollService pollService;
+
+    private Poll poll;
+    private User voter;
+    private Long winterId;
+
+    @BeforeEach
+    void setUp() {
+        Admin admin = createAdmin();
+
+        Poll newPoll = new Poll();
+        newPoll.setTitle("Favourite season");
+        poll = pollService.createPoll(admin.getId(), newPoll, List.of("Summer", "Winter", "Spring"));
+        winterId = pollService.getPollOptions(poll.getId()).stream()
+                .filter(option -> option.getOptionText().equals("Winter"))
+                .map(PollOption::getId)
+                .findFirst().orElseThrow();
+
+        voter = createUser();
+        pollService.submitVote(voter.getId(), poll.getId(), winterId);
+        pollService.submitVote(createUser().getId(), poll.getId(), winterId);
+    }
+
+    private Statistics clearedStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    @Nested
+    @DisplayName("Query Tests")
+    class QueryTests {
+
+        @Test
+        @DisplayName("Should read the poll, options, total and vote in one statement")
+        void shouldReadDetailInOneStatement() {
+            Statistics statistics = clearedStatistics();
+
+            List<PollDetailRow> rows = pollRepository.findDetailRows(poll.getId(), voter.getId());
+
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertEquals(3, rows.size());
+            assertEquals("Winter", rows.get(0).getOptionText());
+            assertEquals(2, rows.get(0).getVoteCount());
+            assertTrue(rows.stream().allMatch(row -> row.getTotalVotes() == 2));
+            assertTrue(rows.stream().allMatch(row -> winterId.equals(row.getVotedOptionId())));
+            assertTrue(rows.stream().allMatch(row -> row.getAdminUsername().startsWith("admin")));
+        }
+
+        @Test
+        @DisplayName("Should leave the vote empty without a viewer or a vote")
+        void shouldLeaveVoteEmpty() {
+            assertNull(pollRepository.findDetailRows(poll.getId(), null).get(0).getVotedOptionId());
+            assertNull(pollRepository.findDetailRows(poll.getId(), createUser().getId()).get(0).getVotedOptionId());
+        }
+
+        @Test
+        @DisplayName("Should return a row for a poll without options")
+        void shouldReturnPollWithoutOptions() {
+            Poll empty = pollRepository.save(copyOf(poll));
+
+            List<PollDetailRow> rows = pollRepository.findDetailRows(empty.getId(), null);
+
+            assertEquals(1, rows.size());
+            assertNull(rows.get(0).getOptionId());
+            assertEquals(0, rows.get(0).getTotalVotes());
+        }
+
+        private Poll copyOf(Poll source) {
+            Poll copy = new Poll();
+            copy.setTitle("No options yet");
+            copy.setAdmin(source.getAdmin());
+            return copy;
+        }
+    }
+
+    @Nested
+    @DisplayName("Service Tests")
+    class ServiceTests {
+
+        @Test
+        @DisplayName("Should build the detail from the single statement")
+        void shouldBuildDetail() {
+            Statistics statistics = clearedStatistics();
+
+            PollDetail detail = pollService.getPollDetail(poll.getId(), voter.getId());
+
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertEquals(3, detail.getOptions().size());
+            assertEquals("Winter", detail.getOptions().get(0).getOptionText());
+            assertEquals(2L, detail.getTotalVotes());
+            assertTrue(detail.getHasVoted());
+            assertEquals(winterId, detail.getVotedOptionId());
+            assertEquals("Ada", detail.getAdmin().getFirstName());
+        }
+
+        @Test
+        @DisplayName("Should fail for an unknown poll")
+        void shouldFailForUnknownPoll() {
+            assertThrows(ResourceNotFoundException.class, () -> pollService.getPollDetail(Long.MAX_VALUE, null));
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve the detail in one request")
+    void shouldServeDetail() throws Exception {
+        mockMvc.perform(get("/api/user/polls/" + poll.getId() + "/detail").param("viewerId", voter.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Favourite season"))
+                .andExpect(jsonPath("$.options[0].optionText").value("Winter"))
+                .andExpect(jsonPath("$.options[0].voteCount").value(2))
+                .andExpect(jsonPath("$.totalVotes").value(2))
+                .andExpect(jsonPath("$.hasVoted").value(true))
+                .andExpect(jsonPath("$.votedOptionId").value(winterId));
+
+        mockMvc.perform(get("/api/user/polls/" + poll.getId() + "/detail"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasVoted").doesNotExist());
+    }
+}
@@ -0,0 +1,283 @@
+package com.polling.app.resilience;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.polling.app.exception.ResourceNotFoundException;
+import com.polling.app.exception.ServiceDegradedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReadGuard Tests")
+class ReadGuardTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ReadGuard readGuard = new ReadGuard(executor, Map.of("slow", 50L), 500, 100,
+            operation -> new CircuitBreaker(operation, 4, 2, 0.5, 10000, 1, now::get), registry);
+
+    @AfterEach
+    void tearDown() {
+        readGuard.shutdown();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static Supplier<List<String>> failing() {
+        return () -> {
+            throw new DataAccessResourceFailureException("Connection is not available");
+        };
+    }
+
+    private void trip(String operation) {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(ServiceDegradedException.class, () -> readGuard.read(operation, "none", failing()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Circuit Breaker Tests")
+    class CircuitBreakerTests {
+
+        private final CircuitBreaker breaker = new CircuitBreaker("test", 4, 2, 0.5, 1000, 2, now::get);
+
+        @Test
+        @DisplayName("Should open once the failure rate over the window reaches the threshold")
+        void shouldOpenOnFailureRate() {
+            breaker.onSuccess();
+            breaker.onSuccess();
+            breaker.onFailure();
+            assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+            breaker.onFailure();
+
+            assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+            assertFalse(breaker.tryAcquire());
+            assertEquals(1000, breaker.remainingOpenMillis());
+        }
+
+        @Test
+        @DisplayName("Should forget outcomes that left the window")
+        void shouldSlideWindow() {
+            breaker.onFailure();
+            for (int i = 0; i < 4; i++) {
+                breaker.onSuccess();
+            }
+            breaker.onFailure();
+
+            assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        }
+
+        @Test
+        @DisplayName("Should close after successful trial calls and reopen on a failed one")
+        void shouldRecoverThroughHalfOpen() {
+            breaker.onFailure();
+            breaker.onFailure();
+            now.addAndGet(1000);
+
+            assertTrue(breaker.tryAcquire());
+            assertTrue(breaker.tryAcquire());
+            assertFalse(breaker.tryAcquire(), "only the trial calls may pass");
+            breaker.onSuccess();
+            breaker.onFailure();
+            assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+            now.addAndGet(1000);
+            assertTrue(breaker.tryAcquire());
+            assertTrue(breaker.tryAcquire());
+            breaker.onSuccess();
+            breaker.onSuccess();
+            assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        }
+    }
+
+    @Nested
+    @DisplayName("Degraded Read Tests")
+    class DegradedReadTests {
+
+        @Test
+        @DisplayName("Should serve the last known answer, marked stale, when a read times out")
+        void shouldServeStaleOnTimeout() {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+            assertEquals(List.of("fresh"), readGuard.read("slow", 1L, () -> List.of("fresh")));
+            assertNull(response.getHeader(ReadGuard.STALE_HEADER));
+
+            CountDownLatch release = new CountDownLatch(1);
+            List<String> answer = readGuard.read("slow", 1L, () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return List.of("late");
+            });
+            release.countDown();
+
+            assertEquals(List.of("fresh"), answer);
+            assertEquals("true", response.getHeader(ReadGuard.STALE_HEADER));
+            assertTrue(response.getHeader("Warning").startsWith("110"));
+        }
+
+        @Test
+        @DisplayName("Should stop calling the database once the breaker opens")
+        void shouldShortCircuitWhenOpen() {
+            readGuard.read("results", 1L, () -> List.of("cached"));
+            trip("results");
+            AtomicInteger calls = new AtomicInteger();
+
+            List<String> answer = readGuard.read("results", 1L, () -> {
+                calls.incrementAndGet();
+                return List.of("fresh");
+            });
+
+            assertEquals(List.of("cached"), answer);
+            assertEquals(0, calls.get());
+            assertTrue(readGuard.isDegraded());
+            assertEquals(2.0, registry.get("polling.breaker.state").tag("operation", "results").gauge().value());
+            assertEquals(1.0, registry.get("polling.breaker.transitions").tag("operation", "results")
+                    .tag("to", "OPEN").counter().count());
+            assertThrows(ServiceDegradedException.class, () -> readGuard.read("results", 2L, () -> List.of("x")));
+        }
+
+        @Test
+        @DisplayName("Should pass application errors through without counting them as failures")
+        void shouldNotTripOnApplicationErrors() {
+            for (int i = 0; i < 4; i++) {
+                assertThrows(ResourceNotFoundException.class, () -> readGuard.read("results", 9L, () -> {
+                    throw new ResourceNotFoundException("Poll", 9L);
+                }));
+            }
+
+            assertFalse(readGuard.isDegraded());
+        }
+
+        @Test
+        @DisplayName("Should serve the last answer without counting a failure when every worker is busy")
+        void shouldNotTripOnFullPool() {
+            ExecutorService busy = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+            ReadGuard guard = new ReadGuard(busy, Map.of(), 500, 100,
+                    operation -> new CircuitBreaker(operation, 4, 2, 0.5, 10000, 1, now::get), null);
+            CountDownLatch release = new CountDownLatch(1);
+            try {
+                assertEquals(List.of("fresh"), guard.read("results", 1L, () -> List.of("fresh")));
+                // The worker takes a moment to wait for work again after the first read
+                while (true) {
+                    try {
+                        busy.submit(() -> {
+                            release.await();
+                            return null;
+                        });
+                        break;
+                    } catch (RejectedExecutionException e) {
+                        Thread.onSpinWait();
+                    }
+                }
+
+                for (int i = 0; i < 4; i++) {
+                    assertEquals(List.of("fresh"), guard.read("results", 1L, () -> List.of("other")));
+                }
+                assertThrows(ServiceDegradedException.class, () -> guard.read("results", 2L, () -> List.of("x")));
+
+                assertFalse(guard.isDegraded());
+            } finally {
+                release.countDown();
+                guard.shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep the answers of recent reads once the limit is reached")
+        void shouldKeepRecentAnswers() {
+            for (long key = 1; key <= 150; key++) {
+                readGuard.read("results", key, () -> List.of("fresh"));
+            }
+            trip("results");
+
+            assertEquals(List.of("fresh"), readGuard.read("results", 150L, () -> List.of("other")));
+        }
+
+        @Test
+        @DisplayName("Should not keep answers of reads without fallback")
+        void shouldNotKeepAnswersWithoutFallback() {
+            assertEquals(List.of("fresh"), readGuard.readWithoutFallback("results", () -> List.of("fresh")));
+            trip("results");
+
+            assertThrows(ServiceDegradedException.class,
+                    () -> readGuard.readWithoutFallback("results", () -> List.of("other")));
+        }
+
+        @Test
+        @DisplayName("Should leave degraded mode after the trial read succeeds")
+        void shouldRecover() {
+            trip("results");
+            now.addAndGet(10000);
+
+            assertEquals(List.of("fresh"), readGuard.read("results", 1L, () -> List.of("fresh")));
+
+            assertFalse(readGuard.isDegraded());
+        }
+    }
+
+    @Nested
+    @DisplayName("Write Shedding Tests")
+    class WriteSheddingTests {
+
+        private final DegradedModeFilter filter = new DegradedModeFilter(readGuard,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+
+        @Test
+        @DisplayName("Should reject writes with 503 and Retry-After while degraded")
+        void shouldShedWrites() throws Exception {
+            trip("results");
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/user/1/polls/1/vote");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(request, response, chain);
+
+            assertEquals(503, response.getStatus());
+            assertEquals("10", response.getHeader("Retry-After"));
+            assertTrue(response.getContentAsString().contains("SERVICE_DEGRADED"));
+            assertNull(chain.getRequest());
+        }
+
+        @Test
+        @DisplayName("Should let reads through while degraded and writes through otherwise")
+        void shouldPassOtherRequests() throws Exception {
+            MockFilterChain write = new MockFilterChain();
+            filter.doFilter(new MockHttpServletRequest("POST", "/api/user/1/polls/1/vote"),
+                    new MockHttpServletResponse(), write);
+            trip("results");
+            MockFilterChain read = new MockFilterChain();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/user/polls/active"),
+                    new MockHttpServletResponse(), read);
+
+            assertNotNull(write.getRequest());
+            assertNotNull(read.getRequest());
+        }
+    }
+}
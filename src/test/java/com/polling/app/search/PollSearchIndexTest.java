@@ -0,0 +1,157 @@
+package com.polling.app.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PollSearchIndex Tests")
+class PollSearchIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private PollSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PollSearchIndex(0.25, 0.5, 64);
+    }
+
+    private void put(long id, String title, String description, long votes) {
+        index.put(new PollSearchIndex.Document(id, title, description, true, null, null, votes));
+    }
+
+    private List<Long> search(String query) {
+        return index.search(query, 10, NOW).stream().map(hit -> hit.document().pollId()).toList();
+    }
+
+    @Nested
+    @DisplayName("Matching Tests")
+    class MatchingTests {
+
+        @Test
+        @DisplayName("Should match terms regardless of case and accents")
+        void shouldFoldCaseAndAccents() {
+            put(1, "Café of the Year", null, 0);
+
+            assertEquals(List.of(1L), search("CAFE"));
+            assertEquals(List.of("cafe", "of", "the", "year"), PollSearchIndex.tokenize("Café of the-Year!"));
+        }
+
+        @Test
+        @DisplayName("Should require every term and complete the last one")
+        void shouldMatchAllTermsWithPrefix() {
+            put(1, "Favourite season", "Summer or winter", 0);
+            put(2, "Favourite colour", null, 0);
+            put(3, "Best season", null, 0);
+
+            assertEquals(List.of(1L), search("favourite seas"));
+            assertEquals(List.of(1L, 2L), search("favourite").stream().sorted().toList());
+            assertTrue(search("favourite autumn").isEmpty());
+            // Only the last term is a prefix
+            assertTrue(search("fav season").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should suggest completions used by most polls first")
+        void shouldSuggestCompletions() {
+            put(1, "Season finale", null, 0);
+            put(2, "Best season", null, 0);
+            put(3, "Seashore", null, 0);
+
+            assertEquals(List.of("best season", "best seashore"), index.suggest("best sea", 5));
+            assertEquals(List.of("season"), index.suggest("sea", 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Ranking Tests")
+    class RankingTests {
+
+        @Test
+        @DisplayName("Should rank title matches above description matches")
+        void shouldPreferTitles() {
+            put(1, "Lunch options", "Which pizza?", 0);
+            put(2, "Pizza toppings", null, 0);
+
+            assertEquals(List.of(2L, 1L), search("pizza"));
+        }
+
+        @Test
+        @DisplayName("Should lift polls with more votes")
+        void shouldPreferActivePolls() {
+            put(1, "Pizza toppings", null, 0);
+            put(2, "Pizza toppings", null, 500);
+
+            assertEquals(List.of(2L, 1L), search("pizza"));
+            index.recordVote(1L);
+            assertEquals(1, index.get(1L).totalVotes());
+        }
+
+        @Test
+        @DisplayName("Should lower polls that are not open")
+        void shouldLowerClosedPolls() {
+            index.put(new PollSearchIndex.Document(1L, "Pizza toppings", null, true, null, NOW.minusDays(1), 10));
+            put(2, "Pizza toppings", null, 0);
+
+            assertEquals(List.of(2L, 1L), search("pizza"));
+            index.setActive(List.of(2L), false);
+            assertEquals(List.of(1L, 2L), search("pizza"));
+        }
+
+        @Test
+        @DisplayName("Should return only the best results")
+        void shouldLimitResults() {
+            for (long id = 1; id <= 100; id++) {
+                put(id, "Poll number " + id, null, id);
+            }
+
+            List<PollSearchIndex.Hit> hits = index.search("poll", 3, NOW);
+
+            assertEquals(List.of(100L, 99L, 98L), hits.stream().map(hit -> hit.document().pollId()).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should replace the terms of an edited poll")
+        void shouldReplaceTerms() {
+            put(1, "Favourite season", null, 4);
+            put(1, "Favourite colour", null, 4);
+
+            assertTrue(search("season").isEmpty());
+            assertEquals(List.of(1L), search("colour"));
+            assertTrue(index.suggest("sea", 5).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should forget removed polls and their terms")
+        void shouldRemovePolls() {
+            put(1, "Favourite season", null, 0);
+            put(2, "Favourite colour", null, 0);
+
+            index.remove(1L);
+
+            assertEquals(List.of(2L), search("favourite"));
+            assertTrue(index.suggest("season", 5).isEmpty());
+            assertEquals(1, index.size());
+        }
+
+        @Test
+        @DisplayName("Should report polls it cannot open")
+        void shouldReportMissingPolls() {
+            put(1, "Favourite season", null, 0);
+
+            assertEquals(List.of(2L), index.setActive(List.of(1L, 2L), false));
+            assertFalse(index.get(1L).active());
+        }
+    }
+}
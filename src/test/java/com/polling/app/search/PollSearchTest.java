@@ -0,0 +1,141 @@
+package com.polling.app.search;
+
+import com.polling.app.EmbeddedProfileTest;
+import com.polling.app.dto.PollSearchHit;
+import com.polling.app.entity.Admin;
+import com.polling.app.entity.Poll;
+import com.polling.app.entity.User;
+import com.polling.app.service.PollService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Poll Search Tests")
+class PollSearchTest extends EmbeddedProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PollSearchIndexer pollSearchIndexer;
+
+    @Autowired
+    private PollService pollService;
+
+    private Admin admin;
+
+    /**
+     * A word no other test's polls contain, since they share the index.
+     */
+    private String word;
+
+    @BeforeEach
+    void setUp() {
+        admin = createAdmin();
+        word = "topic" + UUID.randomUUID().toString().substring(0, 8).replaceAll("[0-9]", "x");
+    }
+
+    private Poll createPoll(String title, String description) {
+        Poll poll = new Poll();
+        poll.setTitle(title);
+        poll.setDescription(description);
+        return pollService.createPoll(admin.getId(), poll, List.of("Yes", "No"));
+    }
+
+    private void vote(Poll poll) {
+        User user = createUser();
+        pollService.submitVote(user.getId(), poll.getId(), pollService.getPollOptions(poll.getId()).get(0).getId());
+    }
+
+    private List<Long> search(String query) {
+        return pollSearchIndexer.search(query, null).stream().map(PollSearchHit::getId).toList();
+    }
+
+    @Nested
+    @DisplayName("Indexing Tests")
+    class IndexingTests {
+
+        @Test
+        @DisplayName("Should find polls as soon as they are created")
+        void shouldIndexCreatedPolls() {
+            Poll titled = createPoll("Best " + word, null);
+            Poll described = createPoll("Something else", "All about " + word);
+
+            assertEquals(List.of(titled.getId(), described.getId()), search(word));
+        }
+
+        @Test
+        @DisplayName("Should follow edits and deletions")
+        void shouldFollowChanges() {
+            Poll poll = createPoll("Best " + word, null);
+            Poll edited = new Poll();
+            edited.setTitle("Renamed " + word + "z");
+
+            pollService.updatePoll(poll.getId(), edited);
+            assertTrue(search("best " + word).isEmpty());
+            assertEquals(List.of(poll.getId()), search(word + "z"));
+
+            pollService.deletePoll(poll.getId());
+            assertTrue(search(word).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should rank polls with votes and open polls higher")
+        void shouldRankByActivity() {
+            Poll quiet = createPoll("Quiet " + word, null);
+            Poll busy = createPoll("Busy " + word, null);
+            vote(busy);
+            vote(busy);
+            assertEquals(List.of(busy.getId(), quiet.getId()), search(word));
+
+            pollService.deactivatePoll(busy.getId());
+            assertEquals(List.of(quiet.getId(), busy.getId()), search(word));
+            assertEquals(2, pollSearchIndexer.search(word, 5).get(1).getTotalVotes());
+        }
+
+        @Test
+        @DisplayName("Should rebuild the same index from the database")
+        void shouldRebuildFromDatabase() {
+            Poll poll = createPoll("Rebuilt " + word, null);
+            vote(poll);
+
+            pollSearchIndexer.rebuild();
+
+            List<PollSearchHit> hits = pollSearchIndexer.search(word, null);
+            assertEquals(List.of(poll.getId()), hits.stream().map(PollSearchHit::getId).toList());
+            assertEquals(1, hits.get(0).getTotalVotes());
+        }
+    }
+
+    @Test
+    @DisplayName("Should search without touching the database")
+    void shouldSearchInMemory() throws Exception {
+        Poll poll = createPoll("Best " + word, null);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/user/polls/search").param("q", "best " + word.substring(0, 7)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(poll.getId()))
+                .andExpect(jsonPath("$[0].title").value("Best " + word));
+        mockMvc.perform(get("/api/user/polls/search/suggest").param("q", "best " + word.substring(0, 7)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("best " + word));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        mockMvc.perform(get("/api/user/polls/search").param("q", word).param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,107 @@
+package com.polling.app.service;
+
+import com.polling.app.EmbeddedProfileTest;
+import com.polling.app.entity.Admin;
+import com.polling.app.entity.Poll;
+import com.polling.app.entity.User;
+import com.polling.app.exception.InvalidOperationException;
+import com.polling.app.repository.PollRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PollService Schedule Tests")
+class PollScheduleTest extends EmbeddedProfileTest {
+
+    @Autowired
+    private PollService pollService;
+
+    @Autowired
+    private PollRepository pollRepository;
+
+    private Admin admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = createAdmin();
+    }
+
+    private Poll createPoll(LocalDateTime startsAt, LocalDateTime endsAt) {
+        Poll poll = new Poll();
+        poll.setTitle("Scheduled poll");
+        poll.setStartsAt(startsAt);
+        poll.setEndsAt(endsAt);
+        return pollService.createPoll(admin.getId(), poll, List.of("Yes", "No"));
+    }
+
+    private Poll reschedule(Poll poll, LocalDateTime startsAt) {
+        Poll edited = new Poll();
+        edited.setTitle(poll.getTitle());
+        edited.setStartsAt(startsAt);
+        edited.setEndsAt(poll.getEndsAt());
+        return pollService.updatePoll(poll.getId(), edited);
+    }
+
+    private boolean listedAsActive(Poll poll) {
+        return pollService.getAllActivePolls().stream().anyMatch(active -> active.getId().equals(poll.getId()));
+    }
+
+    private Long firstOption(Poll poll) {
+        return pollService.getPollOptions(poll.getId()).get(0).getId();
+    }
+
+    @Nested
+    @DisplayName("Reschedule Tests")
+    class RescheduleTests {
+
+        @Test
+        @DisplayName("Should close an active poll whose start moves into the future")
+        void shouldCloseActivePollMovedIntoFuture() {
+            Poll poll = createPoll(null, null);
+            LocalDateTime startsAt = LocalDateTime.now().plusHours(1);
+
+            Poll updated = reschedule(poll, startsAt);
+
+            assertFalse(updated.getIsActive());
+            assertFalse(listedAsActive(poll));
+            assertEquals(List.of(poll.getId()),
+                    pollRepository.findIdsDueForOpen(List.of(poll.getId()), startsAt.plusMinutes(1)));
+        }
+
+        @Test
+        @DisplayName("Should open a scheduled poll whose start moves into the past")
+        void shouldOpenScheduledPollMovedIntoPast() {
+            Poll poll = createPoll(LocalDateTime.now().plusHours(1), null);
+            assertFalse(poll.getIsActive());
+
+            Poll updated = reschedule(poll, LocalDateTime.now().minusMinutes(1));
+
+            assertTrue(updated.getIsActive());
+            assertTrue(listedAsActive(poll));
+            User user = createUser();
+            assertNotNull(pollService.submitVote(user.getId(), poll.getId(), firstOption(poll)));
+        }
+
+        @Test
+        @DisplayName("Should keep a deactivated poll closed when its start is edited")
+        void shouldKeepDeactivatedPollClosed() {
+            Poll poll = createPoll(null, null);
+            pollService.deactivatePoll(poll.getId());
+
+            Poll updated = reschedule(poll, LocalDateTime.now().minusMinutes(1));
+
+            assertFalse(updated.getIsActive());
+            assertTrue(pollRepository.findIdsDueForOpen(List.of(poll.getId()), LocalDateTime.now()).isEmpty());
+            User user = createUser();
+            assertThrows(InvalidOperationException.class,
+                    () -> pollService.submitVote(user.getId(), poll.getId(), firstOption(poll)));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.polling.app.service;
+
+import com.polling.app.EmbeddedProfileTest;
+import com.polling.app.entity.Admin;
+import com.polling.app.entity.Poll;
+import com.polling.app.entity.PollOption;
+import com.polling.app.entity.User;
+import com.polling.app.exception.InvalidOperationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PollService Embedded Storage Tests")
+class PollServiceEmbeddedStorageTest extends EmbeddedProfileTest {
+
+    @Autowired
+    private PollService pollService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Admin admin;
+    private Poll poll;
+
+    @BeforeEach
+    void setUp() {
+        admin = createAdmin();
+
+        Poll newPoll = new Poll();
+        newPoll.setTitle("Favourite colour");
+        poll = pollService.createPoll(admin.getId(), newPoll, List.of("Red", "Green", "Blue"));
+    }
+
+    private Long optionId(String text) {
+        return pollService.getPollOptions(poll.getId()).stream()
+                .filter(option -> option.getOptionText().equals(text))
+                .findFirst().orElseThrow().getId();
+    }
+
+    @Test
+    @DisplayName("Should store polls in the embedded database file")
+    void shouldStorePollsOnDisk() {
+        assertTrue(Files.exists(DIRECTORY.resolve("polling.mv.db")));
+        assertTrue(pollService.getAllActivePolls().stream().anyMatch(active -> active.getId().equals(poll.getId())));
+        assertEquals(1, pollService.getPollsByAdmin(admin.getId()).stream()
+                .filter(created -> created.getId().equals(poll.getId())).count());
+    }
+
+    @Test
+    @DisplayName("Should count votes and order options by votes")
+    void shouldCountVotes() {
+        Long green = optionId("Green");
+        Long blue = optionId("Blue");
+        User first = createUser();
+        User second = createUser();
+        User third = createUser();
+
+        pollService.submitVote(first.getId(), poll.getId(), green);
+        pollService.submitVote(second.getId(), poll.getId(), green);
+        pollService.submitVote(third.getId(), poll.getId(), blue);
+
+        List<PollOption> options = pollService.getPollOptions(poll.getId());
+        assertEquals("Green", options.get(0).getOptionText());
+        assertEquals(2, options.get(0).getVoteCount());
+        assertEquals(1, options.get(1).getVoteCount());
+        assertEquals(3L, pollService.getTotalVotesForPoll(poll.getId()));
+        assertTrue(pollService.hasUserVoted(first.getId(), poll.getId()));
+        assertEquals(List.of(poll.getId()), pollService.getPollsUserHasVotedIn(first.getId()).stream()
+                .map(Poll::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject a second vote on the same poll")
+    void shouldRejectSecondVote() {
+        User user = createUser();
+        pollService.submitVote(user.getId(), poll.getId(), optionId("Red"));
+
+        assertThrows(InvalidOperationException.class,
+                () -> pollService.submitVote(user.getId(), poll.getId(), optionId("Blue")));
+    }
+
+    @Test
+    @DisplayName("Should reject votes on inactive polls")
+    void shouldRejectVotesOnInactivePolls() {
+        User user = createUser();
+        pollService.deactivatePoll(poll.getId());
+
+        assertThrows(InvalidOperationException.class,
+                () -> pollService.submitVote(user.getId(), poll.getId(), optionId("Red")));
+    }
+
+    @Test
+    @DisplayName("Should reject votes on polls closed behind the second-level cache")
+    void shouldRejectVotesOnPollsClosedOutsideJpa() {
+        User user = createUser();
+        pollService.getPollById(poll.getId());
+        // As a move to another shard does
+        jdbcTemplate.update("UPDATE polls SET is_active = FALSE WHERE id = ?", poll.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Poll.class, poll.getId()));
+
+        assertThrows(InvalidOperationException.class,
+                () -> pollService.submitVote(user.getId(), poll.getId(), optionId("Red")));
+    }
+
+    @Test
+    @DisplayName("Should make a close outside JPA wait for a vote in flight")
+    void shouldHoldCloseUntilVoteCommits() throws Exception {
+        User user = createUser();
+        Long red = optionId("Red");
+        ExecutorService closer = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> close = new TransactionTemplate(transactionManager).execute(status -> {
+                pollService.submitVote(user.getId(), poll.getId(), red);
+                // As a move to another shard does
+                Future<Integer> pending = closer.submit(() ->
+                        jdbcTemplate.update("UPDATE polls SET is_active = FALSE WHERE id = ?", poll.getId()));
+                assertThrows(TimeoutException.class, () -> pending.get(300, TimeUnit.MILLISECONDS));
+                return pending;
+            });
+
+            assertEquals(1, close.get(5, TimeUnit.SECONDS));
+            assertEquals(1L, pollService.getTotalVotesForPoll(poll.getId()));
+        } finally {
+            closer.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should delete a poll with its options and responses")
+    void shouldDeletePoll() {
+        User user = createUser();
+        pollService.submitVote(user.getId(), poll.getId(), optionId("Red"));
+
+        pollService.deletePoll(poll.getId());
+
+        assertTrue(pollService.getPollById(poll.getId()).isEmpty());
+        assertFalse(pollService.hasUserVoted(user.getId(), poll.getId()));
+    }
+}
@@ -0,0 +1,223 @@
+package com.polling.app.sharding;
+
+import com.polling.app.cache.CacheInvalidationBus;
+import com.polling.app.entity.Poll;
+import com.polling.app.entity.PollOption;
+import com.polling.app.exception.ShardUnavailableException;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("ShardRouter Tests")
+class ShardRouterTest {
+
+    private static final int SHARDS = 3;
+
+    private final List<DataSource> shards = new ArrayList<>();
+    private ShardRouter shardRouter;
+    private JdbcTemplate jdbcTemplate;
+    private final Cache secondLevelCache = mock(Cache.class);
+
+    @BeforeEach
+    void setUp() {
+        // A minimal poll aggregate on every shard; each shard knows its own index
+        for (int shard = 0; shard < SHARDS; shard++) {
+            DataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:shard" + shard + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+            JdbcTemplate setup = new JdbcTemplate(dataSource);
+            setup.execute("CREATE TABLE node (shard_index INT)");
+            setup.update("INSERT INTO node VALUES (?)", shard);
+            setup.execute("CREATE TABLE polls (id BIGINT PRIMARY KEY, title VARCHAR(200), is_active BOOLEAN)");
+            setup.execute("CREATE TABLE poll_options (id BIGINT PRIMARY KEY, "
+                    + "poll_id BIGINT NOT NULL REFERENCES polls (id), option_text VARCHAR(200))");
+            setup.execute("CREATE TABLE poll_responses (id BIGINT PRIMARY KEY, "
+                    + "poll_id BIGINT NOT NULL REFERENCES polls (id), "
+                    + "poll_option_id BIGINT NOT NULL REFERENCES poll_options (id))");
+            shards.add(dataSource);
+        }
+
+        DataSource lazy = new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shards));
+        jdbcTemplate = new JdbcTemplate(lazy);
+        shardRouter = ShardRouter.sharded(shards, new DataSourceTransactionManager(lazy), 4, 2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardRouter.shutdown();
+        ShardContext.clear();
+    }
+
+    private int currentShard() {
+        return jdbcTemplate.queryForObject("SELECT shard_index FROM node", Integer.class);
+    }
+
+    private void insertPoll(int shard, long pollId, boolean active) {
+        JdbcTemplate target = new JdbcTemplate(shards.get(shard));
+        target.update("INSERT INTO polls VALUES (?, ?, ?)", pollId, "Poll " + pollId, active);
+        target.update("INSERT INTO poll_options VALUES (?, ?, ?)", pollId * 10, pollId, "Yes");
+        target.update("INSERT INTO poll_responses VALUES (?, ?, ?)", pollId * 100, pollId, pollId * 10);
+    }
+
+    private PollShardRebalancer rebalancer() {
+        return new PollShardRebalancer(shardRouter, secondLevelCache, new CacheInvalidationBus("node-1", null, null));
+    }
+
+    private long count(int shard, String table) {
+        return new JdbcTemplate(shards.get(shard)).queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    @Nested
+    @DisplayName("Placement Tests")
+    class PlacementTests {
+
+        @Test
+        @DisplayName("Should map poll IDs to shards by their sequence offset")
+        void shouldMapPollIdsBySequenceOffset() {
+            assertEquals(0, shardRouter.shardFor(1L));
+            assertEquals(1, shardRouter.shardFor(2L));
+            assertEquals(2, shardRouter.shardFor(3L));
+            assertEquals(0, shardRouter.shardFor(4L));
+        }
+
+        @Test
+        @DisplayName("Should prefer the directory over the natural shard")
+        void shouldPreferDirectoryEntries() {
+            shardRouter.assign(4L, 2);
+
+            assertEquals(2, shardRouter.shardFor(4L));
+            assertEquals(1L, count(0, "poll_shard_directory"));
+
+            shardRouter.assign(4L, 0);
+
+            assertEquals(0, shardRouter.shardFor(4L));
+            assertEquals(0L, count(0, "poll_shard_directory"));
+        }
+
+        @Test
+        @DisplayName("Should pick up directory changes made elsewhere on refresh")
+        void shouldRefreshDirectory() {
+            new JdbcTemplate(shards.get(0)).update("INSERT INTO poll_shard_directory VALUES (?, ?)", 7L, 1);
+            assertEquals(0, shardRouter.shardFor(7L));
+
+            shardRouter.refreshDirectory();
+
+            assertEquals(1, shardRouter.shardFor(7L));
+        }
+
+        @Test
+        @DisplayName("Should spread new polls round-robin")
+        void shouldSpreadNewPollsRoundRobin() {
+            List<Integer> picked = new ArrayList<>();
+            for (int i = 0; i < 2 * SHARDS; i++) {
+                picked.add(shardRouter.shardForNewPoll());
+            }
+
+            assertEquals(List.of(0, 1, 2, 0, 1, 2), picked);
+        }
+    }
+
+    @Nested
+    @DisplayName("Execution Tests")
+    class ExecutionTests {
+
+        @Test
+        @DisplayName("Should run work on the owning shard and restore the previous shard")
+        void shouldRunOnOwningShard() {
+            assertEquals(1, (int) shardRouter.onShardOf(2L, () -> currentShard()));
+            assertEquals(2, (int) shardRouter.onShard(2, () -> shardRouter.onShard(2, () -> currentShard())));
+            assertEquals(ShardRouter.HOME_SHARD, currentShard());
+        }
+
+        @Test
+        @DisplayName("Should gather results from every shard in shard order")
+        void shouldScatterAcrossShards() {
+            insertPoll(0, 1L, true);
+            insertPoll(1, 2L, true);
+            insertPoll(2, 3L, false);
+
+            List<Long> ids = shardRouter.scatter(shard ->
+                    jdbcTemplate.queryForList("SELECT id FROM polls WHERE is_active = TRUE", Long.class));
+
+            assertEquals(List.of(1L, 2L), ids);
+        }
+
+        @Test
+        @DisplayName("Should fail with ShardUnavailableException when a shard query fails")
+        void shouldFailWhenShardFails() {
+            new JdbcTemplate(shards.get(1)).execute("DROP TABLE poll_responses");
+
+            ShardUnavailableException exception = assertThrows(ShardUnavailableException.class, () ->
+                    shardRouter.scatter(shard ->
+                            jdbcTemplate.queryForList("SELECT id FROM poll_responses", Long.class)));
+
+            assertEquals("SHARD_UNAVAILABLE", exception.getErrorCode());
+        }
+    }
+
+    @Nested
+    @DisplayName("Rebalancing Tests")
+    class RebalancingTests {
+
+        @Test
+        @DisplayName("Should move a poll with its options and responses to the target shard")
+        void shouldMovePollAggregate() {
+            insertPoll(0, 4L, true);
+
+            rebalancer().movePoll(4L, 2);
+
+            assertEquals(2, shardRouter.shardFor(4L));
+            assertEquals(0L, count(0, "polls"));
+            assertEquals(0L, count(0, "poll_responses"));
+            assertEquals(1L, count(2, "poll_options"));
+            assertEquals(1L, count(2, "poll_responses"));
+            assertTrue(new JdbcTemplate(shards.get(2))
+                    .queryForObject("SELECT is_active FROM polls WHERE id = 4", Boolean.class));
+        }
+
+        @Test
+        @DisplayName("Should evict the poll from the second-level cache whenever its rows change")
+        void shouldEvictCachedPoll() {
+            insertPoll(0, 4L, true);
+
+            rebalancer().movePoll(4L, 2);
+
+            // Once after closing it on the source, once after removing it there
+            verify(secondLevelCache, times(2)).evictEntityData(Poll.class, 4L);
+            verify(secondLevelCache, times(2)).evictEntityData(PollOption.class, 40L);
+        }
+
+        @Test
+        @DisplayName("Should leave the poll open on its source shard when the copy fails")
+        void shouldRestoreSourceWhenCopyFails() {
+            insertPoll(0, 4L, true);
+            // The target already holds the option row, so the copy transaction fails part way
+            new JdbcTemplate(shards.get(1)).update("INSERT INTO polls VALUES (99, 'Other', TRUE)");
+            new JdbcTemplate(shards.get(1)).update("INSERT INTO poll_options VALUES (40, 99, 'Taken')");
+
+            assertThrows(RuntimeException.class, () -> rebalancer().movePoll(4L, 1));
+
+            assertEquals(0, shardRouter.shardFor(4L));
+            assertEquals(1L, count(1, "polls"));
+            assertTrue(new JdbcTemplate(shards.get(0))
+                    .queryForObject("SELECT is_active FROM polls WHERE id = 4", Boolean.class));
+            // Once after closing it, once after reopening it
+            verify(secondLevelCache, times(2)).evictEntityData(Poll.class, 4L);
+        }
+    }
+}
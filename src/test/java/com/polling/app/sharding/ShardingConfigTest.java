@@ -0,0 +1,68 @@
+package com.polling.app.sharding;
+
+import com.polling.app.cache.CacheInvalidationBus;
+import com.polling.app.datasource.ReadWriteRoutingConfig;
+import com.polling.app.datasource.ReadWriteRoutingDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ShardingConfig Tests")
+class ShardingConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ReadWriteRoutingConfig.class, ShardingConfig.class)
+            .withBean(PlatformTransactionManager.class, () -> mock(PlatformTransactionManager.class))
+            .withBean(EntityManagerFactory.class, ShardingConfigTest::entityManagerFactory)
+            .withBean(CacheInvalidationBus.class, () -> new CacheInvalidationBus("node-1", null, null))
+            .withPropertyValues(
+                    "app.sharding.shards[0].url=jdbc:h2:mem:combined0",
+                    "app.sharding.shards[1].url=jdbc:h2:mem:combined1");
+
+    private static EntityManagerFactory entityManagerFactory() {
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(sessionFactory.getCache()).thenReturn(mock(Cache.class));
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        return entityManagerFactory;
+    }
+
+    @Nested
+    @DisplayName("Data Source Tests")
+    class DataSourceTests {
+
+        @Test
+        @DisplayName("Should refuse to start with both sharding and read/write routing")
+        void shouldRejectShardingWithRouting() {
+            contextRunner
+                    .withPropertyValues("app.sharding.enabled=true", "app.datasource.routing.enabled=true")
+                    .run(context -> {
+                        assertThat(context).hasFailed();
+                        assertThat(context.getStartupFailure()).rootCause()
+                                .isInstanceOf(IllegalStateException.class)
+                                .hasMessageContaining("app.sharding.enabled and app.datasource.routing.enabled");
+                    });
+        }
+
+        @Test
+        @DisplayName("Should leave read/write routing out while sharding")
+        void shouldNotRouteReadsWhileSharding() {
+            contextRunner
+                    .withPropertyValues("app.sharding.enabled=true", "app.datasource.routing.enabled=false")
+                    .run(context -> {
+                        assertThat(context).hasNotFailed();
+                        assertThat(context).hasSingleBean(ShardRoutingDataSource.class);
+                        assertThat(context).doesNotHaveBean(ReadWriteRoutingDataSource.class);
+                    });
+        }
+    }
+}
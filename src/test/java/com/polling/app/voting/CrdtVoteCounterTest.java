@@ -0,0 +1,254 @@
+package com.polling.app.voting;
+
+import com.polling.app.entity.Poll;
+import com.polling.app.entity.PollOption;
+import com.polling.app.entity.PollResponse;
+import com.polling.app.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CrdtVoteCounter Tests")
+class CrdtVoteCounterTest {
+
+    private static final long POLL_ID = 1L;
+    private static final List<Long> OPTION_IDS = List.of(10L, 11L, 12L);
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ShardRouter shardRouter;
+    private final AtomicLong responseIds = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:votes" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE poll_options (id BIGINT PRIMARY KEY, poll_id BIGINT NOT NULL, "
+                + "vote_count INT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE poll_responses (id BIGINT PRIMARY KEY, poll_id BIGINT NOT NULL, "
+                + "poll_option_id BIGINT NOT NULL, node_id VARCHAR(64), "
+                + "response_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL)");
+        OPTION_IDS.forEach(optionId -> jdbcTemplate.update("INSERT INTO poll_options VALUES (?, ?, 0)",
+                optionId, POLL_ID));
+        shardRouter = ShardRouter.singleShard(new DataSourceTransactionManager(dataSource));
+    }
+
+    private CrdtVoteCounter startNode(String nodeId) {
+        CrdtVoteCounter counter = new CrdtVoteCounter(nodeId, dataSource, shardRouter);
+        counter.start();
+        counter.reconcile();
+        return counter;
+    }
+
+    /**
+     * Votes the way the service does: the response row carries the node that counted it.
+     */
+    private void vote(CrdtVoteCounter counter, Long optionId) {
+        Poll poll = new Poll();
+        poll.setId(POLL_ID);
+        PollOption option = new PollOption();
+        option.setId(optionId);
+        PollResponse response = new PollResponse();
+        response.setPoll(poll);
+        response.setPollOption(option);
+
+        counter.recordVote(response);
+        jdbcTemplate.update("INSERT INTO poll_responses (id, poll_id, poll_option_id, node_id) VALUES (?, ?, ?, ?)",
+                responseIds.incrementAndGet(), POLL_ID, optionId, response.getNodeId());
+    }
+
+    private Map<Long, Long> trueCounts() {
+        Map<Long, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT poll_option_id, COUNT(*) FROM poll_responses GROUP BY poll_option_id",
+                rs -> {
+                    counts.put(rs.getLong(1), rs.getLong(2));
+                });
+        return counts;
+    }
+
+    @Nested
+    @DisplayName("GCounter Tests")
+    class GCounterTests {
+
+        @Test
+        @DisplayName("Should converge regardless of merge order and repetition")
+        void shouldConvergeOnMerge() {
+            GCounter first = new GCounter();
+            GCounter second = new GCounter();
+            first.increment("a");
+            first.increment("a");
+            second.increment("b");
+            second.merge("a", 1);
+
+            first.merge(second);
+            second.merge(first);
+            second.merge(first);
+
+            assertEquals(3, first.value());
+            assertEquals(3, second.value());
+            assertEquals(2, second.get("a"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Convergence Tests")
+    class ConvergenceTests {
+
+        @Test
+        @DisplayName("Should converge on every node after syncing")
+        void shouldConvergeAfterSync() {
+            CrdtVoteCounter first = startNode("node-a");
+            CrdtVoteCounter second = startNode("node-b");
+            vote(first, 10L);
+            vote(first, 11L);
+            vote(second, 10L);
+
+            first.sync();
+            second.sync();
+            first.sync();
+
+            Map<Long, Long> expected = Map.of(10L, 2L, 11L, 1L);
+            assertEquals(expected, first.countsFor(POLL_ID));
+            assertEquals(expected, second.countsFor(POLL_ID));
+        }
+
+        @Test
+        @DisplayName("Should converge when nodes are killed and restarted while votes are applied")
+        void shouldConvergeWhenNodesFailMidStream() throws Exception {
+            int slots = 4;
+            int votesPerSlot = 300;
+            AtomicLong accepted = new AtomicLong();
+            AtomicInteger kills = new AtomicInteger();
+
+            // Every slot votes through its node and syncs now and then; at random points its node
+            // dies without syncing and is replaced while the other slots keep voting
+            ExecutorService executor = Executors.newFixedThreadPool(slots);
+            List<Future<CrdtVoteCounter>> voters = new ArrayList<>();
+            for (int slot = 0; slot < slots; slot++) {
+                String nodeId = "node-" + slot;
+                Random random = new Random(slot);
+                voters.add(executor.submit(() -> {
+                    CrdtVoteCounter node = startNode(nodeId);
+                    for (int i = 0; i < votesPerSlot; i++) {
+                        vote(node, OPTION_IDS.get(random.nextInt(OPTION_IDS.size())));
+                        accepted.incrementAndGet();
+                        if (i % 25 == 0) {
+                            node.sync();
+                        }
+                        if (random.nextInt(50) == 0) {
+                            // Half the time it restarts under the same ID, otherwise a new node takes over
+                            int kill = kills.incrementAndGet();
+                            node = startNode(random.nextBoolean() ? node.getNodeId() : nodeId + "-" + kill);
+                        }
+                    }
+                    return node;
+                }));
+            }
+            List<CrdtVoteCounter> survivors = new ArrayList<>();
+            for (Future<CrdtVoteCounter> voter : voters) {
+                survivors.add(voter.get());
+            }
+            executor.shutdown();
+
+            survivors.forEach(CrdtVoteCounter::sync);
+            survivors.forEach(CrdtVoteCounter::sync);
+
+            assertTrue(kills.get() > 0);
+            Map<Long, Long> expected = trueCounts();
+            assertEquals(accepted.get(), expected.values().stream().mapToLong(Long::longValue).sum());
+            for (CrdtVoteCounter node : survivors) {
+                assertEquals(expected, node.countsFor(POLL_ID), node.getNodeId());
+            }
+        }
+
+        @Test
+        @DisplayName("Should continue from its persisted count when a node restarts with the same ID")
+        void shouldContinueAfterRestart() {
+            CrdtVoteCounter node = startNode("node-a");
+            vote(node, 10L);
+            vote(node, 10L);
+            node.sync();
+
+            CrdtVoteCounter restarted = new CrdtVoteCounter("node-a", dataSource, shardRouter);
+            restarted.start();
+            vote(restarted, 10L);
+            restarted.sync();
+
+            assertEquals(3L, jdbcTemplate.queryForObject("SELECT vote_count FROM poll_option_node_counts "
+                    + "WHERE poll_option_id = 10 AND node_id = 'node-a'", Long.class));
+        }
+
+        @Test
+        @DisplayName("Should include counts recorded before per-node counting was enabled")
+        void shouldIncludeLegacyCounts() {
+            jdbcTemplate.update("UPDATE poll_options SET vote_count = 5 WHERE id = 11");
+            CrdtVoteCounter node = startNode("node-a");
+
+            vote(node, 11L);
+
+            assertEquals(6L, node.countsFor(POLL_ID).get(11L));
+        }
+
+        @Test
+        @DisplayName("Should restore a stopped node's votes while the other nodes keep running")
+        void shouldReconcileWithoutRestart() {
+            CrdtVoteCounter running = startNode("node-a");
+            CrdtVoteCounter stopped = startNode("node-b");
+            vote(stopped, 10L);
+            vote(stopped, 10L);
+
+            running.reconcileRecent();
+            running.sync();
+
+            assertEquals(2L, running.countsFor(POLL_ID).get(10L));
+        }
+
+        @Test
+        @DisplayName("Should only recount polls voted on since the previous run")
+        void shouldReconcileRecentPollsOnly() {
+            CrdtVoteCounter node = startNode("node-a");
+            jdbcTemplate.update("INSERT INTO poll_responses VALUES (?, 2, 20, 'node-x', ?)", responseIds.incrementAndGet(),
+                    Timestamp.valueOf(LocalDateTime.now().minusDays(1)));
+
+            node.reconcileRecent();
+
+            assertEquals(0L, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM poll_option_node_counts WHERE poll_id = 2", Long.class));
+        }
+
+        @Test
+        @DisplayName("Should drop a deleted poll's counters")
+        void shouldForgetDeletedPolls() {
+            CrdtVoteCounter node = startNode("node-a");
+            vote(node, 10L);
+            node.sync();
+
+            node.forgetPoll(POLL_ID);
+            jdbcTemplate.update("DELETE FROM poll_responses");
+
+            assertEquals(0L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM poll_option_node_counts", Long.class));
+            assertTrue(node.countsFor(POLL_ID).isEmpty());
+        }
+    }
+}
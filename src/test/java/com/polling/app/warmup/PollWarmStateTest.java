@@ -0,0 +1,253 @@
+package com.polling.app.warmup;
+
+import com.polling.app.cache.CacheInvalidationEvent;
+import com.polling.app.cache.CacheRegions;
+import com.polling.app.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PollWarmState Tests")
+class PollWarmStateTest {
+
+    @TempDir
+    Path directory;
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private Path snapshotFile;
+    private long nextResponseId = 1;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:warmstate" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE polls (id BIGINT PRIMARY KEY, is_active BOOLEAN, "
+                + "updated_at TIMESTAMP, ends_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE poll_responses (id BIGINT PRIMARY KEY, poll_id BIGINT, user_id BIGINT, "
+                + "poll_option_id BIGINT, response_date TIMESTAMP, UNIQUE (user_id, poll_id))");
+        snapshotFile = directory.resolve("warm-state.snapshot");
+    }
+
+    private PollWarmState newState() {
+        return new PollWarmState(dataSource, ShardRouter.singleShard(new DataSourceTransactionManager(dataSource)),
+                snapshotFile, 1000, null);
+    }
+
+    private void insertPoll(long pollId, boolean active, Timestamp endsAt) {
+        jdbcTemplate.update("INSERT INTO polls VALUES (?, ?, ?, ?)", pollId, active, now(), endsAt);
+    }
+
+    private void vote(long pollId, long userId, long optionId) {
+        jdbcTemplate.update("INSERT INTO poll_responses VALUES (?, ?, ?, ?, ?)",
+                nextResponseId++, pollId, userId, optionId, now());
+    }
+
+    private static CacheInvalidationEvent invalidation(Long pollId) {
+        return new CacheInvalidationEvent("node-2", 1, CacheRegions.POLLS, pollId, System.currentTimeMillis());
+    }
+
+    private static Timestamp now() {
+        return new Timestamp(System.currentTimeMillis());
+    }
+
+    @Nested
+    @DisplayName("Warm-up Tests")
+    class WarmUpTests {
+
+        @Test
+        @DisplayName("Should serve nothing from memory before warm-up")
+        void shouldFallBackBeforeWarmUp() {
+            insertPoll(1, true, null);
+
+            PollWarmState state = newState();
+
+            assertFalse(state.isWarm());
+            assertNull(state.lookup(1L));
+        }
+
+        @Test
+        @DisplayName("Should load counts and voters of open polls from the database without a snapshot")
+        void shouldWarmUpFromDatabase() {
+            insertPoll(1, true, null);
+            insertPoll(2, false, null);
+            insertPoll(3, true, new Timestamp(System.currentTimeMillis() - 60000));
+            vote(1, 10, 100);
+            vote(1, 11, 100);
+            vote(1, 12, 101);
+
+            PollWarmState state = newState();
+            state.warmUp();
+
+            WarmPoll poll = state.lookup(1L);
+            assertEquals(3, poll.totalVotes());
+            assertEquals(Map.of(100L, 2L, 101L, 1L), poll.counts());
+            assertTrue(poll.hasVoted(11L));
+            assertFalse(poll.hasVoted(13L));
+            assertNull(state.lookup(2L));
+            assertNull(state.lookup(3L));
+        }
+
+        @Test
+        @DisplayName("Should restore from the snapshot and apply votes stored after it")
+        void shouldWarmUpFromSnapshot() {
+            insertPoll(1, true, null);
+            vote(1, 10, 100);
+            PollWarmState first = newState();
+            first.warmUp();
+            first.snapshot();
+
+            // The snapshot alone knows this vote, proving the poll was not reloaded
+            first.lookup(1L).addVote(99L, 101L);
+            first.snapshot();
+            vote(1, 11, 100);
+
+            PollWarmState restarted = newState();
+            restarted.warmUp();
+
+            WarmPoll poll = restarted.lookup(1L);
+            assertTrue(poll.hasVoted(99L));
+            assertTrue(poll.hasVoted(11L));
+            assertEquals(Map.of(100L, 2L, 101L, 1L), poll.counts());
+        }
+
+        @Test
+        @DisplayName("Should reload polls changed since the snapshot and drop closed ones")
+        void shouldReconcileChangedPolls() {
+            insertPoll(1, true, null);
+            insertPoll(2, true, null);
+            PollWarmState first = newState();
+            first.warmUp();
+            first.lookup(1L).addVote(99L, 101L);
+            first.snapshot();
+
+            jdbcTemplate.update("UPDATE polls SET updated_at = ? WHERE id = 1",
+                    new Timestamp(System.currentTimeMillis() + 1000));
+            jdbcTemplate.update("UPDATE polls SET is_active = FALSE WHERE id = 2");
+
+            PollWarmState restarted = newState();
+            restarted.warmUp();
+
+            assertFalse(restarted.lookup(1L).hasVoted(99L));
+            assertNull(restarted.lookup(2L));
+        }
+
+        @Test
+        @DisplayName("Should ignore a corrupt snapshot and load from the database")
+        void shouldIgnoreCorruptSnapshot() throws IOException {
+            insertPoll(1, true, null);
+            vote(1, 10, 100);
+            PollWarmState first = newState();
+            first.warmUp();
+            first.snapshot();
+            byte[] bytes = Files.readAllBytes(snapshotFile);
+            bytes[bytes.length / 2] ^= 1;
+            Files.write(snapshotFile, bytes);
+
+            PollWarmState restarted = newState();
+            restarted.warmUp();
+
+            assertEquals(1, restarted.lookup(1L).totalVotes());
+        }
+    }
+
+    @Nested
+    @DisplayName("Refresh Tests")
+    class RefreshTests {
+
+        @Test
+        @DisplayName("Should pick up new polls, closed polls and votes stored by other nodes")
+        void shouldFollowDatabaseChanges() {
+            insertPoll(1, true, null);
+            insertPoll(2, true, null);
+            PollWarmState state = newState();
+            state.warmUp();
+
+            insertPoll(3, true, null);
+            vote(3, 10, 300);
+            vote(1, 10, 100);
+            jdbcTemplate.update("UPDATE polls SET is_active = FALSE, updated_at = ? WHERE id = 2", now());
+            state.refresh();
+
+            assertEquals(1, state.lookup(3L).totalVotes());
+            assertTrue(state.lookup(1L).hasVoted(10L));
+            assertNull(state.lookup(2L));
+        }
+
+        @Test
+        @DisplayName("Should count a vote seen both locally and in the database once")
+        void shouldCountVotesOnce() {
+            insertPoll(1, true, null);
+            PollWarmState state = newState();
+            state.warmUp();
+
+            state.recordVote(1L, 10L, 100L);
+            vote(1, 10, 100);
+            state.refresh();
+            state.refresh();
+
+            assertEquals(Map.of(100L, 1L), state.lookup(1L).counts());
+        }
+
+        @Test
+        @DisplayName("Should stop serving a deleted poll")
+        void shouldForgetDeletedPoll() {
+            insertPoll(1, true, null);
+            PollWarmState state = newState();
+            state.warmUp();
+
+            state.forgetPoll(1L);
+
+            assertNull(state.lookup(1L));
+        }
+
+        @Test
+        @DisplayName("Should drop a poll deleted on another node when its invalidation arrives")
+        void shouldForgetPollDeletedElsewhere() {
+            insertPoll(1, true, null);
+            PollWarmState state = newState();
+            state.warmUp();
+
+            jdbcTemplate.update("DELETE FROM polls WHERE id = 1");
+            state.onInvalidation(invalidation(1L));
+            state.refresh();
+
+            assertNull(state.lookup(1L));
+        }
+
+        @Test
+        @DisplayName("Should reload an invalidated poll that is still open")
+        void shouldReloadInvalidatedPoll() {
+            insertPoll(1, true, null);
+            vote(1, 10, 100);
+            PollWarmState state = newState();
+            state.warmUp();
+
+            // Outside the refresh window, as for an invalidation arriving after the refresh saw the edit
+            jdbcTemplate.update("UPDATE polls SET updated_at = ? WHERE id = 1",
+                    new Timestamp(System.currentTimeMillis() - 60_000));
+            jdbcTemplate.update("UPDATE poll_responses SET poll_option_id = 101, response_date = ? WHERE poll_id = 1",
+                    new Timestamp(System.currentTimeMillis() - 60_000));
+            state.onInvalidation(invalidation(1L));
+            assertNull(state.lookup(1L));
+            state.refresh();
+
+            assertEquals(Map.of(101L, 1L), state.lookup(1L).counts());
+        }
+    }
+}
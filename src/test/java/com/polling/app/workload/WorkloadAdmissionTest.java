@@ -0,0 +1,296 @@
+package com.polling.app.workload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.polling.app.exception.WorkloadRejectedException;
+import com.polling.app.payload.PollVersionTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Workload Admission Tests")
+class WorkloadAdmissionTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private WorkloadAdmission admission(int capacity, int reservedForVotes, int adminConcurrent) {
+        return new WorkloadAdmission(capacity, reservedForVotes, Map.of(
+                WorkloadClass.VOTE, new WorkloadAdmission.Budget(capacity, 10, 2000),
+                WorkloadClass.AUTH, new WorkloadAdmission.Budget(1, 10, 2000),
+                WorkloadClass.PUBLIC, new WorkloadAdmission.Budget(capacity, 10, 2000),
+                WorkloadClass.ADMIN, new WorkloadAdmission.Budget(adminConcurrent, 1, 100)), registry);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not reached");
+            Thread.sleep(5);
+        }
+    }
+
+    @Nested
+    @DisplayName("Classification Tests")
+    class ClassificationTests {
+
+        @Test
+        @DisplayName("Should classify requests by method and path")
+        void shouldClassifyRequests() {
+            assertEquals(WorkloadClass.VOTE, WorkloadClass.of("POST", "/api/user/1/polls/2/vote"));
+            assertEquals(WorkloadClass.AUTH, WorkloadClass.of("POST", "/api/user/login"));
+            assertEquals(WorkloadClass.AUTH, WorkloadClass.of("POST", "/api/admin/register"));
+            assertEquals(WorkloadClass.ADMIN, WorkloadClass.of("GET", "/api/admin/1/polls"));
+            assertEquals(WorkloadClass.PUBLIC, WorkloadClass.of("GET", "/api/user/polls/2/results"));
+            assertEquals(WorkloadClass.PUBLIC, WorkloadClass.of("GET", "/api/user/1/polls/2/voted"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Budget Tests")
+    class BudgetTests {
+
+        @Test
+        @DisplayName("Should keep a saturated class from taking the slots reserved for votes")
+        void shouldKeepReserveForVotes() {
+            WorkloadAdmission admission = admission(4, 2, 4);
+            admission.admit(WorkloadClass.ADMIN);
+            admission.admit(WorkloadClass.PUBLIC);
+
+            assertThrows(WorkloadRejectedException.class, () -> admission.admit(WorkloadClass.ADMIN),
+                    "only reserved slots are left");
+            WorkloadAdmission.Permit first = admission.admit(WorkloadClass.VOTE);
+            admission.admit(WorkloadClass.VOTE);
+
+            assertEquals(2, admission.getActive(WorkloadClass.VOTE));
+            first.close();
+            assertEquals(1, admission.getActive(WorkloadClass.VOTE));
+        }
+
+        @Test
+        @DisplayName("Should reject requests beyond the class's queue and wait limit")
+        void shouldRejectBeyondQueue() throws Exception {
+            WorkloadAdmission admission = admission(10, 0, 1);
+            WorkloadAdmission.Permit running = admission.admit(WorkloadClass.ADMIN);
+            Future<?> waiting = executor.submit(() -> admission.admit(WorkloadClass.ADMIN));
+            await(() -> admission.getQueued(WorkloadClass.ADMIN) == 1);
+
+            assertThrows(WorkloadRejectedException.class, () -> admission.admit(WorkloadClass.ADMIN));
+            Exception timeout = assertThrows(Exception.class, () -> waiting.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(WorkloadRejectedException.class, timeout.getCause());
+            assertEquals(0, admission.getQueued(WorkloadClass.ADMIN));
+            running.close();
+
+            assertEquals(1.0, registry.get("polling.workload.rejected").tags("class", "admin", "reason", "queue_full")
+                    .counter().count());
+            assertEquals(1.0, registry.get("polling.workload.rejected").tags("class", "admin", "reason", "timeout")
+                    .counter().count());
+            assertNotNull(admission.admit(WorkloadClass.ADMIN));
+        }
+
+        @Test
+        @DisplayName("Should hand a freed slot to a waiting vote before earlier waiting reads")
+        void shouldAdmitVotesFirst() throws Exception {
+            WorkloadAdmission admission = admission(1, 0, 1);
+            WorkloadAdmission.Permit running = admission.admit(WorkloadClass.PUBLIC);
+            List<WorkloadClass> admitted = new CopyOnWriteArrayList<>();
+            for (WorkloadClass workload : List.of(WorkloadClass.PUBLIC, WorkloadClass.VOTE)) {
+                executor.submit(() -> {
+                    try (WorkloadAdmission.Permit permit = admission.admit(workload)) {
+                        admitted.add(workload);
+                    }
+                });
+                await(() -> admission.getQueued(workload) == 1);
+            }
+
+            running.close();
+            await(() -> admitted.size() == 2);
+
+            assertEquals(List.of(WorkloadClass.VOTE, WorkloadClass.PUBLIC), admitted);
+            assertEquals(2, registry.get("polling.workload.wait").tag("class", "public").timer().count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Adaptive Limit Tests")
+    class AdaptiveLimitTests {
+
+        private final AdaptiveLimit limit = new AdaptiveLimit(10, 2, 12, 2.0, 0.5, 2, 100);
+
+        private void window(long latencyMillis, int inFlight) {
+            for (int i = 0; i < 2; i++) {
+                limit.onSample(TimeUnit.MILLISECONDS.toNanos(latencyMillis), inFlight);
+            }
+        }
+
+        @Test
+        @DisplayName("Should cut the limit when latency rises above the tolerance and keep the floor")
+        void shouldBackOffOnLatency() {
+            window(10, 10);
+            assertEquals(11, limit.getLimit());
+
+            window(30, 11);
+            assertEquals(5, limit.getLimit());
+            window(30, 5);
+            window(30, 3);
+            assertEquals(2, limit.getLimit());
+        }
+
+        @Test
+        @DisplayName("Should grow back one step per window once latency is normal again")
+        void shouldRecover() {
+            window(10, 10);
+            window(50, 11);
+            int backedOff = limit.getLimit();
+
+            window(12, backedOff);
+            window(12, backedOff + 1);
+
+            assertEquals(backedOff + 2, limit.getLimit());
+        }
+
+        @Test
+        @DisplayName("Should not grow while the limit is not being used")
+        void shouldNotGrowWhenIdle() {
+            window(10, 1);
+            window(10, 2);
+
+            assertEquals(10, limit.getLimit());
+        }
+
+        @Test
+        @DisplayName("Should keep backing off while a fast window is within the baseline")
+        void shouldNotResetBaselineUnderLoad() {
+            AdaptiveLimit limit = new AdaptiveLimit(10, 1, 12, 2.0, 0.9, 1, 4);
+
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), 1);
+            for (int i = 0; i < 3; i++) {
+                limit.onSample(TimeUnit.MILLISECONDS.toNanos(30), 1);
+            }
+
+            assertEquals(7, limit.getLimit());
+        }
+
+        @Test
+        @DisplayName("Should follow a slower baseline once the fast windows have aged out")
+        void shouldFollowBaseline() {
+            AdaptiveLimit limit = new AdaptiveLimit(10, 1, 12, 2.0, 0.9, 1, 2);
+
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), 1);
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(30), 1);
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(30), 1);
+
+            assertEquals(9, limit.getLimit());
+        }
+
+        @Test
+        @DisplayName("Should turn requests away once the adapted limit is reached")
+        void shouldAdmitUpToAdaptedLimit() {
+            WorkloadAdmission admission = new WorkloadAdmission(10, 0, Map.of(
+                    WorkloadClass.VOTE, new WorkloadAdmission.Budget(10, 0, 0),
+                    WorkloadClass.AUTH, new WorkloadAdmission.Budget(10, 0, 0),
+                    WorkloadClass.PUBLIC, new WorkloadAdmission.Budget(10, 0, 0),
+                    WorkloadClass.ADMIN, new WorkloadAdmission.Budget(10, 0, 0)),
+                    workload -> workload == WorkloadClass.PUBLIC ? limit : AdaptiveLimit.fixed(10), registry);
+            window(10, 10);
+            window(50, 10);
+
+            for (int i = 0; i < limit.getLimit(); i++) {
+                admission.admit(WorkloadClass.PUBLIC);
+            }
+
+            assertThrows(WorkloadRejectedException.class, () -> admission.admit(WorkloadClass.PUBLIC));
+            assertEquals(5.0, registry.get("polling.workload.limit").tag("class", "public").gauge().value());
+            assertNotNull(admission.admit(WorkloadClass.VOTE));
+        }
+    }
+
+    @Nested
+    @DisplayName("Filter Tests")
+    class FilterTests {
+
+        @Test
+        @DisplayName("Should answer 503 with Retry-After when a request is not admitted")
+        void shouldRejectWithRetryAfter() throws Exception {
+            WorkloadAdmission admission = admission(10, 0, 0);
+            WorkloadFilter filter = new WorkloadFilter(admission,
+                    new ObjectMapper().registerModule(new JavaTimeModule()), registry);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/admin/1/polls"), response, chain);
+
+            assertEquals(503, response.getStatus());
+            assertEquals("1", response.getHeader("Retry-After"));
+            assertTrue(response.getContentAsString().contains("OVERLOADED"));
+            assertNull(chain.getRequest());
+        }
+
+        @Test
+        @DisplayName("Should let requests that need no connection through without a slot")
+        void shouldNotAdmitConnectionFreeRequests() throws Exception {
+            WorkloadAdmission admission = new WorkloadAdmission(10, 0, Map.of(
+                    WorkloadClass.VOTE, new WorkloadAdmission.Budget(10, 0, 0),
+                    WorkloadClass.AUTH, new WorkloadAdmission.Budget(10, 0, 0),
+                    WorkloadClass.PUBLIC, new WorkloadAdmission.Budget(0, 0, 0),
+                    WorkloadClass.ADMIN, new WorkloadAdmission.Budget(10, 0, 0)), registry);
+            PollVersionTable versions = new PollVersionTable(60_000, 1000, System::currentTimeMillis);
+            versions.record(7L, "results", versions.changeCount(7L), "\"r7\"");
+            WorkloadFilter filter = new WorkloadFilter(admission,
+                    new ObjectMapper().registerModule(new JavaTimeModule()), registry,
+                    new ConnectionFreeRequests(versions));
+
+            MockFilterChain search = new MockFilterChain();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/user/polls/search"),
+                    new MockHttpServletResponse(), search);
+            MockHttpServletRequest current = new MockHttpServletRequest("GET", "/api/user/polls/7/results");
+            current.addHeader("If-None-Match", "\"r7\"");
+            MockFilterChain notModified = new MockFilterChain();
+            filter.doFilter(current, new MockHttpServletResponse(), notModified);
+            MockHttpServletRequest stale = new MockHttpServletRequest("GET", "/api/user/polls/7/results");
+            stale.addHeader("If-None-Match", "\"r6\"");
+            MockHttpServletResponse staleResponse = new MockHttpServletResponse();
+            filter.doFilter(stale, staleResponse, new MockFilterChain());
+
+            assertNotNull(search.getRequest());
+            assertNotNull(notModified.getRequest());
+            assertEquals(503, staleResponse.getStatus());
+        }
+
+        @Test
+        @DisplayName("Should release the slot and record latency after the request")
+        void shouldReleaseAfterRequest() throws Exception {
+            WorkloadAdmission admission = admission(10, 0, 1);
+            WorkloadFilter filter = new WorkloadFilter(admission, new ObjectMapper(), registry);
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(new MockHttpServletRequest("POST", "/api/user/1/polls/2/vote"),
+                    new MockHttpServletResponse(), chain);
+
+            assertNotNull(chain.getRequest());
+            assertEquals(0, admission.getActive(WorkloadClass.VOTE));
+            assertEquals(1, registry.get("polling.workload.latency").tag("class", "vote").timer().count());
+        }
+    }
+}